@@ -0,0 +1,26 @@
+package zeroone.developers.employee.config;
+
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import zeroone.developers.employee.service.CalculationPartitionService;
+
+@Configuration
+public class CalculationPartitionConfig {
+
+
+    /**
+     * Creates the partitions of the current and upcoming months on startup; after that the daily schedule
+     * of ensurePartitions keeps them ahead.
+     * <p>
+     * Hibernate creates calculation_table as a plain table. Converting it copies every row under an exclusive
+     * lock, so it is never done on startup but by an administrator through POST /api/calculations/partitions/convert.
+     * Until then this runner does nothing.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "calculations.partitioning.enabled", havingValue = "true")
+    public ApplicationRunner calculationPartitioner(CalculationPartitionService calculationPartitionService) {
+        return args -> calculationPartitionService.ensurePartitions();
+    }
+}
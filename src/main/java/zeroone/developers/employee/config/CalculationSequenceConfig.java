@@ -0,0 +1,33 @@
+package zeroone.developers.employee.config;
+
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import zeroone.developers.employee.entity.CalculationTable;
+
+@Configuration
+public class CalculationSequenceConfig {
+
+
+    /**
+     * Moves calculation_table_seq past the existing calculation IDs.
+     * <p>
+     * Rows created while the table used an IDENTITY column already occupy low IDs.
+     * The pooled optimizer hands out the block ending at the sequence value,
+     * so the sequence is kept at least one allocation block above max(id).
+     */
+    @Bean
+    public ApplicationRunner calculationSequenceAligner(JdbcTemplate jdbcTemplate) {
+        return args -> {
+            Long maxId = jdbcTemplate.queryForObject(
+                    "select coalesce(max(id), 0) from calculation_table", Long.class);
+            Long lastValue = jdbcTemplate.queryForObject(
+                    "select last_value from calculation_table_seq", Long.class);
+            long required = maxId + CalculationTable.ID_ALLOCATION_SIZE;
+            if (lastValue == null || lastValue < required) {
+                jdbcTemplate.queryForObject("select setval('calculation_table_seq', ?)", Long.class, required);
+            }
+        };
+    }
+}
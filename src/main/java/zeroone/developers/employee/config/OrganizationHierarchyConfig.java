@@ -0,0 +1,38 @@
+package zeroone.developers.employee.config;
+
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import zeroone.developers.employee.repository.CalculationTableRepository;
+import zeroone.developers.employee.repository.OrganizationClosureRepository;
+import zeroone.developers.employee.repository.OrganizationPayrollRollupRepository;
+import zeroone.developers.employee.service.OrganizationRollupService;
+import zeroone.developers.employee.service.OrganizationService;
+
+@Configuration
+public class OrganizationHierarchyConfig {
+
+
+    /**
+     * Fills organization_closure from Organization.parent when organizations are missing from it.
+     * <p>
+     * Organizations created before the closure table existed have no rows in it,
+     * so the table is rebuilt once on startup in that case. The payroll rollups are
+     * filled the same way when calculations exist but no rollup has been computed yet.
+     */
+    @Bean
+    public ApplicationRunner organizationHierarchyBackfill(OrganizationClosureRepository organizationClosureRepository,
+                                                           OrganizationPayrollRollupRepository organizationPayrollRollupRepository,
+                                                           CalculationTableRepository calculationTableRepository,
+                                                           OrganizationService organizationService,
+                                                           OrganizationRollupService organizationRollupService) {
+        return args -> {
+            if (organizationClosureRepository.countMissingNodes() > 0) {
+                organizationService.rebuildHierarchy();
+            } else if (organizationPayrollRollupRepository.count() == 0
+                    && calculationTableRepository.findFirstCalculationDate() != null) {
+                organizationRollupService.rebuildRollups(null, null);
+            }
+        };
+    }
+}
@@ -0,0 +1,51 @@
+package zeroone.developers.employee.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import zeroone.developers.employee.repository.BaseRepository;
+
+@Configuration
+public class RepositoryMetricsConfig {
+
+
+    /**
+     * Adds a {@link RepositoryMetricsInterceptor} to the proxy of every BaseRepository.
+     * <p>
+     * The interceptor is added after the transaction and exception translation advice, so it times the
+     * repository call itself; errors are tagged with the untranslated exception. The meter registry is only
+     * resolved when the repositories are created, as post-processors are instantiated before other beans.
+     *
+     * @param meterRegistry the registry the meters are published to
+     * @param enabled whether repository calls are instrumented
+     * @param percentiles the latency percentiles to publish
+     * @param percentileHistogram whether to publish histogram buckets for aggregating percentiles in Prometheus
+     */
+    @Bean
+    public static BeanPostProcessor repositoryMetricsPostProcessor(
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${repository.metrics.enabled:true}") boolean enabled,
+            @Value("${repository.metrics.percentiles:0.5,0.95,0.99}") double[] percentiles,
+            @Value("${repository.metrics.percentile-histogram:false}") boolean percentileHistogram) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (enabled && bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, information) -> {
+                                if (BaseRepository.class.isAssignableFrom(information.getRepositoryInterface())) {
+                                    proxyFactory.addAdvice(new RepositoryMetricsInterceptor(
+                                            information.getRepositoryInterface(), information.getDomainType(),
+                                            meterRegistry.getObject(), percentiles, percentileHistogram));
+                                }
+                            }));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,208 @@
+package zeroone.developers.employee.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Modifying;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Records the latency, returned rows and errors of the methods of one repository.
+ * <p>
+ * Every call is timed in repository.invocations, tagged with the repository, the method, the parameter shape
+ * and the outcome. Percentiles are computed in-process from Micrometer's HdrHistogram-based distribution.
+ * Calls returning rows also record their count in repository.rows, and failed calls count in repository.errors
+ * by exception. The shape is the size bucket of the largest collection, Limit or Pageable argument, so a lookup
+ * of 5 IDs and one of 5000 are reported apart. Meters are created on the first call of each method and shape;
+ * later calls only look them up in arrays.
+ */
+public class RepositoryMetricsInterceptor implements MethodInterceptor {
+
+    public static final String INVOCATIONS = "repository.invocations";
+    public static final String ROWS = "repository.rows";
+    public static final String ERRORS = "repository.errors";
+
+    // Tag values of the shapes; the first two are calls without arguments and without sized arguments
+    static final String[] SHAPES = {"none", "scalar", "0", "1-10", "11-100", "101-1000", "1001+"};
+
+    private static final int NONE = 0;
+    private static final int SCALAR = 1;
+
+    private final String repository;
+    private final Class<?> domainType;
+    private final MeterRegistry meterRegistry;
+    private final double[] percentiles;
+    private final boolean percentileHistogram;
+    private final Map<Method, MethodMeters> methods = new ConcurrentHashMap<>();
+
+    /**
+     * @param repositoryInterface the repository the meters are tagged with
+     * @param domainType the entity of the repository, whose single results count as one row
+     * @param meterRegistry the registry the meters are published to
+     * @param percentiles the latency percentiles to publish
+     * @param percentileHistogram whether to publish histogram buckets for aggregating percentiles in Prometheus
+     */
+    public RepositoryMetricsInterceptor(Class<?> repositoryInterface, Class<?> domainType, MeterRegistry meterRegistry,
+                                        double[] percentiles, boolean percentileHistogram) {
+        this.repository = repositoryInterface.getSimpleName();
+        this.domainType = domainType;
+        this.meterRegistry = meterRegistry;
+        this.percentiles = percentiles;
+        this.percentileHistogram = percentileHistogram;
+    }
+
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        if (method.getDeclaringClass() == Object.class) {
+            return invocation.proceed();
+        }
+        MethodMeters meters = methods.get(method);
+        if (meters == null) {
+            meters = methods.computeIfAbsent(method, MethodMeters::new);
+        }
+        int shape = shape(invocation.getArguments());
+
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = invocation.proceed();
+        } catch (Throwable ex) {
+            meters.timer(shape, true).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            Counter.builder(ERRORS)
+                    .description("Repository calls that failed, by exception")
+                    .tags("repository", repository, "method", meters.name, "exception", ex.getClass().getSimpleName())
+                    .register(meterRegistry)
+                    .increment();
+            throw ex;
+        }
+        meters.timer(shape, false).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        long rows = meters.rows(result);
+        if (rows >= 0) {
+            meters.rowSummary(shape).record(rows);
+        }
+        return result;
+    }
+
+
+    /**
+     * @return the index in {@link #SHAPES} of the given arguments
+     */
+    static int shape(Object[] arguments) {
+        if (arguments.length == 0) {
+            return NONE;
+        }
+        long size = -1;
+        for (Object argument : arguments) {
+            size = Math.max(size, size(argument));
+        }
+        if (size < 0) {
+            return SCALAR;
+        }
+        return size == 0 ? 2 : size <= 10 ? 3 : size <= 100 ? 4 : size <= 1000 ? 5 : 6;
+    }
+
+
+    private static long size(Object argument) {
+        if (argument instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (argument instanceof Limit limit) {
+            return limit.isLimited() ? limit.max() : -1;
+        }
+        if (argument instanceof Pageable pageable) {
+            return pageable.isPaged() ? pageable.getPageSize() : -1;
+        }
+        if (argument instanceof Object[] array) {
+            return array.length;
+        }
+        return -1;
+    }
+
+
+    /**
+     * The meters of one repository method, indexed by shape.
+     */
+    private final class MethodMeters {
+
+        private final String name;
+        private final boolean entityResult;
+        private final boolean modifying;
+        private final AtomicReferenceArray<Timer> timers = new AtomicReferenceArray<>(SHAPES.length * 2);
+        private final AtomicReferenceArray<DistributionSummary> rowSummaries = new AtomicReferenceArray<>(SHAPES.length);
+
+        private MethodMeters(Method method) {
+            this.name = method.getName();
+            this.entityResult = domainType != null && domainType.isAssignableFrom(method.getReturnType());
+            this.modifying = method.isAnnotationPresent(Modifying.class);
+        }
+
+        private Timer timer(int shape, boolean error) {
+            int index = shape * 2 + (error ? 1 : 0);
+            Timer timer = timers.get(index);
+            if (timer == null) {
+                // Registering is idempotent, so a race only looks the meter up twice
+                timer = Timer.builder(INVOCATIONS)
+                        .description("Time spent in repository methods")
+                        .tags("repository", repository, "method", name, "shape", SHAPES[shape],
+                                "outcome", error ? "error" : "success")
+                        .publishPercentiles(percentiles)
+                        .publishPercentileHistogram(percentileHistogram)
+                        .register(meterRegistry);
+                timers.set(index, timer);
+            }
+            return timer;
+        }
+
+        private DistributionSummary rowSummary(int shape) {
+            DistributionSummary summary = rowSummaries.get(shape);
+            if (summary == null) {
+                summary = DistributionSummary.builder(ROWS)
+                        .description("Rows returned or modified by repository methods")
+                        .baseUnit("rows")
+                        .tags("repository", repository, "method", name, "shape", SHAPES[shape])
+                        .register(meterRegistry);
+                rowSummaries.set(shape, summary);
+            }
+            return summary;
+        }
+
+        /**
+         * @return the number of rows in the result, or -1 if the result is not made of rows, like a count
+         * or a stream that is not consumed yet
+         */
+        private long rows(Object result) {
+            if (result instanceof Collection<?> collection) {
+                return collection.size();
+            }
+            if (result instanceof Slice<?> slice) {
+                return slice.getNumberOfElements();
+            }
+            if (result instanceof Optional<?> optional) {
+                return optional.isPresent() ? 1 : 0;
+            }
+            if (entityResult) {
+                return result != null ? 1 : 0;
+            }
+            if (modifying && result instanceof Number updated) {
+                return updated.longValue();
+            }
+            return -1;
+        }
+    }
+}
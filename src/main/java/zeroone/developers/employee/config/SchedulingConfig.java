@@ -0,0 +1,12 @@
+package zeroone.developers.employee.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables the @Scheduled maintenance tasks, such as the cleanup of expired report jobs.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,38 @@
+package zeroone.developers.employee.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import zeroone.developers.employee.service.impl.SlowQueryLog;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class SlowQueryConfig {
+
+
+    /**
+     * Wraps the DataSource in a {@link SlowQueryDataSource}, so statements of JPA and JdbcTemplate alike
+     * are timed. The wrapper unwraps to the pool, so the pool metrics and {@code Connection.unwrap}
+     * keep working.
+     *
+     * @param slowQueryLog the log slow statements are recorded in
+     * @param enabled whether statements are timed
+     */
+    @Bean
+    public static BeanPostProcessor slowQueryDataSourcePostProcessor(
+            ObjectProvider<SlowQueryLog> slowQueryLog,
+            @Value("${queries.slow.enabled:true}") boolean enabled) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (enabled && bean instanceof DataSource dataSource && !(bean instanceof SlowQueryDataSource)) {
+                    return new SlowQueryDataSource(dataSource, slowQueryLog.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
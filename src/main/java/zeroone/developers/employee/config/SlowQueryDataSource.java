@@ -0,0 +1,333 @@
+package zeroone.developers.employee.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import zeroone.developers.employee.payload.SlowQueryRow;
+import zeroone.developers.employee.service.impl.SlowQueryLog;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * DataSource that times the statements of its connections and reports those over the threshold to the SlowQueryLog.
+ * <p>
+ * Connections, statements and the result sets of slow queries are wrapped in JDK proxies. Bind parameters are
+ * tracked by type only, so no values end up in the log. A statement under the threshold costs two clock reads;
+ * only a slow one looks up its caller on the stack and has its result rows counted until the result set is closed.
+ */
+public class SlowQueryDataSource extends DelegatingDataSource {
+
+    private static final String APPLICATION_PACKAGE = "zeroone.developers.employee.";
+    private static final String SERVICE_PACKAGE = APPLICATION_PACKAGE + "service.";
+    private static final int MAX_SQL_LENGTH = 4000;
+
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private final SlowQueryLog slowQueryLog;
+
+    /**
+     * @param targetDataSource the pool the connections are taken from
+     * @param slowQueryLog the log slow statements are recorded in
+     */
+    public SlowQueryDataSource(DataSource targetDataSource, SlowQueryLog slowQueryLog) {
+        super(targetDataSource);
+        this.slowQueryLog = slowQueryLog;
+    }
+
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection());
+    }
+
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection(username, password));
+    }
+
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(SlowQueryDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new ConnectionHandler(connection));
+    }
+
+
+    private static Object delegate(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+
+    // Proxies compare by identity, so collections of connections or statements keep working
+    private static Object identity(Object proxy, Method method, Object[] args) {
+        return method.getName().equals("equals") ? proxy == args[0] : System.identityHashCode(proxy);
+    }
+
+
+    private static boolean isIdentityMethod(Method method) {
+        return (method.getName().equals("equals") && method.getParameterCount() == 1)
+                || (method.getName().equals("hashCode") && method.getParameterCount() == 0);
+    }
+
+
+    /**
+     * @return the class and method of the service running the statement, or of the innermost application frame
+     * if no service is on the stack
+     */
+    private static String caller() {
+        List<StackWalker.StackFrame> frames = StackWalker.getInstance().walk(stream -> stream
+                .filter(frame -> frame.getClassName().startsWith(APPLICATION_PACKAGE)
+                        && !frame.getClassName().equals(SlowQueryDataSource.class.getName())
+                        && !frame.getClassName().startsWith(SlowQueryDataSource.class.getName() + "$")
+                        && !frame.getClassName().equals(RepositoryMetricsInterceptor.class.getName())
+                        && !frame.getClassName().contains("$$"))
+                .toList());
+        StackWalker.StackFrame caller = frames.stream()
+                .filter(frame -> frame.getClassName().startsWith(SERVICE_PACKAGE))
+                .findFirst()
+                .orElse(frames.isEmpty() ? null : frames.get(0));
+        if (caller == null) {
+            return "unknown";
+        }
+        String className = caller.getClassName();
+        return className.substring(className.lastIndexOf('.') + 1) + "." + caller.getMethodName();
+    }
+
+
+    private final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        private ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (isIdentityMethod(method)) {
+                return identity(proxy, method, args);
+            }
+            Object result = delegate(target, method, args);
+            if (result instanceof Statement statement) {
+                String sql = method.getName().startsWith("prepare") ? (String) args[0] : null;
+                Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                        : statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+                return Proxy.newProxyInstance(SlowQueryDataSource.class.getClassLoader(),
+                        new Class<?>[]{type}, new StatementHandler(statement, sql));
+            }
+            return result;
+        }
+    }
+
+
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private String sql;
+        private final List<String> parameterTypes = new ArrayList<>();
+        private int batches;
+        private PendingQuery pending;
+
+        private StatementHandler(Statement target, String sql) {
+            this.target = target;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (EXECUTE_METHODS.contains(name)) {
+                return execute(method, args);
+            }
+            if (isIdentityMethod(method)) {
+                return identity(proxy, method, args);
+            }
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                setParameterType(index, name.equals("setNull") || args[1] == null
+                        ? "null" : args[1].getClass().getSimpleName());
+            } else if (name.equals("clearParameters")) {
+                parameterTypes.clear();
+            } else if (name.equals("addBatch")) {
+                batches++;
+                if (args != null && sql == null) {
+                    sql = (String) args[0];
+                }
+            } else if (name.equals("clearBatch")) {
+                batches = 0;
+            } else if (name.equals("close")) {
+                recordPending();
+            }
+            return delegate(target, method, args);
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            recordPending();
+            String executed = args != null && args.length > 0 && args[0] instanceof String statementSql ? statementSql : sql;
+            String parameters = parameters();
+            boolean batch = method.getName().endsWith("Batch");
+            if (batch) {
+                batches = 0;
+            }
+
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = delegate(target, method, args);
+            } catch (Throwable ex) {
+                long nanos = System.nanoTime() - start;
+                if (slowQueryLog.isSlow(nanos)) {
+                    new PendingQuery(executed, parameters, nanos, caller(), -1).record();
+                }
+                throw ex;
+            }
+            long nanos = System.nanoTime() - start;
+            if (!slowQueryLog.isSlow(nanos)) {
+                return result;
+            }
+
+            if (result instanceof ResultSet resultSet) {
+                pending = new PendingQuery(executed, parameters, nanos, caller(), 0);
+                return Proxy.newProxyInstance(SlowQueryDataSource.class.getClassLoader(),
+                        new Class<?>[]{ResultSet.class}, new ResultSetHandler(resultSet, pending));
+            }
+            new PendingQuery(executed, parameters, nanos, caller(), rows(result)).record();
+            return result;
+        }
+
+        private void recordPending() {
+            if (pending != null) {
+                pending.record();
+                pending = null;
+            }
+        }
+
+        private long rows(Object result) throws SQLException {
+            if (result instanceof Number updated) {
+                return updated.longValue();
+            }
+            if (result instanceof int[] updated) {
+                long rows = 0;
+                for (int count : updated) {
+                    rows += Math.max(0, count);
+                }
+                return rows;
+            }
+            if (result instanceof long[] updated) {
+                long rows = 0;
+                for (long count : updated) {
+                    rows += Math.max(0, count);
+                }
+                return rows;
+            }
+            // execute() returning false leaves an update count; a result set read through getResultSet is not counted
+            return Boolean.FALSE.equals(result) ? target.getUpdateCount() : -1;
+        }
+
+        private void setParameterType(int index, String type) {
+            while (parameterTypes.size() < index) {
+                parameterTypes.add(null);
+            }
+            parameterTypes.set(index - 1, type);
+        }
+
+        /**
+         * @return the parameter types with repeated types collapsed, e.g. (Long x 3, String) x 50 batches
+         */
+        private String parameters() {
+            StringBuilder shape = new StringBuilder("(");
+            for (int i = 0; i < parameterTypes.size(); ) {
+                String type = parameterTypes.get(i);
+                int run = 1;
+                while (i + run < parameterTypes.size() && Objects.equals(parameterTypes.get(i + run), type)) {
+                    run++;
+                }
+                if (i > 0) {
+                    shape.append(", ");
+                }
+                shape.append(type != null ? type : "unset");
+                if (run > 1) {
+                    shape.append(" x ").append(run);
+                }
+                i += run;
+            }
+            shape.append(')');
+            if (batches > 0) {
+                shape.append(" x ").append(batches).append(" batches");
+            }
+            return shape.toString();
+        }
+    }
+
+
+    private static final class ResultSetHandler implements InvocationHandler {
+
+        private final ResultSet target;
+        private final PendingQuery pending;
+
+        private ResultSetHandler(ResultSet target, PendingQuery pending) {
+            this.target = target;
+            this.pending = pending;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (isIdentityMethod(method)) {
+                return identity(proxy, method, args);
+            }
+            Object result = delegate(target, method, args);
+            if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                pending.rows++;
+            } else if (method.getName().equals("close")) {
+                pending.record();
+            }
+            return result;
+        }
+    }
+
+
+    /**
+     * A slow statement, recorded once its rows are known.
+     */
+    private final class PendingQuery {
+
+        private final String sql;
+        private final String parameters;
+        private final long nanos;
+        private final String caller;
+        private long rows;
+        private boolean recorded;
+
+        private PendingQuery(String sql, String parameters, long nanos, String caller, long rows) {
+            this.sql = sql == null ? "batch" : sql.length() > MAX_SQL_LENGTH ? sql.substring(0, MAX_SQL_LENGTH) + "..." : sql;
+            this.parameters = parameters;
+            this.nanos = nanos;
+            this.caller = caller;
+            this.rows = rows;
+        }
+
+        private void record() {
+            if (!recorded) {
+                recorded = true;
+                slowQueryLog.record(new SlowQueryRow(Instant.now(), sql, parameters, nanos / 1e6, rows, caller));
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package zeroone.developers.employee.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import zeroone.developers.employee.payload.CalculationPartitionRow;
+import zeroone.developers.employee.payload.CustomApiResponse;
+import zeroone.developers.employee.service.CalculationPartitionService;
+
+import java.util.List;
+
+/**
+ * REST controller for the monthly partitions of calculation records, offering endpoints for
+ * listing them, creating upcoming ones and archiving or deleting whole months.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/calculations/partitions")
+public class CalculationPartitionController {
+
+
+    private final CalculationPartitionService calculationPartitionService;
+
+
+    /**
+     * Retrieve the partitions of the calculation table.
+     *
+     * @return a ResponseEntity containing a CustomApiResponse with the partitions ordered by month
+     */
+    @Operation(summary = "Get calculation partitions", description = "Retrieve the monthly partitions of the calculation table with their estimated row counts.")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved the partitions.")
+    @GetMapping
+    public ResponseEntity<CustomApiResponse<List<CalculationPartitionRow>>> getPartitions() {
+        List<CalculationPartitionRow> partitions = calculationPartitionService.findPartitions();
+        return new ResponseEntity<>(new CustomApiResponse<>(
+                "Successfully retrieved the partitions.",
+                true,
+                partitions), HttpStatus.OK);
+    }
+
+
+    /**
+     * Convert the calculation table into a table partitioned by month.
+     *
+     * @return a ResponseEntity containing a CustomApiResponse with true if the table was converted,
+     * false if it was already partitioned
+     */
+    @Operation(summary = "Partition the calculation table", description = "Convert the plain calculation table into a table partitioned by month, copying all rows under an exclusive lock. Writes to calculations wait until it finishes.")
+    @ApiResponse(responseCode = "200", description = "Calculation table converted or already partitioned.")
+    @PostMapping("/convert")
+    public ResponseEntity<CustomApiResponse<Boolean>> convertToPartitioned() {
+        boolean converted = calculationPartitionService.convertToPartitioned();
+        return new ResponseEntity<>(new CustomApiResponse<>(
+                converted ? "Calculation table converted successfully." : "Calculation table is already partitioned.",
+                true,
+                converted), HttpStatus.OK);
+    }
+
+
+    /**
+     * Create the partitions of the current and upcoming months.
+     *
+     * @return a ResponseEntity containing a CustomApiResponse with the number of partitions created
+     */
+    @Operation(summary = "Create upcoming partitions", description = "Create the partitions of the current and upcoming months and split rows out of the default partition.")
+    @ApiResponse(responseCode = "200", description = "Partitions created successfully.")
+    @PostMapping("/ensure")
+    public ResponseEntity<CustomApiResponse<Integer>> ensurePartitions() {
+        int created = calculationPartitionService.ensurePartitions();
+        return new ResponseEntity<>(new CustomApiResponse<>(
+                "Partitions created successfully.",
+                true,
+                created), HttpStatus.OK);
+    }
+
+
+    /**
+     * Archive the calculations of a month by detaching its partition into a standalone table.
+     *
+     * @param year  the year of the month
+     * @param month the month to archive
+     * @return a ResponseEntity containing a CustomApiResponse with the name of the archive table
+     */
+    @Operation(summary = "Archive a month", description = "Detach the partition of a month and keep it as an archive table.")
+    @ApiResponse(responseCode = "200", description = "Month archived successfully.")
+    @ApiResponse(responseCode = "400", description = "Invalid month, no partition or archive already exists.")
+    @PostMapping("/{year}/{month}/archive")
+    public ResponseEntity<CustomApiResponse<String>> archiveMonth(@PathVariable int year, @PathVariable int month) {
+        String archive = calculationPartitionService.archiveMonth(year, month);
+        return new ResponseEntity<>(new CustomApiResponse<>(
+                "Month archived successfully.",
+                true,
+                archive), HttpStatus.OK);
+    }
+
+
+    /**
+     * Delete the calculations of a month by detaching and dropping its partition.
+     *
+     * @param year  the year of the month
+     * @param month the month to delete
+     * @return a ResponseEntity containing a CustomApiResponse with the status of the operation
+     */
+    @Operation(summary = "Delete a month", description = "Detach and drop the partition of a month.")
+    @ApiResponse(responseCode = "204", description = "Month deleted successfully.")
+    @ApiResponse(responseCode = "400", description = "Invalid month or no partition.")
+    @DeleteMapping("/{year}/{month}")
+    public ResponseEntity<CustomApiResponse<Void>> dropMonth(@PathVariable int year, @PathVariable int month) {
+        calculationPartitionService.dropMonth(year, month);
+        return new ResponseEntity<>(new CustomApiResponse<>(
+                "Month deleted successfully.",
+                true,
+                null), HttpStatus.NO_CONTENT);
+    }
+}
@@ -5,16 +5,33 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import zeroone.developers.employee.exception.CalculationTableException;
 import zeroone.developers.employee.exception.RegionException;
+import zeroone.developers.employee.payload.BatchResult;
 import zeroone.developers.employee.payload.CalculationTableDto;
+import zeroone.developers.employee.payload.HighSalaryRow;
+import zeroone.developers.employee.payload.OrgAverageRow;
+import zeroone.developers.employee.payload.OrgRollupRow;
+import zeroone.developers.employee.payload.PaidEmployeeRow;
+import zeroone.developers.employee.payload.PayrollDashboard;
+import zeroone.developers.employee.payload.RegionSummaryRow;
+import zeroone.developers.employee.payload.CursorPage;
 import zeroone.developers.employee.payload.CustomApiResponse;
+import zeroone.developers.employee.payload.ExportFormat;
+import zeroone.developers.employee.service.CalculationExportService;
 import zeroone.developers.employee.service.CalculationTableService;
+import zeroone.developers.employee.service.PayrollDashboardService;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 import java.util.Optional;
 
 /**
@@ -28,6 +45,8 @@ public class CalculationTableController {
 
 
     private final CalculationTableService calculationTableService;
+    private final CalculationExportService calculationExportService;
+    private final PayrollDashboardService payrollDashboardService;
 
 
     /**
@@ -36,6 +55,7 @@ public class CalculationTableController {
      * This method retrieves a list of employees who earned more than a specified threshold
      * in the given month. If no employees are found, it returns a 404 Not Found status with a message.
      *
+     * @param year      the year of the reporting month
      * @param month     the month for which the report is generated
      * @param threshold the salary threshold
      * @return a ResponseEntity containing a CustomApiResponse with either the list of employees
@@ -49,12 +69,12 @@ public class CalculationTableController {
             @ApiResponse(responseCode = "404", description = "Data not found for the provided parameters")
     })
     @GetMapping("/reports/high-salary")
-    public ResponseEntity<CustomApiResponse<List<Object[]>>> getEmployeesWithHigherSalary(
-            @RequestParam int month, @RequestParam double threshold) {
-        List<Object[]> results = calculationTableService.getEmployeesWithHigherSalary(month, threshold);
+    public ResponseEntity<CustomApiResponse<List<HighSalaryRow>>> getEmployeesWithHigherSalary(
+            @RequestParam int year, @RequestParam int month, @RequestParam double threshold) {
+        List<HighSalaryRow> results = calculationTableService.getEmployeesWithHigherSalary(year, month, threshold);
 
         if (results.isEmpty()) {
-            CustomApiResponse<List<Object[]>> response = new CustomApiResponse<>(
+            CustomApiResponse<List<HighSalaryRow>> response = new CustomApiResponse<>(
                     "No employees found with higher salary for the provided month and threshold.",
                     false,
                     null
@@ -63,7 +83,7 @@ public class CalculationTableController {
         }
 
         // Success response
-        CustomApiResponse<List<Object[]>> response = new CustomApiResponse<>(
+        CustomApiResponse<List<HighSalaryRow>> response = new CustomApiResponse<>(
                 "Successfully retrieved list of employees with higher salary.",
                 true,
                 results
@@ -80,6 +100,7 @@ public class CalculationTableController {
      * during the specified month. If no employees are found for the given month,
      * it returns a 404 Not Found status with a corresponding message.
      *
+     * @param year  the year of the reporting month
      * @param month the month for which the report is generated
      * @return a ResponseEntity containing a CustomApiResponse with either the list of
      * employees by region and an HTTP status of OK, or a message and NOT FOUND status
@@ -93,12 +114,13 @@ public class CalculationTableController {
             @ApiResponse(responseCode = "404", description = "Data not found for the provided parameters")
     })
     @GetMapping("/reports/region")
-    public ResponseEntity<CustomApiResponse<List<Object[]>>> getEmployeesByRegion(@RequestParam int month) {
-        List<Object[]> results = calculationTableService.getEmployeesByRegion(month);
+    public ResponseEntity<CustomApiResponse<List<RegionSummaryRow>>> getEmployeesByRegion(
+            @RequestParam int year, @RequestParam int month) {
+        List<RegionSummaryRow> results = calculationTableService.getEmployeesByRegion(year, month);
 
         if (results.isEmpty()) {
             // No data found
-            CustomApiResponse<List<Object[]>> response = new CustomApiResponse<>(
+            CustomApiResponse<List<RegionSummaryRow>> response = new CustomApiResponse<>(
                     "No employees found for the specified month and region.",
                     false,
                     null
@@ -107,7 +129,7 @@ public class CalculationTableController {
         }
 
         // Success response
-        CustomApiResponse<List<Object[]>> response = new CustomApiResponse<>(
+        CustomApiResponse<List<RegionSummaryRow>> response = new CustomApiResponse<>(
                 "Successfully retrieved list of employees with same region worked.",
                 true,
                 results
@@ -125,6 +147,7 @@ public class CalculationTableController {
      * If no data is found for the provided organization and month, it returns a
      * 404 Not Found status with an appropriate message.
      *
+     * @param year           the year of the reporting month
      * @param month          the month for which the average salary report is generated
      * @param organizationId the ID of the organization
      * @return a ResponseEntity containing a CustomApiResponse with either the average salary data
@@ -138,13 +161,13 @@ public class CalculationTableController {
             @ApiResponse(responseCode = "404", description = "Organization or data not found")
     })
     @GetMapping("/reports/average-salary")
-    public ResponseEntity<CustomApiResponse<List<Object[]>>> getAverageSalaryByOrganization(
-            @RequestParam int month, @RequestParam Long organizationId) {
-        List<Object[]> results = calculationTableService.getAverageSalaryByOrganization(month, organizationId);
+    public ResponseEntity<CustomApiResponse<List<OrgAverageRow>>> getAverageSalaryByOrganization(
+            @RequestParam int year, @RequestParam int month, @RequestParam Long organizationId) {
+        List<OrgAverageRow> results = calculationTableService.getAverageSalaryByOrganization(year, month, organizationId);
 
         if (results.isEmpty()) {
             // No data found
-            CustomApiResponse<List<Object[]>> response = new CustomApiResponse<>(
+            CustomApiResponse<List<OrgAverageRow>> response = new CustomApiResponse<>(
                     "No data found for the specified organization and month.",
                     false,
                     null
@@ -153,7 +176,7 @@ public class CalculationTableController {
         }
 
         // Success response
-        CustomApiResponse<List<Object[]>> response = new CustomApiResponse<>(
+        CustomApiResponse<List<OrgAverageRow>> response = new CustomApiResponse<>(
                 "Successfully retrieved average salary for the specified organization.",
                 true,
                 results
@@ -169,6 +192,7 @@ public class CalculationTableController {
      * and vacation payments for the specified month. If no such employees
      * are found, it returns a 404 Not Found status with an appropriate message.
      *
+     * @param year  the year of the reporting month
      * @param month the month for which the report is generated
      * @return a ResponseEntity containing a CustomApiResponse with either the data
      * of employees or a message if no data is found
@@ -181,12 +205,13 @@ public class CalculationTableController {
             @ApiResponse(responseCode = "404", description = "Data not found")
     })
     @GetMapping("/reports/salaries-vacations")
-    public ResponseEntity<CustomApiResponse<List<Object[]>>> getEmployeesWithSalariesAndVacations(@RequestParam int month) {
-        List<Object[]> results = calculationTableService.getEmployeesWithSalariesAndVacations(month);
+    public ResponseEntity<CustomApiResponse<List<PaidEmployeeRow>>> getEmployeesWithSalariesAndVacations(
+            @RequestParam int year, @RequestParam int month) {
+        List<PaidEmployeeRow> results = calculationTableService.getEmployeesWithSalariesAndVacations(year, month);
 
         if (results.isEmpty()) {
             // No data found
-            CustomApiResponse<List<Object[]>> response = new CustomApiResponse<>(
+            CustomApiResponse<List<PaidEmployeeRow>> response = new CustomApiResponse<>(
                     "No employees found with both salary and vacation payments for the provided month.",
                     false,
                     null
@@ -195,7 +220,7 @@ public class CalculationTableController {
         }
 
         // Success response
-        CustomApiResponse<List<Object[]>> response = new CustomApiResponse<>(
+        CustomApiResponse<List<PaidEmployeeRow>> response = new CustomApiResponse<>(
                 "Successfully retrieved list of employees with both salary and vacation payments.",
                 true,
                 results
@@ -204,24 +229,180 @@ public class CalculationTableController {
     }
 
 
+    /**
+     * Get the payroll totals of an organization together with all of its subsidiaries.
+     * <p>
+     * This method returns the sum, average, count and headcount per calculation type
+     * over the whole subtree of the given organization for the specified month.
+     * If the subtree has no calculations in that month, it returns a
+     * 404 Not Found status with an appropriate message.
+     *
+     * @param year           the year of the reporting month
+     * @param month          the month for which the rollup is generated
+     * @param organizationId the ID of the organization at the root of the rollup
+     * @return a ResponseEntity containing a CustomApiResponse with either the totals per calculation type
+     * and an HTTP status of OK, or a message and NOT FOUND status if no data is found
+     */
+    @Operation(summary = "Get payroll rollup for organization",
+            description = "Returns the sum, average, count and headcount per calculation type of an organization and all of its subsidiaries for the specified month. "
+                    + "The headcount counts an employee once per organization of the subtree that paid them.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved data"),
+            @ApiResponse(responseCode = "400", description = "Invalid input provided"),
+            @ApiResponse(responseCode = "404", description = "Organization or data not found")
+    })
+    @GetMapping("/reports/organization-rollup")
+    public ResponseEntity<CustomApiResponse<List<OrgRollupRow>>> getOrganizationRollup(
+            @RequestParam int year, @RequestParam int month, @RequestParam Long organizationId) {
+        List<OrgRollupRow> results = calculationTableService.getOrganizationRollup(year, month, organizationId);
+
+        if (results.isEmpty()) {
+            // No data found
+            CustomApiResponse<List<OrgRollupRow>> response = new CustomApiResponse<>(
+                    "No data found for the specified organization and month.",
+                    false,
+                    null
+            );
+            return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
+        }
+
+        // Success response
+        CustomApiResponse<List<OrgRollupRow>> response = new CustomApiResponse<>(
+                "Successfully retrieved payroll rollup for the specified organization.",
+                true,
+                results
+        );
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
 
 
     /**
-     * Retrieve a list of all calculationTables.
+     * Get all monthly payroll reports of a month in one response.
      * <p>
-     * This method fetches all calculationTable records and returns them as a list of CalculationTableDto.
+     * This method runs the high-salary, region, average-salary and salaries-vacations reports
+     * concurrently and returns them together, so the dashboard needs one call instead of four.
+     * If none of the reports has data for the month, it returns a 404 Not Found status with a message.
      *
-     * @return a ResponseEntity containing a CustomApiResponse with the list of CalculationTableDto representing all calculationTables
+     * @param year           the year of the reporting month
+     * @param month          the month for which the dashboard is generated
+     * @param threshold      the salary threshold of the high-salary report
+     * @param organizationId the organization of the average-salary report, omitted for every organization
+     * @return a ResponseEntity containing a CustomApiResponse with either the dashboard
+     * and an HTTP status of OK, or a message and NOT FOUND status if no data is found
      */
-    @Operation(summary = "Get all Calculations", description = "Retrieve a list of all calculations.")
+    @Operation(summary = "Get monthly payroll dashboard",
+            description = "Returns the high-salary, region, average-salary and salaries-vacations reports of the specified month in one response.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved data"),
+            @ApiResponse(responseCode = "400", description = "Invalid input provided"),
+            @ApiResponse(responseCode = "404", description = "Data not found")
+    })
+    @GetMapping("/reports/dashboard")
+    public ResponseEntity<CustomApiResponse<PayrollDashboard>> getDashboard(
+            @RequestParam int year, @RequestParam int month,
+            @RequestParam(defaultValue = "${reports.dashboard.high-salary-threshold:10000}") double threshold,
+            @RequestParam(required = false) Long organizationId) {
+        PayrollDashboard dashboard = payrollDashboardService.getDashboard(year, month, threshold, organizationId);
+
+        if (dashboard.isEmpty()) {
+            // No data found
+            CustomApiResponse<PayrollDashboard> response = new CustomApiResponse<>(
+                    "No payroll data found for the provided month.",
+                    false,
+                    null
+            );
+            return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
+        }
+
+        // Success response
+        CustomApiResponse<PayrollDashboard> response = new CustomApiResponse<>(
+                "Successfully retrieved payroll dashboard.",
+                true,
+                dashboard
+        );
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+
+
+
+    /**
+     * Retrieve a page of calculations.
+     * <p>
+     * This method returns calculations ordered by ID using keyset pagination. The response carries
+     * a nextCursor that is passed back as {@code after} to fetch the following page.
+     *
+     * @param after     the cursor of the previous page, omitted for the first page
+     * @param limit     the maximum number of calculations to return (1-100)
+     * @param direction the ID sort direction, ASC or DESC
+     * @return a ResponseEntity containing a CustomApiResponse with the page of CalculationTableDto and the next cursor
+     */
+    @Operation(summary = "Get all Calculations", description = "Retrieve a page of calculations using cursor-based pagination.")
     @ApiResponse(responseCode = "200", description = "Successfully retrieved the list of calculations.")
+    @ApiResponse(responseCode = "400", description = "Invalid cursor provided")
     @GetMapping
-    public ResponseEntity<CustomApiResponse<List<CalculationTableDto>>> getAllCalculations() {
-        List<CalculationTableDto> calculationTableDtos = calculationTableService.findAllCalculations();
+    public ResponseEntity<CustomApiResponse<List<CalculationTableDto>>> getAllCalculations(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "ASC") Sort.Direction direction) {
+        CursorPage<CalculationTableDto> page = calculationTableService.findCalculationsPage(after, limit, direction);
         return new ResponseEntity<>(new CustomApiResponse<>(
                 "Successfully retrieved the list of calculations.",
                 true,
-                calculationTableDtos), HttpStatus.OK);
+                page.items(),
+                page.nextCursor()), HttpStatus.OK);
+    }
+
+
+    /**
+     * Export calculations as a stream.
+     * <p>
+     * Rows are streamed from a database cursor as NDJSON or CSV while they are read,
+     * so the first bytes arrive immediately and memory use stays flat for any number of rows.
+     *
+     * @param format          the output format, NDJSON or CSV
+     * @param from            the first calculation date to include, optional
+     * @param to              the first calculation date to exclude, optional
+     * @param organizationId  the organization to export, optional
+     * @param calculationType the calculation type to export, optional
+     * @param gzip            whether to gzip the response body
+     * @return a ResponseEntity streaming the exported rows
+     */
+    @Operation(summary = "Export Calculations",
+            description = "Stream calculations filtered by date range, organization and type as NDJSON or CSV.")
+    @ApiResponse(responseCode = "200", description = "Calculations are streamed.")
+    @ApiResponse(responseCode = "400", description = "Invalid input provided")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportCalculations(
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long organizationId,
+            @RequestParam(required = false) String calculationType,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        // Reject an invalid range before the response is committed
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new CalculationTableException("Export range start must be before its end");
+        }
+
+        StreamingResponseBody body = outputStream -> {
+            if (gzip) {
+                GZIPOutputStream gzipStream = new GZIPOutputStream(outputStream, 64 * 1024);
+                calculationExportService.exportCalculations(from, to, organizationId, calculationType, format, gzipStream);
+                gzipStream.finish();
+            } else {
+                calculationExportService.exportCalculations(from, to, organizationId, calculationType, format, outputStream);
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, format.getContentType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"calculations." + format.getExtension() + "\"");
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
     }
 
 
@@ -264,6 +445,31 @@ public class CalculationTableController {
     }
 
 
+    /**
+     * Creates many calculations in one request.
+     * <p>
+     * Rows are validated individually; valid rows are stored in one transaction
+     * and the outcome of every row is returned in request order.
+     *
+     * @param calculationTableDtos the DTOs of the calculations to be saved
+     * @return a ResponseEntity containing a CustomApiResponse with the per-row outcomes
+     */
+    @Operation(summary = "Create Calculations in batch", description = "Create many calculation records in one transaction.")
+    @ApiResponse(responseCode = "200", description = "Batch processed, see the per-row outcomes.")
+    @ApiResponse(responseCode = "400", description = "Batch is empty or too large")
+    @PostMapping("/batch")
+    public ResponseEntity<CustomApiResponse<BatchResult>> createCalculationsBatch(
+            @RequestBody List<CalculationTableDto> calculationTableDtos) {
+        BatchResult result = calculationTableService.saveCalculationsBatch(calculationTableDtos);
+        return new ResponseEntity<>(new CustomApiResponse<>(
+                result.rejected() == 0
+                        ? "All calculations created successfully"
+                        : result.rejected() + " of " + result.rows().size() + " calculations were rejected",
+                result.rejected() == 0,
+                result), HttpStatus.OK);
+    }
+
+
     /**
      * Update the details of an existing calculationTable using the provided CalculationTableDto.
      *
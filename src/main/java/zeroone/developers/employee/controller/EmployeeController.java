@@ -6,15 +6,22 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import zeroone.developers.employee.exception.EmployeeException;
 import zeroone.developers.employee.exception.RegionException;
+import zeroone.developers.employee.payload.CursorPage;
 import zeroone.developers.employee.payload.CustomApiResponse;
 import zeroone.developers.employee.payload.EmployeeDto;
+import zeroone.developers.employee.payload.EmployeeImportResult;
+import zeroone.developers.employee.service.EmployeeImportService;
 import zeroone.developers.employee.service.EmployeeService;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,54 +36,58 @@ public class EmployeeController {
 
 
     private final EmployeeService employeeService;
+    private final EmployeeImportService employeeImportService;
 
 
     /**
-     * Retrieve a list of all employees.
+     * Retrieve a page of employees.
      * <p>
-     * This method fetches all employee records and returns them as a list of EmployeeDto.
+     * This method returns employees ordered by ID using keyset pagination. The response carries
+     * a nextCursor that is passed back as {@code after} to fetch the following page.
      *
-     * @return a ResponseEntity containing a CustomApiResponse with the list of EmployeeDto representing all employees
+     * @param after     the cursor of the previous page, omitted for the first page
+     * @param limit     the maximum number of employees to return (1-100)
+     * @param direction the ID sort direction, ASC or DESC
+     * @return a ResponseEntity containing a CustomApiResponse with the page of EmployeeDto and the next cursor
      */
-    @Operation(summary = "Get all Employees", description = "Retrieve a list of all employees.")
+    @Operation(summary = "Get all Employees", description = "Retrieve a page of employees using cursor-based pagination.")
     @ApiResponse(responseCode = "200", description = "Successfully retrieved the list of employees.")
+    @ApiResponse(responseCode = "400", description = "Invalid cursor provided")
     @GetMapping
-    public ResponseEntity<CustomApiResponse<List<EmployeeDto>>> getAllEmployees() {
-        List<EmployeeDto> employeeDtos = employeeService.findAllEmployees();
+    public ResponseEntity<CustomApiResponse<List<EmployeeDto>>> getAllEmployees(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "ASC") Sort.Direction direction) {
+        CursorPage<EmployeeDto> page = employeeService.findEmployeesPage(after, limit, direction);
         return new ResponseEntity<>(new CustomApiResponse<>(
                 "Successfully retrieved the list of employees.",
                 true,
-                employeeDtos), HttpStatus.OK);
+                page.items(),
+                page.nextCursor()), HttpStatus.OK);
     }
 
 
-//    @Operation(summary = "Get all Employees with Pagination", description = "Retrieve a paginated list of all employees.")
-//    @ApiResponse(responseCode = "200", description = "Successfully retrieved the list of employees.")
-//    @GetMapping
-//    public ResponseEntity<CustomApiResponse<Page<EmployeeDto>>> getAllEmployees(
-//            @RequestParam(value = "page", defaultValue = "0") int page,
-//            @RequestParam(value = "size", defaultValue = "10") int size
-//    ) {
-//        Page<EmployeeDto> employeeDtos = employeeService.getAllEmployees(page,size);
-//        return new ResponseEntity<>(new CustomApiResponse<>(
-//                "Successfully retrieved the list of employees.",
-//                true,
-//                employeeDtos), HttpStatus.OK);
-//    }
-
-
     /**
      * Retrieve an employee by their unique ID using the provided EmployeeDto.
      *
+     * The response carries the employee's ETag; a request whose If-None-Match still matches it
+     * is answered with 304 Not Modified without accessing the database or the employee cache.
+     *
      * @param id the ID of the employee to retrieve
+     * @param request the request whose If-None-Match header is checked
      * @return a ResponseEntity containing a CustomApiResponse with the EmployeeDto and
      * an HTTP status of OK
      */
     @Operation(summary = "Get Employee by ID", description = "Retrieve an employee by their unique identifier.")
     @ApiResponse(responseCode = "200", description = "Successfully retrieved the employee.")
+    @ApiResponse(responseCode = "304", description = "The employee did not change since the ETag in If-None-Match.")
     @ApiResponse(responseCode = "404", description = "Employee not found.")
     @GetMapping("/{id}")
-    public ResponseEntity<CustomApiResponse<EmployeeDto>> getEmployeeById(@PathVariable Long id) {
+    public ResponseEntity<CustomApiResponse<EmployeeDto>> getEmployeeById(@PathVariable Long id, WebRequest request) {
+        // The version is read before the employee, so a write committed in between only changes the next ETag
+        if (request.checkNotModified(employeeService.getEmployeeETag(id))) {
+            return null;
+        }
         EmployeeDto employeeDto = employeeService.findEmployeeById(id)
                 .orElseThrow(() -> new EmployeeException("Employee not found"));
         return new ResponseEntity<>(new CustomApiResponse<>(
@@ -104,6 +115,34 @@ public class EmployeeController {
     }
 
 
+    /**
+     * Import employees from a CSV file.
+     * <p>
+     * The request body is streamed to the database as it arrives. Valid rows are imported in one transaction;
+     * the summary lists the rejected rows with their reason.
+     *
+     * @param csv    the CSV body with the columns firstName, lastName, pinfl, hireDate and organization
+     * @param header whether the first line is a header to skip
+     * @return a ResponseEntity containing a CustomApiResponse with the import summary
+     * @throws IOException if reading the request body fails
+     */
+    @Operation(summary = "Import Employees", description = "Import employees from CSV (firstName, lastName, pinfl, hireDate, organization).")
+    @ApiResponse(responseCode = "200", description = "Import processed, see the rejected rows.")
+    @ApiResponse(responseCode = "400", description = "The body is not valid CSV")
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<CustomApiResponse<EmployeeImportResult>> importEmployees(
+            InputStream csv,
+            @RequestParam(defaultValue = "true") boolean header) throws IOException {
+        EmployeeImportResult result = employeeImportService.importEmployees(csv, header);
+        return new ResponseEntity<>(new CustomApiResponse<>(
+                result.rejected() == 0
+                        ? "All employees imported successfully"
+                        : result.rejected() + " of " + result.received() + " employees were rejected",
+                result.rejected() == 0,
+                result), HttpStatus.OK);
+    }
+
+
     /**
      * Update the details of an existing employee using the provided EmployeeDto.
      *
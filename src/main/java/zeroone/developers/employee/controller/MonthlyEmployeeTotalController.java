@@ -0,0 +1,75 @@
+package zeroone.developers.employee.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import zeroone.developers.employee.payload.CustomApiResponse;
+import zeroone.developers.employee.service.MonthlyEmployeeTotalService;
+
+/**
+ * REST controller for maintaining the monthly employee totals read model,
+ * offering endpoints for rebuilding and verifying it against calculation records.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/calculations/totals")
+public class MonthlyEmployeeTotalController {
+
+
+    private final MonthlyEmployeeTotalService monthlyEmployeeTotalService;
+
+
+    /**
+     * Rebuild the monthly totals from calculation records.
+     * <p>
+     * Without parameters every month that has calculations is rebuilt,
+     * with only a year the whole year is rebuilt.
+     *
+     * @param year  the year to rebuild, optional
+     * @param month the month to rebuild, optional
+     * @return a ResponseEntity containing a CustomApiResponse with the number of rows written
+     */
+    @Operation(summary = "Rebuild monthly totals",
+            description = "Recompute the monthly employee totals from calculation records for a month, a year or all data.")
+    @ApiResponse(responseCode = "200", description = "Monthly totals rebuilt successfully.")
+    @ApiResponse(responseCode = "400", description = "Invalid input provided")
+    @PostMapping("/rebuild")
+    public ResponseEntity<CustomApiResponse<Integer>> rebuildTotals(
+            @RequestParam(required = false) Integer year,
+            @RequestParam(required = false) Integer month) {
+        int rows = monthlyEmployeeTotalService.rebuildTotals(year, month);
+        return new ResponseEntity<>(new CustomApiResponse<>(
+                "Monthly totals rebuilt successfully.",
+                true,
+                rows), HttpStatus.OK);
+    }
+
+
+    /**
+     * Verify the monthly totals against calculation records.
+     *
+     * @param year  the year to verify, optional
+     * @param month the month to verify, optional
+     * @return a ResponseEntity containing a CustomApiResponse with the number of mismatching rows;
+     * success is false if any row is missing or differs
+     */
+    @Operation(summary = "Verify monthly totals",
+            description = "Count the monthly employee totals that are missing or differ from calculation records.")
+    @ApiResponse(responseCode = "200", description = "Monthly totals verified.")
+    @ApiResponse(responseCode = "400", description = "Invalid input provided")
+    @GetMapping("/verify")
+    public ResponseEntity<CustomApiResponse<Long>> verifyTotals(
+            @RequestParam(required = false) Integer year,
+            @RequestParam(required = false) Integer month) {
+        long mismatches = monthlyEmployeeTotalService.verifyTotals(year, month);
+        boolean consistent = mismatches == 0;
+        return new ResponseEntity<>(new CustomApiResponse<>(
+                consistent ? "Monthly totals match the calculation records."
+                        : "Monthly totals differ from the calculation records, rebuild is required.",
+                consistent,
+                mismatches), HttpStatus.OK);
+    }
+}
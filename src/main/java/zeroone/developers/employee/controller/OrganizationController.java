@@ -3,12 +3,17 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import zeroone.developers.employee.exception.OrganizationException;
+import zeroone.developers.employee.payload.CursorPage;
 import zeroone.developers.employee.payload.CustomApiResponse;
 import zeroone.developers.employee.payload.OrganizationDto;
+import zeroone.developers.employee.payload.OrganizationNodeRow;
+import zeroone.developers.employee.payload.OrganizationTreeNode;
 import zeroone.developers.employee.service.OrganizationService;
 
 import java.util.List;
@@ -27,21 +32,39 @@ public class OrganizationController {
 
 
     /**
-     * Retrieve a list of all organizations.
+     * Retrieve a page of organizations.
      * <p>
-     * This method fetches all organization records and returns them as a list of OrganizationDto.
+     * This method returns organizations ordered by ID using keyset pagination. The response carries
+     * a nextCursor that is passed back as {@code after} to fetch the following page.
+     * Every page carries its own ETag, which changes with any write to the list; a request whose
+     * If-None-Match still matches it is answered with 304 Not Modified without accessing the database.
      *
-     * @return a ResponseEntity containing a CustomApiResponse with the list of OrganizationDto representing all organizations
+     * @param after     the cursor of the previous page, omitted for the first page
+     * @param limit     the maximum number of organizations to return (1-100)
+     * @param direction the ID sort direction, ASC or DESC
+     * @param request   the request whose If-None-Match header is checked
+     * @return a ResponseEntity containing a CustomApiResponse with the page of OrganizationDto and the next cursor
      */
-    @Operation(summary = "Get all Organizations", description = "Retrieve a list of all organizations.")
+    @Operation(summary = "Get all Organizations", description = "Retrieve a page of organizations using cursor-based pagination.")
     @ApiResponse(responseCode = "200", description = "Successfully retrieved the list of organizations.")
+    @ApiResponse(responseCode = "304", description = "The organizations did not change since the ETag in If-None-Match.")
+    @ApiResponse(responseCode = "400", description = "Invalid cursor provided")
     @GetMapping
-    public ResponseEntity<CustomApiResponse<List<OrganizationDto>>> getAllOrganizations() {
-        List<OrganizationDto> organizationDtos = organizationService.findAllOrganizations();
+    public ResponseEntity<CustomApiResponse<List<OrganizationDto>>> getAllOrganizations(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "ASC") Sort.Direction direction,
+            WebRequest request) {
+        // Unchanged since the client's copy: answer before loading the page
+        if (request.checkNotModified(organizationService.getOrganizationsETag(after, limit, direction))) {
+            return null;
+        }
+        CursorPage<OrganizationDto> page = organizationService.findOrganizationsPage(after, limit, direction);
         return new ResponseEntity<>(new CustomApiResponse<>(
                 "Successfully retrieved the list of organizations.",
                 true,
-                organizationDtos), HttpStatus.OK);
+                page.items(),
+                page.nextCursor()), HttpStatus.OK);
     }
 
 
@@ -123,6 +146,84 @@ public ResponseEntity<CustomApiResponse<Void>> deleteOrganization(@PathVariable
             true,
             null), HttpStatus.NO_CONTENT);
    }
-}
 
 
+    /**
+     * Retrieve all subsidiaries of an organization.
+     *
+     * @param id       the ID of the organization
+     * @param maxDepth the number of levels to descend, omitted for the whole subtree
+     * @return a ResponseEntity containing a CustomApiResponse with the subsidiaries ordered by depth
+     */
+    @Operation(summary = "Get Organization descendants", description = "Retrieve all subsidiaries of an organization, nearest first.")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved the descendants.")
+    @ApiResponse(responseCode = "404", description = "Organization not found.")
+    @GetMapping("/{id}/descendants")
+    public ResponseEntity<CustomApiResponse<List<OrganizationNodeRow>>> getDescendants(
+            @PathVariable Long id,
+            @RequestParam(required = false) Integer maxDepth) {
+        List<OrganizationNodeRow> descendants = organizationService.findDescendants(id, maxDepth);
+        return new ResponseEntity<>(new CustomApiResponse<>(
+                "Successfully retrieved the descendants.",
+                true,
+                descendants), HttpStatus.OK);
+    }
+
+
+    /**
+     * Retrieve the parent chain of an organization up to its root.
+     *
+     * @param id the ID of the organization
+     * @return a ResponseEntity containing a CustomApiResponse with the ancestors, direct parent first
+     */
+    @Operation(summary = "Get Organization ancestors", description = "Retrieve the parent chain of an organization up to its root.")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved the ancestors.")
+    @ApiResponse(responseCode = "404", description = "Organization not found.")
+    @GetMapping("/{id}/ancestors")
+    public ResponseEntity<CustomApiResponse<List<OrganizationNodeRow>>> getAncestors(@PathVariable Long id) {
+        List<OrganizationNodeRow> ancestors = organizationService.findAncestors(id);
+        return new ResponseEntity<>(new CustomApiResponse<>(
+                "Successfully retrieved the ancestors.",
+                true,
+                ancestors), HttpStatus.OK);
+    }
+
+
+    /**
+     * Retrieve an organization with its subsidiaries nested down to the given depth.
+     *
+     * @param id    the ID of the tree root
+     * @param depth the number of levels to include below the root
+     * @return a ResponseEntity containing a CustomApiResponse with the organization tree
+     */
+    @Operation(summary = "Get Organization tree", description = "Retrieve an organization with its subsidiaries nested down to the given depth.")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved the organization tree.")
+    @ApiResponse(responseCode = "404", description = "Organization not found.")
+    @GetMapping("/{id}/tree")
+    public ResponseEntity<CustomApiResponse<OrganizationTreeNode>> getTree(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "3") int depth) {
+        OrganizationTreeNode tree = organizationService.findTree(id, depth);
+        return new ResponseEntity<>(new CustomApiResponse<>(
+                "Successfully retrieved the organization tree.",
+                true,
+                tree), HttpStatus.OK);
+    }
+
+
+    /**
+     * Rebuild the organization hierarchy from the parent references.
+     *
+     * @return a ResponseEntity containing a CustomApiResponse with the number of closure rows written
+     */
+    @Operation(summary = "Rebuild Organization hierarchy", description = "Rebuild the organization closure table from the parent references.")
+    @ApiResponse(responseCode = "200", description = "Hierarchy rebuilt successfully.")
+    @PostMapping("/hierarchy/rebuild")
+    public ResponseEntity<CustomApiResponse<Integer>> rebuildHierarchy() {
+        int rows = organizationService.rebuildHierarchy();
+        return new ResponseEntity<>(new CustomApiResponse<>(
+                "Hierarchy rebuilt successfully.",
+                true,
+                rows), HttpStatus.OK);
+    }
+}
@@ -0,0 +1,49 @@
+package zeroone.developers.employee.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import zeroone.developers.employee.payload.CustomApiResponse;
+import zeroone.developers.employee.service.OrganizationRollupService;
+
+/**
+ * REST controller for maintaining the organization payroll rollups read model,
+ * offering an endpoint for rebuilding it from calculation records.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/calculations/rollups")
+public class OrganizationRollupController {
+
+
+    private final OrganizationRollupService organizationRollupService;
+
+
+    /**
+     * Rebuild the organization rollups from calculation records.
+     * <p>
+     * Without parameters every month that has calculations is rebuilt,
+     * with only a year the whole year is rebuilt.
+     *
+     * @param year  the year to rebuild, optional
+     * @param month the month to rebuild, optional
+     * @return a ResponseEntity containing a CustomApiResponse with the number of rows written
+     */
+    @Operation(summary = "Rebuild organization rollups",
+            description = "Recompute the subtree payroll totals of every organization from calculation records for a month, a year or all data.")
+    @ApiResponse(responseCode = "200", description = "Organization rollups rebuilt successfully.")
+    @ApiResponse(responseCode = "400", description = "Invalid input provided")
+    @PostMapping("/rebuild")
+    public ResponseEntity<CustomApiResponse<Integer>> rebuildRollups(
+            @RequestParam(required = false) Integer year,
+            @RequestParam(required = false) Integer month) {
+        int rows = organizationRollupService.rebuildRollups(year, month);
+        return new ResponseEntity<>(new CustomApiResponse<>(
+                "Organization rollups rebuilt successfully.",
+                true,
+                rows), HttpStatus.OK);
+    }
+}
@@ -0,0 +1,96 @@
+package zeroone.developers.employee.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import zeroone.developers.employee.payload.CustomApiResponse;
+import zeroone.developers.employee.payload.HibernateStatisticsDto;
+import zeroone.developers.employee.payload.SlowQueryRow;
+import zeroone.developers.employee.service.QueryDiagnosticsService;
+
+import java.util.List;
+
+/**
+ * REST controller for the runtime query diagnostics, offering endpoints for reading and clearing
+ * the slow-query log and the Hibernate statistics.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/admin/queries")
+public class QueryDiagnosticsController {
+
+
+    private final QueryDiagnosticsService queryDiagnosticsService;
+
+
+    /**
+     * Retrieve the most recent slow statements.
+     *
+     * @param limit the maximum number of statements to return
+     * @return a ResponseEntity containing a CustomApiResponse with the slow statements, most recent first
+     */
+    @Operation(summary = "Get slow queries", description = "Retrieve the most recent statements slower than the slow-query threshold, with their bind parameter types, duration, rows and calling method.")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved the slow queries.")
+    @GetMapping("/slow")
+    public ResponseEntity<CustomApiResponse<List<SlowQueryRow>>> getSlowQueries(@RequestParam(defaultValue = "100") int limit) {
+        List<SlowQueryRow> slowQueries = queryDiagnosticsService.findSlowQueries(limit);
+        return new ResponseEntity<>(new CustomApiResponse<>(
+                "Successfully retrieved the slow queries.",
+                true,
+                slowQueries), HttpStatus.OK);
+    }
+
+
+    /**
+     * Clear the slow-query log.
+     *
+     * @return a ResponseEntity containing a CustomApiResponse with the status of the operation
+     */
+    @Operation(summary = "Clear slow queries", description = "Remove every statement from the slow-query log.")
+    @ApiResponse(responseCode = "204", description = "Slow queries cleared successfully.")
+    @DeleteMapping("/slow")
+    public ResponseEntity<CustomApiResponse<Void>> clearSlowQueries() {
+        queryDiagnosticsService.clearSlowQueries();
+        return new ResponseEntity<>(new CustomApiResponse<>(
+                "Slow queries cleared successfully.",
+                true,
+                null), HttpStatus.NO_CONTENT);
+    }
+
+
+    /**
+     * Retrieve the Hibernate statistics.
+     *
+     * @return a ResponseEntity containing a CustomApiResponse with the statistics
+     */
+    @Operation(summary = "Get Hibernate statistics", description = "Retrieve entity loads and fetches, second-level cache hits, flushes and query counts since start-up or the last reset.")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved the Hibernate statistics.")
+    @GetMapping("/statistics")
+    public ResponseEntity<CustomApiResponse<HibernateStatisticsDto>> getHibernateStatistics() {
+        HibernateStatisticsDto statistics = queryDiagnosticsService.getHibernateStatistics();
+        return new ResponseEntity<>(new CustomApiResponse<>(
+                "Successfully retrieved the Hibernate statistics.",
+                true,
+                statistics), HttpStatus.OK);
+    }
+
+
+    /**
+     * Reset the Hibernate statistics.
+     *
+     * @return a ResponseEntity containing a CustomApiResponse with the status of the operation
+     */
+    @Operation(summary = "Reset Hibernate statistics", description = "Reset the Hibernate statistics, e.g. before reproducing a slow request.")
+    @ApiResponse(responseCode = "204", description = "Hibernate statistics reset successfully.")
+    @DeleteMapping("/statistics")
+    public ResponseEntity<CustomApiResponse<Void>> resetHibernateStatistics() {
+        queryDiagnosticsService.resetHibernateStatistics();
+        return new ResponseEntity<>(new CustomApiResponse<>(
+                "Hibernate statistics reset successfully.",
+                true,
+                null), HttpStatus.NO_CONTENT);
+    }
+}
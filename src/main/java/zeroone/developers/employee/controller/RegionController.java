@@ -3,10 +3,13 @@ package zeroone.developers.employee.controller;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import zeroone.developers.employee.exception.RegionException;
+import zeroone.developers.employee.payload.CursorPage;
 import zeroone.developers.employee.payload.CustomApiResponse;
 import zeroone.developers.employee.payload.RegionDto;
 import zeroone.developers.employee.service.RegionService;
@@ -26,21 +29,39 @@ public class RegionController {
 
 
     /**
-     * Retrieve a list of all regions.
+     * Retrieve a page of regions.
      * <p>
-     * This method fetches all region records and returns them as a list of RegionDto.
+     * This method returns regions ordered by ID using keyset pagination. The response carries
+     * a nextCursor that is passed back as {@code after} to fetch the following page.
+     * Every page carries its own ETag, which changes with any write to the list; a request whose
+     * If-None-Match still matches it is answered with 304 Not Modified without accessing the database.
      *
-     * @return a ResponseEntity containing a CustomApiResponse with the list of RegionDto representing all regions
+     * @param after     the cursor of the previous page, omitted for the first page
+     * @param limit     the maximum number of regions to return (1-100)
+     * @param direction the ID sort direction, ASC or DESC
+     * @param request   the request whose If-None-Match header is checked
+     * @return a ResponseEntity containing a CustomApiResponse with the page of RegionDto and the next cursor
      */
-    @Operation(summary = "Get all Regions", description = "Retrieve a list of all regions.")
+    @Operation(summary = "Get all Regions", description = "Retrieve a page of regions using cursor-based pagination.")
     @ApiResponse(responseCode = "200", description = "Successfully retrieved the list of regions.")
+    @ApiResponse(responseCode = "304", description = "The regions did not change since the ETag in If-None-Match.")
+    @ApiResponse(responseCode = "400", description = "Invalid cursor provided")
     @GetMapping
-    public ResponseEntity<CustomApiResponse<List<RegionDto>>> getAllRegions() {
-        List<RegionDto> regionDtos = regionService.findAllRegions();
+    public ResponseEntity<CustomApiResponse<List<RegionDto>>> getAllRegions(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "ASC") Sort.Direction direction,
+            WebRequest request) {
+        // Unchanged since the client's copy: answer before loading the page
+        if (request.checkNotModified(regionService.getRegionsETag(after, limit, direction))) {
+            return null;
+        }
+        CursorPage<RegionDto> page = regionService.findRegionsPage(after, limit, direction);
         return new ResponseEntity<>(new CustomApiResponse<>(
                 "Successfully retrieved the list of regions.",
                 true,
-                regionDtos), HttpStatus.OK);
+                page.items(),
+                page.nextCursor()), HttpStatus.OK);
     }
 
 
@@ -0,0 +1,96 @@
+package zeroone.developers.employee.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import zeroone.developers.employee.payload.CustomApiResponse;
+import zeroone.developers.employee.payload.ReportJobDto;
+import zeroone.developers.employee.payload.ReportJobPageDto;
+import zeroone.developers.employee.payload.ReportJobRequest;
+import zeroone.developers.employee.payload.ReportJobStatus;
+import zeroone.developers.employee.service.ReportJobService;
+
+/**
+ * REST controller for asynchronous report jobs, offering endpoints for
+ * submitting a monthly report, polling its status and fetching its result page by page.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/calculations/report-jobs")
+public class ReportJobController {
+
+
+    private final ReportJobService reportJobService;
+
+
+    /**
+     * Submit a report job.
+     * <p>
+     * The report runs in the background; poll the returned job until it is COMPLETED and then fetch its result.
+     * Submitting the same report and parameters again returns the existing job.
+     *
+     * @param request the report and its parameters
+     * @return a ResponseEntity containing a CustomApiResponse with the job and an HTTP status of ACCEPTED,
+     * or OK if an existing completed job is returned
+     */
+    @Operation(summary = "Submit a report job", description = "Run a monthly report in the background and return the job to poll.")
+    @ApiResponse(responseCode = "202", description = "Report job submitted.")
+    @ApiResponse(responseCode = "200", description = "An equal report job has already completed.")
+    @ApiResponse(responseCode = "400", description = "Invalid input provided")
+    @ApiResponse(responseCode = "503", description = "The report job queue is full.")
+    @PostMapping
+    public ResponseEntity<CustomApiResponse<ReportJobDto>> submitJob(@Valid @RequestBody ReportJobRequest request) {
+        ReportJobDto job = reportJobService.submitJob(request);
+        HttpStatus status = job.status() == ReportJobStatus.COMPLETED ? HttpStatus.OK : HttpStatus.ACCEPTED;
+        return new ResponseEntity<>(new CustomApiResponse<>(
+                "Report job submitted.",
+                true,
+                job), status);
+    }
+
+
+    /**
+     * Retrieve the status of a report job.
+     *
+     * @param id the ID of the job
+     * @return a ResponseEntity containing a CustomApiResponse with the job
+     */
+    @Operation(summary = "Get report job", description = "Retrieve the status of a report job.")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved the report job.")
+    @ApiResponse(responseCode = "404", description = "Report job not found or expired.")
+    @GetMapping("/{id}")
+    public ResponseEntity<CustomApiResponse<ReportJobDto>> getJob(@PathVariable String id) {
+        ReportJobDto job = reportJobService.findJob(id);
+        return new ResponseEntity<>(new CustomApiResponse<>(
+                "Successfully retrieved the report job.",
+                true,
+                job), HttpStatus.OK);
+    }
+
+
+    /**
+     * Retrieve one page of the result of a completed report job.
+     *
+     * @param id   the ID of the job
+     * @param page the page number, starting at 0
+     * @return a ResponseEntity containing a CustomApiResponse with the rows of the page
+     */
+    @Operation(summary = "Get report job result", description = "Retrieve one page of the result of a completed report job.")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved the result page.")
+    @ApiResponse(responseCode = "400", description = "The job is not completed or the page is out of range.")
+    @ApiResponse(responseCode = "404", description = "Report job not found or expired.")
+    @GetMapping("/{id}/result")
+    public ResponseEntity<CustomApiResponse<ReportJobPageDto>> getResultPage(
+            @PathVariable String id,
+            @RequestParam(defaultValue = "0") int page) {
+        ReportJobPageDto resultPage = reportJobService.findResultPage(id, page);
+        return new ResponseEntity<>(new CustomApiResponse<>(
+                "Successfully retrieved the result page.",
+                true,
+                resultPage), HttpStatus.OK);
+    }
+}
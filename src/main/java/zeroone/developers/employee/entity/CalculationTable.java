@@ -6,15 +6,52 @@ import jakarta.persistence.*;
 import java.sql.Date;
 
 @Entity
-@Table(name = "calculation_table")
+@Table(name = "calculation_table", indexes = {
+        @Index(name = "idx_calculation_date_employee", columnList = "date, employee_id"),
+        @Index(name = "idx_calculation_date_type", columnList = "date, calculation_type"),
+        @Index(name = "idx_calculation_organization_date", columnList = "organization_id, date")
+})
+@NamedEntityGraph(name = CalculationTable.GRAPH_LIST, attributeNodes = {
+        @NamedAttributeNode("employee"),
+        @NamedAttributeNode("organization")
+})
+@NamedEntityGraph(name = CalculationTable.GRAPH_DETAIL, attributeNodes = {
+        @NamedAttributeNode(value = "employee", subgraph = "employee"),
+        @NamedAttributeNode(value = "organization", subgraph = "organization")
+}, subgraphs = {
+        @NamedSubgraph(name = "employee", attributeNodes = @NamedAttributeNode(value = "organization", subgraph = "organization")),
+        @NamedSubgraph(name = "organization", attributeNodes = {
+                @NamedAttributeNode("region"),
+                @NamedAttributeNode("parent")
+        })
+})
 @Schema(description = "CalculationTable entity")
 public class CalculationTable {
+
+    /**
+     * Fetch plan for lists: the calculation with its employee and organization.
+     */
+    public static final String GRAPH_LIST = "CalculationTable.list";
+
+    /**
+     * Fetch plan for a single calculation: also the organizations' region and parent.
+     */
+    public static final String GRAPH_DETAIL = "CalculationTable.detail";
+
+
+    /**
+     * Number of IDs reserved per sequence call; matches the JDBC batch size.
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "calculation_table_seq")
+    @SequenceGenerator(name = "calculation_table_seq", sequenceName = "calculation_table_seq",
+            allocationSize = CalculationTable.ID_ALLOCATION_SIZE)
     @Schema(hidden = true)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "employee_id")
     @Schema(description = "The employee related to this calculation",
             example = "Employee(id=1, firstName=Nizomiddin, lastName=Mirzanazarov)")
@@ -36,7 +73,7 @@ public class CalculationTable {
             example = "2023-09-28")
     private Date date;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "organization_id")
     @Schema(description = "The organization for which the calculation is being made",
             example = "Organization(id=1, name=Zero:One Group)")
@@ -2,11 +2,15 @@ package zeroone.developers.employee.entity;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.sql.Date;
 
 @Entity
-@Table(name = "employee")
+@Table(name = "employee", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_employee_first_name_last_name", columnNames = {"first_name", "last_name"})
+})
+@BatchSize(size = 50)
 @Schema(description = "Employee entity")
 public class Employee {
     @Id
@@ -35,7 +39,7 @@ public class Employee {
             example = "2024-05-10")
     private Date hireDate;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "organization_id", nullable = false)
     @Schema(description = "The organization where the employee works",
             example = "Organization(id=1, name=Zero:One Group)")
@@ -0,0 +1,192 @@
+package zeroone.developers.employee.entity;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+
+import java.sql.Date;
+
+/**
+ * Read model holding the per-employee calculation totals of one month.
+ * Rows are kept up to date by the calculation write path and can be rebuilt
+ * from calculation_table at any time.
+ */
+@Entity
+@Table(name = "monthly_employee_totals",
+        uniqueConstraints = @UniqueConstraint(name = "uk_monthly_totals_period_employee",
+                columnNames = {"period_start", "employee_id"}))
+@Schema(description = "MonthlyEmployeeTotal entity")
+public class MonthlyEmployeeTotal {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Schema(hidden = true)
+    private Long id;
+
+    @Column(name = "employee_id", nullable = false)
+    @Schema(description = "ID of the employee these totals belong to",
+            example = "1")
+    private Long employeeId;
+
+    @Column(length = 50)
+    @Schema(description = "Employee's personal identification number (PINFL)",
+            example = "12345678901234")
+    private String pinfl;
+
+    @Column(name = "organization_id")
+    @Schema(description = "ID of the employee's organization, counted once per pinfl by the region report",
+            example = "1")
+    private Long organizationId;
+
+    @Temporal(TemporalType.DATE)
+    @Column(name = "period_start", nullable = false)
+    @Schema(description = "First day of the month these totals cover",
+            example = "2024-09-01")
+    private Date periodStart;
+
+    @Column(nullable = false)
+    @Schema(description = "Sum of all calculation amounts in the month",
+            example = "12000.0")
+    private Double totalAmount;
+
+    @Column(nullable = false)
+    @Schema(description = "Number of distinct organizations the employee was calculated in",
+            example = "2")
+    private Long organizationCount;
+
+    @Column(nullable = false)
+    @Schema(description = "Number of calculation records in the month",
+            example = "3")
+    private Long calculationCount;
+
+    @Column(nullable = false)
+    @Schema(description = "Sum of SALARY calculations", example = "10000.0")
+    private Double salaryAmount;
+
+    @Column(nullable = false)
+    @Schema(description = "Sum of VACATION calculations", example = "2000.0")
+    private Double vacationAmount;
+
+    @Column(nullable = false)
+    @Schema(description = "Sum of AWARD calculations", example = "0.0")
+    private Double awardAmount;
+
+    @Column(nullable = false)
+    @Schema(description = "Sum of PENSION calculations", example = "0.0")
+    private Double pensionAmount;
+
+    public MonthlyEmployeeTotal() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public void setEmployeeId(Long employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public String getPinfl() {
+        return pinfl;
+    }
+
+    public void setPinfl(String pinfl) {
+        this.pinfl = pinfl;
+    }
+
+    public Long getOrganizationId() {
+        return organizationId;
+    }
+
+    public void setOrganizationId(Long organizationId) {
+        this.organizationId = organizationId;
+    }
+
+    public Date getPeriodStart() {
+        return periodStart;
+    }
+
+    public void setPeriodStart(Date periodStart) {
+        this.periodStart = periodStart;
+    }
+
+    public Double getTotalAmount() {
+        return totalAmount;
+    }
+
+    public void setTotalAmount(Double totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+
+    public Long getOrganizationCount() {
+        return organizationCount;
+    }
+
+    public void setOrganizationCount(Long organizationCount) {
+        this.organizationCount = organizationCount;
+    }
+
+    public Long getCalculationCount() {
+        return calculationCount;
+    }
+
+    public void setCalculationCount(Long calculationCount) {
+        this.calculationCount = calculationCount;
+    }
+
+    public Double getSalaryAmount() {
+        return salaryAmount;
+    }
+
+    public void setSalaryAmount(Double salaryAmount) {
+        this.salaryAmount = salaryAmount;
+    }
+
+    public Double getVacationAmount() {
+        return vacationAmount;
+    }
+
+    public void setVacationAmount(Double vacationAmount) {
+        this.vacationAmount = vacationAmount;
+    }
+
+    public Double getAwardAmount() {
+        return awardAmount;
+    }
+
+    public void setAwardAmount(Double awardAmount) {
+        this.awardAmount = awardAmount;
+    }
+
+    public Double getPensionAmount() {
+        return pensionAmount;
+    }
+
+    public void setPensionAmount(Double pensionAmount) {
+        this.pensionAmount = pensionAmount;
+    }
+
+    @Override
+    public String toString() {
+        return "MonthlyEmployeeTotal{" +
+                "id=" + id +
+                ", employeeId=" + employeeId +
+                ", pinfl='" + pinfl + '\'' +
+                ", periodStart=" + periodStart +
+                ", totalAmount=" + totalAmount +
+                ", organizationCount=" + organizationCount +
+                ", calculationCount=" + calculationCount +
+                ", salaryAmount=" + salaryAmount +
+                ", vacationAmount=" + vacationAmount +
+                ", awardAmount=" + awardAmount +
+                ", pensionAmount=" + pensionAmount +
+                '}';
+    }
+}
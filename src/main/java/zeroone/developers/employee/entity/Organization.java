@@ -2,9 +2,15 @@ package zeroone.developers.employee.entity;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "organization")
+@BatchSize(size = 50)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "organization")
 @Schema(description = "Organization entity")
 public class Organization {
 
@@ -18,13 +24,13 @@ public class Organization {
             example = "Zero:One Group")
     private String name;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "region_id")
     @Schema(description = "Region where the organization is located",
             example = "Region(id=1, name='Tashkent')")
     private Region region;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "parent_id", referencedColumnName = "id")
     @Schema(description = "Parent organization if any, otherwise null",
             example = "null or Organization(id=2, name='Zero:One Education')")
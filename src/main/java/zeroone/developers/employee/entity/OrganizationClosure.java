@@ -0,0 +1,87 @@
+package zeroone.developers.employee.entity;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+
+/**
+ * Closure table of the organization hierarchy.
+ * Holds one row for every ancestor-descendant pair, including each organization paired
+ * with itself at depth 0, so subtree and ancestor lookups are a single indexed query.
+ */
+@Entity
+@Table(name = "organization_closure",
+        uniqueConstraints = @UniqueConstraint(name = "uk_organization_closure_ancestor_descendant",
+                columnNames = {"ancestor_id", "descendant_id"}),
+        indexes = @Index(name = "idx_organization_closure_descendant", columnList = "descendant_id, depth"))
+@Schema(description = "OrganizationClosure entity")
+public class OrganizationClosure {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Schema(hidden = true)
+    private Long id;
+
+    @Column(name = "ancestor_id", nullable = false)
+    @Schema(description = "ID of the ancestor organization", example = "1")
+    private Long ancestorId;
+
+    @Column(name = "descendant_id", nullable = false)
+    @Schema(description = "ID of the descendant organization", example = "3")
+    private Long descendantId;
+
+    @Column(nullable = false)
+    @Schema(description = "Number of levels between ancestor and descendant", example = "2")
+    private Integer depth;
+
+    public OrganizationClosure() {
+    }
+
+    public OrganizationClosure(Long id, Long ancestorId, Long descendantId, Integer depth) {
+        this.id = id;
+        this.ancestorId = ancestorId;
+        this.descendantId = descendantId;
+        this.depth = depth;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getAncestorId() {
+        return ancestorId;
+    }
+
+    public void setAncestorId(Long ancestorId) {
+        this.ancestorId = ancestorId;
+    }
+
+    public Long getDescendantId() {
+        return descendantId;
+    }
+
+    public void setDescendantId(Long descendantId) {
+        this.descendantId = descendantId;
+    }
+
+    public Integer getDepth() {
+        return depth;
+    }
+
+    public void setDepth(Integer depth) {
+        this.depth = depth;
+    }
+
+    @Override
+    public String toString() {
+        return "OrganizationClosure{" +
+                "id=" + id +
+                ", ancestorId=" + ancestorId +
+                ", descendantId=" + descendantId +
+                ", depth=" + depth +
+                '}';
+    }
+}
@@ -0,0 +1,172 @@
+package zeroone.developers.employee.entity;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+
+import java.sql.Date;
+
+/**
+ * Read model holding the calculation totals of an organization for one month and calculation type,
+ * both for the organization itself (own columns) and for its whole subtree of subsidiaries.
+ * Subtree columns are the sums of the own columns over the organization_closure subtree,
+ * so reading the root of a hierarchy costs one row lookup like reading a leaf.
+ * The headcount is additive: an employee paid by two subsidiaries is counted once per subsidiary.
+ */
+@Entity
+@Table(name = "organization_payroll_rollups",
+        uniqueConstraints = @UniqueConstraint(name = "uk_payroll_rollups_organization_period_type",
+                columnNames = {"organization_id", "period_start", "calculation_type"}),
+        indexes = @Index(name = "idx_payroll_rollups_period", columnList = "period_start"))
+@Schema(description = "OrganizationPayrollRollup entity")
+public class OrganizationPayrollRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Schema(hidden = true)
+    private Long id;
+
+    @Column(name = "organization_id", nullable = false)
+    @Schema(description = "ID of the organization these totals belong to",
+            example = "1")
+    private Long organizationId;
+
+    @Temporal(TemporalType.DATE)
+    @Column(name = "period_start", nullable = false)
+    @Schema(description = "First day of the month these totals cover",
+            example = "2024-09-01")
+    private Date periodStart;
+
+    @Column(name = "calculation_type", nullable = false, length = 20)
+    @Schema(description = "Type of the calculations",
+            example = "SALARY")
+    private String calculationType;
+
+    @Column(name = "own_amount", nullable = false)
+    @Schema(description = "Sum of the calculation amounts of the organization itself",
+            example = "12000.0")
+    private Double ownAmount;
+
+    @Column(name = "own_count", nullable = false)
+    @Schema(description = "Number of calculation records of the organization itself",
+            example = "3")
+    private Long ownCount;
+
+    @Column(name = "own_headcount", nullable = false)
+    @Schema(description = "Number of distinct employees calculated in the organization itself",
+            example = "2")
+    private Long ownHeadcount;
+
+    @Column(name = "total_amount", nullable = false)
+    @Schema(description = "Sum of the calculation amounts of the organization and all of its subsidiaries",
+            example = "48000.0")
+    private Double totalAmount;
+
+    @Column(name = "calculation_count", nullable = false)
+    @Schema(description = "Number of calculation records of the organization and all of its subsidiaries",
+            example = "12")
+    private Long calculationCount;
+
+    @Column(name = "headcount", nullable = false)
+    @Schema(description = "Sum of the own headcounts of the organization and all of its subsidiaries",
+            example = "8")
+    private Long headcount;
+
+    public OrganizationPayrollRollup() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getOrganizationId() {
+        return organizationId;
+    }
+
+    public void setOrganizationId(Long organizationId) {
+        this.organizationId = organizationId;
+    }
+
+    public Date getPeriodStart() {
+        return periodStart;
+    }
+
+    public void setPeriodStart(Date periodStart) {
+        this.periodStart = periodStart;
+    }
+
+    public String getCalculationType() {
+        return calculationType;
+    }
+
+    public void setCalculationType(String calculationType) {
+        this.calculationType = calculationType;
+    }
+
+    public Double getOwnAmount() {
+        return ownAmount;
+    }
+
+    public void setOwnAmount(Double ownAmount) {
+        this.ownAmount = ownAmount;
+    }
+
+    public Long getOwnCount() {
+        return ownCount;
+    }
+
+    public void setOwnCount(Long ownCount) {
+        this.ownCount = ownCount;
+    }
+
+    public Long getOwnHeadcount() {
+        return ownHeadcount;
+    }
+
+    public void setOwnHeadcount(Long ownHeadcount) {
+        this.ownHeadcount = ownHeadcount;
+    }
+
+    public Double getTotalAmount() {
+        return totalAmount;
+    }
+
+    public void setTotalAmount(Double totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+
+    public Long getCalculationCount() {
+        return calculationCount;
+    }
+
+    public void setCalculationCount(Long calculationCount) {
+        this.calculationCount = calculationCount;
+    }
+
+    public Long getHeadcount() {
+        return headcount;
+    }
+
+    public void setHeadcount(Long headcount) {
+        this.headcount = headcount;
+    }
+
+    @Override
+    public String toString() {
+        return "OrganizationPayrollRollup{" +
+                "id=" + id +
+                ", organizationId=" + organizationId +
+                ", periodStart=" + periodStart +
+                ", calculationType='" + calculationType + '\'' +
+                ", ownAmount=" + ownAmount +
+                ", ownCount=" + ownCount +
+                ", ownHeadcount=" + ownHeadcount +
+                ", totalAmount=" + totalAmount +
+                ", calculationCount=" + calculationCount +
+                ", headcount=" + headcount +
+                '}';
+    }
+}
@@ -2,9 +2,15 @@ package zeroone.developers.employee.entity;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "region")
+@BatchSize(size = 50)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "region")
 @Schema(description = "Region entity")
 public class Region {
 
@@ -13,7 +19,7 @@ public class Region {
     @Schema(hidden = true)
     private Long id;
 
-    @Column(nullable = false, length = 20)
+    @Column(nullable = false, length = 20, unique = true)
     @Schema(description = "Name of the region",
             example = "Tashkent")
     private String name;
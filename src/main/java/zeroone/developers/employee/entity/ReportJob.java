@@ -0,0 +1,221 @@
+package zeroone.developers.employee.entity;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+import zeroone.developers.employee.payload.ReportJobStatus;
+import zeroone.developers.employee.payload.ReportType;
+
+import java.time.Instant;
+
+/**
+ * An asynchronous report job and the metadata of its stored result.
+ * The result rows are kept in report_job_pages until the job expires.
+ */
+@Entity
+@Table(name = "report_jobs",
+        indexes = {
+                @Index(name = "idx_report_jobs_key_status", columnList = "job_key, status"),
+                @Index(name = "idx_report_jobs_expires_at", columnList = "expires_at")
+        })
+@Schema(description = "ReportJob entity")
+public class ReportJob {
+
+    @Id
+    @Column(length = 36)
+    @Schema(description = "Unique ID of the job", example = "8f14e45f-ceea-467a-9b8e-2f2a0c7e1b3d")
+    private String id;
+
+    @Column(name = "job_key", nullable = false, length = 100)
+    @Schema(description = "Report type and parameters; equal submissions share a key", example = "REGION:2024-05")
+    private String jobKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "report_type", nullable = false, length = 30)
+    @Schema(description = "Report the job runs", example = "REGION")
+    private ReportType reportType;
+
+    @Column(name = "report_year", nullable = false)
+    @Schema(description = "Year of the reporting month", example = "2024")
+    private Integer year;
+
+    @Column(name = "report_month", nullable = false)
+    @Schema(description = "Reporting month", example = "5")
+    private Integer month;
+
+    @Schema(description = "Salary threshold of the report", example = "10000.0")
+    private Double threshold;
+
+    @Column(name = "organization_id")
+    @Schema(description = "Organization of the report", example = "1")
+    private Long organizationId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Schema(description = "Current status of the job", example = "COMPLETED")
+    private ReportJobStatus status;
+
+    @Column(name = "row_count")
+    @Schema(description = "Number of result rows", example = "2500")
+    private Long rowCount;
+
+    @Column(name = "page_count")
+    @Schema(description = "Number of result pages", example = "3")
+    private Integer pageCount;
+
+    @Column(name = "error_message", length = 500)
+    @Schema(description = "Reason the job failed")
+    private String errorMessage;
+
+    @Column(name = "created_at", nullable = false)
+    @Schema(description = "When the job was submitted")
+    private Instant createdAt;
+
+    @Column(name = "started_at")
+    @Schema(description = "When a worker started the job")
+    private Instant startedAt;
+
+    @Column(name = "completed_at")
+    @Schema(description = "When the job completed or failed")
+    private Instant completedAt;
+
+    @Column(name = "expires_at")
+    @Schema(description = "When the job and its result are deleted")
+    private Instant expiresAt;
+
+    public ReportJob() {
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getJobKey() {
+        return jobKey;
+    }
+
+    public void setJobKey(String jobKey) {
+        this.jobKey = jobKey;
+    }
+
+    public ReportType getReportType() {
+        return reportType;
+    }
+
+    public void setReportType(ReportType reportType) {
+        this.reportType = reportType;
+    }
+
+    public Integer getYear() {
+        return year;
+    }
+
+    public void setYear(Integer year) {
+        this.year = year;
+    }
+
+    public Integer getMonth() {
+        return month;
+    }
+
+    public void setMonth(Integer month) {
+        this.month = month;
+    }
+
+    public Double getThreshold() {
+        return threshold;
+    }
+
+    public void setThreshold(Double threshold) {
+        this.threshold = threshold;
+    }
+
+    public Long getOrganizationId() {
+        return organizationId;
+    }
+
+    public void setOrganizationId(Long organizationId) {
+        this.organizationId = organizationId;
+    }
+
+    public ReportJobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ReportJobStatus status) {
+        this.status = status;
+    }
+
+    public Long getRowCount() {
+        return rowCount;
+    }
+
+    public void setRowCount(Long rowCount) {
+        this.rowCount = rowCount;
+    }
+
+    public Integer getPageCount() {
+        return pageCount;
+    }
+
+    public void setPageCount(Integer pageCount) {
+        this.pageCount = pageCount;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public Instant getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(Instant completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    @Override
+    public String toString() {
+        return "ReportJob{" +
+                "id='" + id + '\'' +
+                ", jobKey='" + jobKey + '\'' +
+                ", status=" + status +
+                ", rowCount=" + rowCount +
+                ", pageCount=" + pageCount +
+                ", createdAt=" + createdAt +
+                ", completedAt=" + completedAt +
+                ", expiresAt=" + expiresAt +
+                '}';
+    }
+}
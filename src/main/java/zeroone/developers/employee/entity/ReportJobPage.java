@@ -0,0 +1,98 @@
+package zeroone.developers.employee.entity;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+
+/**
+ * One page of the result of a report job, stored as a gzip-compressed JSON array
+ * so a page is read and sent without touching the rest of the result.
+ */
+@Entity
+@Table(name = "report_job_pages",
+        uniqueConstraints = @UniqueConstraint(name = "uk_report_job_pages_job_page",
+                columnNames = {"job_id", "page_number"}))
+@Schema(description = "ReportJobPage entity")
+public class ReportJobPage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Schema(hidden = true)
+    private Long id;
+
+    @Column(name = "job_id", nullable = false, length = 36)
+    @Schema(description = "ID of the report job", example = "8f14e45f-ceea-467a-9b8e-2f2a0c7e1b3d")
+    private String jobId;
+
+    @Column(name = "page_number", nullable = false)
+    @Schema(description = "Page number, starting at 0", example = "0")
+    private Integer pageNumber;
+
+    @Column(name = "row_count", nullable = false)
+    @Schema(description = "Number of rows on the page", example = "1000")
+    private Integer rowCount;
+
+    @Column(nullable = false)
+    @Schema(hidden = true)
+    private byte[] data;
+
+    public ReportJobPage() {
+    }
+
+    public ReportJobPage(String jobId, Integer pageNumber, Integer rowCount, byte[] data) {
+        this.jobId = jobId;
+        this.pageNumber = pageNumber;
+        this.rowCount = rowCount;
+        this.data = data;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    public Integer getPageNumber() {
+        return pageNumber;
+    }
+
+    public void setPageNumber(Integer pageNumber) {
+        this.pageNumber = pageNumber;
+    }
+
+    public Integer getRowCount() {
+        return rowCount;
+    }
+
+    public void setRowCount(Integer rowCount) {
+        this.rowCount = rowCount;
+    }
+
+    public byte[] getData() {
+        return data;
+    }
+
+    public void setData(byte[] data) {
+        this.data = data;
+    }
+
+    @Override
+    public String toString() {
+        return "ReportJobPage{" +
+                "id=" + id +
+                ", jobId='" + jobId + '\'' +
+                ", pageNumber=" + pageNumber +
+                ", rowCount=" + rowCount +
+                ", bytes=" + (data == null ? 0 : data.length) +
+                '}';
+    }
+}
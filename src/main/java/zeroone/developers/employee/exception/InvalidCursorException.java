@@ -0,0 +1,15 @@
+package zeroone.developers.employee.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a pagination cursor cannot be decoded.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidCursorException extends RuntimeException{
+
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,15 @@
+package zeroone.developers.employee.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a report job cannot be submitted or its result cannot be read.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class ReportJobException extends RuntimeException{
+
+    public ReportJobException(String message) {
+        super(message);
+    }
+}
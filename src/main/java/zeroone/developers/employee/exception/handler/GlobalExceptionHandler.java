@@ -1,13 +1,19 @@
 package zeroone.developers.employee.exception.handler;
 
 
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import zeroone.developers.employee.exception.ResourceNotFoundException;
 import zeroone.developers.employee.payload.CustomApiResponse;
 
+import java.util.concurrent.RejectedExecutionException;
+
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
@@ -20,6 +26,32 @@ public class GlobalExceptionHandler {
     }
 
 
+    /**
+     * A unique index rejected a write, for example a name that is already taken.
+     * Services check uniqueness first, so this only happens for concurrent writes of the same value.
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<CustomApiResponse> dataIntegrityViolationExceptionHandler(DataIntegrityViolationException ex){
+        CustomApiResponse apiResponse = new CustomApiResponse("The record conflicts with an existing one", false, null);
+        return new ResponseEntity<>(apiResponse, HttpStatus.CONFLICT);
+    }
+
+
+    /**
+     * No database connection became free within the pool's connection timeout,
+     * or a bounded work queue such as the report job queue is full.
+     * The request is rejected with 503 so clients back off instead of piling up.
+     */
+    @ExceptionHandler({CannotCreateTransactionException.class, CannotGetJdbcConnectionException.class,
+            RejectedExecutionException.class})
+    public ResponseEntity<CustomApiResponse> connectionUnavailableExceptionHandler(Exception ex){
+        CustomApiResponse apiResponse = new CustomApiResponse("Service is busy, please retry shortly", false, null);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(apiResponse);
+    }
+
+
 
 
 
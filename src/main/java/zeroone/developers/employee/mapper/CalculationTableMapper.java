@@ -0,0 +1,56 @@
+package zeroone.developers.employee.mapper;
+
+import zeroone.developers.employee.entity.CalculationTable;
+import zeroone.developers.employee.payload.CalculationTableDto;
+
+/**
+ * Conversions between CalculationTable and CalculationTableDto,
+ * including the calculation's employee and organization.
+ */
+public final class CalculationTableMapper {
+
+    private CalculationTableMapper() {
+    }
+
+
+    /**
+     * Convert a CalculationTable entity to a CalculationTableDto.
+     *
+     * @param calculationTable the calculation to convert, may be null
+     * @return the DTO with the converted employee and organization, or null if calculationTable is null
+     */
+    public static CalculationTableDto toDto(CalculationTable calculationTable) {
+        if (calculationTable == null) {
+            return null;
+        }
+        return new CalculationTableDto(
+                calculationTable.getId(),
+                EmployeeMapper.toDto(calculationTable.getEmployee()),
+                calculationTable.getAmount(),
+                calculationTable.getRate(),
+                calculationTable.getDate(),
+                OrganizationMapper.toDto(calculationTable.getOrganization()),
+                calculationTable.getCalculationType());
+    }
+
+
+    /**
+     * Convert a CalculationTableDto to a CalculationTable entity.
+     *
+     * @param calculationTableDto the DTO to convert, may be null
+     * @return the calculation entity, or null if calculationTableDto is null
+     */
+    public static CalculationTable toEntity(CalculationTableDto calculationTableDto) {
+        if (calculationTableDto == null) {
+            return null;
+        }
+        return new CalculationTable(
+                calculationTableDto.getId(),
+                EmployeeMapper.toEntity(calculationTableDto.getEmployee()),
+                calculationTableDto.getAmount(),
+                calculationTableDto.getRate(),
+                calculationTableDto.getDate(),
+                OrganizationMapper.toEntity(calculationTableDto.getOrganization()),
+                calculationTableDto.getCalculationType());
+    }
+}
@@ -0,0 +1,56 @@
+package zeroone.developers.employee.mapper;
+
+import zeroone.developers.employee.entity.Employee;
+import zeroone.developers.employee.payload.EmployeeDto;
+
+/**
+ * Conversions between Employee and EmployeeDto, including the employee's organization.
+ */
+public final class EmployeeMapper {
+
+    private EmployeeMapper() {
+    }
+
+
+    /**
+     * Convert an Employee entity to an EmployeeDto.
+     *
+     * @param employee the employee to convert, may be null
+     * @return the DTO with the converted organization, or null if employee is null
+     */
+    public static EmployeeDto toDto(Employee employee) {
+        if (employee == null) {
+            return null;
+        }
+        return new EmployeeDto(
+                employee.getId(),
+                employee.getFirstName(),
+                employee.getLastName(),
+                employee.getPinfl(),
+                employee.getHireDate(),
+                OrganizationMapper.toDto(employee.getOrganization()));
+    }
+
+
+    /**
+     * Convert an EmployeeDto to an Employee entity.
+     *
+     * The organization is converted from the DTO, not loaded; callers that persist the entity
+     * must make sure it refers to an existing organization.
+     *
+     * @param employeeDto the DTO to convert, may be null
+     * @return the employee entity, or null if employeeDto is null
+     */
+    public static Employee toEntity(EmployeeDto employeeDto) {
+        if (employeeDto == null) {
+            return null;
+        }
+        return new Employee(
+                employeeDto.getId(),
+                employeeDto.getFirstName(),
+                employeeDto.getLastName(),
+                employeeDto.getPinfl(),
+                employeeDto.getHireDate(),
+                OrganizationMapper.toEntity(employeeDto.getOrganization()));
+    }
+}
@@ -0,0 +1,53 @@
+package zeroone.developers.employee.mapper;
+
+import zeroone.developers.employee.entity.Organization;
+import zeroone.developers.employee.payload.OrganizationDto;
+
+/**
+ * Conversions between Organization and OrganizationDto.
+ * The region and the whole parent chain are converted as well.
+ */
+public final class OrganizationMapper {
+
+    private OrganizationMapper() {
+    }
+
+
+    /**
+     * Convert an Organization entity to an OrganizationDto.
+     *
+     * Touches the region and every parent up to the root, so the entity should be loaded
+     * with them or still be attached to its persistence context.
+     *
+     * @param organization the organization to convert, may be null
+     * @return the DTO with its region and parent chain, or null if organization is null
+     */
+    public static OrganizationDto toDto(Organization organization) {
+        if (organization == null) {
+            return null;
+        }
+        return new OrganizationDto(
+                organization.getId(),
+                organization.getName(),
+                RegionMapper.toDto(organization.getRegion()),
+                toDto(organization.getParent()));
+    }
+
+
+    /**
+     * Convert an OrganizationDto to an Organization entity.
+     *
+     * @param organizationDto the DTO to convert, may be null
+     * @return the organization entity with its region and parent chain, or null if organizationDto is null
+     */
+    public static Organization toEntity(OrganizationDto organizationDto) {
+        if (organizationDto == null) {
+            return null;
+        }
+        return new Organization(
+                organizationDto.getId(),
+                organizationDto.getName(),
+                RegionMapper.toEntity(organizationDto.getRegion()),
+                toEntity(organizationDto.getParent()));
+    }
+}
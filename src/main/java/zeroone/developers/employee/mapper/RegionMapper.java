@@ -0,0 +1,41 @@
+package zeroone.developers.employee.mapper;
+
+import zeroone.developers.employee.entity.Region;
+import zeroone.developers.employee.payload.RegionDto;
+
+/**
+ * Conversions between Region and RegionDto.
+ */
+public final class RegionMapper {
+
+    private RegionMapper() {
+    }
+
+
+    /**
+     * Convert a Region entity to a RegionDto.
+     *
+     * @param region the region to convert, may be null
+     * @return the DTO, or null if region is null
+     */
+    public static RegionDto toDto(Region region) {
+        if (region == null) {
+            return null;
+        }
+        return new RegionDto(region.getId(), region.getName());
+    }
+
+
+    /**
+     * Convert a RegionDto to a Region entity.
+     *
+     * @param regionDto the DTO to convert, may be null
+     * @return the region entity, or null if regionDto is null
+     */
+    public static Region toEntity(RegionDto regionDto) {
+        if (regionDto == null) {
+            return null;
+        }
+        return new Region(regionDto.getId(), regionDto.getName());
+    }
+}
@@ -0,0 +1,19 @@
+package zeroone.developers.employee.payload;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * Summary of a batch request with the outcome of every row.
+ *
+ * @param stored   the number of rows stored
+ * @param rejected the number of rows rejected
+ * @param rows     the outcome of every row, in request order
+ */
+@Schema(description = "Summary of a batch request")
+public record BatchResult(
+        @Schema(example = "998") int stored,
+        @Schema(example = "2") int rejected,
+        List<BatchRowResult> rows) {
+}
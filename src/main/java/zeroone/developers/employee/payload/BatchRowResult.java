@@ -0,0 +1,27 @@
+package zeroone.developers.employee.payload;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Outcome of one row of a batch request.
+ *
+ * @param index   the position of the row in the request
+ * @param success whether the row was stored
+ * @param id      the ID assigned to the stored row, null if rejected
+ * @param error   the reason the row was rejected, null if stored
+ */
+@Schema(description = "Outcome of one row of a batch request")
+public record BatchRowResult(
+        @Schema(example = "0") int index,
+        @Schema(example = "true") boolean success,
+        @Schema(example = "101") Long id,
+        @Schema(example = "Calculation amount must be positive") String error) {
+
+    public static BatchRowResult stored(int index, Long id) {
+        return new BatchRowResult(index, true, id, null);
+    }
+
+    public static BatchRowResult rejected(int index, String error) {
+        return new BatchRowResult(index, false, null, error);
+    }
+}
@@ -0,0 +1,21 @@
+package zeroone.developers.employee.payload;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+
+/**
+ * One partition of calculation_table.
+ *
+ * @param name          the name of the partition table
+ * @param rangeStart    the first day the partition holds, null for the default partition
+ * @param rangeEnd      the first day after the partition, null for the default partition
+ * @param estimatedRows the planner's row estimate, -1 if the partition has never been analyzed
+ */
+@Schema(description = "A partition of calculation_table")
+public record CalculationPartitionRow(
+        @Schema(example = "calculation_table_y2024m05") String name,
+        @Schema(example = "2024-05-01") LocalDate rangeStart,
+        @Schema(example = "2024-06-01") LocalDate rangeEnd,
+        @Schema(example = "125000") long estimatedRows) {
+}
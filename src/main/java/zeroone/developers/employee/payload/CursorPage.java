@@ -0,0 +1,73 @@
+package zeroone.developers.employee.payload;
+
+import zeroone.developers.employee.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated list.
+ *
+ * @param items      the rows of the page
+ * @param nextCursor the opaque cursor of the next page, or null if this is the last page
+ * @param <T>        the type of the rows
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+
+    /**
+     * Default number of rows per page.
+     */
+    public static final int DEFAULT_LIMIT = 20;
+
+    /**
+     * Largest number of rows a client may request per page.
+     */
+    public static final int MAX_LIMIT = 100;
+
+
+    /**
+     * Encode the ID of the last row of a page as an opaque cursor.
+     *
+     * @param id the ID of the last row
+     * @return the URL-safe cursor
+     */
+    public static String encodeCursor(Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("id:" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+
+    /**
+     * Decode a cursor produced by {@link #encodeCursor(Long)}.
+     *
+     * @param cursor the cursor sent by the client, may be null or blank for the first page
+     * @return the ID to continue after, or null for the first page
+     * @throws InvalidCursorException if the cursor is malformed
+     */
+    public static Long decodeCursor(String cursor) throws InvalidCursorException {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!value.startsWith("id:")) {
+                throw new InvalidCursorException("Invalid cursor: " + cursor);
+            }
+            return Long.parseLong(value.substring(3));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor);
+        }
+    }
+
+
+    /**
+     * Clamp a requested page size to [1, MAX_LIMIT].
+     *
+     * @param limit the requested page size
+     * @return the page size to use
+     */
+    public static int clampLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+}
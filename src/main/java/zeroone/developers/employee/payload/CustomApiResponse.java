@@ -1,5 +1,6 @@
 package zeroone.developers.employee.payload;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 @Schema(description = "Response wrapper for API responses")
@@ -14,12 +15,23 @@ public class CustomApiResponse<T> {
 
     private T data;
 
+    @Schema(description = "Cursor of the next page for paginated lists, absent on the last page")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
+
     public CustomApiResponse(String message, boolean success, T data) {
         this.message = message;
         this.success = success;
         this.data = data;
     }
 
+    public CustomApiResponse(String message, boolean success, T data, String nextCursor) {
+        this.message = message;
+        this.success = success;
+        this.data = data;
+        this.nextCursor = nextCursor;
+    }
+
     public CustomApiResponse(String message, boolean success) {
         this.message = message;
         this.success = success;
@@ -55,6 +67,14 @@ public class CustomApiResponse<T> {
         this.data = data;
     }
 
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
 
     @Override
     public String toString() {
@@ -62,6 +82,7 @@ public class CustomApiResponse<T> {
                 "message='" + message + '\'' +
                 ", success=" + success +
                 ", data=" + data +
+                ", nextCursor='" + nextCursor + '\'' +
                 '}';
     }
 }
@@ -0,0 +1,21 @@
+package zeroone.developers.employee.payload;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * A row of an employee CSV import that was not imported.
+ *
+ * @param row       the position of the row in the file, 1 for the first data row
+ * @param firstName the first name of the row
+ * @param lastName  the last name of the row
+ * @param pinfl     the pinfl of the row
+ * @param reason    the reason the row was rejected
+ */
+@Schema(description = "Rejected row of an employee CSV import")
+public record EmployeeImportRejection(
+        @Schema(example = "17") long row,
+        @Schema(example = "Nizomiddin") String firstName,
+        @Schema(example = "Mirzanazarov") String lastName,
+        @Schema(example = "12345678901234") String pinfl,
+        @Schema(example = "Employee with this pinfl already exists") String reason) {
+}
@@ -0,0 +1,21 @@
+package zeroone.developers.employee.payload;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * Summary of an employee CSV import.
+ *
+ * @param received   the number of data rows in the file
+ * @param imported   the number of employees created
+ * @param rejected   the number of rows rejected
+ * @param rejections the rejected rows in file order, capped at employees.import.max-reported-rejections
+ */
+@Schema(description = "Summary of an employee CSV import")
+public record EmployeeImportResult(
+        @Schema(example = "50000") int received,
+        @Schema(example = "49998") int imported,
+        @Schema(example = "2") int rejected,
+        List<EmployeeImportRejection> rejections) {
+}
@@ -0,0 +1,33 @@
+package zeroone.developers.employee.payload;
+
+/**
+ * Output formats supported by the streaming exports.
+ */
+public enum ExportFormat {
+
+    /**
+     * One JSON object per line.
+     */
+    NDJSON("application/x-ndjson", "ndjson"),
+
+    /**
+     * Comma-separated values with a header row.
+     */
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
@@ -0,0 +1,56 @@
+package zeroone.developers.employee.payload;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+
+/**
+ * Counters of the Hibernate session factory since start-up or the last reset.
+ * <p>
+ * Entity and collection fetches count the lazy loads that needed their own statement,
+ * so a fetch count growing with the number of rows of a request points to an N+1 query.
+ *
+ * @param since                     when counting started
+ * @param prepareStatementCount     the number of JDBC statements prepared
+ * @param queryExecutionCount       the number of HQL and native queries executed
+ * @param queryExecutionMaxTime     the longest query execution in milliseconds
+ * @param slowestQuery              the query that took the longest
+ * @param entityLoadCount           the number of entities loaded
+ * @param entityFetchCount          the number of entities fetched with a statement of their own
+ * @param entityInsertCount         the number of entities inserted
+ * @param entityUpdateCount         the number of entities updated
+ * @param entityDeleteCount         the number of entities deleted
+ * @param collectionLoadCount       the number of collections loaded
+ * @param collectionFetchCount      the number of collections fetched with a statement of their own
+ * @param secondLevelCacheHitCount  the number of entities found in the second-level cache
+ * @param secondLevelCacheMissCount the number of second-level cache lookups that missed
+ * @param secondLevelCachePutCount  the number of entities put into the second-level cache
+ * @param queryCacheHitCount        the number of query results found in the query cache
+ * @param queryCacheMissCount       the number of query cache lookups that missed
+ * @param flushCount                the number of session flushes
+ * @param sessionOpenCount          the number of sessions opened
+ * @param transactionCount          the number of completed transactions
+ */
+@Schema(description = "Hibernate session factory statistics")
+public record HibernateStatisticsDto(
+        @Schema(example = "2024-05-31T08:00:00Z") Instant since,
+        @Schema(example = "15230") long prepareStatementCount,
+        @Schema(example = "4210") long queryExecutionCount,
+        @Schema(example = "812") long queryExecutionMaxTime,
+        @Schema(example = "select e from Employee e") String slowestQuery,
+        @Schema(example = "98000") long entityLoadCount,
+        @Schema(example = "120") long entityFetchCount,
+        @Schema(example = "310") long entityInsertCount,
+        @Schema(example = "45") long entityUpdateCount,
+        @Schema(example = "3") long entityDeleteCount,
+        @Schema(example = "0") long collectionLoadCount,
+        @Schema(example = "0") long collectionFetchCount,
+        @Schema(example = "7600") long secondLevelCacheHitCount,
+        @Schema(example = "410") long secondLevelCacheMissCount,
+        @Schema(example = "410") long secondLevelCachePutCount,
+        @Schema(example = "0") long queryCacheHitCount,
+        @Schema(example = "0") long queryCacheMissCount,
+        @Schema(example = "5120") long flushCount,
+        @Schema(example = "5300") long sessionOpenCount,
+        @Schema(example = "5290") long transactionCount) {
+}
@@ -0,0 +1,15 @@
+package zeroone.developers.employee.payload;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Row of the high-salary report: an employee and their total amount for the month.
+ *
+ * @param pinfl       the employee's personal identification number
+ * @param totalAmount the sum of the employee's calculations in the month
+ */
+@Schema(description = "Employee whose monthly total is above the threshold")
+public record HighSalaryRow(
+        @Schema(example = "12345678901234") String pinfl,
+        @Schema(example = "12000.0") Double totalAmount) {
+}
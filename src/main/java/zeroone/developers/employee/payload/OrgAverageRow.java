@@ -0,0 +1,18 @@
+package zeroone.developers.employee.payload;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Row of the average-salary report: an organization and the average calculation amount
+ * of its employees for the month.
+ *
+ * @param organizationId   the ID of the organization
+ * @param organizationName the name of the organization
+ * @param averageAmount    the average calculation amount
+ */
+@Schema(description = "Average calculation amount of an organization for a month")
+public record OrgAverageRow(
+        @Schema(example = "1") Long organizationId,
+        @Schema(example = "Zero:One Group") String organizationName,
+        @Schema(example = "5000.0") Double averageAmount) {
+}
@@ -0,0 +1,27 @@
+package zeroone.developers.employee.payload;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Row of the organization rollup report: the totals of one calculation type
+ * over an organization and all of its subsidiaries for the month.
+ *
+ * @param organizationId   the ID of the organization
+ * @param organizationName the name of the organization
+ * @param calculationType  the calculation type
+ * @param totalAmount      the sum of the calculation amounts
+ * @param averageAmount    the average calculation amount
+ * @param calculationCount the number of calculation records
+ * @param headcount        the number of employees calculated, once per organization they were calculated in
+ */
+@Schema(description = "Totals of a calculation type over an organization and its subsidiaries for a month")
+public record OrgRollupRow(
+        @Schema(example = "1") Long organizationId,
+        @Schema(example = "Zero:One Group") String organizationName,
+        @Schema(example = "SALARY") String calculationType,
+        @Schema(example = "48000.0") Double totalAmount,
+        @Schema(example = "4000.0") Double averageAmount,
+        @Schema(example = "12") Long calculationCount,
+        @Schema(description = "Employees calculated in the subtree, counted once per organization that paid them",
+                example = "8") Long headcount) {
+}
@@ -0,0 +1,19 @@
+package zeroone.developers.employee.payload;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * An organization found through the hierarchy, with its distance from the queried organization.
+ *
+ * @param id       the ID of the organization
+ * @param name     the name of the organization
+ * @param parentId the ID of its parent organization, null for a root
+ * @param depth    the number of levels between it and the queried organization
+ */
+@Schema(description = "Organization in a hierarchy query")
+public record OrganizationNodeRow(
+        @Schema(example = "3") Long id,
+        @Schema(example = "Zero:One Academy") String name,
+        @Schema(example = "2") Long parentId,
+        @Schema(example = "1") Integer depth) {
+}
@@ -0,0 +1,21 @@
+package zeroone.developers.employee.payload;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * An organization with its subsidiaries, as returned by the tree endpoint.
+ *
+ * @param id       the ID of the organization
+ * @param name     the name of the organization
+ * @param depth    the number of levels below the tree root
+ * @param children the direct subsidiaries within the requested depth
+ */
+@Schema(description = "Organization with its subsidiaries")
+public record OrganizationTreeNode(
+        @Schema(example = "1") Long id,
+        @Schema(example = "Zero:One Group") String name,
+        @Schema(example = "0") Integer depth,
+        List<OrganizationTreeNode> children) {
+}
@@ -0,0 +1,21 @@
+package zeroone.developers.employee.payload;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Row of the salaries-and-vacations report: an employee and one amount they received in the month.
+ *
+ * @param employeeId the ID of the employee
+ * @param firstName  the employee's first name
+ * @param lastName   the employee's last name
+ * @param pinfl      the employee's personal identification number
+ * @param amount     the salary or vacation amount
+ */
+@Schema(description = "Employee who received a salary or vacation payment in a month")
+public record PaidEmployeeRow(
+        @Schema(example = "1") Long employeeId,
+        @Schema(example = "Nizomiddin") String firstName,
+        @Schema(example = "Mirzanazarov") String lastName,
+        @Schema(example = "12345678901234") String pinfl,
+        @Schema(example = "5000.0") Double amount) {
+}
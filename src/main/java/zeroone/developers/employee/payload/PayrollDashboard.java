@@ -0,0 +1,33 @@
+package zeroone.developers.employee.payload;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * The monthly payroll dashboard: every monthly report for one month in a single response.
+ *
+ * @param year                 the year of the reporting month
+ * @param month                the reporting month
+ * @param highSalary           employees whose total salary is above the threshold
+ * @param regions              every employee with the number of their organizations and their total amount for the month
+ * @param organizationAverages the average salary per organization
+ * @param salariesAndVacations employees who received a salary or vacation payment
+ */
+@Schema(description = "All monthly payroll reports for one month")
+public record PayrollDashboard(
+        @Schema(example = "2024") int year,
+        @Schema(example = "5") int month,
+        List<HighSalaryRow> highSalary,
+        List<RegionSummaryRow> regions,
+        List<OrgAverageRow> organizationAverages,
+        List<PaidEmployeeRow> salariesAndVacations) {
+
+    /**
+     * @return true if none of the reports has a row
+     */
+    public boolean isEmpty() {
+        return highSalary.isEmpty() && regions.isEmpty()
+                && organizationAverages.isEmpty() && salariesAndVacations.isEmpty();
+    }
+}
@@ -0,0 +1,18 @@
+package zeroone.developers.employee.payload;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Row of the region report: an employee, the number of organizations they were
+ * calculated in and their total amount for the month.
+ *
+ * @param pinfl             the employee's personal identification number
+ * @param organizationCount the number of distinct organizations
+ * @param totalAmount       the sum of the employee's calculations in the month
+ */
+@Schema(description = "Employee's organization count and total amount for a month")
+public record RegionSummaryRow(
+        @Schema(example = "12345678901234") String pinfl,
+        @Schema(example = "2") Long organizationCount,
+        @Schema(example = "12000.0") Double totalAmount) {
+}
@@ -0,0 +1,41 @@
+package zeroone.developers.employee.payload;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+
+/**
+ * Status of an asynchronous report job.
+ *
+ * @param id             the ID of the job, used to poll it and to fetch its result
+ * @param reportType     the report the job runs
+ * @param year           the year of the reporting month
+ * @param month          the reporting month
+ * @param threshold      the salary threshold, if the report has one
+ * @param organizationId the organization, if the report has one
+ * @param status         the current status
+ * @param rowCount       the number of result rows, once completed
+ * @param pageCount      the number of result pages, once completed
+ * @param errorMessage   the reason the job failed
+ * @param createdAt      when the job was submitted
+ * @param completedAt    when the job completed or failed
+ * @param expiresAt      when the stored result is deleted
+ */
+@Schema(description = "Status of an asynchronous report job")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ReportJobDto(
+        @Schema(example = "8f14e45f-ceea-467a-9b8e-2f2a0c7e1b3d") String id,
+        @Schema(example = "REGION") ReportType reportType,
+        @Schema(example = "2024") Integer year,
+        @Schema(example = "5") Integer month,
+        Double threshold,
+        Long organizationId,
+        @Schema(example = "COMPLETED") ReportJobStatus status,
+        @Schema(example = "2500") Long rowCount,
+        @Schema(example = "3") Integer pageCount,
+        String errorMessage,
+        Instant createdAt,
+        Instant completedAt,
+        Instant expiresAt) {
+}
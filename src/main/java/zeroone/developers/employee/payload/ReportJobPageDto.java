@@ -0,0 +1,22 @@
+package zeroone.developers.employee.payload;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * One page of the result of a completed report job.
+ *
+ * @param jobId     the ID of the job
+ * @param page      the page number, starting at 0
+ * @param pageCount the number of pages of the result
+ * @param rowCount  the number of rows of the whole result
+ * @param rows      the rows of the page as a JSON array, written as stored without being parsed again
+ */
+@Schema(description = "One page of the result of a report job")
+public record ReportJobPageDto(
+        @Schema(example = "8f14e45f-ceea-467a-9b8e-2f2a0c7e1b3d") String jobId,
+        @Schema(example = "0") int page,
+        @Schema(example = "3") int pageCount,
+        @Schema(example = "2500") long rowCount,
+        @JsonRawValue @Schema(type = "array", description = "Report rows of the page") String rows) {
+}
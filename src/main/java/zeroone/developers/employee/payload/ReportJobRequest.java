@@ -0,0 +1,22 @@
+package zeroone.developers.employee.payload;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Submission of an asynchronous report job.
+ *
+ * @param reportType     the report to run
+ * @param year           the year of the reporting month
+ * @param month          the reporting month (1-12)
+ * @param threshold      the salary threshold, required for HIGH_SALARY
+ * @param organizationId the organization, required for AVERAGE_SALARY and ORGANIZATION_ROLLUP
+ */
+@Schema(description = "Submission of an asynchronous report job")
+public record ReportJobRequest(
+        @NotNull @Schema(example = "REGION") ReportType reportType,
+        @NotNull @Schema(example = "2024") Integer year,
+        @NotNull @Schema(example = "5") Integer month,
+        @Schema(example = "10000.0") Double threshold,
+        @Schema(example = "1") Long organizationId) {
+}
@@ -0,0 +1,27 @@
+package zeroone.developers.employee.payload;
+
+/**
+ * Lifecycle of an asynchronous report job.
+ */
+public enum ReportJobStatus {
+
+    /**
+     * Submitted and waiting for a worker.
+     */
+    QUEUED,
+
+    /**
+     * The report query is running.
+     */
+    RUNNING,
+
+    /**
+     * The result is stored and can be fetched until the job expires.
+     */
+    COMPLETED,
+
+    /**
+     * The report could not be produced; see the error message.
+     */
+    FAILED
+}
@@ -0,0 +1,32 @@
+package zeroone.developers.employee.payload;
+
+/**
+ * Monthly reports that can be run as asynchronous report jobs.
+ */
+public enum ReportType {
+
+    /**
+     * Employees whose total salary is above a threshold; requires threshold.
+     */
+    HIGH_SALARY,
+
+    /**
+     * Employees calculated in more than one region.
+     */
+    REGION,
+
+    /**
+     * Average salary of an organization; requires organizationId.
+     */
+    AVERAGE_SALARY,
+
+    /**
+     * Employees who received a salary or vacation payment.
+     */
+    SALARIES_VACATIONS,
+
+    /**
+     * Totals of an organization and its subsidiaries; requires organizationId.
+     */
+    ORGANIZATION_ROLLUP
+}
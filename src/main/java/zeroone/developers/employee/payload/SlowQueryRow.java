@@ -0,0 +1,25 @@
+package zeroone.developers.employee.payload;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+
+/**
+ * A statement that took longer than the slow-query threshold.
+ *
+ * @param executedAt     when the statement finished executing
+ * @param sql            the SQL of the statement, truncated if very long
+ * @param parameters     the types of the bind parameters and the number of batched executions, without their values
+ * @param durationMillis the time spent executing the statement, without reading its result
+ * @param rows           the rows read from the result or the rows updated, or -1 if the statement failed
+ * @param caller         the application method that ran the statement
+ */
+@Schema(description = "Statement that exceeded the slow-query threshold")
+public record SlowQueryRow(
+        @Schema(example = "2024-05-31T10:15:30Z") Instant executedAt,
+        @Schema(example = "select c.organization_id, avg(c.amount) from calculation_table c where ...") String sql,
+        @Schema(example = "(Date x 2, Long)") String parameters,
+        @Schema(example = "812.4") double durationMillis,
+        @Schema(example = "120") long rows,
+        @Schema(example = "CalculationTableServiceImpl.getOrganizationAverages") String caller) {
+}
@@ -1,15 +1,72 @@
 package zeroone.developers.employee.repository;
 
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 
 @NoRepositoryBean
 public interface BaseRepository<T, ID> extends JpaRepository<T,ID> {
 
 
+    //keyset pagination queries
+
+    /**
+     * Retrieve the first rows ordered by ascending ID.
+     *
+     * @param limit the maximum number of rows to return
+     * @return the first rows of the table in ascending ID order
+     */
+    List<T> findAllByOrderByIdAsc(Limit limit);
+
+
+    /**
+     * Retrieve the first rows ordered by descending ID.
+     *
+     * @param limit the maximum number of rows to return
+     * @return the first rows of the table in descending ID order
+     */
+    List<T> findAllByOrderByIdDesc(Limit limit);
+
+
+    /**
+     * Retrieve the rows following the given ID in ascending ID order.
+     *
+     * The query seeks directly to the ID through the primary key index,
+     * so its cost does not grow with the page depth.
+     *
+     * @param id the last ID of the previous page
+     * @param limit the maximum number of rows to return
+     * @return the rows with an ID greater than the given one
+     */
+    List<T> findByIdGreaterThanOrderByIdAsc(ID id, Limit limit);
+
+
+    /**
+     * Retrieve the rows following the given ID in descending ID order.
+     *
+     * @param id the last ID of the previous page
+     * @param limit the maximum number of rows to return
+     * @return the rows with an ID less than the given one
+     */
+    List<T> findByIdLessThanOrderByIdDesc(ID id, Limit limit);
+
 
+    //lookup queries
 
+    /**
+     * Retrieve which of the given IDs exist, without loading the entities.
+     *
+     * @param ids the IDs to check
+     * @return the subset of the given IDs that exist
+     */
+    @Query("select e.id from #{#entityName} e where e.id in :ids")
+    List<ID> findExistingIds(@Param("ids") Collection<ID> ids);
 
 }
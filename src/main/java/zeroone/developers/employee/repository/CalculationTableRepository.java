@@ -1,120 +1,138 @@
 package zeroone.developers.employee.repository;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import zeroone.developers.employee.entity.CalculationTable;
+import zeroone.developers.employee.payload.OrgAverageRow;
+import zeroone.developers.employee.payload.PaidEmployeeRow;
 
+import java.sql.Date;
 import java.util.List;
+import java.util.Optional;
 /**
  * Repository interface for accessing CalculationTable entities.
  * It provides methods to perform CRUD operations and custom queries.
  */
 public interface CalculationTableRepository extends BaseRepository<CalculationTable,Long> {
 
-    //check queries
+    //fetch plans
 
     /**
-     * Check if there are any calculation records with a non-positive amount.
+     * Retrieve a calculation with its employee, organization, region and parent organization.
      *
-     * This method queries the database to determine if there are any records
-     * in the calculation_table where the amount is less than or equal to zero.
-     *
-     * @return true if there are any records with a non-positive amount, false otherwise
+     * @param id the ID of the calculation
+     * @return the calculation if found
      */
-    @Query(value = "select count(*) > 0 from calculation_table where amount <= 0", nativeQuery = true)
-    boolean existsInvalidAmount();
+    @Override
+    @EntityGraph(CalculationTable.GRAPH_DETAIL)
+    Optional<CalculationTable> findById(Long id);
 
 
+    @Override
+    @EntityGraph(CalculationTable.GRAPH_LIST)
+    List<CalculationTable> findAllByOrderByIdAsc(Limit limit);
 
 
-    /**
-     * Check if any calculation records exist for a given employee.
-     *
-     * This method queries the database to determine if there are any records
-     * in the calculation_table associated with the specified employee ID.
-     *
-     * @param employeeId the ID of the employee to check for associated calculation records
-     * @return true if there are any calculation records for the given employee ID, false otherwise
-     */
-    @Query(value = "select count(*) > 0 from calculation_table where employee_id = :employeeId", nativeQuery = true)
-    boolean existsByEmployeeId(@Param("employeeId") Long employeeId);
+    @Override
+    @EntityGraph(CalculationTable.GRAPH_LIST)
+    List<CalculationTable> findAllByOrderByIdDesc(Limit limit);
 
 
+    @Override
+    @EntityGraph(CalculationTable.GRAPH_LIST)
+    List<CalculationTable> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
 
-    /////
 
-    //native queries
+    @Override
+    @EntityGraph(CalculationTable.GRAPH_LIST)
+    List<CalculationTable> findByIdLessThanOrderByIdDesc(Long id, Limit limit);
+
+
+    @Override
+    @EntityGraph(CalculationTable.GRAPH_LIST)
+    List<CalculationTable> findAll();
+
+
+
+    //lookup queries
 
     /**
-     * Retrieves the total salary amount for employees who worked more than the specified threshold
-     * in a given month.
+     * Retrieve the date of the earliest calculation record.
      *
-     * @param month the month to filter records by
-     * @param threshold the minimum total salary amount to filter employees
-     * @return a list of Object arrays containing the pinfl of the employee and their total salary amount
+     * @return the earliest calculation date, or null if the table is empty
      */
-    @Query(value = "select e.pinfl, sum(c.amount) " +
-            "from calculation_table c " +
-            "join employee e on c.employee_id = e.id " +
-            "where extract(month from c.date) = :month " +
-            "group by e.pinfl " +
-            "having sum(c.amount) > :threshold",
-            nativeQuery = true)
-    List<Object[]> findEmployeesWithHigherSalary(@Param("month") int month, @Param("threshold") double threshold);
+    @Query(value = "select min(date) from calculation_table", nativeQuery = true)
+    Date findFirstCalculationDate();
+
 
 
     /**
-     * Retrieves the number of unique organizations and total salary for employees who worked in
-     * various regions during a given month.
+     * Retrieve the date of the latest calculation record.
      *
-     * @param month the month to filter records by
-     * @return a list of Object arrays containing the pinfl of the employee, the count of unique organizations,
-     *         and their total salary amount
+     * @return the latest calculation date, or null if the table is empty
      */
-    @Query(value = "select e.pinfl, count(distinct e.organization_id), sum(c.amount) " +
-            "from calculation_table c " +
-            "join employee e on c.employee_id = e.id " +
-            "where extract(month from c.date) = :month " +
-            "group by e.pinfl", nativeQuery = true)
-    List<Object[]> findEmployeesByRegion(@Param("month") int month);
+    @Query(value = "select max(date) from calculation_table", nativeQuery = true)
+    Date findLastCalculationDate();
 
 
 
+    /////
+
+    //report queries
+
     /**
-     * Retrieves the average salary of employees belonging to a specific organization for a given month.
+     * Retrieves the average salary of employees belonging to a specific organization for a given period.
      *
-     * @param month the month to filter records by
+     * @param startDate the first day of the reporting period (inclusive)
+     * @param endDate the first day after the reporting period (exclusive)
      * @param organizationId the ID of the organization to filter employees
-     * @return a list of Object arrays containing the organization ID, name, and the average salary amount
+     * @return a list of rows containing the organization ID, name, and the average salary amount
      */
-    @Query(value = "select o.id, o.name, avg(c.amount) " +
-            "from calculation_table c " +
-            "join employee e on c.employee_id = e.id " +
-            "join organization o on e.organization_id = o.id " +
-            "where extract(month from c.date) = :month and o.id = :organizationId " +
-            "group by o.id, o.name", nativeQuery = true)
-    List<Object[]> findAverageSalaryByOrganization(@Param("month") int month, @Param("organizationId") Long organizationId);
+    @Query("select new zeroone.developers.employee.payload.OrgAverageRow(o.id, o.name, avg(c.amount)) " +
+            "from CalculationTable c " +
+            "join c.employee e " +
+            "join e.organization o " +
+            "where c.date >= :startDate and c.date < :endDate and o.id = :organizationId " +
+            "group by o.id, o.name")
+    List<OrgAverageRow> findAverageSalaryByOrganization(@Param("startDate") Date startDate, @Param("endDate") Date endDate, @Param("organizationId") Long organizationId);
 
 
 
     /**
-     * Retrieves the details of employees who received a salary or vacation for a given month.
+     * Retrieves the average salary of every organization that has calculations in a given period.
      *
-     * @param month the month to filter records by
-     * @return a list of Object arrays containing employee details and their salary amount
+     * @param startDate the first day of the reporting period (inclusive)
+     * @param endDate the first day after the reporting period (exclusive)
+     * @return a list of rows containing the organization ID, name, and the average salary amount, ordered by organization ID
      */
-    @Query(value = "select distinct e.*, c.amount from calculation_table c " +
-            "join employee e on c.employee_id = e.id " +
-            "where extract(month from c.date) = :month " +
-            "and (c.calculation_type = 'SALARY' OR c.calculation_type = 'VACATION')",
-            nativeQuery = true)
-    List<Object[]> findEmployeesWithSalariesAndVacations(@Param("month") int month);
-
-
-
-
+    @Query("select new zeroone.developers.employee.payload.OrgAverageRow(o.id, o.name, avg(c.amount)) " +
+            "from CalculationTable c " +
+            "join c.employee e " +
+            "join e.organization o " +
+            "where c.date >= :startDate and c.date < :endDate " +
+            "group by o.id, o.name " +
+            "order by o.id")
+    List<OrgAverageRow> findAverageSalaryPerOrganization(@Param("startDate") Date startDate, @Param("endDate") Date endDate);
 
 
 
+    /**
+     * Retrieves the employees who received a salary or vacation for a given period.
+     *
+     * Only the columns of the report row are selected, so DISTINCT runs over narrow rows.
+     *
+     * @param startDate the first day of the reporting period (inclusive)
+     * @param endDate the first day after the reporting period (exclusive)
+     * @return a list of rows containing employee details and their salary amount
+     */
+    @Query("select distinct new zeroone.developers.employee.payload.PaidEmployeeRow(" +
+            "e.id, e.firstName, e.lastName, e.pinfl, c.amount) " +
+            "from CalculationTable c " +
+            "join c.employee e " +
+            "where c.date >= :startDate and c.date < :endDate " +
+            "and c.calculationType in ('SALARY', 'VACATION')")
+    List<PaidEmployeeRow> findEmployeesWithSalariesAndVacations(@Param("startDate") Date startDate, @Param("endDate") Date endDate);
 
 }
@@ -1,15 +1,30 @@
 package zeroone.developers.employee.repository;
 
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import zeroone.developers.employee.entity.Employee;
 
+import java.util.Optional;
+
 
 public interface EmployeeRepository extends BaseRepository<Employee,Long>{
 
 
+    /**
+     * Retrieve an employee with their organization, its region and parent organization.
+     *
+     * @param id the ID of the employee
+     * @return the employee if found
+     */
+    @Override
+    @EntityGraph(attributePaths = {"organization", "organization.region", "organization.parent"})
+    Optional<Employee> findById(Long id);
+
+
+
 
     /**
      * Check if an employee exists with the specified first and last name.
@@ -0,0 +1,199 @@
+package zeroone.developers.employee.repository;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import zeroone.developers.employee.entity.MonthlyEmployeeTotal;
+import zeroone.developers.employee.payload.HighSalaryRow;
+import zeroone.developers.employee.payload.RegionSummaryRow;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository interface for the monthly_employee_totals read model.
+ * It provides the queries that keep the totals in sync with calculation_table
+ * and the report queries that read from them.
+ */
+public interface MonthlyEmployeeTotalRepository extends BaseRepository<MonthlyEmployeeTotal, Long> {
+
+    /**
+     * Aggregated columns shared by the refresh and rebuild statements.
+     */
+    String AGGREGATE_COLUMNS = "sum(c.amount), " +
+            "count(distinct coalesce(c.organization_id, e.organization_id)), " +
+            "count(*), " +
+            "sum(case when c.calculation_type = 'SALARY' then c.amount else 0 end), " +
+            "sum(case when c.calculation_type = 'VACATION' then c.amount else 0 end), " +
+            "sum(case when c.calculation_type = 'AWARD' then c.amount else 0 end), " +
+            "sum(case when c.calculation_type = 'PENSION' then c.amount else 0 end) ";
+
+    String INSERT_COLUMNS = "insert into monthly_employee_totals " +
+            "(employee_id, pinfl, organization_id, period_start, total_amount, organization_count, calculation_count, " +
+            "salary_amount, vacation_amount, award_amount, pension_amount) ";
+
+
+    //maintenance queries
+
+    /**
+     * Delete the totals row of one employee for one month.
+     *
+     * @param employeeId the ID of the employee
+     * @param periodStart the first day of the month
+     * @return the number of deleted rows
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "monthly_employee_totals"))
+    @Query(value = "delete from monthly_employee_totals " +
+            "where employee_id = :employeeId and period_start = :periodStart", nativeQuery = true)
+    int deleteByEmployeeAndPeriod(@Param("employeeId") Long employeeId, @Param("periodStart") LocalDate periodStart);
+
+
+    /**
+     * Recompute the totals row of one employee for one month from calculation_table.
+     *
+     * Only the calculations of the given employee inside the month are read,
+     * so the cost does not depend on the size of calculation_table.
+     * No row is inserted if the employee has no calculations in the month.
+     *
+     * @param employeeId the ID of the employee
+     * @param periodStart the first day of the month (inclusive)
+     * @param periodEnd the first day of the next month (exclusive)
+     * @return the number of inserted rows
+     */
+    @Modifying
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "monthly_employee_totals"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "calculation_table"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "employee")})
+    @Query(value = INSERT_COLUMNS +
+            "select e.id, e.pinfl, e.organization_id, cast(:periodStart as date), " + AGGREGATE_COLUMNS +
+            "from calculation_table c " +
+            "join employee e on c.employee_id = e.id " +
+            "where c.employee_id = :employeeId and c.date >= :periodStart and c.date < :periodEnd " +
+            "group by e.id, e.pinfl, e.organization_id", nativeQuery = true)
+    int insertEmployeeTotals(@Param("employeeId") Long employeeId,
+                             @Param("periodStart") LocalDate periodStart,
+                             @Param("periodEnd") LocalDate periodEnd);
+
+
+    /**
+     * Update the stored pinfl and organization of an employee in all of their totals rows.
+     *
+     * @param employeeId the ID of the employee
+     * @param pinfl the new pinfl
+     * @param organizationId the ID of the new organization, or null
+     * @return the number of updated rows
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "monthly_employee_totals"))
+    @Query(value = "update monthly_employee_totals set pinfl = :pinfl, organization_id = :organizationId " +
+            "where employee_id = :employeeId", nativeQuery = true)
+    int updateEmployee(@Param("employeeId") Long employeeId, @Param("pinfl") String pinfl,
+                       @Param("organizationId") Long organizationId);
+
+
+    /**
+     * Delete all totals rows of the months inside the given range.
+     *
+     * @param startDate the first day of the range (inclusive)
+     * @param endDate the first day after the range (exclusive)
+     * @return the number of deleted rows
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "monthly_employee_totals"))
+    @Query(value = "delete from monthly_employee_totals " +
+            "where period_start >= :startDate and period_start < :endDate", nativeQuery = true)
+    int deleteByPeriodRange(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+
+    /**
+     * Recompute the totals rows of every employee for all months inside the given range.
+     *
+     * @param startDate the first day of the range (inclusive)
+     * @param endDate the first day after the range (exclusive)
+     * @return the number of inserted rows
+     */
+    @Modifying
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "monthly_employee_totals"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "calculation_table"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "employee")})
+    @Query(value = INSERT_COLUMNS +
+            "select e.id, e.pinfl, e.organization_id, cast(date_trunc('month', c.date) as date), " + AGGREGATE_COLUMNS +
+            "from calculation_table c " +
+            "join employee e on c.employee_id = e.id " +
+            "where c.date >= :startDate and c.date < :endDate " +
+            "group by e.id, e.pinfl, e.organization_id, date_trunc('month', c.date)", nativeQuery = true)
+    int insertTotalsForPeriodRange(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+
+    /**
+     * Count the totals rows inside the given range that do not match calculation_table.
+     *
+     * A row is counted if it is missing on either side or if its amount, organization count,
+     * calculation count or employee organization differs from the source rows.
+     *
+     * @param startDate the first day of the range (inclusive)
+     * @param endDate the first day after the range (exclusive)
+     * @return the number of mismatching employee-month rows
+     */
+    @Query(value = "select count(*) from (" +
+            "select e.id as employee_id, e.organization_id, " +
+            "cast(date_trunc('month', c.date) as date) as period_start, " +
+            "sum(c.amount) as total_amount, " +
+            "count(distinct coalesce(c.organization_id, e.organization_id)) as organization_count, " +
+            "count(*) as calculation_count " +
+            "from calculation_table c " +
+            "join employee e on c.employee_id = e.id " +
+            "where c.date >= :startDate and c.date < :endDate " +
+            "group by e.id, e.organization_id, date_trunc('month', c.date)) a " +
+            "full outer join (select * from monthly_employee_totals " +
+            "where period_start >= :startDate and period_start < :endDate) m " +
+            "on a.employee_id = m.employee_id and a.period_start = m.period_start " +
+            "where a.employee_id is null or m.employee_id is null " +
+            "or abs(a.total_amount - m.total_amount) > 0.005 " +
+            "or a.organization_count <> m.organization_count " +
+            "or a.organization_id is distinct from m.organization_id " +
+            "or a.calculation_count <> m.calculation_count", nativeQuery = true)
+    long countMismatchedTotals(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+
+    /////
+
+    //report queries
+
+    /**
+     * Retrieves the total salary amount for employees whose monthly total is above the threshold.
+     *
+     * @param periodStart the first day of the reporting month
+     * @param threshold the minimum total salary amount to filter employees
+     * @return a list of rows containing the pinfl of the employee and their total salary amount
+     */
+    @Query("select new zeroone.developers.employee.payload.HighSalaryRow(m.pinfl, sum(m.totalAmount)) " +
+            "from MonthlyEmployeeTotal m " +
+            "where m.periodStart = :periodStart " +
+            "group by m.pinfl " +
+            "having sum(m.totalAmount) > :threshold")
+    List<HighSalaryRow> findEmployeesWithHigherSalary(@Param("periodStart") Date periodStart, @Param("threshold") double threshold);
+
+
+    /**
+     * Retrieves the number of unique organizations and total salary per employee for a given month.
+     * The organizations counted are those of the employee records sharing the pinfl, not the organizations
+     * of the calculations.
+     *
+     * @param periodStart the first day of the reporting month
+     * @return a list of rows containing the pinfl of the employee, the count of unique organizations,
+     *         and their total salary amount
+     */
+    @Query("select new zeroone.developers.employee.payload.RegionSummaryRow(" +
+            "m.pinfl, count(distinct m.organizationId), sum(m.totalAmount)) " +
+            "from MonthlyEmployeeTotal m " +
+            "where m.periodStart = :periodStart " +
+            "group by m.pinfl")
+    List<RegionSummaryRow> findEmployeesByRegion(@Param("periodStart") Date periodStart);
+
+}
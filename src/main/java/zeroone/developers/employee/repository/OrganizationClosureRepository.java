@@ -0,0 +1,173 @@
+package zeroone.developers.employee.repository;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import zeroone.developers.employee.entity.OrganizationClosure;
+import zeroone.developers.employee.payload.OrganizationNodeRow;
+
+import java.util.List;
+
+/**
+ * Repository interface for the organization_closure table.
+ * It provides the statements that keep the closure in sync with Organization.parent
+ * and the hierarchy queries that read from it.
+ */
+public interface OrganizationClosureRepository extends BaseRepository<OrganizationClosure, Long> {
+
+    //maintenance queries
+
+    /**
+     * Link a new organization to itself and to every ancestor of its parent.
+     * The casts type the parameters of the select list, which some databases cannot infer.
+     *
+     * @param id the ID of the new organization
+     * @param parentId the ID of its parent, or null for a root organization
+     * @return the number of inserted rows
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "organization_closure"))
+    @Query(value = "insert into organization_closure (ancestor_id, descendant_id, depth) " +
+            "select cast(:id as bigint), cast(:id as bigint), 0 " +
+            "union all " +
+            "select c.ancestor_id, cast(:id as bigint), c.depth + 1 from organization_closure c " +
+            "where c.descendant_id = :parentId", nativeQuery = true)
+    int insertNode(@Param("id") Long id, @Param("parentId") Long parentId);
+
+
+    /**
+     * Detach a subtree from all ancestors outside of it.
+     *
+     * @param id the ID of the subtree root
+     * @return the number of deleted rows
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "organization_closure"))
+    @Query(value = "delete from organization_closure " +
+            "where descendant_id in (select s.descendant_id from organization_closure s where s.ancestor_id = :id) " +
+            "and ancestor_id not in (select s.descendant_id from organization_closure s where s.ancestor_id = :id)",
+            nativeQuery = true)
+    int detachSubtree(@Param("id") Long id);
+
+
+    /**
+     * Attach a detached subtree below a new parent.
+     *
+     * Every ancestor of the new parent is linked to every node of the subtree.
+     *
+     * @param id the ID of the subtree root
+     * @param parentId the ID of the new parent
+     * @return the number of inserted rows
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "organization_closure"))
+    @Query(value = "insert into organization_closure (ancestor_id, descendant_id, depth) " +
+            "select a.ancestor_id, s.descendant_id, a.depth + s.depth + 1 " +
+            "from organization_closure a " +
+            "cross join organization_closure s " +
+            "where a.descendant_id = :parentId and s.ancestor_id = :id", nativeQuery = true)
+    int attachSubtree(@Param("id") Long id, @Param("parentId") Long parentId);
+
+
+    /**
+     * Delete every closure row of an organization.
+     *
+     * @param id the ID of the organization
+     * @return the number of deleted rows
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "organization_closure"))
+    @Query(value = "delete from organization_closure where ancestor_id = :id or descendant_id = :id", nativeQuery = true)
+    int deleteNode(@Param("id") Long id);
+
+
+    /**
+     * Delete the whole closure table.
+     *
+     * @return the number of deleted rows
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "organization_closure"))
+    @Query(value = "delete from organization_closure", nativeQuery = true)
+    int deleteAllRows();
+
+
+    /**
+     * Rebuild the whole closure table from Organization.parent with a recursive query.
+     *
+     * @return the number of inserted rows
+     */
+    @Modifying
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "organization_closure"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "organization")})
+    @Query(value = "insert into organization_closure (ancestor_id, descendant_id, depth) " +
+            "with recursive tree (ancestor_id, descendant_id, depth) as (" +
+            "select o.id, o.id, 0 from organization o " +
+            "union all " +
+            "select t.ancestor_id, o.id, t.depth + 1 from tree t " +
+            "join organization o on o.parent_id = t.descendant_id) " +
+            "select ancestor_id, descendant_id, depth from tree", nativeQuery = true)
+    int insertAllFromParents();
+
+
+    /**
+     * Count organizations that are missing their depth-0 closure row.
+     *
+     * @return the number of organizations not present in the closure table
+     */
+    @Query(value = "select count(*) from organization o " +
+            "where not exists (select 1 from organization_closure c " +
+            "where c.ancestor_id = o.id and c.descendant_id = o.id)", nativeQuery = true)
+    long countMissingNodes();
+
+
+    /////
+
+    //hierarchy queries
+
+    /**
+     * Check whether an organization lies in the subtree of another one (or is the same organization).
+     *
+     * @param ancestorId the ID of the subtree root
+     * @param descendantId the ID of the organization to check
+     * @return true if descendantId is ancestorId or one of its descendants
+     */
+    @Query("select count(c) > 0 from OrganizationClosure c " +
+            "where c.ancestorId = :ancestorId and c.descendantId = :descendantId")
+    boolean isInSubtree(@Param("ancestorId") Long ancestorId, @Param("descendantId") Long descendantId);
+
+
+    /**
+     * Retrieve the descendants of an organization up to the given depth, nearest first.
+     *
+     * @param id the ID of the organization
+     * @param minDepth the smallest depth to include, 0 to include the organization itself
+     * @param maxDepth the largest depth to include
+     * @return the descendants with their depth below the organization
+     */
+    @Query("select new zeroone.developers.employee.payload.OrganizationNodeRow(o.id, o.name, o.parent.id, c.depth) " +
+            "from OrganizationClosure c, Organization o " +
+            "where o.id = c.descendantId and c.ancestorId = :id " +
+            "and c.depth >= :minDepth and c.depth <= :maxDepth " +
+            "order by c.depth, o.id")
+    List<OrganizationNodeRow> findDescendants(@Param("id") Long id,
+                                              @Param("minDepth") int minDepth,
+                                              @Param("maxDepth") int maxDepth);
+
+
+    /**
+     * Retrieve the ancestors of an organization, nearest first.
+     *
+     * @param id the ID of the organization
+     * @return the ancestors with their distance above the organization
+     */
+    @Query("select new zeroone.developers.employee.payload.OrganizationNodeRow(o.id, o.name, o.parent.id, c.depth) " +
+            "from OrganizationClosure c, Organization o " +
+            "where o.id = c.ancestorId and c.descendantId = :id and c.depth > 0 " +
+            "order by c.depth")
+    List<OrganizationNodeRow> findAncestors(@Param("id") Long id);
+
+}
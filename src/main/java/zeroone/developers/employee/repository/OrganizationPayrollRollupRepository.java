@@ -0,0 +1,214 @@
+package zeroone.developers.employee.repository;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import zeroone.developers.employee.entity.OrganizationPayrollRollup;
+import zeroone.developers.employee.payload.OrgRollupRow;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository interface for the organization_payroll_rollups read model.
+ * It provides the statements that keep the rollups in sync with calculation_table
+ * and organization_closure, and the report query that reads from them.
+ */
+public interface OrganizationPayrollRollupRepository extends BaseRepository<OrganizationPayrollRollup, Long> {
+
+    String INSERT_COLUMNS = "insert into organization_payroll_rollups " +
+            "(organization_id, period_start, calculation_type, own_amount, own_count, own_headcount, " +
+            "total_amount, calculation_count, headcount) ";
+
+    /**
+     * Adds the incoming own and subtree values to an existing row instead of failing on the unique key.
+     */
+    String ADD_ON_CONFLICT = "on conflict (organization_id, period_start, calculation_type) do update set " +
+            "own_amount = organization_payroll_rollups.own_amount + excluded.own_amount, " +
+            "own_count = organization_payroll_rollups.own_count + excluded.own_count, " +
+            "own_headcount = organization_payroll_rollups.own_headcount + excluded.own_headcount, " +
+            "total_amount = organization_payroll_rollups.total_amount + excluded.total_amount, " +
+            "calculation_count = organization_payroll_rollups.calculation_count + excluded.calculation_count, " +
+            "headcount = organization_payroll_rollups.headcount + excluded.headcount";
+
+
+    //maintenance queries
+
+    /**
+     * Subtract the own totals of an organization for one month from its rollup row and every ancestor's row.
+     *
+     * @param organizationId the ID of the organization
+     * @param periodStart the first day of the month
+     * @return the number of updated rows
+     */
+    @Modifying
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "organization_payroll_rollups"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "organization_closure")})
+    @Query(value = "update organization_payroll_rollups r set " +
+            "total_amount = r.total_amount - o.own_amount, " +
+            "calculation_count = r.calculation_count - o.own_count, " +
+            "headcount = r.headcount - o.own_headcount " +
+            "from organization_payroll_rollups o, organization_closure a " +
+            "where o.organization_id = :organizationId and o.period_start = :periodStart " +
+            "and a.descendant_id = :organizationId and r.organization_id = a.ancestor_id " +
+            "and r.period_start = o.period_start and r.calculation_type = o.calculation_type", nativeQuery = true)
+    int subtractOwnFromAncestors(@Param("organizationId") Long organizationId, @Param("periodStart") LocalDate periodStart);
+
+
+    /**
+     * Reset the own totals of an organization for one month.
+     *
+     * @param organizationId the ID of the organization
+     * @param periodStart the first day of the month
+     * @return the number of updated rows
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "organization_payroll_rollups"))
+    @Query(value = "update organization_payroll_rollups set own_amount = 0, own_count = 0, own_headcount = 0 " +
+            "where organization_id = :organizationId and period_start = :periodStart", nativeQuery = true)
+    int clearOwn(@Param("organizationId") Long organizationId, @Param("periodStart") LocalDate periodStart);
+
+
+    /**
+     * Recompute the own totals of an organization for one month and add them to its row and every ancestor's row.
+     *
+     * Only the calculations of the organization inside the month are read,
+     * and the ancestors come from organization_closure, so the cost depends on
+     * the depth of the organization and not on the size of its hierarchy.
+     *
+     * @param organizationId the ID of the organization
+     * @param periodStart the first day of the month (inclusive)
+     * @param periodEnd the first day of the next month (exclusive)
+     * @return the number of inserted or updated rows
+     */
+    @Modifying
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "organization_payroll_rollups"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "calculation_table"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "organization_closure")})
+    @Query(value = INSERT_COLUMNS +
+            "select a.ancestor_id, cast(:periodStart as date), o.calculation_type, " +
+            "case when a.depth = 0 then o.amount else 0 end, " +
+            "case when a.depth = 0 then o.cnt else 0 end, " +
+            "case when a.depth = 0 then o.hc else 0 end, " +
+            "o.amount, o.cnt, o.hc " +
+            "from (select c.calculation_type, sum(c.amount) as amount, count(*) as cnt, " +
+            "count(distinct c.employee_id) as hc " +
+            "from calculation_table c " +
+            "where c.organization_id = :organizationId and c.date >= :periodStart and c.date < :periodEnd " +
+            "group by c.calculation_type) o " +
+            "cross join organization_closure a " +
+            "where a.descendant_id = :organizationId " +
+            ADD_ON_CONFLICT, nativeQuery = true)
+    int addOwnToAncestors(@Param("organizationId") Long organizationId,
+                          @Param("periodStart") LocalDate periodStart,
+                          @Param("periodEnd") LocalDate periodEnd);
+
+
+    /**
+     * Add the subtree totals of an organization to the rows of its ancestors, for every month.
+     *
+     * Called with -1 before a subtree is detached from its old parent and
+     * with 1 after it is attached to the new one.
+     *
+     * @param organizationId the ID of the subtree root
+     * @param sign 1 to add the subtree totals, -1 to subtract them
+     * @return the number of inserted or updated rows
+     */
+    @Modifying
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "organization_payroll_rollups"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "organization_closure")})
+    @Query(value = INSERT_COLUMNS +
+            "select a.ancestor_id, s.period_start, s.calculation_type, 0, 0, 0, " +
+            ":sign * s.total_amount, :sign * s.calculation_count, :sign * s.headcount " +
+            "from organization_payroll_rollups s " +
+            "join organization_closure a on a.descendant_id = s.organization_id and a.depth > 0 " +
+            "where s.organization_id = :organizationId " +
+            ADD_ON_CONFLICT, nativeQuery = true)
+    int shiftSubtreeIntoAncestors(@Param("organizationId") Long organizationId, @Param("sign") int sign);
+
+
+    /**
+     * Delete the rows of an organization and its ancestors that no longer cover any calculation.
+     *
+     * @param organizationId the ID of the organization
+     * @return the number of deleted rows
+     */
+    @Modifying
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "organization_payroll_rollups"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "organization_closure")})
+    @Query(value = "delete from organization_payroll_rollups " +
+            "where calculation_count = 0 " +
+            "and organization_id in (select a.ancestor_id from organization_closure a " +
+            "where a.descendant_id = :organizationId)", nativeQuery = true)
+    int deleteEmptyRows(@Param("organizationId") Long organizationId);
+
+
+    /**
+     * Delete all rollup rows of the months inside the given range.
+     *
+     * @param startDate the first day of the range (inclusive)
+     * @param endDate the first day after the range (exclusive)
+     * @return the number of deleted rows
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "organization_payroll_rollups"))
+    @Query(value = "delete from organization_payroll_rollups " +
+            "where period_start >= :startDate and period_start < :endDate", nativeQuery = true)
+    int deleteByPeriodRange(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+
+    /**
+     * Recompute the rollup rows of every organization for all months inside the given range.
+     *
+     * Calculations are read once and grouped per organization, month and type;
+     * the small grouped set is then summed up the hierarchy through organization_closure.
+     *
+     * @param startDate the first day of the range (inclusive)
+     * @param endDate the first day after the range (exclusive)
+     * @return the number of inserted rows
+     */
+    @Modifying
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "organization_payroll_rollups"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "calculation_table"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "organization_closure")})
+    @Query(value = INSERT_COLUMNS +
+            "select a.ancestor_id, o.period_start, o.calculation_type, " +
+            "sum(case when a.depth = 0 then o.amount else 0 end), " +
+            "sum(case when a.depth = 0 then o.cnt else 0 end), " +
+            "sum(case when a.depth = 0 then o.hc else 0 end), " +
+            "sum(o.amount), sum(o.cnt), sum(o.hc) " +
+            "from (select c.organization_id, cast(date_trunc('month', c.date) as date) as period_start, " +
+            "c.calculation_type, sum(c.amount) as amount, count(*) as cnt, " +
+            "count(distinct c.employee_id) as hc " +
+            "from calculation_table c " +
+            "where c.organization_id is not null and c.date >= :startDate and c.date < :endDate " +
+            "group by c.organization_id, date_trunc('month', c.date), c.calculation_type) o " +
+            "join organization_closure a on a.descendant_id = o.organization_id " +
+            "group by a.ancestor_id, o.period_start, o.calculation_type", nativeQuery = true)
+    int insertRollupsForPeriodRange(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+
+    /////
+
+    //report queries
+
+    /**
+     * Retrieves the totals per calculation type of an organization and all of its subsidiaries for a given month.
+     *
+     * @param organizationId the ID of the organization
+     * @param periodStart the first day of the reporting month
+     * @return a list of rows, one per calculation type
+     */
+    @Query("select new zeroone.developers.employee.payload.OrgRollupRow(" +
+            "r.organizationId, o.name, r.calculationType, r.totalAmount, " +
+            "r.totalAmount / r.calculationCount, r.calculationCount, r.headcount) " +
+            "from OrganizationPayrollRollup r, Organization o " +
+            "where o.id = r.organizationId and r.organizationId = :organizationId and r.periodStart = :periodStart " +
+            "order by r.calculationType")
+    List<OrgRollupRow> findRollup(@Param("organizationId") Long organizationId, @Param("periodStart") Date periodStart);
+
+}
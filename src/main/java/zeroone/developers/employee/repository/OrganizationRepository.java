@@ -1,14 +1,47 @@
 package zeroone.developers.employee.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import zeroone.developers.employee.entity.Organization;
 
+import java.util.List;
+
 
 public interface OrganizationRepository extends BaseRepository<Organization,Long> {
 
+    //cached lookups
+
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Organization> findAll();
+
+
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Organization> findAllByOrderByIdAsc(Limit limit);
+
+
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Organization> findAllByOrderByIdDesc(Limit limit);
+
+
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Organization> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Organization> findByIdLessThanOrderByIdDesc(Long id, Limit limit);
+
+
 
     /**
      * Check if an organization exists with the specified name.
@@ -19,7 +52,8 @@ public interface OrganizationRepository extends BaseRepository<Organization,Long
      * @param newName the name of the organization to check
      * @return true if an organization with the specified name exists, false otherwise
      */
-    @Query(value = "select count(*) > 0 from organization o where o.name = :newName", nativeQuery = true)
+    @Query("select count(o) > 0 from Organization o where o.name = :newName")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     boolean existsByName(@Param("newName") String newName);
 
 }
@@ -1,13 +1,46 @@
 package zeroone.developers.employee.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import zeroone.developers.employee.entity.Region;
 
+import java.util.List;
+
 public interface RegionRepository extends BaseRepository<Region,Long> {
 
+    //cached lookups
+
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Region> findAll();
+
+
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Region> findAllByOrderByIdAsc(Limit limit);
+
+
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Region> findAllByOrderByIdDesc(Limit limit);
+
+
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Region> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Region> findByIdLessThanOrderByIdDesc(Long id, Limit limit);
+
+
 
 
     /**
@@ -19,7 +52,8 @@ public interface RegionRepository extends BaseRepository<Region,Long> {
      * @param newName the name of the region to check
      * @return true if a region with the specified name exists, false otherwise
      */
-    @Query(value = "select count(*) > 0 from region r where r.name = :newName", nativeQuery = true)
+    @Query("select count(r) > 0 from Region r where r.name = :newName")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     boolean existsByName(@Param("newName") String newName);
 
 
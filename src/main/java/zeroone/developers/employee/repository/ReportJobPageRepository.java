@@ -0,0 +1,36 @@
+package zeroone.developers.employee.repository;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import zeroone.developers.employee.entity.ReportJobPage;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Repository interface for accessing the stored result pages of report jobs.
+ */
+public interface ReportJobPageRepository extends BaseRepository<ReportJobPage, Long> {
+
+    /**
+     * Retrieve one result page of a job.
+     *
+     * @param jobId the ID of the job
+     * @param pageNumber the page number, starting at 0
+     * @return the page if it exists
+     */
+    Optional<ReportJobPage> findByJobIdAndPageNumber(String jobId, Integer pageNumber);
+
+
+    /**
+     * Delete the result pages of the given jobs.
+     *
+     * @param jobIds the IDs of the jobs
+     * @return the number of deleted pages
+     */
+    @Modifying
+    @Query("delete from ReportJobPage p where p.jobId in :jobIds")
+    int deleteByJobIds(@Param("jobIds") Collection<String> jobIds);
+
+}
@@ -0,0 +1,83 @@
+package zeroone.developers.employee.repository;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import zeroone.developers.employee.entity.ReportJob;
+import zeroone.developers.employee.payload.ReportJobStatus;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for accessing ReportJob entities.
+ * It provides the lookups used to deduplicate submissions and the statements of the job lifecycle.
+ */
+public interface ReportJobRepository extends BaseRepository<ReportJob, String> {
+
+    /**
+     * Retrieve the latest completed job with the given key whose result is still kept.
+     *
+     * @param jobKey the report type and parameters
+     * @param status the status to match, COMPLETED
+     * @param now the current time
+     * @return the most recently completed job, if any
+     */
+    Optional<ReportJob> findFirstByJobKeyAndStatusAndExpiresAtAfterOrderByCompletedAtDesc(
+            String jobKey, ReportJobStatus status, Instant now);
+
+
+    /**
+     * Mark a queued job as running.
+     *
+     * @param id the ID of the job
+     * @param startedAt the time the worker picked it up
+     * @return the number of updated rows, 0 if the job is no longer queued
+     */
+    @Modifying
+    @Query("update ReportJob j set j.status = zeroone.developers.employee.payload.ReportJobStatus.RUNNING, " +
+            "j.startedAt = :startedAt " +
+            "where j.id = :id and j.status = zeroone.developers.employee.payload.ReportJobStatus.QUEUED")
+    int markRunning(@Param("id") String id, @Param("startedAt") Instant startedAt);
+
+
+    /**
+     * Fail every job that is still queued or running, used after a restart lost their workers.
+     *
+     * @param statuses the unfinished statuses
+     * @param message the error message to record
+     * @param now the current time
+     * @param expiresAt when the failed jobs are deleted
+     * @return the number of failed jobs
+     */
+    @Modifying
+    @Query("update ReportJob j set j.status = zeroone.developers.employee.payload.ReportJobStatus.FAILED, " +
+            "j.errorMessage = :message, j.completedAt = :now, j.expiresAt = :expiresAt " +
+            "where j.status in :statuses")
+    int failUnfinished(@Param("statuses") Collection<ReportJobStatus> statuses, @Param("message") String message,
+                       @Param("now") Instant now, @Param("expiresAt") Instant expiresAt);
+
+
+    /**
+     * Retrieve the IDs of jobs whose result has expired.
+     *
+     * @param now the current time
+     * @return the IDs of the expired jobs
+     */
+    @Query("select j.id from ReportJob j where j.expiresAt <= :now")
+    List<String> findExpiredIds(@Param("now") Instant now);
+
+
+    /**
+     * Delete the given jobs.
+     *
+     * @param ids the IDs of the jobs
+     * @return the number of deleted jobs
+     */
+    @Modifying
+    @Query("delete from ReportJob j where j.id in :ids")
+    int deleteByIds(@Param("ids") Collection<String> ids);
+
+}
@@ -0,0 +1,36 @@
+package zeroone.developers.employee.service;
+
+import zeroone.developers.employee.exception.CalculationTableException;
+import zeroone.developers.employee.payload.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+/**
+ * Service interface for exporting calculation records.
+ * Provides methods for streaming large ranges of calculations without loading them into memory.
+ */
+public interface CalculationExportService {
+
+
+    /**
+     * Stream calculation records to the given output.
+     *
+     * Rows are read through a forward-only cursor and written as they arrive,
+     * so memory use does not depend on the number of exported rows.
+     * All filters are optional.
+     *
+     * @param from the first calculation date to include, or null
+     * @param to the first calculation date to exclude, or null
+     * @param organizationId the organization to export, or null for all
+     * @param calculationType the calculation type to export, or null for all
+     * @param format the output format
+     * @param out the stream to write to; it is flushed but not closed
+     * @throws CalculationTableException if the date range is invalid
+     * @throws IOException if writing to the output fails
+     */
+    void exportCalculations(LocalDate from, LocalDate to, Long organizationId, String calculationType,
+                            ExportFormat format, OutputStream out) throws IOException;
+
+}
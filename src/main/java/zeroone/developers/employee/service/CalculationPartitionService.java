@@ -0,0 +1,73 @@
+package zeroone.developers.employee.service;
+
+import zeroone.developers.employee.exception.CalculationTableException;
+import zeroone.developers.employee.payload.CalculationPartitionRow;
+
+import java.util.List;
+
+/**
+ * Service interface for the monthly range partitions of calculation_table.
+ * Provides methods for converting the table, creating upcoming partitions
+ * and removing whole months by detaching their partition.
+ */
+public interface CalculationPartitionService {
+
+
+    /**
+     * Convert calculation_table into a table partitioned by month of date, if it is still a plain table.
+     *
+     * The rows are copied into the new partitions in one transaction under an exclusive lock,
+     * so this is an explicit administrative operation and never runs on startup. It fails instead
+     * of waiting when the lock is not granted within the lock timeout, and rolls back when a statement
+     * exceeds the conversion timeout.
+     *
+     * @return true if the table was converted, false if it was already partitioned
+     */
+    boolean convertToPartitioned();
+
+
+    /**
+     * Create the partitions of the current month and the configured number of months ahead,
+     * and move rows that landed in the default partition into partitions of their own month.
+     * Does nothing while calculation_table has not been converted.
+     *
+     * @return the number of partitions created
+     */
+    int ensurePartitions();
+
+
+    /**
+     * Retrieve the partitions of calculation_table.
+     *
+     * @return the partitions ordered by name, the default partition last
+     */
+    List<CalculationPartitionRow> findPartitions();
+
+
+    /**
+     * Archive a month: detach its partition and keep it as a standalone table.
+     *
+     * The monthly totals and organization rollups of the month are rebuilt,
+     * so reports no longer include the archived calculations.
+     *
+     * @param year the year of the month
+     * @param month the month of the year (1-12)
+     * @return the name of the archive table
+     * @throws CalculationTableException if the period is invalid, the month has no partition
+     *         or an archive of the month already exists
+     */
+    String archiveMonth(int year, int month) throws CalculationTableException;
+
+
+    /**
+     * Delete a month: detach its partition and drop it.
+     *
+     * The monthly totals and organization rollups of the month are rebuilt.
+     *
+     * @param year the year of the month
+     * @param month the month of the year (1-12)
+     * @throws CalculationTableException if the period is invalid or the month has no partition
+     */
+    void dropMonth(int year, int month) throws CalculationTableException;
+
+}
@@ -1,10 +1,18 @@
 package zeroone.developers.employee.service;
+
+import org.springframework.data.domain.Sort;
 import zeroone.developers.employee.entity.CalculationTable;
 import zeroone.developers.employee.exception.CalculationTableException;
 import zeroone.developers.employee.exception.EmployeeException;
 import zeroone.developers.employee.exception.ResourceNotFoundException;
+import zeroone.developers.employee.payload.BatchResult;
+import zeroone.developers.employee.payload.CursorPage;
 import zeroone.developers.employee.payload.CalculationTableDto;
-
+import zeroone.developers.employee.payload.HighSalaryRow;
+import zeroone.developers.employee.payload.OrgAverageRow;
+import zeroone.developers.employee.payload.OrgRollupRow;
+import zeroone.developers.employee.payload.PaidEmployeeRow;
+import zeroone.developers.employee.payload.RegionSummaryRow;
 
 import java.util.List;
 import java.util.Optional;
@@ -26,6 +34,20 @@ public interface CalculationTableService {
     List<CalculationTableDto> findAllCalculations();
 
 
+    /**
+     * Retrieve one page of calculation records as DTOs using keyset pagination.
+     *
+     * Pages are ordered by ID and continue after the ID encoded in the cursor,
+     * so every page is served from the primary key index.
+     *
+     * @param after the cursor returned with the previous page, or null for the first page
+     * @param limit the maximum number of calculations to return
+     * @param direction the ID sort direction
+     * @return the page of CalculationTableDto with the cursor of the next page
+     */
+    CursorPage<CalculationTableDto> findCalculationsPage(String after, int limit, Sort.Direction direction);
+
+
     /**
      * Retrieve an calculationTable by their ID.
      *
@@ -51,6 +73,20 @@ public interface CalculationTableService {
     CalculationTableDto saveCalculation(CalculationTableDto calculationTableDto) throws CalculationTableException;
 
 
+
+    /**
+     * Save many calculation records in one transaction.
+     *
+     * Every row is validated in memory first; valid rows are inserted with JDBC batching
+     * and invalid rows are reported without aborting the batch.
+     *
+     * @param calculationTableDtos the DTOs of the calculations to be saved
+     * @return the number of stored and rejected rows and the outcome of every row
+     * @throws CalculationTableException if the batch is empty or larger than the allowed size
+     */
+    BatchResult saveCalculationsBatch(List<CalculationTableDto> calculationTableDtos) throws CalculationTableException;
+
+
     /**
      * Update an existing calculationTable record.
      *
@@ -79,48 +115,75 @@ public interface CalculationTableService {
     void deleteCalculation(Long id) throws ResourceNotFoundException;
 
 
-    //jpa native query methods
+    //report methods
 
 
     /**
      * Get a list of employees with a salary higher than the given threshold for the specified month.
      *
+     * @param year the year of the reporting month
      * @param month the month for which to get the employees
      * @param threshold the salary threshold
      * @return a list of employees with a salary higher than the threshold
      */
-    List<Object[]> getEmployeesWithHigherSalary(int month, double threshold);
+    List<HighSalaryRow> getEmployeesWithHigherSalary(int year, int month, double threshold);
 
 
 
     /**
      * Get a list of employees working in different regions for a specific month.
      *
+     * @param year the year of the reporting month
      * @param month the month for which to get the employees
      * @return a list of employees working in various regions
      */
-    List<Object[]> getEmployeesByRegion(int month);
+    List<RegionSummaryRow> getEmployeesByRegion(int year, int month);
 
 
 
     /**
      * Get the average salary of all employees in a specific organization for the given month.
      *
+     * @param year the year of the reporting month
      * @param month the month for which to get the average salary
      * @param organizationId the ID of the organization
      * @return a list containing the average salary information
      */
-    List<Object[]> getAverageSalaryByOrganization(int month, Long organizationId);
+    List<OrgAverageRow> getAverageSalaryByOrganization(int year, int month, Long organizationId);
+
+
+
+    /**
+     * Retrieves the average salary of every organization in a specific month.
+     *
+     * @param year  the year of the reporting month
+     * @param month the month for which the data is being retrieved
+     * @return a list of average salaries by organization as typed report rows
+     */
+    List<OrgAverageRow> getAverageSalaryPerOrganization(int year, int month);
 
 
 
     /**
      * Get the details of employees who received salaries and took vacations during the specified month.
      *
+     * @param year the year of the reporting month
      * @param month the month for which to get the data
      * @return a list containing the details of employees with salaries and vacations
      */
-    List<Object[]> getEmployeesWithSalariesAndVacations(int month);
+    List<PaidEmployeeRow> getEmployeesWithSalariesAndVacations(int year, int month);
+
+
+
+    /**
+     * Get the totals per calculation type of an organization and all of its subsidiaries for the given month.
+     *
+     * @param year the year of the reporting month
+     * @param month the month for which to get the totals
+     * @param organizationId the ID of the organization at the root of the rollup
+     * @return a list containing the sum, average, count and headcount per calculation type
+     */
+    List<OrgRollupRow> getOrganizationRollup(int year, int month, Long organizationId);
 
 
 
@@ -0,0 +1,32 @@
+package zeroone.developers.employee.service;
+
+import zeroone.developers.employee.exception.EmployeeException;
+import zeroone.developers.employee.payload.EmployeeImportResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Service interface for importing employees in bulk.
+ * Provides a CSV import that loads and validates whole files with set-based statements.
+ */
+public interface EmployeeImportService {
+
+
+    /**
+     * Import employees from CSV.
+     *
+     * The file has the columns firstName, lastName, pinfl, hireDate (YYYY-MM-DD) and organization
+     * (the ID or the name of the organization). Rows failing the checks of a single employee creation,
+     * or repeating a name or pinfl of an earlier row, are rejected; all other rows are imported
+     * in one transaction.
+     *
+     * @param csv the CSV content, read to its end but not closed
+     * @param header whether the first line is a header to skip
+     * @return the number of imported rows and the rejected rows with their reason
+     * @throws EmployeeException if the content is not valid CSV with five columns
+     * @throws IOException if reading the content fails
+     */
+    EmployeeImportResult importEmployees(InputStream csv, boolean header) throws IOException;
+
+}
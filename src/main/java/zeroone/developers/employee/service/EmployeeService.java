@@ -1,9 +1,10 @@
 package zeroone.developers.employee.service;
 
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Sort;
 import zeroone.developers.employee.entity.Employee;
 import zeroone.developers.employee.exception.EmployeeException;
 import zeroone.developers.employee.exception.ResourceNotFoundException;
+import zeroone.developers.employee.payload.CursorPage;
 import zeroone.developers.employee.payload.EmployeeDto;
 
 import java.util.List;
@@ -16,6 +17,18 @@ import java.util.Optional;
 public interface EmployeeService {
 
 
+    /**
+     * Return the strong ETag of one employee.
+     *
+     * The ETag changes with every write to the employee and with every organization or region write,
+     * as employees embed their organization. It is available without accessing the database.
+     *
+     * @param id the ID of the employee
+     * @return the current ETag of the employee
+     */
+    String getEmployeeETag(Long id);
+
+
     /**
      * Retrieve all employee records as DTOs.
      *
@@ -26,7 +39,19 @@ public interface EmployeeService {
      */
     List<EmployeeDto> findAllEmployees();
 
-    Page<EmployeeDto> getAllEmployees(int page, int size);
+
+    /**
+     * Retrieve one page of employee records as DTOs using keyset pagination.
+     *
+     * Pages are ordered by ID and continue after the ID encoded in the cursor,
+     * so every page is served from the primary key index.
+     *
+     * @param after the cursor returned with the previous page, or null for the first page
+     * @param limit the maximum number of employees to return
+     * @param direction the ID sort direction
+     * @return the page of EmployeeDto with the cursor of the next page
+     */
+    CursorPage<EmployeeDto> findEmployeesPage(String after, int limit, Sort.Direction direction);
 
 
     /**
@@ -0,0 +1,60 @@
+package zeroone.developers.employee.service;
+
+import zeroone.developers.employee.exception.CalculationTableException;
+
+import java.sql.Date;
+
+/**
+ * Service interface for maintaining the monthly_employee_totals read model.
+ * Provides methods for keeping the totals in sync with calculation records
+ * and for rebuilding and verifying them.
+ */
+public interface MonthlyEmployeeTotalService {
+
+
+    /**
+     * Recompute the totals of one employee for the month containing the given date.
+     *
+     * This method must be called inside the transaction that changed the calculation records.
+     *
+     * @param employeeId the ID of the employee whose calculations changed
+     * @param date any date inside the affected month
+     */
+    void refreshEmployeeMonth(Long employeeId, Date date);
+
+
+    /**
+     * Propagate a changed pinfl or organization to all totals rows of an employee.
+     *
+     * @param employeeId the ID of the employee
+     * @param pinfl the new pinfl of the employee
+     * @param organizationId the ID of the employee's new organization, or null
+     */
+    void updateEmployee(Long employeeId, String pinfl, Long organizationId);
+
+
+    /**
+     * Rebuild the totals from calculation_table.
+     *
+     * If year is null every month that has calculations is rebuilt,
+     * if month is null the whole year is rebuilt.
+     *
+     * @param year the year to rebuild, or null for all data
+     * @param month the month to rebuild, or null for the whole year
+     * @return the number of totals rows written
+     * @throws CalculationTableException if the year or month is out of range
+     */
+    int rebuildTotals(Integer year, Integer month) throws CalculationTableException;
+
+
+    /**
+     * Compare the stored totals with calculation_table.
+     *
+     * @param year the year to verify, or null for all data
+     * @param month the month to verify, or null for the whole year
+     * @return the number of employee-month rows that are missing or differ
+     * @throws CalculationTableException if the year or month is out of range
+     */
+    long verifyTotals(Integer year, Integer month) throws CalculationTableException;
+
+}
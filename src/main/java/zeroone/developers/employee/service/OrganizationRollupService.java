@@ -0,0 +1,60 @@
+package zeroone.developers.employee.service;
+
+import zeroone.developers.employee.exception.CalculationTableException;
+
+import java.sql.Date;
+
+/**
+ * Service interface for maintaining the organization_payroll_rollups read model.
+ * Provides methods for keeping the subtree totals in sync with calculation records
+ * and the organization hierarchy, and for rebuilding them.
+ */
+public interface OrganizationRollupService {
+
+
+    /**
+     * Recompute the own totals of one organization for the month containing the given date
+     * and carry the difference up to all of its ancestors.
+     *
+     * This method must be called inside the transaction that changed the calculation records.
+     *
+     * @param organizationId the ID of the organization whose calculations changed
+     * @param date any date inside the affected month
+     */
+    void refreshOrganizationMonth(Long organizationId, Date date);
+
+
+    /**
+     * Remove the totals of a subtree from the ancestors it is about to be detached from.
+     *
+     * Must be called before the subtree is detached in organization_closure.
+     *
+     * @param organizationId the ID of the subtree root
+     */
+    void detachSubtree(Long organizationId);
+
+
+    /**
+     * Add the totals of a subtree to the ancestors it has just been attached to.
+     *
+     * Must be called after the subtree is attached in organization_closure.
+     *
+     * @param organizationId the ID of the subtree root
+     */
+    void attachSubtree(Long organizationId);
+
+
+    /**
+     * Rebuild the rollups from calculation_table and organization_closure.
+     *
+     * If year is null every month that has calculations is rebuilt,
+     * if month is null the whole year is rebuilt.
+     *
+     * @param year the year to rebuild, or null for all data
+     * @param month the month to rebuild, or null for the whole year
+     * @return the number of rollup rows written
+     * @throws CalculationTableException if the year or month is out of range
+     */
+    int rebuildRollups(Integer year, Integer month) throws CalculationTableException;
+
+}
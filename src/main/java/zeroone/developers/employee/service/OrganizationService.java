@@ -1,10 +1,14 @@
 package zeroone.developers.employee.service;
 
+import org.springframework.data.domain.Sort;
 import zeroone.developers.employee.entity.Organization;
 import zeroone.developers.employee.exception.EmployeeException;
 import zeroone.developers.employee.exception.OrganizationException;
 import zeroone.developers.employee.exception.ResourceNotFoundException;
+import zeroone.developers.employee.payload.CursorPage;
 import zeroone.developers.employee.payload.OrganizationDto;
+import zeroone.developers.employee.payload.OrganizationNodeRow;
+import zeroone.developers.employee.payload.OrganizationTreeNode;
 
 import java.util.List;
 import java.util.Optional;
@@ -16,6 +20,20 @@ public interface OrganizationService {
 
 
 
+    /**
+     * Return the strong ETag of one page of the organization list.
+     *
+     * The ETag changes with every organization or region write, as organizations embed their region
+     * and parent chain. It is available without accessing the database. Each page has its own ETag.
+     *
+     * @param after the cursor of the page, or null for the first page
+     * @param limit the maximum number of organizations of the page
+     * @param direction the ID sort direction of the page
+     * @return the current ETag of the page
+     */
+    String getOrganizationsETag(String after, int limit, Sort.Direction direction);
+
+
     /**
      * Retrieve all organization records as DTOs.
      *
@@ -27,6 +45,20 @@ public interface OrganizationService {
     List<OrganizationDto> findAllOrganizations();
 
 
+    /**
+     * Retrieve one page of organization records as DTOs using keyset pagination.
+     *
+     * Pages are ordered by ID and continue after the ID encoded in the cursor,
+     * so every page is served from the primary key index.
+     *
+     * @param after the cursor returned with the previous page, or null for the first page
+     * @param limit the maximum number of organizations to return
+     * @param direction the ID sort direction
+     * @return the page of OrganizationDto with the cursor of the next page
+     */
+    CursorPage<OrganizationDto> findOrganizationsPage(String after, int limit, Sort.Direction direction);
+
+
 
     /**
      * Retrieve an organization by their ID.
@@ -76,6 +108,50 @@ public interface OrganizationService {
 
 
 
+    //hierarchy methods
+
+
+    /**
+     * Retrieve all subsidiaries of an organization down to the given depth.
+     *
+     * @param id the ID of the organization
+     * @param maxDepth the number of levels to descend, or null for the whole subtree
+     * @return the subsidiaries ordered by depth
+     * @throws ResourceNotFoundException if the organization does not exist
+     */
+    List<OrganizationNodeRow> findDescendants(Long id, Integer maxDepth) throws ResourceNotFoundException;
+
+
+    /**
+     * Retrieve the parent chain of an organization up to its root.
+     *
+     * @param id the ID of the organization
+     * @return the ancestors ordered from the direct parent to the root
+     * @throws ResourceNotFoundException if the organization does not exist
+     */
+    List<OrganizationNodeRow> findAncestors(Long id) throws ResourceNotFoundException;
+
+
+    /**
+     * Retrieve an organization with its subsidiaries nested down to the given depth.
+     *
+     * @param id the ID of the tree root
+     * @param maxDepth the number of levels to include below the root
+     * @return the organization as the root of the tree
+     * @throws ResourceNotFoundException if the organization does not exist
+     */
+    OrganizationTreeNode findTree(Long id, int maxDepth) throws ResourceNotFoundException;
+
+
+    /**
+     * Rebuild the organization closure table from the parent references.
+     *
+     * @return the number of closure rows written
+     */
+    int rebuildHierarchy();
+
+
+
 
 
 
@@ -0,0 +1,28 @@
+package zeroone.developers.employee.service;
+
+import zeroone.developers.employee.exception.CalculationTableException;
+import zeroone.developers.employee.payload.PayrollDashboard;
+
+/**
+ * Service interface for the monthly payroll dashboard.
+ * Provides a method that assembles all monthly reports of a month in one call.
+ */
+public interface PayrollDashboardService {
+
+
+    /**
+     * Build the dashboard of a month.
+     *
+     * The reports are independent queries and run concurrently,
+     * so the call takes about as long as the slowest report.
+     *
+     * @param year           the year of the reporting month
+     * @param month          the month of the year (1-12)
+     * @param threshold      the salary threshold of the high-salary report
+     * @param organizationId the organization of the average-salary report, or null for every organization
+     * @return the reports of the month
+     * @throws CalculationTableException if the year or month is out of range
+     */
+    PayrollDashboard getDashboard(int year, int month, double threshold, Long organizationId) throws CalculationTableException;
+
+}
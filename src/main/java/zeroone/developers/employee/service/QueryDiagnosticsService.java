@@ -0,0 +1,43 @@
+package zeroone.developers.employee.service;
+
+import zeroone.developers.employee.payload.HibernateStatisticsDto;
+import zeroone.developers.employee.payload.SlowQueryRow;
+
+import java.util.List;
+
+/**
+ * Service interface for the runtime query diagnostics.
+ * Provides methods for reading the slow-query log and the Hibernate statistics, and for resetting both.
+ */
+public interface QueryDiagnosticsService {
+
+
+    /**
+     * Retrieve the most recent statements slower than the threshold.
+     *
+     * @param limit the maximum number of statements to return
+     * @return the slow statements, most recent first
+     */
+    List<SlowQueryRow> findSlowQueries(int limit);
+
+
+    /**
+     * Remove every statement from the slow-query log.
+     */
+    void clearSlowQueries();
+
+
+    /**
+     * Retrieve the counters of the Hibernate session factory.
+     *
+     * @return the statistics since start-up or the last reset
+     */
+    HibernateStatisticsDto getHibernateStatistics();
+
+
+    /**
+     * Reset the counters of the Hibernate session factory.
+     */
+    void resetHibernateStatistics();
+
+}
@@ -1,6 +1,9 @@
 package zeroone.developers.employee.service;
+
+import org.springframework.data.domain.Sort;
 import zeroone.developers.employee.exception.RegionException;
 import zeroone.developers.employee.exception.ResourceNotFoundException;
+import zeroone.developers.employee.payload.CursorPage;
 import zeroone.developers.employee.payload.RegionDto;
 
 import java.util.List;
@@ -13,6 +16,20 @@ public interface RegionService {
 
 
 
+    /**
+     * Return the strong ETag of one page of the region list.
+     *
+     * The ETag is derived from a version kept in memory and changed by every region write,
+     * so it is available without accessing the database. Each page has its own ETag.
+     *
+     * @param after the cursor of the page, or null for the first page
+     * @param limit the maximum number of regions of the page
+     * @param direction the ID sort direction of the page
+     * @return the current ETag of the page
+     */
+    String getRegionsETag(String after, int limit, Sort.Direction direction);
+
+
     /**
      * Retrieve all region records as DTOs.
      *
@@ -24,6 +41,20 @@ public interface RegionService {
     List<RegionDto> findAllRegions();
 
 
+    /**
+     * Retrieve one page of region records as DTOs using keyset pagination.
+     *
+     * Pages are ordered by ID and continue after the ID encoded in the cursor,
+     * so every page is served from the primary key index.
+     *
+     * @param after the cursor returned with the previous page, or null for the first page
+     * @param limit the maximum number of regions to return
+     * @param direction the ID sort direction
+     * @return the page of RegionDto with the cursor of the next page
+     */
+    CursorPage<RegionDto> findRegionsPage(String after, int limit, Sort.Direction direction);
+
+
 
     /**
      * Retrieve a region by their ID.
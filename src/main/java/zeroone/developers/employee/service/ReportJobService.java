@@ -0,0 +1,59 @@
+package zeroone.developers.employee.service;
+
+import zeroone.developers.employee.exception.ReportJobException;
+import zeroone.developers.employee.exception.ResourceNotFoundException;
+import zeroone.developers.employee.payload.ReportJobDto;
+import zeroone.developers.employee.payload.ReportJobPageDto;
+import zeroone.developers.employee.payload.ReportJobRequest;
+
+/**
+ * Service interface for asynchronous report jobs.
+ * Provides methods for submitting a report, polling its status and reading its stored result page by page.
+ */
+public interface ReportJobService {
+
+
+    /**
+     * Submit a report job.
+     *
+     * A submission equal to a job that is still queued or running, or whose result is still kept,
+     * returns that job instead of running the report again.
+     *
+     * @param request the report and its parameters
+     * @return the new or the existing job
+     * @throws ReportJobException if the parameters are invalid for the report
+     * @throws java.util.concurrent.RejectedExecutionException if the job queue is full
+     */
+    ReportJobDto submitJob(ReportJobRequest request) throws ReportJobException;
+
+
+    /**
+     * Retrieve the status of a job.
+     *
+     * @param id the ID of the job
+     * @return the job
+     * @throws ResourceNotFoundException if the job does not exist or has expired
+     */
+    ReportJobDto findJob(String id) throws ResourceNotFoundException;
+
+
+    /**
+     * Retrieve one page of the result of a completed job.
+     *
+     * @param id the ID of the job
+     * @param page the page number, starting at 0
+     * @return the rows of the page
+     * @throws ResourceNotFoundException if the job does not exist or has expired
+     * @throws ReportJobException if the job is not completed or the page is out of range
+     */
+    ReportJobPageDto findResultPage(String id, int page) throws ResourceNotFoundException, ReportJobException;
+
+
+    /**
+     * Delete jobs whose result has expired, together with their result pages.
+     *
+     * @return the number of deleted jobs
+     */
+    int deleteExpiredJobs();
+
+}
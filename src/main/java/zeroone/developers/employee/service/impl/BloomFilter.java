@@ -0,0 +1,127 @@
+package zeroone.developers.employee.service.impl;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter of strings.
+ * <p>
+ * The bit array and the number of hash functions are sized from the expected number of entries and the
+ * target false-positive rate. Each key is hashed once to 64 bits; the k bit positions are derived from the two
+ * halves by double hashing. {@link #mightContain(String)} never returns false for a key that was added.
+ */
+public final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+    private final AtomicLong entries = new AtomicLong();
+
+    private BloomFilter(long bitCount, int hashCount) {
+        this.words = new AtomicLongArray((int) ((bitCount + 63) >>> 6));
+        this.bitCount = (long) words.length() << 6;
+        this.hashCount = hashCount;
+    }
+
+
+    /**
+     * @param expectedEntries the number of keys the false-positive rate is planned for
+     * @param falsePositiveRate the target false-positive rate, between 0 and 1 exclusive
+     */
+    public static BloomFilter create(long expectedEntries, double falsePositiveRate) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False-positive rate must be between 0 and 1: " + falsePositiveRate);
+        }
+        long n = Math.max(1, expectedEntries);
+        long bits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        if (bits > (long) Integer.MAX_VALUE << 6) {
+            throw new IllegalArgumentException("Bloom filter too large for " + expectedEntries + " entries");
+        }
+        int hashes = (int) Math.max(1, Math.round((double) bits / n * Math.log(2)));
+        return new BloomFilter(Math.max(64, bits), hashes);
+    }
+
+
+    public boolean mightContain(String key) {
+        long hash = hash(key);
+        long h1 = hash;
+        long h2 = (hash >>> 32) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    /**
+     * Add a key.
+     *
+     * @return true if the key was not contained before
+     */
+    public boolean put(String key) {
+        long hash = hash(key);
+        long h1 = hash;
+        long h2 = (hash >>> 32) | 1;
+        boolean changed = false;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            int index = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long word = words.get(index);
+            while ((word & mask) == 0) {
+                if (words.compareAndSet(index, word, word | mask)) {
+                    changed = true;
+                    break;
+                }
+                word = words.get(index);
+            }
+        }
+        if (changed) {
+            entries.incrementAndGet();
+        }
+        return changed;
+    }
+
+
+    /**
+     * @return the number of keys added, not counting keys that were already contained
+     */
+    public long entries() {
+        return entries.get();
+    }
+
+
+    /**
+     * @return the size of the bit array in bytes
+     */
+    public long byteSize() {
+        return bitCount >>> 3;
+    }
+
+
+    /**
+     * @return the false-positive rate expected for the current number of entries
+     */
+    public double expectedFalsePositiveRate() {
+        return Math.pow(1 - Math.exp(-(double) hashCount * entries.get() / bitCount), hashCount);
+    }
+
+
+    // 64-bit FNV-1a over the UTF-16 code units, finished with the MurmurHash3 mixer
+    private static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
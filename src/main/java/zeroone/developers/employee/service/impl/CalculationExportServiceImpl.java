@@ -0,0 +1,199 @@
+package zeroone.developers.employee.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import zeroone.developers.employee.exception.CalculationTableException;
+import zeroone.developers.employee.payload.ExportFormat;
+import zeroone.developers.employee.service.CalculationExportService;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implementation of the CalculationExportService interface.
+ * Streams calculation_table rows straight from a JDBC cursor to the response body.
+ */
+@Service
+public class CalculationExportServiceImpl implements CalculationExportService {
+
+    private static final String CSV_HEADER = "id,employee_id,organization_id,date,amount,rate,calculation_type";
+
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+
+    /**
+     * Constructor with dependency injection for the DataSource and the JSON mapper.
+     *
+     * @param dataSource the data source the cursor connection is taken from
+     * @param objectMapper the mapper whose factory writes NDJSON rows
+     * @param fetchSize the number of rows the driver fetches per round trip
+     */
+    @Autowired
+    public CalculationExportServiceImpl(DataSource dataSource, ObjectMapper objectMapper,
+                                        @Value("${export.calculations.fetch-size:5000}") int fetchSize) {
+        this.dataSource = dataSource;
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+    }
+
+
+    /**
+     * Stream calculation records to the given output.
+     *
+     * The PostgreSQL driver only uses a server-side cursor inside a transaction,
+     * so the connection is switched to manual commit and read-only for the duration of the export.
+     *
+     * @param from the first calculation date to include, or null
+     * @param to the first calculation date to exclude, or null
+     * @param organizationId the organization to export, or null for all
+     * @param calculationType the calculation type to export, or null for all
+     * @param format the output format
+     * @param out the stream to write to; it is flushed but not closed
+     * @throws CalculationTableException if the date range is invalid
+     * @throws IOException if writing to the output fails
+     */
+    @Override
+    public void exportCalculations(LocalDate from, LocalDate to, Long organizationId, String calculationType,
+                                   ExportFormat format, OutputStream out) throws IOException {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new CalculationTableException("Export range start must be before its end");
+        }
+
+        StringBuilder sql = new StringBuilder(
+                "select id, employee_id, organization_id, date, amount, rate, calculation_type " +
+                "from calculation_table where 1 = 1");
+        List<Object> params = new ArrayList<>();
+        if (from != null) {
+            sql.append(" and date >= ?");
+            params.add(Date.valueOf(from));
+        }
+        if (to != null) {
+            sql.append(" and date < ?");
+            params.add(Date.valueOf(to));
+        }
+        if (organizationId != null) {
+            sql.append(" and organization_id = ?");
+            params.add(organizationId);
+        }
+        if (calculationType != null && !calculationType.isBlank()) {
+            sql.append(" and calculation_type = ?");
+            params.add(calculationType);
+        }
+
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            connection.setReadOnly(true);
+            try (PreparedStatement statement = connection.prepareStatement(sql.toString(),
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                statement.setFetchSize(fetchSize);
+                for (int i = 0; i < params.size(); i++) {
+                    statement.setObject(i + 1, params.get(i));
+                }
+                try (ResultSet rs = statement.executeQuery()) {
+                    if (format == ExportFormat.CSV) {
+                        writeCsv(rs, out);
+                    } else {
+                        writeNdjson(rs, out);
+                    }
+                }
+            } finally {
+                connection.rollback();
+                connection.setReadOnly(false);
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Calculation export failed", e);
+        }
+    }
+
+
+    // Write one JSON object per row, separated by new lines
+    private void writeNdjson(ResultSet rs, OutputStream out) throws SQLException, IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            while (rs.next()) {
+                generator.writeStartObject();
+                generator.writeNumberField("id", rs.getLong(1));
+                writeNullableLong(generator, "employeeId", rs.getLong(2), rs.wasNull());
+                writeNullableLong(generator, "organizationId", rs.getLong(3), rs.wasNull());
+                generator.writeStringField("date", rs.getDate(4).toString());
+                generator.writeNumberField("amount", rs.getDouble(5));
+                generator.writeNumberField("rate", rs.getDouble(6));
+                generator.writeStringField("calculationType", rs.getString(7));
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            }
+            generator.flush();
+        }
+    }
+
+
+    private static void writeNullableLong(JsonGenerator generator, String field, long value, boolean isNull)
+            throws IOException {
+        if (isNull) {
+            generator.writeNullField(field);
+        } else {
+            generator.writeNumberField(field, value);
+        }
+    }
+
+
+    // Write a header row followed by one line per row
+    private void writeCsv(ResultSet rs, OutputStream out) throws SQLException, IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        while (rs.next()) {
+            writer.write(Long.toString(rs.getLong(1)));
+            writer.write(',');
+            writer.write(nullableLong(rs.getLong(2), rs.wasNull()));
+            writer.write(',');
+            writer.write(nullableLong(rs.getLong(3), rs.wasNull()));
+            writer.write(',');
+            writer.write(rs.getDate(4).toString());
+            writer.write(',');
+            writer.write(Double.toString(rs.getDouble(5)));
+            writer.write(',');
+            writer.write(Double.toString(rs.getDouble(6)));
+            writer.write(',');
+            writer.write(csvEscape(rs.getString(7)));
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+
+    private static String nullableLong(long value, boolean isNull) {
+        return isNull ? "" : Long.toString(value);
+    }
+
+
+    private static String csvEscape(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,331 @@
+package zeroone.developers.employee.service.impl;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import zeroone.developers.employee.exception.CalculationTableException;
+import zeroone.developers.employee.payload.CalculationPartitionRow;
+import zeroone.developers.employee.service.CalculationPartitionService;
+import zeroone.developers.employee.service.MonthlyEmployeeTotalService;
+import zeroone.developers.employee.service.OrganizationRollupService;
+
+import java.sql.Date;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Implementation of the CalculationPartitionService interface.
+ * <p>
+ * calculation_table is range-partitioned by date with one partition per month, named
+ * calculation_table_yYYYYmMM, plus a default partition that catches dates without a partition,
+ * so inserts never fail on a missing month. Every report filters on a month range of date,
+ * which lets PostgreSQL prune all other partitions. The primary key becomes (id, date), because
+ * a partitioned table's unique keys must include the partition key; IDs still come from
+ * calculation_table_seq and stay unique.
+ * <p>
+ * Partition DDL takes a lock on calculation_table, so every statement runs with a short lock_timeout
+ * and fails instead of queueing writers behind a long-running report. The conversion also runs with
+ * a statement_timeout, so copying an unexpectedly large table is rolled back instead of blocking
+ * calculation writes until it finishes.
+ */
+@Service
+public class CalculationPartitionServiceImpl implements CalculationPartitionService {
+
+    private static final String TABLE = "calculation_table";
+    private static final String DEFAULT_PARTITION = TABLE + "_default";
+    private static final Pattern PARTITION_NAME = Pattern.compile(TABLE + "_y(\\d{4})m(\\d{2})");
+
+    /**
+     * Indexes of the CalculationTable entity, recreated on the partitioned parent and inherited by every partition.
+     */
+    private static final Map<String, String> INDEXES = Map.of(
+            "idx_calculation_date_employee", "date, employee_id",
+            "idx_calculation_date_type", "date, calculation_type",
+            "idx_calculation_organization_date", "organization_id, date");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MonthlyEmployeeTotalService monthlyEmployeeTotalService;
+    private final OrganizationRollupService organizationRollupService;
+    private final PayrollSnapshotStore payrollSnapshotStore;
+    private final PayrollAggregateStore payrollAggregateStore;
+    private final int monthsAhead;
+    private final String lockTimeout;
+    private final String conversionTimeout;
+
+    /**
+     * Constructor with dependency injection for the JdbcTemplate, the read model services and the partitioning settings.
+     *
+     * @param jdbcTemplate the template the partition DDL is run with
+     * @param monthlyEmployeeTotalService the service rebuilding monthly totals after a month is removed
+     * @param organizationRollupService the service rebuilding organization rollups after a month is removed
+     * @param payrollSnapshotStore the in-memory month snapshots dropped after a month is removed
+     * @param payrollAggregateStore the aggregate files of closed months deleted after a month is removed
+     * @param monthsAhead the number of months after the current one that always have a partition
+     * @param lockTimeout the PostgreSQL lock_timeout of partition DDL, such as 5s
+     * @param conversionTimeout the PostgreSQL statement_timeout of each statement of the conversion, such as 5min
+     */
+    public CalculationPartitionServiceImpl(JdbcTemplate jdbcTemplate,
+                                           MonthlyEmployeeTotalService monthlyEmployeeTotalService,
+                                           OrganizationRollupService organizationRollupService,
+                                           PayrollSnapshotStore payrollSnapshotStore,
+                                           PayrollAggregateStore payrollAggregateStore,
+                                           @Value("${calculations.partitioning.months-ahead:3}") int monthsAhead,
+                                           @Value("${calculations.partitioning.lock-timeout:5s}") String lockTimeout,
+                                           @Value("${calculations.partitioning.conversion-timeout:5min}") String conversionTimeout) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.monthlyEmployeeTotalService = monthlyEmployeeTotalService;
+        this.organizationRollupService = organizationRollupService;
+        this.payrollSnapshotStore = payrollSnapshotStore;
+        this.payrollAggregateStore = payrollAggregateStore;
+        this.monthsAhead = monthsAhead;
+        this.lockTimeout = lockTimeout;
+        this.conversionTimeout = conversionTimeout;
+    }
+
+
+    /**
+     * Convert the plain calculation_table into a partitioned one.
+     *
+     * The table is renamed, an empty partitioned table with the same columns, constraints and foreign keys
+     * takes its name, partitions are created for every month that has rows and the rows are copied over.
+     *
+     * @return true if the table was converted, false if it was already partitioned
+     */
+    @Override
+    @Transactional
+    public boolean convertToPartitioned() {
+        if (!"r".equals(relationKind())) {
+            return false;
+        }
+
+        setLockTimeout();
+        jdbcTemplate.queryForObject("select set_config('statement_timeout', ?, true)", String.class, conversionTimeout);
+        jdbcTemplate.execute("lock table " + TABLE + " in access exclusive mode");
+        String heap = TABLE + "_heap";
+        jdbcTemplate.execute("alter table " + TABLE + " rename to " + heap);
+
+        // Keep the foreign key definitions and free the index names for the partitioned table
+        List<Map<String, Object>> foreignKeys = jdbcTemplate.queryForList(
+                "select conname, pg_get_constraintdef(oid) as definition from pg_constraint " +
+                        "where conrelid = to_regclass(?) and contype = 'f'", heap);
+        for (String index : INDEXES.keySet()) {
+            jdbcTemplate.execute("drop index if exists " + index);
+        }
+
+        jdbcTemplate.execute("create table " + TABLE + " (like " + heap + " including defaults including constraints) " +
+                "partition by range (date)");
+        jdbcTemplate.execute("alter table " + TABLE + " add constraint " + TABLE + "_pkey primary key (id, date)");
+        for (Map<String, Object> foreignKey : foreignKeys) {
+            jdbcTemplate.execute("alter table " + heap + " drop constraint " + foreignKey.get("conname"));
+            jdbcTemplate.execute("alter table " + TABLE + " add constraint " + foreignKey.get("conname")
+                    + " " + foreignKey.get("definition"));
+        }
+        INDEXES.forEach((index, columns) ->
+                jdbcTemplate.execute("create index " + index + " on " + TABLE + " (" + columns + ")"));
+        jdbcTemplate.execute("create table " + DEFAULT_PARTITION + " partition of " + TABLE + " default");
+
+        List<Date> months = jdbcTemplate.queryForList(
+                "select distinct date_trunc('month', date)::date from " + heap, Date.class);
+        for (Date month : months) {
+            createPartition(YearMonth.from(month.toLocalDate()));
+        }
+        jdbcTemplate.execute("insert into " + TABLE + " select * from " + heap);
+        jdbcTemplate.execute("drop table " + heap);
+        return true;
+    }
+
+
+    /**
+     * Create the upcoming partitions; also runs daily so a month always has its partition before it starts.
+     *
+     * @return the number of partitions created
+     */
+    @Override
+    @Transactional
+    @Scheduled(cron = "${calculations.partitioning.cron:0 0 3 * * *}")
+    public int ensurePartitions() {
+        if (!"p".equals(relationKind())) {
+            return 0;
+        }
+        setLockTimeout();
+        int created = 0;
+
+        // Rows in the default partition get a partition of their own month
+        List<Date> strayMonths = !exists(DEFAULT_PARTITION) ? List.of() : jdbcTemplate.queryForList(
+                "select distinct date_trunc('month', date)::date from " + DEFAULT_PARTITION, Date.class);
+        for (Date month : strayMonths) {
+            if (createPartition(YearMonth.from(month.toLocalDate()))) {
+                created++;
+            }
+        }
+
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= monthsAhead; i++) {
+            if (createPartition(current.plusMonths(i))) {
+                created++;
+            }
+        }
+        return created;
+    }
+
+
+    /**
+     * Retrieve the partitions of calculation_table with the planner's row estimates.
+     *
+     * @return the monthly partitions ordered by month, then the default partition
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<CalculationPartitionRow> findPartitions() {
+        List<CalculationPartitionRow> partitions = new ArrayList<>(jdbcTemplate.query(
+                "select c.relname, c.reltuples::bigint from pg_inherits i " +
+                        "join pg_class c on c.oid = i.inhrelid " +
+                        "where i.inhparent = to_regclass(?)",
+                (rs, rowNum) -> {
+                    String name = rs.getString(1);
+                    Matcher matcher = PARTITION_NAME.matcher(name);
+                    if (!matcher.matches()) {
+                        return new CalculationPartitionRow(name, null, null, rs.getLong(2));
+                    }
+                    LocalDate start = LocalDate.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)), 1);
+                    return new CalculationPartitionRow(name, start, start.plusMonths(1), rs.getLong(2));
+                }, TABLE));
+        partitions.sort(Comparator.comparing(CalculationPartitionRow::rangeStart,
+                Comparator.nullsLast(Comparator.naturalOrder())));
+        return partitions;
+    }
+
+
+    /**
+     * Archive a month by detaching its partition and renaming it to calculation_archive_yYYYYmMM.
+     *
+     * @param year the year of the month
+     * @param month the month of the year (1-12)
+     * @return the name of the archive table
+     */
+    @Override
+    @Transactional
+    public String archiveMonth(int year, int month) {
+        YearMonth period = period(year, month);
+        String archive = "calculation_archive" + suffix(period);
+        if (exists(archive)) {
+            throw new CalculationTableException("Archive " + archive + " already exists");
+        }
+        String partition = detachPartition(period);
+        jdbcTemplate.execute("alter table " + partition + " rename to " + archive);
+        rebuildReadModels(period);
+        return archive;
+    }
+
+
+    /**
+     * Delete a month by detaching its partition and dropping it.
+     *
+     * @param year the year of the month
+     * @param month the month of the year (1-12)
+     */
+    @Override
+    @Transactional
+    public void dropMonth(int year, int month) {
+        YearMonth period = period(year, month);
+        String partition = detachPartition(period);
+        jdbcTemplate.execute("drop table " + partition);
+        rebuildReadModels(period);
+    }
+
+
+    /**
+     * Creates the partition of a month if it does not exist yet.
+     *
+     * A plain CREATE ... PARTITION OF fails while the default partition holds rows of that month,
+     * so those rows are moved into a standalone table first, which is then attached as the partition.
+     *
+     * @return true if the partition was created
+     */
+    private boolean createPartition(YearMonth period) {
+        String partition = TABLE + suffix(period);
+        if (exists(partition)) {
+            return false;
+        }
+        String from = period.atDay(1).toString();
+        String to = period.plusMonths(1).atDay(1).toString();
+        String range = "for values from ('" + from + "') to ('" + to + "')";
+        String inRange = "date >= '" + from + "' and date < '" + to + "'";
+
+        boolean hasStrayRows = exists(DEFAULT_PARTITION) && Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "select exists (select 1 from " + DEFAULT_PARTITION + " where " + inRange + ")", Boolean.class));
+        if (hasStrayRows) {
+            jdbcTemplate.execute("create table " + partition + " (like " + TABLE + " including defaults including constraints)");
+            jdbcTemplate.execute("insert into " + partition + " select * from " + DEFAULT_PARTITION + " where " + inRange);
+            jdbcTemplate.execute("delete from " + DEFAULT_PARTITION + " where " + inRange);
+            // The matching check constraint lets ATTACH skip scanning the new partition
+            jdbcTemplate.execute("alter table " + partition + " add constraint " + partition + "_range check (" + inRange + ")");
+            jdbcTemplate.execute("alter table " + TABLE + " attach partition " + partition + " " + range);
+            jdbcTemplate.execute("alter table " + partition + " drop constraint " + partition + "_range");
+        } else {
+            jdbcTemplate.execute("create table " + partition + " partition of " + TABLE + " " + range);
+        }
+        return true;
+    }
+
+
+    private String detachPartition(YearMonth period) {
+        String partition = TABLE + suffix(period);
+        if (!exists(partition)) {
+            throw new CalculationTableException("No partition exists for " + period);
+        }
+        setLockTimeout();
+        jdbcTemplate.execute("alter table " + TABLE + " detach partition " + partition);
+        return partition;
+    }
+
+
+    private void rebuildReadModels(YearMonth period) {
+        monthlyEmployeeTotalService.rebuildTotals(period.getYear(), period.getMonthValue());
+        organizationRollupService.rebuildRollups(period.getYear(), period.getMonthValue());
+        payrollSnapshotStore.invalidate(period);
+        payrollAggregateStore.invalidate(period);
+    }
+
+
+    private void setLockTimeout() {
+        jdbcTemplate.queryForObject("select set_config('lock_timeout', ?, true)", String.class, lockTimeout);
+    }
+
+
+    /**
+     * @return the pg_class relkind of calculation_table: r while it is a plain table, p once it is partitioned
+     */
+    private String relationKind() {
+        return jdbcTemplate.queryForObject(
+                "select c.relkind::text from pg_class c where c.oid = to_regclass(?)", String.class, TABLE);
+    }
+
+
+    private boolean exists(String table) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("select to_regclass(?) is not null", Boolean.class, table));
+    }
+
+
+    private static String suffix(YearMonth period) {
+        return String.format("_y%04dm%02d", period.getYear(), period.getMonthValue());
+    }
+
+
+    private static YearMonth period(int year, int month) {
+        try {
+            return YearMonth.of(year, month);
+        } catch (DateTimeException e) {
+            throw new CalculationTableException("Invalid period: " + year + "-" + month);
+        }
+    }
+}
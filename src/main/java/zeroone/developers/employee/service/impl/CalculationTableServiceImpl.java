@@ -1,17 +1,46 @@
 package zeroone.developers.employee.service.impl;
 
-import org.modelmapper.ModelMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import zeroone.developers.employee.entity.CalculationTable;
+import zeroone.developers.employee.entity.Employee;
+import zeroone.developers.employee.entity.Organization;
 import zeroone.developers.employee.exception.CalculationTableException;
 import zeroone.developers.employee.exception.ResourceNotFoundException;
+import zeroone.developers.employee.mapper.CalculationTableMapper;
+import zeroone.developers.employee.payload.BatchResult;
+import zeroone.developers.employee.payload.BatchRowResult;
+import zeroone.developers.employee.payload.CursorPage;
 import zeroone.developers.employee.payload.CalculationTableDto;
+import zeroone.developers.employee.payload.HighSalaryRow;
+import zeroone.developers.employee.payload.OrgAverageRow;
+import zeroone.developers.employee.payload.OrgRollupRow;
+import zeroone.developers.employee.payload.PaidEmployeeRow;
+import zeroone.developers.employee.payload.RegionSummaryRow;
 import zeroone.developers.employee.repository.CalculationTableRepository;
+import zeroone.developers.employee.repository.EmployeeRepository;
+import zeroone.developers.employee.repository.MonthlyEmployeeTotalRepository;
+import zeroone.developers.employee.repository.OrganizationPayrollRollupRepository;
+import zeroone.developers.employee.repository.OrganizationRepository;
 import zeroone.developers.employee.service.CalculationTableService;
-
+import zeroone.developers.employee.service.MonthlyEmployeeTotalService;
+import zeroone.developers.employee.service.OrganizationRollupService;
+
+import java.sql.Date;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -21,34 +50,83 @@ import java.util.stream.Collectors;
 @Service
 public class CalculationTableServiceImpl implements CalculationTableService {
 
-    @Autowired
-    private ModelMapper modelMapper;
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${calculations.batch.max-rows:10000}")
+    private int maxBatchRows;
 
     private final CalculationTableRepository calculationTableRepository;
+    private final EmployeeRepository employeeRepository;
+    private final OrganizationRepository organizationRepository;
+    private final MonthlyEmployeeTotalRepository monthlyEmployeeTotalRepository;
+    private final MonthlyEmployeeTotalService monthlyEmployeeTotalService;
+    private final OrganizationPayrollRollupRepository organizationPayrollRollupRepository;
+    private final OrganizationRollupService organizationRollupService;
+    private final CalculationTableValidator calculationTableValidator;
+    private final PayrollSnapshotStore payrollSnapshotStore;
+    private final PayrollAggregateStore payrollAggregateStore;
 
     /**
-     * Constructor with dependency injection for CalculationTableRepository.
+     * Constructor with dependency injection for CalculationTableRepository and the monthly totals read model.
      *
      * @param calculationTableRepository the repository for CalculationTable operations
+     * @param employeeRepository the repository used to check referenced employees
+     * @param organizationRepository the repository used to check referenced organizations
+     * @param monthlyEmployeeTotalRepository the repository the monthly reports are read from
+     * @param monthlyEmployeeTotalService the service keeping the monthly totals in sync with writes
+     * @param organizationPayrollRollupRepository the repository the organization rollup report is read from
+     * @param organizationRollupService the service keeping the organization rollups in sync with writes
+     * @param calculationTableValidator the validator applied to every incoming calculation
+     * @param payrollSnapshotStore the optional in-memory month snapshots the reports are answered from
+     * @param payrollAggregateStore the optional memory-mapped aggregates of closed months the reports are answered from
      */
     @Autowired
-    public CalculationTableServiceImpl(CalculationTableRepository calculationTableRepository) {
+    public CalculationTableServiceImpl(CalculationTableRepository calculationTableRepository,
+                                       EmployeeRepository employeeRepository,
+                                       OrganizationRepository organizationRepository,
+                                       MonthlyEmployeeTotalRepository monthlyEmployeeTotalRepository,
+                                       MonthlyEmployeeTotalService monthlyEmployeeTotalService,
+                                       OrganizationPayrollRollupRepository organizationPayrollRollupRepository,
+                                       OrganizationRollupService organizationRollupService,
+                                       CalculationTableValidator calculationTableValidator,
+                                       PayrollSnapshotStore payrollSnapshotStore,
+                                       PayrollAggregateStore payrollAggregateStore) {
         this.calculationTableRepository = calculationTableRepository;
+        this.employeeRepository = employeeRepository;
+        this.organizationRepository = organizationRepository;
+        this.monthlyEmployeeTotalRepository = monthlyEmployeeTotalRepository;
+        this.monthlyEmployeeTotalService = monthlyEmployeeTotalService;
+        this.organizationPayrollRollupRepository = organizationPayrollRollupRepository;
+        this.organizationRollupService = organizationRollupService;
+        this.calculationTableValidator = calculationTableValidator;
+        this.payrollSnapshotStore = payrollSnapshotStore;
+        this.payrollAggregateStore = payrollAggregateStore;
     }
 
 
-    //jpa native query methods
+    //report methods
 
     /**
      * Retrieves a list of employees with salary higher than a given threshold for a specific month.
      *
+     * @param year       the year of the reporting month
      * @param month      the month for which the data is being retrieved
      * @param threshold  the salary threshold to filter employees
-     * @return a list of employees with higher salary in the form of Object arrays
+     * @return a list of employees with higher salary as typed report rows
      */
     @Override
-    public List<Object[]> getEmployeesWithHigherSalary(int month, double threshold) {
-        return calculationTableRepository.findEmployeesWithHigherSalary(month, threshold);
+    public List<HighSalaryRow> getEmployeesWithHigherSalary(int year, int month, double threshold) {
+        LocalDate startDate = monthStart(year, month);
+        PayrollAggregateFile aggregates = payrollAggregateStore.find(YearMonth.from(startDate));
+        if (aggregates != null) {
+            return aggregates.findEmployeesWithHigherSalary(threshold);
+        }
+        PayrollMonthSnapshot snapshot = payrollSnapshotStore.find(YearMonth.from(startDate));
+        if (snapshot != null) {
+            return snapshot.findEmployeesWithHigherSalary(threshold);
+        }
+        return monthlyEmployeeTotalRepository.findEmployeesWithHigherSalary(Date.valueOf(startDate), threshold);
     }
 
 
@@ -56,37 +134,129 @@ public class CalculationTableServiceImpl implements CalculationTableService {
      * Retrieves the number of organizations and total salary for employees with the same PINFL
      * who worked in different regions for a specific month.
      *
+     * @param year  the year of the reporting month
      * @param month the month for which the data is being retrieved
-     * @return a list of employees' data by region in the form of Object arrays
+     * @return a list of employees' data by region as typed report rows
      */
     @Override
-    public List<Object[]> getEmployeesByRegion(int month) {
-        return calculationTableRepository.findEmployeesByRegion(month);
+    public List<RegionSummaryRow> getEmployeesByRegion(int year, int month) {
+        LocalDate startDate = monthStart(year, month);
+        PayrollAggregateFile aggregates = payrollAggregateStore.find(YearMonth.from(startDate));
+        if (aggregates != null) {
+            return aggregates.findEmployeesByRegion();
+        }
+        PayrollMonthSnapshot snapshot = payrollSnapshotStore.find(YearMonth.from(startDate));
+        if (snapshot != null) {
+            return snapshot.findEmployeesByRegion();
+        }
+        return monthlyEmployeeTotalRepository.findEmployeesByRegion(Date.valueOf(startDate));
     }
 
 
     /**
      * Retrieves the average salary for all organizations related to a given organization in a specific month.
      *
+     * @param year           the year of the reporting month
      * @param month          the month for which the data is being retrieved
      * @param organizationId the ID of the organization for which the data is being retrieved
-     * @return a list of average salaries by organization in the form of Object arrays
+     * @return a list of average salaries by organization as typed report rows
+     */
+    @Override
+    public List<OrgAverageRow> getAverageSalaryByOrganization(int year, int month, Long organizationId) {
+        LocalDate startDate = monthStart(year, month);
+        PayrollAggregateFile aggregates = payrollAggregateStore.find(YearMonth.from(startDate));
+        if (aggregates != null) {
+            return aggregates.findAverageSalaryByOrganization(organizationId);
+        }
+        PayrollMonthSnapshot snapshot = payrollSnapshotStore.find(YearMonth.from(startDate));
+        if (snapshot != null) {
+            return snapshot.findAverageSalaryByOrganization(organizationId);
+        }
+        return calculationTableRepository.findAverageSalaryByOrganization(
+                Date.valueOf(startDate), Date.valueOf(startDate.plusMonths(1)), organizationId);
+    }
+
+
+    /**
+     * Retrieves the average salary of every organization in a specific month.
+     *
+     * @param year  the year of the reporting month
+     * @param month the month for which the data is being retrieved
+     * @return a list of average salaries by organization as typed report rows
      */
     @Override
-    public List<Object[]> getAverageSalaryByOrganization(int month, Long organizationId) {
-        return calculationTableRepository.findAverageSalaryByOrganization(month, organizationId);
+    public List<OrgAverageRow> getAverageSalaryPerOrganization(int year, int month) {
+        LocalDate startDate = monthStart(year, month);
+        PayrollAggregateFile aggregates = payrollAggregateStore.find(YearMonth.from(startDate));
+        if (aggregates != null) {
+            return aggregates.findAverageSalaryPerOrganization();
+        }
+        PayrollMonthSnapshot snapshot = payrollSnapshotStore.find(YearMonth.from(startDate));
+        if (snapshot != null) {
+            return snapshot.findAverageSalaryPerOrganization();
+        }
+        return calculationTableRepository.findAverageSalaryPerOrganization(
+                Date.valueOf(startDate), Date.valueOf(startDate.plusMonths(1)));
     }
 
 
     /**
      * Retrieves information about employees who received salaries and took vacations in a specific month.
      *
+     * @param year  the year of the reporting month
      * @param month the month for which the data is being retrieved
-     * @return a list of employees' data with salaries and vacations in the form of Object arrays
+     * @return a list of employees' data with salaries and vacations as typed report rows
+     */
+    @Override
+    public List<PaidEmployeeRow> getEmployeesWithSalariesAndVacations(int year, int month) {
+        LocalDate startDate = monthStart(year, month);
+        PayrollAggregateFile aggregates = payrollAggregateStore.find(YearMonth.from(startDate));
+        if (aggregates != null) {
+            return aggregates.findEmployeesWithSalariesAndVacations();
+        }
+        PayrollMonthSnapshot snapshot = payrollSnapshotStore.find(YearMonth.from(startDate));
+        if (snapshot != null) {
+            return snapshot.findEmployeesWithSalariesAndVacations();
+        }
+        return calculationTableRepository.findEmployeesWithSalariesAndVacations(
+                Date.valueOf(startDate), Date.valueOf(startDate.plusMonths(1)));
+    }
+
+
+    /**
+     * Retrieves the totals per calculation type of an organization and all of its subsidiaries in a specific month.
+     *
+     * The totals are precomputed for every organization of the hierarchy,
+     * so a holding company is read as one row per type just like a leaf organization.
+     *
+     * @param year           the year of the reporting month
+     * @param month          the month for which the data is being retrieved
+     * @param organizationId the ID of the organization at the root of the rollup
+     * @return a list of subtree totals per calculation type as typed report rows
      */
     @Override
-    public List<Object[]> getEmployeesWithSalariesAndVacations(int month) {
-        return calculationTableRepository.findEmployeesWithSalariesAndVacations(month);
+    public List<OrgRollupRow> getOrganizationRollup(int year, int month, Long organizationId) {
+        return organizationPayrollRollupRepository.findRollup(organizationId, Date.valueOf(monthStart(year, month)));
+    }
+
+
+    /**
+     * Resolves the first day of the reporting month.
+     *
+     * Reports filter on the half-open range [first day, first day of next month),
+     * so the index on calculation_table.date can be used instead of extracting the month.
+     *
+     * @param year  the year of the reporting month
+     * @param month the month of the year (1-12)
+     * @return the first day of the given month
+     * @throws CalculationTableException if the year or month is out of range
+     */
+    private LocalDate monthStart(int year, int month) {
+        try {
+            return YearMonth.of(year, month).atDay(1);
+        } catch (DateTimeException e) {
+            throw new CalculationTableException("Invalid report period: " + year + "-" + month);
+        }
     }
 
 
@@ -101,6 +271,7 @@ public class CalculationTableServiceImpl implements CalculationTableService {
      * @return a list of CalculationTableDto representing all calculationTables
      */
     @Override
+    @Transactional(readOnly = true)
     public List<CalculationTableDto> findAllCalculations() {
         List<CalculationTable> calculationTables = calculationTableRepository.findAll();
         return calculationTables.stream()
@@ -109,6 +280,21 @@ public class CalculationTableServiceImpl implements CalculationTableService {
     }
 
 
+    /**
+     * Retrieve one page of calculation records as DTOs using keyset pagination.
+     *
+     * @param after the cursor returned with the previous page, or null for the first page
+     * @param limit the maximum number of calculations to return
+     * @param direction the ID sort direction
+     * @return the page of CalculationTableDto with the cursor of the next page
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<CalculationTableDto> findCalculationsPage(String after, int limit, Sort.Direction direction) {
+        return KeysetPagination.fetch(calculationTableRepository, after, limit, direction, CalculationTable::getId, this::calculationTableToDto);
+    }
+
+
     /**
      * Retrieve a calculationTable by ID.
      *
@@ -119,6 +305,7 @@ public class CalculationTableServiceImpl implements CalculationTableService {
      * @throws ResourceNotFoundException if the calculationTable is not found with the given ID
      */
     @Override
+    @Transactional(readOnly = true)
     public Optional<CalculationTableDto> findCalculationById(Long id) throws ResourceNotFoundException {
         CalculationTable calculationTable = calculationTableRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Calculation not found with id " + id));
@@ -130,8 +317,8 @@ public class CalculationTableServiceImpl implements CalculationTableService {
      * Save a new calculation record.
      *
      * This method saves a new calculationTable based on the provided DTO.
-     * It validates that the amount is positive and that an employee is associated
-     * with the calculation before saving the new record to the database.
+     * The DTO itself is validated first (positive amount, allowed type, existing employee
+     * and organization), so the check costs the same regardless of the table size.
      *
      * @param calculationTableDto the DTO containing the calculationTable details to save
      * @return the saved calculationTable as a DTO
@@ -139,16 +326,134 @@ public class CalculationTableServiceImpl implements CalculationTableService {
      *         such as a non-positive amount or missing employee
      */
     @Override
+    @Transactional
     public CalculationTableDto saveCalculation(CalculationTableDto calculationTableDto) throws CalculationTableException {
+        calculationTableValidator.validate(calculationTableDto);
         CalculationTable calculationTable = dtoToCalculationTable(calculationTableDto);
-        if (calculationTableRepository.existsInvalidAmount()) {
-            throw new CalculationTableException("Calculation amount must be positive");
+        CalculationTable savedCalculationTable = calculationTableRepository.saveAndFlush(calculationTable);
+        refreshReadModels(savedCalculationTable.getEmployee(), savedCalculationTable.getOrganization(), savedCalculationTable.getDate());
+        payrollSnapshotStore.recordSaved(savedCalculationTable);
+        payrollAggregateStore.recordChanged(savedCalculationTable.getDate());
+        return calculationTableToDto(savedCalculationTable);
+    }
+
+
+    /**
+     * Save many calculation records in one transaction.
+     *
+     * Referenced employees and organizations are checked with one ID lookup each,
+     * then valid rows are persisted in chunks of the JDBC batch size. IDs come from
+     * the pooled calculation_table_seq, so Hibernate can group the inserts into batches.
+     * The persistence context is cleared after every chunk to keep memory bounded.
+     *
+     * @param calculationTableDtos the DTOs of the calculations to be saved
+     * @return the number of stored and rejected rows and the outcome of every row
+     * @throws CalculationTableException if the batch is empty or larger than the allowed size
+     */
+    @Override
+    @Transactional
+    public BatchResult saveCalculationsBatch(List<CalculationTableDto> calculationTableDtos) throws CalculationTableException {
+        if (calculationTableDtos == null || calculationTableDtos.isEmpty()) {
+            throw new CalculationTableException("Batch must contain at least one calculation");
         }
-        if (!calculationTableRepository.existsByEmployeeId(calculationTable.getEmployee().getId())) {
-            throw new CalculationTableException("Employee must be provided for the calculation");
+        if (calculationTableDtos.size() > maxBatchRows) {
+            throw new CalculationTableException("Batch must not contain more than " + maxBatchRows + " calculations");
         }
-        CalculationTable savedCalculationTable = calculationTableRepository.save(calculationTable);
-        return calculationTableToDto(savedCalculationTable);
+
+        // 1. Look up all referenced employees and organizations at once
+        Set<Long> employeeIds = new HashSet<>();
+        Set<Long> organizationIds = new HashSet<>();
+        for (CalculationTableDto dto : calculationTableDtos) {
+            if (dto != null && dto.getEmployee() != null && dto.getEmployee().getId() != null) {
+                employeeIds.add(dto.getEmployee().getId());
+            }
+            if (dto != null && dto.getOrganization() != null && dto.getOrganization().getId() != null) {
+                organizationIds.add(dto.getOrganization().getId());
+            }
+        }
+        Set<Long> existingEmployees = employeeIds.isEmpty()
+                ? Set.of() : new HashSet<>(employeeRepository.findExistingIds(employeeIds));
+        Set<Long> existingOrganizations = organizationIds.isEmpty()
+                ? Set.of() : new HashSet<>(organizationRepository.findExistingIds(organizationIds));
+
+        // 2. Validate every row in memory and persist the valid ones chunk by chunk
+        BatchRowResult[] results = new BatchRowResult[calculationTableDtos.size()];
+        List<CalculationTable> chunk = new ArrayList<>(CalculationTable.ID_ALLOCATION_SIZE);
+        List<Integer> chunkIndexes = new ArrayList<>(CalculationTable.ID_ALLOCATION_SIZE);
+        Set<EmployeeMonth> affectedMonths = new LinkedHashSet<>();
+        Set<OrganizationMonth> affectedOrganizationMonths = new LinkedHashSet<>();
+        int stored = 0;
+
+        for (int i = 0; i < calculationTableDtos.size(); i++) {
+            CalculationTableDto dto = calculationTableDtos.get(i);
+            String error = calculationTableValidator.findError(dto, existingEmployees::contains, existingOrganizations::contains);
+            if (error != null) {
+                results[i] = BatchRowResult.rejected(i, error);
+                continue;
+            }
+
+            Long employeeId = dto.getEmployee().getId();
+            Long organizationId = dto.getOrganization() != null ? dto.getOrganization().getId() : null;
+            chunk.add(new CalculationTable(null,
+                    employeeRepository.getReferenceById(employeeId),
+                    dto.getAmount(),
+                    dto.getRate(),
+                    dto.getDate(),
+                    organizationId != null ? organizationRepository.getReferenceById(organizationId) : null,
+                    dto.getCalculationType()));
+            chunkIndexes.add(i);
+            affectedMonths.add(new EmployeeMonth(employeeId, dto.getDate().toLocalDate().withDayOfMonth(1)));
+            if (organizationId != null) {
+                affectedOrganizationMonths.add(new OrganizationMonth(organizationId, dto.getDate().toLocalDate().withDayOfMonth(1)));
+            }
+
+            if (chunk.size() == CalculationTable.ID_ALLOCATION_SIZE) {
+                stored += persistChunk(chunk, chunkIndexes, results);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            stored += persistChunk(chunk, chunkIndexes, results);
+        }
+
+        // 3. Bring the monthly totals and organization rollups of every touched month up to date
+        for (EmployeeMonth employeeMonth : affectedMonths) {
+            monthlyEmployeeTotalService.refreshEmployeeMonth(
+                    employeeMonth.employeeId(), Date.valueOf(employeeMonth.periodStart()));
+        }
+        for (OrganizationMonth organizationMonth : affectedOrganizationMonths) {
+            organizationRollupService.refreshOrganizationMonth(
+                    organizationMonth.organizationId(), Date.valueOf(organizationMonth.periodStart()));
+        }
+
+        return new BatchResult(stored, results.length - stored, List.of(results));
+    }
+
+
+    // Employee and month whose totals are refreshed after a batch
+    private record EmployeeMonth(Long employeeId, LocalDate periodStart) {
+    }
+
+
+    // Organization and month whose rollups are refreshed after a batch
+    private record OrganizationMonth(Long organizationId, LocalDate periodStart) {
+    }
+
+
+    // Persist one chunk as a JDBC batch, record the assigned IDs and detach the entities
+    private int persistChunk(List<CalculationTable> chunk, List<Integer> chunkIndexes, BatchRowResult[] results) {
+        calculationTableRepository.saveAll(chunk);
+        calculationTableRepository.flush();
+        for (int j = 0; j < chunk.size(); j++) {
+            int index = chunkIndexes.get(j);
+            results[index] = BatchRowResult.stored(index, chunk.get(j).getId());
+            payrollSnapshotStore.recordSaved(chunk.get(j));
+            payrollAggregateStore.recordChanged(chunk.get(j).getDate());
+        }
+        int count = chunk.size();
+        entityManager.clear();
+        chunk.clear();
+        chunkIndexes.clear();
+        return count;
     }
 
 
@@ -166,9 +471,16 @@ public class CalculationTableServiceImpl implements CalculationTableService {
      * @throws CalculationTableException if the calculationTable data is invalid
      */
     @Override
+    @Transactional
     public CalculationTableDto updateCalculationTable(Long id, CalculationTableDto calculationTableDto) throws CalculationTableException{
         CalculationTable existingCalculationTable = calculationTableRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("CalculationTable not found with id: " + id));
+        calculationTableValidator.validate(calculationTableDto);
+
+        // Remember the employee-month and organization-month the record belonged to before the update
+        Employee previousEmployee = existingCalculationTable.getEmployee();
+        Organization previousOrganization = existingCalculationTable.getOrganization();
+        Date previousDate = existingCalculationTable.getDate();
 
         // Conversion DTO to entity
         CalculationTable calculationTableDetails = dtoToCalculationTable(calculationTableDto);
@@ -182,7 +494,15 @@ public class CalculationTableServiceImpl implements CalculationTableService {
         existingCalculationTable.setCalculationType(calculationTableDetails.getCalculationType());
 
         // Save updated calculationTable
-        CalculationTable updatedCalculationTable = calculationTableRepository.save(existingCalculationTable);
+        CalculationTable updatedCalculationTable = calculationTableRepository.saveAndFlush(existingCalculationTable);
+
+        // Keep the read models of both the old and the new month in sync
+        refreshReadModels(previousEmployee, previousOrganization, previousDate);
+        refreshReadModels(updatedCalculationTable.getEmployee(), updatedCalculationTable.getOrganization(), updatedCalculationTable.getDate());
+        payrollSnapshotStore.recordRemoved(id, previousDate);
+        payrollSnapshotStore.recordSaved(updatedCalculationTable);
+        payrollAggregateStore.recordChanged(previousDate);
+        payrollAggregateStore.recordChanged(updatedCalculationTable.getDate());
 
         // Convert updated calculationTable entity to DTO and return
         return calculationTableToDto(updatedCalculationTable);
@@ -199,22 +519,38 @@ public class CalculationTableServiceImpl implements CalculationTableService {
      * @throws ResourceNotFoundException if the calculationTable is not found with the given ID
      */
     @Override
+    @Transactional
     public void deleteCalculation(Long id) {
         CalculationTable calculation = calculationTableRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Calculation not found with id " + id));
         calculationTableRepository.deleteById(id);
+        calculationTableRepository.flush();
+        refreshReadModels(calculation.getEmployee(), calculation.getOrganization(), calculation.getDate());
+        payrollSnapshotStore.recordRemoved(id, calculation.getDate());
+        payrollAggregateStore.recordChanged(calculation.getDate());
+    }
+
+
+    // Recompute the monthly totals row and organization rollups affected by a calculation write
+    private void refreshReadModels(Employee employee, Organization organization, Date date) {
+        if (employee != null) {
+            monthlyEmployeeTotalService.refreshEmployeeMonth(employee.getId(), date);
+        }
+        if (organization != null) {
+            organizationRollupService.refreshOrganizationMonth(organization.getId(), date);
+        }
     }
 
 
 
     // DTO to Entity conversion
     public CalculationTable dtoToCalculationTable(CalculationTableDto calculationTableDto) {
-        return modelMapper.map(calculationTableDto, CalculationTable.class);
+        return CalculationTableMapper.toEntity(calculationTableDto);
     }
 
     // Entity to DTO conversion
     public CalculationTableDto calculationTableToDto(CalculationTable calculationTable) {
-        return modelMapper.map(calculationTable, CalculationTableDto.class);
+        return CalculationTableMapper.toDto(calculationTable);
     }
 
 
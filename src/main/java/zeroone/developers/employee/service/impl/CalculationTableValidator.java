@@ -0,0 +1,96 @@
+package zeroone.developers.employee.service.impl;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import zeroone.developers.employee.exception.CalculationTableException;
+import zeroone.developers.employee.payload.CalculationTableDto;
+import zeroone.developers.employee.repository.EmployeeRepository;
+import zeroone.developers.employee.repository.OrganizationRepository;
+
+import java.util.Set;
+import java.util.function.LongPredicate;
+
+/**
+ * Validates incoming calculation DTOs for the single-row, update and batch paths.
+ * Only the row itself is checked; referenced employees and organizations are
+ * resolved by primary key, so the cost does not depend on the size of calculation_table.
+ */
+@Component
+public class CalculationTableValidator {
+
+    /**
+     * Calculation types accepted by the system.
+     */
+    public static final Set<String> CALCULATION_TYPES = Set.of("SALARY", "PENSION", "AWARD", "VACATION");
+
+    private final EmployeeRepository employeeRepository;
+    private final OrganizationRepository organizationRepository;
+
+    /**
+     * Constructor with dependency injection for the repositories used for reference checks.
+     *
+     * @param employeeRepository the repository used to check referenced employees
+     * @param organizationRepository the repository used to check referenced organizations
+     */
+    @Autowired
+    public CalculationTableValidator(EmployeeRepository employeeRepository, OrganizationRepository organizationRepository) {
+        this.employeeRepository = employeeRepository;
+        this.organizationRepository = organizationRepository;
+    }
+
+
+    /**
+     * Validate one calculation, checking references with primary-key lookups.
+     *
+     * @param dto the calculation to validate
+     * @throws CalculationTableException if the calculation is invalid
+     */
+    public void validate(CalculationTableDto dto) throws CalculationTableException {
+        String error = findError(dto, employeeRepository::existsById, organizationRepository::existsById);
+        if (error != null) {
+            throw new CalculationTableException(error);
+        }
+    }
+
+
+    /**
+     * Check one calculation against the given reference checks.
+     *
+     * The batch path passes checks backed by IDs it looked up for the whole batch at once.
+     *
+     * @param dto the calculation to validate
+     * @param employeeExists tells whether an employee ID exists
+     * @param organizationExists tells whether an organization ID exists
+     * @return the reason the calculation is invalid, or null if it is valid
+     */
+    public String findError(CalculationTableDto dto, LongPredicate employeeExists, LongPredicate organizationExists) {
+        if (dto == null) {
+            return "Calculation must not be null";
+        }
+        if (dto.getAmount() == null || !(dto.getAmount() > 0)) {
+            return "Calculation amount must be positive";
+        }
+        if (dto.getRate() == null) {
+            return "Calculation rate must be provided";
+        }
+        if (dto.getDate() == null) {
+            return "Calculation date must be provided";
+        }
+        if (dto.getCalculationType() == null || !CALCULATION_TYPES.contains(dto.getCalculationType())) {
+            return "Calculation type must be one of SALARY, PENSION, AWARD, VACATION";
+        }
+        if (dto.getEmployee() == null || dto.getEmployee().getId() == null) {
+            return "Employee must be provided for the calculation";
+        }
+        if (!employeeExists.test(dto.getEmployee().getId())) {
+            return "Employee not found with id " + dto.getEmployee().getId();
+        }
+        if (dto.getOrganization() != null && dto.getOrganization().getId() == null) {
+            return "Organization ID must be provided when the calculation has an organization";
+        }
+        if (dto.getOrganization() != null && !organizationExists.test(dto.getOrganization().getId())) {
+            return "Organization not found with id " + dto.getOrganization().getId();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,77 @@
+package zeroone.developers.employee.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import zeroone.developers.employee.payload.EmployeeDto;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache of mapped EmployeeDto objects keyed by employee ID.
+ * <p>
+ * Concurrent misses for one ID wait for a single load. Invalidations are applied after
+ * the surrounding transaction commits; a load that is still running for the same ID
+ * finishes first and is then removed, so a value read before the commit never survives it.
+ * Cached DTOs are shared between callers and must not be modified.
+ */
+@Component
+public class EmployeeDtoCache {
+
+    private final Cache<Long, EmployeeDto> cache;
+
+    /**
+     * Constructor building the cache and registering its hit, miss and eviction metrics.
+     *
+     * @param maximumSize the maximum number of cached employees
+     * @param timeToLive how long an entry is kept after it was loaded
+     * @param meterRegistry the registry the cache metrics are published to
+     */
+    @Autowired
+    public EmployeeDtoCache(@Value("${employees.cache.maximum-size:10000}") long maximumSize,
+                            @Value("${employees.cache.time-to-live:PT5M}") Duration timeToLive,
+                            MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "employees");
+    }
+
+
+    /**
+     * Return the cached DTO of an employee, loading it on a miss.
+     *
+     * @param id the ID of the employee
+     * @param loader loads the DTO, or returns null if the employee does not exist
+     * @return the DTO, or null if the employee does not exist
+     */
+    public EmployeeDto get(Long id, Function<Long, EmployeeDto> loader) {
+        return cache.get(id, loader);
+    }
+
+
+    /**
+     * Remove one employee from the cache once the current transaction has committed.
+     *
+     * @param id the ID of the employee
+     */
+    public void invalidate(Long id) {
+        TransactionHooks.afterCommit(() -> cache.invalidate(id));
+    }
+
+
+    /**
+     * Remove all employees from the cache once the current transaction has committed.
+     * Used when organizations or regions embedded in the cached DTOs change.
+     */
+    public void invalidateAll() {
+        TransactionHooks.afterCommit(cache::invalidateAll);
+    }
+}
@@ -0,0 +1,185 @@
+package zeroone.developers.employee.service.impl;
+
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import zeroone.developers.employee.exception.EmployeeException;
+import zeroone.developers.employee.payload.EmployeeImportRejection;
+import zeroone.developers.employee.payload.EmployeeImportResult;
+import zeroone.developers.employee.service.EmployeeImportService;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of the EmployeeImportService interface.
+ * <p>
+ * The CSV is streamed with COPY into a temporary staging table, so parsing and transfer happen in the
+ * database in one round trip. Each check of a single employee creation then runs as one UPDATE over all
+ * staged rows, recording the first failing reason per row, and the remaining rows are inserted with one
+ * INSERT ... SELECT. Imports take a transaction-scoped advisory lock, so two imports do not both accept
+ * the same new name.
+ */
+@Service
+public class EmployeeImportServiceImpl implements EmployeeImportService {
+
+    private static final String STAGING = "employee_import";
+
+    private static final String DATE_PATTERN = "^[1-9][0-9]{3}-(0[1-9]|1[0-2])-(0[1-9]|[12][0-9]|3[01])$";
+
+    // Checks in the order they are reported; each only looks at rows without a reason yet
+    private static final List<Map.Entry<String, String>> CHECKS = List.of(
+            Map.entry("First name is required", "s.first_name is null"),
+            Map.entry("First name must be at least 2 characters", "length(s.first_name) < 2"),
+            Map.entry("First name must be at most 50 characters", "length(s.first_name) > 50"),
+            Map.entry("Last name is required", "s.last_name is null"),
+            Map.entry("Last name must be at least 2 characters", "length(s.last_name) < 2"),
+            Map.entry("Last name must be at most 50 characters", "length(s.last_name) > 50"),
+            Map.entry("Pinfl is required", "s.pinfl is null"),
+            Map.entry("Employee's pinfl must be at least 2 characters", "length(s.pinfl) < 2"),
+            Map.entry("Employee's pinfl must be at most 50 characters", "length(s.pinfl) > 50"),
+            Map.entry("Hire date is required", "s.hire_date is null"),
+            // A valid day is checked by rebuilding it from the first of the month, which never fails to parse
+            Map.entry("Hire date must be a date in YYYY-MM-DD format",
+                    "case when s.hire_date ~ '" + DATE_PATTERN + "' then to_char(make_date(" +
+                            "substr(s.hire_date, 1, 4)::int, substr(s.hire_date, 6, 2)::int, 1) " +
+                            "+ (substr(s.hire_date, 9, 2)::int - 1), 'YYYY-MM-DD') <> s.hire_date else true end"),
+            Map.entry("Organization is required", "s.organization is null"),
+            Map.entry("Organization not found", "s.organization_id is null"),
+            Map.entry("Employee with this first name and last name already exists",
+                    "exists (select 1 from employee e where e.first_name = s.first_name and e.last_name = s.last_name)"),
+            Map.entry("Employee with this pinfl already exists",
+                    "exists (select 1 from employee e where e.pinfl = s.pinfl)"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NameFilters nameFilters;
+    private final ResourceVersions resourceVersions;
+    private final int maxReportedRejections;
+
+    /**
+     * Constructor with dependency injection for the JdbcTemplate and the import settings.
+     *
+     * @param jdbcTemplate the template the staging statements are run with
+     * @param nameFilters the filters the imported employee names are added to
+     * @param resourceVersions the versions the ETags of employees are derived from
+     * @param maxReportedRejections the maximum number of rejected rows returned in the summary
+     */
+    @Autowired
+    public EmployeeImportServiceImpl(JdbcTemplate jdbcTemplate,
+                                     NameFilters nameFilters,
+                                     ResourceVersions resourceVersions,
+                                     @Value("${employees.import.max-reported-rejections:1000}") int maxReportedRejections) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.nameFilters = nameFilters;
+        this.resourceVersions = resourceVersions;
+        this.maxReportedRejections = maxReportedRejections;
+    }
+
+
+    /**
+     * Import employees from CSV.
+     *
+     * @param csv the CSV content, read to its end but not closed
+     * @param header whether the first line is a header to skip
+     * @return the number of imported rows and the rejected rows with their reason
+     * @throws EmployeeException if the content is not valid CSV with five columns
+     * @throws IOException if reading the content fails
+     */
+    @Override
+    @Transactional
+    public EmployeeImportResult importEmployees(InputStream csv, boolean header) throws IOException {
+        jdbcTemplate.execute("select pg_advisory_xact_lock(hashtext('" + STAGING + "'))");
+        jdbcTemplate.execute("create temporary table " + STAGING + " (" +
+                "row_index bigserial primary key, " +
+                "first_name text, last_name text, pinfl text, hire_date text, organization text, " +
+                "organization_id bigint, reason text) on commit drop");
+
+        long received = copy(csv, header);
+
+        // Blank fields count as missing
+        jdbcTemplate.update("update " + STAGING + " set " +
+                "first_name = nullif(trim(first_name), ''), last_name = nullif(trim(last_name), ''), " +
+                "pinfl = nullif(trim(pinfl), ''), hire_date = nullif(trim(hire_date), ''), " +
+                "organization = nullif(trim(organization), '')");
+
+        // Resolve the organization by ID, then by name; case keeps the cast away from non-numeric values
+        jdbcTemplate.update("update " + STAGING + " s set organization_id = o.id from organization o " +
+                "where o.id = case when s.organization ~ '^[0-9]{1,18}$' then s.organization::bigint end");
+        jdbcTemplate.update("update " + STAGING + " s set organization_id = o.id from organization o " +
+                "where s.organization_id is null and o.name = s.organization");
+
+        for (Map.Entry<String, String> check : CHECKS) {
+            jdbcTemplate.update("update " + STAGING + " s set reason = ? where s.reason is null and " + check.getValue(),
+                    check.getKey());
+        }
+        rejectRepeated("first_name, last_name", "Repeats the first name and last name of row ");
+        rejectRepeated("pinfl", "Repeats the pinfl of row ");
+
+        // A name or pinfl inserted by a concurrent single-row creation surfaces as a conflict and is rejected as well
+        jdbcTemplate.update("with inserted as (" +
+                "insert into employee (first_name, last_name, pinfl, hire_date, organization_id) " +
+                "select s.first_name, s.last_name, s.pinfl, s.hire_date::date, s.organization_id " +
+                "from " + STAGING + " s where s.reason is null order by s.row_index " +
+                "on conflict do nothing returning pinfl) " +
+                "update " + STAGING + " s set reason = 'Employee with this name or pinfl already exists' " +
+                "where s.reason is null and not exists (select 1 from inserted i where i.pinfl = s.pinfl)");
+        NameFilter employeeNames = nameFilters.employees();
+        jdbcTemplate.query("select first_name, last_name from " + STAGING + " where reason is null", resultSet -> {
+            employeeNames.add(NameFilters.employeeKey(resultSet.getString(1), resultSet.getString(2)));
+        });
+        resourceVersions.employeesChanged();
+
+        Integer rejected = jdbcTemplate.queryForObject(
+                "select count(*) from " + STAGING + " where reason is not null", Integer.class);
+        List<EmployeeImportRejection> rejections = jdbcTemplate.query(
+                "select row_index, first_name, last_name, pinfl, reason from " + STAGING + " " +
+                        "where reason is not null order by row_index limit ?",
+                (resultSet, rowNum) -> new EmployeeImportRejection(resultSet.getLong(1), resultSet.getString(2),
+                        resultSet.getString(3), resultSet.getString(4), resultSet.getString(5)),
+                maxReportedRejections);
+        return new EmployeeImportResult((int) received, (int) received - rejected, rejected, rejections);
+    }
+
+
+    /**
+     * Streams the CSV into the staging table.
+     *
+     * @return the number of rows copied
+     */
+    private long copy(InputStream csv, boolean header) throws IOException {
+        String sql = "copy " + STAGING + " (first_name, last_name, pinfl, hire_date, organization) " +
+                "from stdin with (format csv, header " + header + ", encoding 'UTF8')";
+        try {
+            return jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+                try {
+                    return connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql, csv);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } catch (DataAccessException e) {
+            throw new EmployeeException("Invalid CSV: " + e.getMostSpecificCause().getMessage());
+        }
+    }
+
+
+    /**
+     * Rejects every valid row repeating the given columns of an earlier valid row.
+     */
+    private void rejectRepeated(String columns, String reason) {
+        jdbcTemplate.update("update " + STAGING + " s set reason = ? || d.first_row from (" +
+                "select row_index, min(row_index) over (partition by " + columns + ") as first_row " +
+                "from " + STAGING + " where reason is null) d " +
+                "where s.row_index = d.row_index and d.first_row <> d.row_index", reason);
+    }
+}
@@ -1,18 +1,23 @@
 package zeroone.developers.employee.service.impl;
 import jakarta.validation.Valid;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import zeroone.developers.employee.entity.Employee;
 import zeroone.developers.employee.exception.EmployeeException;
 import zeroone.developers.employee.exception.ResourceNotFoundException;
+import zeroone.developers.employee.mapper.EmployeeMapper;
+import zeroone.developers.employee.payload.CursorPage;
 import zeroone.developers.employee.payload.EmployeeDto;
 import zeroone.developers.employee.repository.EmployeeRepository;
 import zeroone.developers.employee.service.EmployeeService;
+import zeroone.developers.employee.service.MonthlyEmployeeTotalService;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -25,21 +30,59 @@ public class EmployeeServiceImpl implements EmployeeService {
 
 
 
-    private final ModelMapper modelMapper;
     private final EmployeeRepository employeeRepository;
+    private final MonthlyEmployeeTotalService monthlyEmployeeTotalService;
+    private final EmployeeDtoCache employeeDtoCache;
+    private final TransactionTemplate readOnlyTransaction;
+    private final PayrollSnapshotStore payrollSnapshotStore;
+    private final PayrollAggregateStore payrollAggregateStore;
+    private final NameFilters nameFilters;
+    private final ResourceVersions resourceVersions;
 
     /**
-     * Constructor with dependency injection for EmployeeRepository and ModelMapper.
+     * Constructor with dependency injection for EmployeeRepository and the employee cache.
      *
      * @param employeeRepository the repository for Employee operations
-     * @param modelMapper the mapper for conversion operations dto to entity
+     * @param monthlyEmployeeTotalService the service keeping the monthly totals in sync with pinfl changes
+     * @param employeeDtoCache the read-through cache of employees by ID
+     * @param transactionManager the transaction manager cache misses are loaded with
+     * @param payrollSnapshotStore the in-memory month snapshots that copy employee names and pinfl codes
+     * @param payrollAggregateStore the aggregate files of closed months that store employee names and pinfl codes
+     * @param nameFilters the filters that rule out existing names without a query
+     * @param resourceVersions the versions the ETags of employees are derived from
      */
     @Autowired
-    public EmployeeServiceImpl(ModelMapper modelMapper, EmployeeRepository employeeRepository) {
-        this.modelMapper = modelMapper;
+    public EmployeeServiceImpl(EmployeeRepository employeeRepository,
+                               MonthlyEmployeeTotalService monthlyEmployeeTotalService,
+                               EmployeeDtoCache employeeDtoCache,
+                               PlatformTransactionManager transactionManager,
+                               PayrollSnapshotStore payrollSnapshotStore,
+                               PayrollAggregateStore payrollAggregateStore,
+                               NameFilters nameFilters,
+                               ResourceVersions resourceVersions) {
         this.employeeRepository = employeeRepository;
+        this.monthlyEmployeeTotalService = monthlyEmployeeTotalService;
+        this.employeeDtoCache = employeeDtoCache;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.payrollSnapshotStore = payrollSnapshotStore;
+        this.payrollAggregateStore = payrollAggregateStore;
+        this.nameFilters = nameFilters;
+        this.resourceVersions = resourceVersions;
     }
 
+    /**
+     * Return the ETag of one employee from the in-memory versions, without a query.
+     *
+     * @param id the ID of the employee
+     * @return the current strong ETag of the employee
+     */
+    @Override
+    public String getEmployeeETag(Long id) {
+        return resourceVersions.employeeTag(id);
+    }
+
+
     /**
      * Retrieve all employee records as DTOs.
      *
@@ -49,6 +92,7 @@ public class EmployeeServiceImpl implements EmployeeService {
      * @return a list of EmployeeDto representing all employees
      */
     @Override
+    @Transactional(readOnly = true)
     public List<EmployeeDto> findAllEmployees() {
         List<Employee> employees = employeeRepository.findAll();
         return employees.stream()
@@ -56,19 +100,27 @@ public class EmployeeServiceImpl implements EmployeeService {
                 .collect(Collectors.toList());
     }
 
+
+    /**
+     * Retrieve one page of employee records as DTOs using keyset pagination.
+     *
+     * @param after the cursor returned with the previous page, or null for the first page
+     * @param limit the maximum number of employees to return
+     * @param direction the ID sort direction
+     * @return the page of EmployeeDto with the cursor of the next page
+     */
     @Override
-    public Page<EmployeeDto> getAllEmployees(int page, int size) {
-        Page<Employee> productsPage = employeeRepository.findAll(PageRequest.of(page, size));
-        return productsPage.map(this::employeeToDto);
+    @Transactional(readOnly = true)
+    public CursorPage<EmployeeDto> findEmployeesPage(String after, int limit, Sort.Direction direction) {
+        return KeysetPagination.fetch(employeeRepository, after, limit, direction, Employee::getId, this::employeeToDto);
     }
 
-
-
-
     /**
      * Retrieve an employee by ID.
      *
-     * This method fetches the employee entity by ID, maps it to a DTO, and returns it.
+     * The mapped DTO is served from the employee cache. Only a miss opens a read-only
+     * transaction, fetches the employee and maps it; concurrent misses for the same ID
+     * share that single load.
      *
      * @param id the ID of the employee
      * @return an Optional containing the employee as a DTO if found
@@ -76,10 +128,19 @@ public class EmployeeServiceImpl implements EmployeeService {
      */
     @Override
     public Optional<EmployeeDto> findEmployeeById(Long id) throws ResourceNotFoundException {
-        Employee employee = employeeRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id " + id));
-        return Optional.of(employeeToDto(employee));
+        EmployeeDto employeeDto = employeeDtoCache.get(id, this::loadEmployeeDto);
+        if (employeeDto == null) {
+            throw new ResourceNotFoundException("Employee not found with id " + id);
+        }
+        return Optional.of(employeeDto);
+    }
+
 
+    // Cache loader: fetch and map the employee, or null if it does not exist (nulls are not cached)
+    private EmployeeDto loadEmployeeDto(Long id) {
+        return readOnlyTransaction.execute(status -> employeeRepository.findById(id)
+                .map(this::employeeToDto)
+                .orElse(null));
     }
 
 
@@ -105,14 +166,20 @@ public class EmployeeServiceImpl implements EmployeeService {
             throw new EmployeeException("Employee first name and last name must not be null");
         }
 
-        // 3. Checking that the firstName and lastName columns do not exist
-        boolean exists = employeeRepository.existsByFirstNameAndLastName(employee.getFirstName(), employee.getLastName());
-        if (exists) {
-            throw new EmployeeException("Employee with this first name and last name already exists");
+        // 3. Checking that the firstName and lastName columns do not exist; only names the filter might contain are queried
+        String nameKey = NameFilters.employeeKey(employee.getFirstName(), employee.getLastName());
+        if (nameFilters.employees().mightContain(nameKey)) {
+            boolean exists = employeeRepository.existsByFirstNameAndLastName(employee.getFirstName(), employee.getLastName());
+            if (exists) {
+                throw new EmployeeException("Employee with this first name and last name already exists");
+            }
+            nameFilters.employees().recordFalsePositive();
         }
 
         // 4. Save Employee
         Employee savedEmployee = employeeRepository.save(employee);
+        nameFilters.employees().add(nameKey);
+        resourceVersions.employeeChanged(savedEmployee.getId());
 
         // 5. Convert the saved Employee to DTO and return
         return employeeToDto(savedEmployee);
@@ -135,12 +202,19 @@ public class EmployeeServiceImpl implements EmployeeService {
      * @throws EmployeeException if the employee data is invalid
      */
     @Override
+    @Transactional
     public EmployeeDto updateEmployee(Long id, EmployeeDto employeeDto) throws EmployeeException{
         Employee existingEmployee = employeeRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id " + id));
 
-        // Use ModelMapper to map DTO to entity
+        // Map DTO to entity
         Employee employeeDetails = dtoToEmployee(employeeDto);
+        Long organizationId = employeeDetails.getOrganization() != null ? employeeDetails.getOrganization().getId() : null;
+        boolean totalsChanged = !Objects.equals(existingEmployee.getPinfl(), employeeDetails.getPinfl())
+                || !Objects.equals(existingEmployee.getOrganization() != null
+                ? existingEmployee.getOrganization().getId() : null, organizationId);
+        boolean renamed = !Objects.equals(existingEmployee.getFirstName(), employeeDetails.getFirstName())
+                || !Objects.equals(existingEmployee.getLastName(), employeeDetails.getLastName());
 
         // update employee details
         existingEmployee.setFirstName(employeeDetails.getFirstName());
@@ -149,8 +223,25 @@ public class EmployeeServiceImpl implements EmployeeService {
         existingEmployee.setHireDate(employeeDetails.getHireDate());
         existingEmployee.setOrganization(employeeDetails.getOrganization());
 
-        // Save updated employee
+        // Save updated employee; the old name stays in the filter until it is rebuilt
         Employee updatedEmployee = employeeRepository.save(existingEmployee);
+        employeeDtoCache.invalidate(id);
+        resourceVersions.employeeChanged(id);
+        if (renamed) {
+            nameFilters.employees().add(NameFilters.employeeKey(updatedEmployee.getFirstName(), updatedEmployee.getLastName()));
+            nameFilters.employees().recordStale();
+        }
+
+        // The monthly totals store the pinfl the reports group by and the organization the region report counts
+        if (totalsChanged) {
+            monthlyEmployeeTotalService.updateEmployee(updatedEmployee.getId(), updatedEmployee.getPinfl(), organizationId);
+        }
+
+        // Month snapshots and aggregate files copy names, pinfl and organization of every employee
+        if (renamed || totalsChanged) {
+            payrollSnapshotStore.invalidateAll();
+            payrollAggregateStore.invalidateAll();
+        }
 
         // Convert updated employee entity to DTO and return
         return employeeToDto(updatedEmployee);
@@ -167,11 +258,15 @@ public class EmployeeServiceImpl implements EmployeeService {
      * @throws ResourceNotFoundException if the employee is not found with the given ID
      */
     @Override
+    @Transactional
     public void deleteEmployee(Long id) {
         Employee employee = employeeRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id " + id));
 
         employeeRepository.delete(employee);
+        employeeDtoCache.invalidate(id);
+        resourceVersions.employeeChanged(id);
+        nameFilters.employees().recordStale();
     }
 
 
@@ -179,12 +274,12 @@ public class EmployeeServiceImpl implements EmployeeService {
 
     // DTO to Entity conversion
     public Employee dtoToEmployee(EmployeeDto employeeDto) {
-        return modelMapper.map(employeeDto, Employee.class);
+        return EmployeeMapper.toEntity(employeeDto);
     }
 
 
     // Entity to DTO conversion
     public EmployeeDto employeeToDto(Employee employee) {
-        return modelMapper.map(employee, EmployeeDto.class);
+        return EmployeeMapper.toDto(employee);
     }
 }
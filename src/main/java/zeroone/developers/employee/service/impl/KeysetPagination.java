@@ -0,0 +1,55 @@
+package zeroone.developers.employee.service.impl;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import zeroone.developers.employee.payload.CursorPage;
+import zeroone.developers.employee.repository.BaseRepository;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Shared keyset (seek) pagination over the ID column of any BaseRepository.
+ * One row more than requested is fetched to know whether a next page exists.
+ */
+final class KeysetPagination {
+
+    private KeysetPagination() {
+    }
+
+
+    /**
+     * Fetch one page of entities and map it to DTOs.
+     *
+     * @param repository the repository to read from
+     * @param after      the cursor of the previous page, or null for the first page
+     * @param limit      the requested page size
+     * @param direction  the ID sort direction
+     * @param idOf       extracts the ID of an entity
+     * @param mapper     converts an entity to its DTO
+     * @return the page of DTOs with the cursor of the next page
+     */
+    static <E, D> CursorPage<D> fetch(BaseRepository<E, Long> repository, String after, int limit,
+                                      Sort.Direction direction, Function<E, Long> idOf, Function<E, D> mapper) {
+        Long afterId = CursorPage.decodeCursor(after);
+        int pageSize = CursorPage.clampLimit(limit);
+        Limit fetchLimit = Limit.of(pageSize + 1);
+        boolean descending = direction == Sort.Direction.DESC;
+
+        List<E> rows;
+        if (afterId == null) {
+            rows = descending
+                    ? repository.findAllByOrderByIdDesc(fetchLimit)
+                    : repository.findAllByOrderByIdAsc(fetchLimit);
+        } else {
+            rows = descending
+                    ? repository.findByIdLessThanOrderByIdDesc(afterId, fetchLimit)
+                    : repository.findByIdGreaterThanOrderByIdAsc(afterId, fetchLimit);
+        }
+
+        boolean hasNext = rows.size() > pageSize;
+        List<E> page = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasNext ? CursorPage.encodeCursor(idOf.apply(page.get(pageSize - 1))) : null;
+        return new CursorPage<>(page.stream().map(mapper).toList(), nextCursor);
+    }
+}
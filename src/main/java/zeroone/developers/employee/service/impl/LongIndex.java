@@ -0,0 +1,102 @@
+package zeroone.developers.employee.service.impl;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing map from long keys to dense int indexes assigned in insertion order.
+ * <p>
+ * Used by the payroll snapshot to dictionary-encode IDs and to group rows by primitive keys
+ * without boxing. Not thread-safe.
+ */
+final class LongIndex {
+
+    private static final int EMPTY = -1;
+
+    private long[] keys;
+    private int[] table;
+    private int mask;
+    private int size;
+
+    LongIndex(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize) * 2 - 1) << 1;
+        this.table = new int[capacity];
+        Arrays.fill(table, EMPTY);
+        this.mask = capacity - 1;
+        this.keys = new long[Math.max(4, expectedSize)];
+    }
+
+
+    /**
+     * @return the index of the key, or -1 if it was never added
+     */
+    int indexOf(long key) {
+        int slot = hash(key) & mask;
+        while (true) {
+            int index = table[slot];
+            if (index == EMPTY) {
+                return EMPTY;
+            }
+            if (keys[index] == key) {
+                return index;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+
+    /**
+     * @return the index of the key, assigning the next free index if the key is new
+     */
+    int add(long key) {
+        int slot = hash(key) & mask;
+        while (true) {
+            int index = table[slot];
+            if (index == EMPTY) {
+                break;
+            }
+            if (keys[index] == key) {
+                return index;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+        }
+        keys[size] = key;
+        table[slot] = size;
+        if (++size * 2 > table.length) {
+            rehash();
+        }
+        return size - 1;
+    }
+
+
+    long keyAt(int index) {
+        return keys[index];
+    }
+
+
+    int size() {
+        return size;
+    }
+
+
+    private void rehash() {
+        table = new int[table.length * 2];
+        Arrays.fill(table, EMPTY);
+        mask = table.length - 1;
+        for (int index = 0; index < size; index++) {
+            int slot = hash(keys[index]) & mask;
+            while (table[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = index;
+        }
+    }
+
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,132 @@
+package zeroone.developers.employee.service.impl;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import zeroone.developers.employee.exception.CalculationTableException;
+import zeroone.developers.employee.repository.CalculationTableRepository;
+import zeroone.developers.employee.repository.MonthlyEmployeeTotalRepository;
+import zeroone.developers.employee.service.MonthlyEmployeeTotalService;
+
+import java.sql.Date;
+import java.time.LocalDate;
+
+/**
+ * Implementation of the MonthlyEmployeeTotalService interface.
+ * Keeps monthly_employee_totals in sync with calculation_table one employee-month at a time
+ * and rebuilds or verifies whole periods on demand.
+ */
+@Service
+public class MonthlyEmployeeTotalServiceImpl implements MonthlyEmployeeTotalService {
+
+    /**
+     * Key of the table-wide advisory lock: held shared by every change to single employees
+     * and exclusively by rebuilds, so a rebuild never interleaves with them.
+     */
+    private static final String TABLE_LOCK = "hashtext('monthly_employee_totals')";
+
+    private final MonthlyEmployeeTotalRepository monthlyEmployeeTotalRepository;
+    private final CalculationTableRepository calculationTableRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructor with dependency injection for the totals and calculation repositories.
+     *
+     * @param monthlyEmployeeTotalRepository the repository for MonthlyEmployeeTotal operations
+     * @param calculationTableRepository the repository for CalculationTable operations
+     * @param jdbcTemplate the template the table and employee-month locks are taken with
+     */
+    @Autowired
+    public MonthlyEmployeeTotalServiceImpl(MonthlyEmployeeTotalRepository monthlyEmployeeTotalRepository,
+                                           CalculationTableRepository calculationTableRepository,
+                                           JdbcTemplate jdbcTemplate) {
+        this.monthlyEmployeeTotalRepository = monthlyEmployeeTotalRepository;
+        this.calculationTableRepository = calculationTableRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+
+    /**
+     * Recompute the totals of one employee for the month containing the given date.
+     *
+     * The existing row is deleted and re-inserted from the employee's calculations of that month,
+     * which keeps updates and deletes exact without reading other employees' rows. Refreshes of the same
+     * employee-month are serialized by a transaction-scoped advisory lock, so the last one to run sees the
+     * calculations of all others and two of them never insert the same row. A running rebuild is waited for.
+     *
+     * @param employeeId the ID of the employee whose calculations changed
+     * @param date any date inside the affected month
+     */
+    @Override
+    @Transactional
+    public void refreshEmployeeMonth(Long employeeId, Date date) {
+        if (employeeId == null || date == null) {
+            return;
+        }
+        LocalDate periodStart = date.toLocalDate().withDayOfMonth(1);
+        jdbcTemplate.execute("select pg_advisory_xact_lock_shared(" + TABLE_LOCK + ")");
+        jdbcTemplate.execute("select pg_advisory_xact_lock(hashtext('monthly_employee_totals:"
+                + employeeId + ":" + periodStart + "'))");
+        monthlyEmployeeTotalRepository.deleteByEmployeeAndPeriod(employeeId, periodStart);
+        monthlyEmployeeTotalRepository.insertEmployeeTotals(employeeId, periodStart, periodStart.plusMonths(1));
+    }
+
+
+    /**
+     * Propagate a changed pinfl or organization to all totals rows of an employee.
+     *
+     * @param employeeId the ID of the employee
+     * @param pinfl the new pinfl of the employee
+     * @param organizationId the ID of the employee's new organization, or null
+     */
+    @Override
+    @Transactional
+    public void updateEmployee(Long employeeId, String pinfl, Long organizationId) {
+        jdbcTemplate.execute("select pg_advisory_xact_lock_shared(" + TABLE_LOCK + ")");
+        monthlyEmployeeTotalRepository.updateEmployee(employeeId, pinfl, organizationId);
+    }
+
+
+    /**
+     * Rebuild the totals of the requested period from calculation_table in one transaction.
+     * The table-wide lock is taken exclusively first, so refreshes and employee updates committing in between
+     * are not lost: they wait until the rebuild has committed, and the rebuild waits for those already running.
+     *
+     * @param year the year to rebuild, or null for all data
+     * @param month the month to rebuild, or null for the whole year
+     * @return the number of totals rows written
+     * @throws CalculationTableException if the year or month is out of range
+     */
+    @Override
+    @Transactional
+    public int rebuildTotals(Integer year, Integer month) throws CalculationTableException {
+        LocalDate[] range = ReportPeriods.resolveRange(year, month, calculationTableRepository);
+        if (range == null) {
+            return 0;
+        }
+        jdbcTemplate.execute("select pg_advisory_xact_lock(" + TABLE_LOCK + ")");
+        monthlyEmployeeTotalRepository.deleteByPeriodRange(range[0], range[1]);
+        return monthlyEmployeeTotalRepository.insertTotalsForPeriodRange(range[0], range[1]);
+    }
+
+
+    /**
+     * Compare the stored totals of the requested period with calculation_table.
+     *
+     * @param year the year to verify, or null for all data
+     * @param month the month to verify, or null for the whole year
+     * @return the number of employee-month rows that are missing or differ
+     * @throws CalculationTableException if the year or month is out of range
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long verifyTotals(Integer year, Integer month) throws CalculationTableException {
+        LocalDate[] range = ReportPeriods.resolveRange(year, month, calculationTableRepository);
+        if (range == null) {
+            return 0;
+        }
+        return monthlyEmployeeTotalRepository.countMismatchedTotals(range[0], range[1]);
+    }
+
+}
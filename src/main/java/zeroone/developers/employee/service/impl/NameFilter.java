@@ -0,0 +1,211 @@
+package zeroone.developers.employee.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bloom filter of the names of one entity, used to skip the uniqueness query for names that are certainly new.
+ * <p>
+ * Until the first build {@link #mightContain(String)} answers true, so every check goes to the database.
+ * Written names are added once their transaction has committed: a rebuild starts queueing before it reads
+ * the table, so each name is either committed before the read and loaded, or queued and replayed into the new
+ * filter. Removed and renamed entries cannot be taken out of a Bloom filter; they are counted as stale, together
+ * with the false positives observed by the callers, and the filter is rebuilt from the table once either drifts
+ * past its limit. The filter only saves queries: a unique index on the names stays the authority, and a name
+ * the filter wrongly reports as new fails on it with 409 Conflict instead of being stored twice.
+ */
+public class NameFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(NameFilter.class);
+
+    private static final long MINIMUM_CAPACITY = 1024;
+    private static final long MINIMUM_FALSE_POSITIVE_SAMPLE = 100;
+
+    private final String entity;
+    private final String sql;
+    private final RowMapper<String> keyMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final double falsePositiveRate;
+    private final double driftRatio;
+
+    private volatile BloomFilter filter;
+    private volatile boolean rebuilding;
+    private final Queue<String> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicLong stale = new AtomicLong();
+    private final AtomicLong definitelyNew = new AtomicLong();
+    private final AtomicLong falsePositives = new AtomicLong();
+
+    private final Counter definitelyNewCounter;
+    private final Counter maybeExistingCounter;
+    private final Counter falsePositiveCounter;
+    private final Counter rebuildCounter;
+
+    /**
+     * @param entity the name the metrics are tagged with
+     * @param sql the query returning the columns of every existing name
+     * @param keyMapper maps one row of the query to the key of the name
+     * @param jdbcTemplate the template the names are loaded with
+     * @param falsePositiveRate the target false-positive rate
+     * @param driftRatio the share of stale entries, relative to all entries, that triggers a rebuild
+     * @param meterRegistry the registry the filter metrics are published to
+     */
+    public NameFilter(String entity, String sql, RowMapper<String> keyMapper, JdbcTemplate jdbcTemplate,
+                      double falsePositiveRate, double driftRatio, MeterRegistry meterRegistry) {
+        this.entity = entity;
+        this.sql = sql;
+        this.keyMapper = keyMapper;
+        this.jdbcTemplate = jdbcTemplate;
+        this.falsePositiveRate = falsePositiveRate;
+        this.driftRatio = driftRatio;
+
+        Gauge.builder("names.filter.memory", this, f -> f.filter != null ? f.filter.byteSize() : 0)
+                .description("Size of the name filter bit array")
+                .baseUnit("bytes")
+                .tag("entity", entity)
+                .register(meterRegistry);
+        Gauge.builder("names.filter.entries", this, f -> f.filter != null ? f.filter.entries() : 0)
+                .description("Number of names in the filter")
+                .tag("entity", entity)
+                .register(meterRegistry);
+        Gauge.builder("names.filter.expected.fpp", this, f -> f.filter != null ? f.filter.expectedFalsePositiveRate() : 1)
+                .description("False-positive rate expected for the current number of names")
+                .tag("entity", entity)
+                .register(meterRegistry);
+        this.definitelyNewCounter = checks(meterRegistry, "definitely_new");
+        this.maybeExistingCounter = checks(meterRegistry, "maybe_existing");
+        this.falsePositiveCounter = checks(meterRegistry, "false_positive");
+        this.rebuildCounter = Counter.builder("names.filter.rebuilds")
+                .description("Number of name filter rebuilds")
+                .tag("entity", entity)
+                .register(meterRegistry);
+    }
+
+
+    /**
+     * @return false if no entity has the name, true if one might have it
+     */
+    public boolean mightContain(String key) {
+        BloomFilter current = filter;
+        if (current == null || current.mightContain(key)) {
+            maybeExistingCounter.increment();
+            return true;
+        }
+        definitelyNew.incrementAndGet();
+        definitelyNewCounter.increment();
+        return false;
+    }
+
+
+    /**
+     * Record a name that was written, once the current transaction has committed.
+     */
+    public void add(String key) {
+        TransactionHooks.afterCommit(() -> {
+            if (rebuilding) {
+                pending.add(key);
+            }
+            BloomFilter current = filter;
+            if (current != null) {
+                current.put(key);
+            }
+        });
+    }
+
+
+    /**
+     * Record a name that was removed or replaced; it stays in the filter until the next rebuild.
+     */
+    public void recordStale() {
+        stale.incrementAndGet();
+    }
+
+
+    /**
+     * Record that the filter reported a name the uniqueness query did not find.
+     */
+    public void recordFalsePositive() {
+        falsePositives.incrementAndGet();
+        falsePositiveCounter.increment();
+    }
+
+
+    /**
+     * Build a new filter from the table, sized for twice the current number of names.
+     */
+    public synchronized void rebuild() {
+        // Queue before reading the table; names committed after this point may be missing from the read
+        pending.clear();
+        rebuilding = true;
+        try {
+            Long count = jdbcTemplate.queryForObject("select count(*) from (" + sql + ") names", Long.class);
+            BloomFilter rebuilt = BloomFilter.create(Math.max(MINIMUM_CAPACITY, count * 2), falsePositiveRate);
+            jdbcTemplate.query(sql, resultSet -> {
+                rebuilt.put(keyMapper.mapRow(resultSet, 0));
+            });
+            filter = rebuilt;
+            drainPending(rebuilt);
+            stale.set(0);
+            definitelyNew.set(0);
+            falsePositives.set(0);
+            rebuildCounter.increment();
+            log.info("Built {} name filter with {} names in {} bytes", entity, rebuilt.entries(), rebuilt.byteSize());
+        } finally {
+            rebuilding = false;
+        }
+        // Names queued between the first drain and the end of the rebuild
+        BloomFilter current = filter;
+        if (current != null) {
+            drainPending(current);
+        }
+    }
+
+
+    /**
+     * Rebuild the filter if it was never built, has more stale entries than the drift ratio allows,
+     * outgrew its planned capacity or shows more than twice the target false-positive rate.
+     *
+     * @return true if the filter was rebuilt
+     */
+    public boolean rebuildIfDrifted() {
+        BloomFilter current = filter;
+        if (current == null
+                || stale.get() > driftRatio * Math.max(1, current.entries())
+                || current.expectedFalsePositiveRate() > 2 * falsePositiveRate
+                || observedFalsePositiveRate() > 2 * falsePositiveRate) {
+            rebuild();
+            return true;
+        }
+        return false;
+    }
+
+
+    private void drainPending(BloomFilter target) {
+        for (String key = pending.poll(); key != null; key = pending.poll()) {
+            target.put(key);
+        }
+    }
+
+
+    private double observedFalsePositiveRate() {
+        long negatives = definitelyNew.get() + falsePositives.get();
+        return negatives < MINIMUM_FALSE_POSITIVE_SAMPLE ? 0 : (double) falsePositives.get() / negatives;
+    }
+
+
+    private Counter checks(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("names.filter.checks")
+                .description("Name uniqueness checks answered by the filter")
+                .tag("entity", entity)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
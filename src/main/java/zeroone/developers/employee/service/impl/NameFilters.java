@@ -0,0 +1,96 @@
+package zeroone.developers.employee.service.impl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * The name filters of regions, organizations and employees.
+ * <p>
+ * The filters are built once the application is ready and checked for drift on a fixed delay.
+ * With {@code names.filter.enabled=false} they are never built and every check goes to the database.
+ */
+@Component
+public class NameFilters {
+
+    private final boolean enabled;
+    private final NameFilter regions;
+    private final NameFilter organizations;
+    private final NameFilter employees;
+
+    /**
+     * Constructor creating the filters of the three entities.
+     *
+     * @param enabled whether the filters are built
+     * @param falsePositiveRate the target false-positive rate of every filter
+     * @param driftRatio the share of stale entries that triggers a rebuild
+     * @param jdbcTemplate the template the names are loaded with
+     * @param meterRegistry the registry the filter metrics are published to
+     */
+    @Autowired
+    public NameFilters(@Value("${names.filter.enabled:true}") boolean enabled,
+                       @Value("${names.filter.false-positive-rate:0.01}") double falsePositiveRate,
+                       @Value("${names.filter.drift-ratio:0.2}") double driftRatio,
+                       JdbcTemplate jdbcTemplate,
+                       MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.regions = new NameFilter("region", "select name from region",
+                (resultSet, rowNum) -> resultSet.getString(1),
+                jdbcTemplate, falsePositiveRate, driftRatio, meterRegistry);
+        this.organizations = new NameFilter("organization", "select name from organization",
+                (resultSet, rowNum) -> resultSet.getString(1),
+                jdbcTemplate, falsePositiveRate, driftRatio, meterRegistry);
+        this.employees = new NameFilter("employee", "select first_name, last_name from employee",
+                (resultSet, rowNum) -> employeeKey(resultSet.getString(1), resultSet.getString(2)),
+                jdbcTemplate, falsePositiveRate, driftRatio, meterRegistry);
+    }
+
+
+    public NameFilter regions() {
+        return regions;
+    }
+
+
+    public NameFilter organizations() {
+        return organizations;
+    }
+
+
+    public NameFilter employees() {
+        return employees;
+    }
+
+
+    /**
+     * @return the filter key of an employee name
+     */
+    public static String employeeKey(String firstName, String lastName) {
+        return firstName + '\u0000' + lastName;
+    }
+
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (enabled) {
+            regions.rebuild();
+            organizations.rebuild();
+            employees.rebuild();
+        }
+    }
+
+
+    @Scheduled(fixedDelayString = "${names.filter.check-interval:PT5M}",
+            initialDelayString = "${names.filter.check-interval:PT5M}")
+    public void rebuildDrifted() {
+        if (enabled) {
+            regions.rebuildIfDrifted();
+            organizations.rebuildIfDrifted();
+            employees.rebuildIfDrifted();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package zeroone.developers.employee.service.impl;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import zeroone.developers.employee.exception.CalculationTableException;
+import zeroone.developers.employee.repository.CalculationTableRepository;
+import zeroone.developers.employee.repository.OrganizationPayrollRollupRepository;
+import zeroone.developers.employee.service.OrganizationRollupService;
+
+import java.sql.Date;
+import java.time.LocalDate;
+
+/**
+ * Implementation of the OrganizationRollupService interface.
+ * Keeps organization_payroll_rollups in sync by applying the change of one organization-month
+ * to its ancestor chain, and rebuilds whole periods on demand.
+ */
+@Service
+public class OrganizationRollupServiceImpl implements OrganizationRollupService {
+
+    private final OrganizationPayrollRollupRepository organizationPayrollRollupRepository;
+    private final CalculationTableRepository calculationTableRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructor with dependency injection for the rollup and calculation repositories.
+     *
+     * @param organizationPayrollRollupRepository the repository for OrganizationPayrollRollup operations
+     * @param calculationTableRepository the repository for CalculationTable operations
+     * @param jdbcTemplate the template the organization-month locks are taken with
+     */
+    @Autowired
+    public OrganizationRollupServiceImpl(OrganizationPayrollRollupRepository organizationPayrollRollupRepository,
+                                         CalculationTableRepository calculationTableRepository,
+                                         JdbcTemplate jdbcTemplate) {
+        this.organizationPayrollRollupRepository = organizationPayrollRollupRepository;
+        this.calculationTableRepository = calculationTableRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+
+    /**
+     * Recompute the own totals of one organization-month and carry the difference up the hierarchy.
+     *
+     * The old own totals are subtracted from the organization and its ancestors, then the own
+     * totals are read again from the organization's calculations of that month and added back.
+     * Rows left without calculations are removed. The four statements run under a transaction-scoped
+     * advisory lock on the organization-month: without it a second refresh could subtract own totals
+     * the first one had already replaced. Refreshes of different organizations only add to and subtract
+     * from the shared ancestor rows, so they do not need to wait for each other.
+     *
+     * @param organizationId the ID of the organization whose calculations changed
+     * @param date any date inside the affected month
+     */
+    @Override
+    @Transactional
+    public void refreshOrganizationMonth(Long organizationId, Date date) {
+        if (organizationId == null || date == null) {
+            return;
+        }
+        LocalDate periodStart = date.toLocalDate().withDayOfMonth(1);
+        jdbcTemplate.execute("select pg_advisory_xact_lock(hashtext('organization_payroll_rollups:"
+                + organizationId + ":" + periodStart + "'))");
+        organizationPayrollRollupRepository.subtractOwnFromAncestors(organizationId, periodStart);
+        organizationPayrollRollupRepository.clearOwn(organizationId, periodStart);
+        organizationPayrollRollupRepository.addOwnToAncestors(organizationId, periodStart, periodStart.plusMonths(1));
+        organizationPayrollRollupRepository.deleteEmptyRows(organizationId);
+    }
+
+
+    /**
+     * Subtract the subtree totals of every month from the current ancestors of the subtree.
+     *
+     * @param organizationId the ID of the subtree root
+     */
+    @Override
+    @Transactional
+    public void detachSubtree(Long organizationId) {
+        organizationPayrollRollupRepository.shiftSubtreeIntoAncestors(organizationId, -1);
+        organizationPayrollRollupRepository.deleteEmptyRows(organizationId);
+    }
+
+
+    /**
+     * Add the subtree totals of every month to the new ancestors of the subtree.
+     *
+     * @param organizationId the ID of the subtree root
+     */
+    @Override
+    @Transactional
+    public void attachSubtree(Long organizationId) {
+        organizationPayrollRollupRepository.shiftSubtreeIntoAncestors(organizationId, 1);
+    }
+
+
+    /**
+     * Rebuild the rollups of the requested period in one transaction.
+     *
+     * @param year the year to rebuild, or null for all data
+     * @param month the month to rebuild, or null for the whole year
+     * @return the number of rollup rows written
+     * @throws CalculationTableException if the year or month is out of range
+     */
+    @Override
+    @Transactional
+    public int rebuildRollups(Integer year, Integer month) throws CalculationTableException {
+        LocalDate[] range = ReportPeriods.resolveRange(year, month, calculationTableRepository);
+        if (range == null) {
+            return 0;
+        }
+        organizationPayrollRollupRepository.deleteByPeriodRange(range[0], range[1]);
+        return organizationPayrollRollupRepository.insertRollupsForPeriodRange(range[0], range[1]);
+    }
+
+}
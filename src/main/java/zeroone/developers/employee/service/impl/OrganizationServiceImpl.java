@@ -1,17 +1,28 @@
 package zeroone.developers.employee.service.impl;
 
 import jakarta.validation.Valid;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import zeroone.developers.employee.entity.Organization;
 import zeroone.developers.employee.exception.OrganizationException;
 import zeroone.developers.employee.exception.ResourceNotFoundException;
+import zeroone.developers.employee.mapper.OrganizationMapper;
+import zeroone.developers.employee.payload.CursorPage;
 import zeroone.developers.employee.payload.OrganizationDto;
+import zeroone.developers.employee.payload.OrganizationNodeRow;
+import zeroone.developers.employee.payload.OrganizationTreeNode;
+import zeroone.developers.employee.repository.OrganizationClosureRepository;
 import zeroone.developers.employee.repository.OrganizationRepository;
+import zeroone.developers.employee.service.OrganizationRollupService;
 import zeroone.developers.employee.service.OrganizationService;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -22,19 +33,58 @@ import java.util.stream.Collectors;
 @Service
 public class OrganizationServiceImpl implements OrganizationService {
 
-    @Autowired
-    private ModelMapper modelMapper;
-
     private final OrganizationRepository organizationRepository;
+    private final OrganizationClosureRepository organizationClosureRepository;
+    private final OrganizationRollupService organizationRollupService;
+    private final EmployeeDtoCache employeeDtoCache;
+    private final PayrollSnapshotStore payrollSnapshotStore;
+    private final PayrollAggregateStore payrollAggregateStore;
+    private final NameFilters nameFilters;
+    private final ResourceVersions resourceVersions;
 
     /**
-     * Constructor with dependency injection for OrganizationRepository.
+     * Constructor with dependency injection for OrganizationRepository and the hierarchy closure.
      *
      * @param organizationRepository the repository for Organization operations
+     * @param organizationClosureRepository the repository for the organization closure table
+     * @param organizationRollupService the service keeping the subtree payroll rollups in sync with the hierarchy
+     * @param employeeDtoCache the employee cache whose DTOs embed organizations
+     * @param payrollSnapshotStore the in-memory month snapshots that copy organization names
+     * @param payrollAggregateStore the aggregate files of closed months that store organization names
+     * @param nameFilters the filters that rule out existing names without a query
+     * @param resourceVersions the versions the ETags of organizations and employees are derived from
      */
     @Autowired
-    public OrganizationServiceImpl(OrganizationRepository organizationRepository) {
+    public OrganizationServiceImpl(OrganizationRepository organizationRepository,
+                                   OrganizationClosureRepository organizationClosureRepository,
+                                   OrganizationRollupService organizationRollupService,
+                                   EmployeeDtoCache employeeDtoCache,
+                                   PayrollSnapshotStore payrollSnapshotStore,
+                                   PayrollAggregateStore payrollAggregateStore,
+                                   NameFilters nameFilters,
+                                   ResourceVersions resourceVersions) {
         this.organizationRepository = organizationRepository;
+        this.organizationClosureRepository = organizationClosureRepository;
+        this.organizationRollupService = organizationRollupService;
+        this.employeeDtoCache = employeeDtoCache;
+        this.payrollSnapshotStore = payrollSnapshotStore;
+        this.payrollAggregateStore = payrollAggregateStore;
+        this.nameFilters = nameFilters;
+        this.resourceVersions = resourceVersions;
+    }
+
+
+    /**
+     * Return the ETag of one page of the organization list from the in-memory versions, without a query.
+     *
+     * @param after the cursor of the page, or null for the first page
+     * @param limit the maximum number of organizations of the page
+     * @param direction the ID sort direction of the page
+     * @return the current strong ETag of the page
+     */
+    @Override
+    public String getOrganizationsETag(String after, int limit, Sort.Direction direction) {
+        return resourceVersions.organizationsTag(after + ":" + limit + ":" + direction);
     }
 
 
@@ -47,6 +97,7 @@ public class OrganizationServiceImpl implements OrganizationService {
      * @return a list of OrganizationDto representing all organizations
      */
     @Override
+    @Transactional(readOnly = true)
     public List<OrganizationDto> findAllOrganizations() {
         List<Organization> organizations = organizationRepository.findAll();
         return organizations.stream()
@@ -55,6 +106,21 @@ public class OrganizationServiceImpl implements OrganizationService {
     }
 
 
+    /**
+     * Retrieve one page of organization records as DTOs using keyset pagination.
+     *
+     * @param after the cursor returned with the previous page, or null for the first page
+     * @param limit the maximum number of organizations to return
+     * @param direction the ID sort direction
+     * @return the page of OrganizationDto with the cursor of the next page
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<OrganizationDto> findOrganizationsPage(String after, int limit, Sort.Direction direction) {
+        return KeysetPagination.fetch(organizationRepository, after, limit, direction, Organization::getId, this::organizationToDto);
+    }
+
+
     /**
      * Retrieve an organization by ID.
      * <p>
@@ -65,6 +131,7 @@ public class OrganizationServiceImpl implements OrganizationService {
      * @throws ResourceNotFoundException if the organization is not found with the given ID
      */
     @Override
+    @Transactional(readOnly = true)
     public Optional<OrganizationDto> findOrganizationById(Long id) throws ResourceNotFoundException {
         Organization organization = organizationRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Organization not found with id " + id));
@@ -85,6 +152,7 @@ public class OrganizationServiceImpl implements OrganizationService {
      *                               or if an organization with the same name already exists
      */
     @Override
+    @Transactional
     public OrganizationDto saveOrganization(@Valid OrganizationDto organizationDto) throws OrganizationException {
         // 1. Convert DTO to entity
         Organization organization = dtoToOrganization(organizationDto);
@@ -94,14 +162,20 @@ public class OrganizationServiceImpl implements OrganizationService {
             throw new OrganizationException("Organization name and address must not be null");
         }
 
-        // 3. Checking that the name column do not exist
-        boolean exists = organizationRepository.existsByName(organization.getName());
-        if (exists) {
-            throw new OrganizationException("Organization with this name already exists");
+        // 3. Checking that the name column do not exist; only names the filter might contain are queried
+        if (nameFilters.organizations().mightContain(organization.getName())) {
+            boolean exists = organizationRepository.existsByName(organization.getName());
+            if (exists) {
+                throw new OrganizationException("Organization with this name already exists");
+            }
+            nameFilters.organizations().recordFalsePositive();
         }
 
-        // 4. Save Organization
-        Organization savedOrganization = organizationRepository.save(organization);
+        // 4. Save Organization and link it into the hierarchy
+        Organization savedOrganization = organizationRepository.saveAndFlush(organization);
+        nameFilters.organizations().add(savedOrganization.getName());
+        organizationClosureRepository.insertNode(savedOrganization.getId(), parentIdOf(savedOrganization));
+        resourceVersions.organizationsChanged();
 
         // 5. Convert the saved Organization to DTO and return
         return organizationToDto(savedOrganization);
@@ -122,20 +196,53 @@ public class OrganizationServiceImpl implements OrganizationService {
      * @throws OrganizationException if the organization data is invalid
      */
     @Override
+    @Transactional
     public OrganizationDto updateOrganization(Long id, OrganizationDto organizationDto) throws OrganizationException {
         Organization existingOrganization = organizationRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Organization not found with id " + id));
 
         // Conversion DTO to entity
         Organization organizationDetails = dtoToOrganization(organizationDto);
+        Long previousParentId = parentIdOf(existingOrganization);
+        Long newParentId = parentIdOf(organizationDetails);
+        boolean renamed = !Objects.equals(existingOrganization.getName(), organizationDetails.getName());
+
+        // A parent inside the organization's own subtree would create a cycle
+        if (newParentId != null && organizationClosureRepository.isInSubtree(id, newParentId)) {
+            throw new OrganizationException("Organization cannot be moved below itself or one of its subsidiaries");
+        }
 
         // Update organization details
         existingOrganization.setName(organizationDetails.getName());
         existingOrganization.setRegion(organizationDetails.getRegion()); // Update region reference
         existingOrganization.setParent(organizationDetails.getParent()); // Update parent organization
 
-        // Save updated organization
-        Organization updatedOrganization = organizationRepository.save(existingOrganization);
+        // Save updated organization; the old name stays in the filter until it is rebuilt
+        Organization updatedOrganization = organizationRepository.saveAndFlush(existingOrganization);
+        if (renamed) {
+            nameFilters.organizations().add(updatedOrganization.getName());
+            nameFilters.organizations().recordStale();
+        }
+
+        // Re-parent the whole subtree in the closure table and move its payroll totals along
+        if (!Objects.equals(previousParentId, newParentId)) {
+            organizationRollupService.detachSubtree(id);
+            organizationClosureRepository.detachSubtree(id);
+            if (newParentId != null) {
+                organizationClosureRepository.attachSubtree(id, newParentId);
+                organizationRollupService.attachSubtree(id);
+            }
+        }
+
+        // Cached employees embed their organization with its region and parent chain
+        employeeDtoCache.invalidateAll();
+        resourceVersions.organizationsChanged();
+
+        // Month snapshots and aggregate files only copy the organization names
+        if (renamed) {
+            payrollSnapshotStore.invalidateAll();
+            payrollAggregateStore.invalidateAll();
+        }
 
         // Convert updated organization entity to DTO and return
         return organizationToDto(updatedOrganization);
@@ -152,22 +259,122 @@ public class OrganizationServiceImpl implements OrganizationService {
      * @throws ResourceNotFoundException if the organization is not found with the given ID
      */
     @Override
+    @Transactional
     public void deleteOrganization(Long id) {
         Organization organization = organizationRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Organization not found with id " + id));
 
+        organizationClosureRepository.deleteNode(id);
         organizationRepository.delete(organization);
+        nameFilters.organizations().recordStale();
+        resourceVersions.organizationsChanged();
+    }
+
+
+    //hierarchy methods
+
+    /**
+     * Retrieve all subsidiaries of an organization down to the given depth.
+     *
+     * @param id the ID of the organization
+     * @param maxDepth the number of levels to descend, or null for the whole subtree
+     * @return the subsidiaries ordered by depth
+     * @throws ResourceNotFoundException if the organization does not exist
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<OrganizationNodeRow> findDescendants(Long id, Integer maxDepth) throws ResourceNotFoundException {
+        requireOrganization(id);
+        return organizationClosureRepository.findDescendants(id, 1, maxDepth != null ? maxDepth : Integer.MAX_VALUE);
+    }
+
+
+    /**
+     * Retrieve the parent chain of an organization up to its root.
+     *
+     * @param id the ID of the organization
+     * @return the ancestors ordered from the direct parent to the root
+     * @throws ResourceNotFoundException if the organization does not exist
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<OrganizationNodeRow> findAncestors(Long id) throws ResourceNotFoundException {
+        requireOrganization(id);
+        return organizationClosureRepository.findAncestors(id);
+    }
+
+
+    /**
+     * Retrieve an organization with its subsidiaries nested down to the given depth.
+     *
+     * The subtree is read with one query ordered by depth, so every parent is
+     * already placed when its children arrive.
+     *
+     * @param id the ID of the tree root
+     * @param maxDepth the number of levels to include below the root
+     * @return the organization as the root of the tree
+     * @throws ResourceNotFoundException if the organization does not exist
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public OrganizationTreeNode findTree(Long id, int maxDepth) throws ResourceNotFoundException {
+        List<OrganizationNodeRow> rows = organizationClosureRepository.findDescendants(id, 0, Math.max(maxDepth, 0));
+        if (rows.isEmpty()) {
+            throw new ResourceNotFoundException("Organization not found with id " + id);
+        }
+
+        Map<Long, OrganizationTreeNode> nodes = new HashMap<>();
+        OrganizationTreeNode root = null;
+        for (OrganizationNodeRow row : rows) {
+            OrganizationTreeNode node = new OrganizationTreeNode(row.id(), row.name(), row.depth(), new ArrayList<>());
+            nodes.put(row.id(), node);
+            if (row.depth() == 0) {
+                root = node;
+            } else {
+                nodes.get(row.parentId()).children().add(node);
+            }
+        }
+        return root;
+    }
+
+
+    /**
+     * Rebuild the organization closure table from the parent references.
+     *
+     * The payroll rollups are derived from the closure, so they are rebuilt with it.
+     *
+     * @return the number of closure rows written
+     */
+    @Override
+    @Transactional
+    public int rebuildHierarchy() {
+        organizationClosureRepository.deleteAllRows();
+        int rows = organizationClosureRepository.insertAllFromParents();
+        organizationRollupService.rebuildRollups(null, null);
+        return rows;
+    }
+
+
+    private void requireOrganization(Long id) {
+        if (!organizationRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Organization not found with id " + id);
+        }
+    }
+
+
+    private static Long parentIdOf(Organization organization) {
+        return organization.getParent() != null ? organization.getParent().getId() : null;
     }
 
 
     // DTO to Entity conversion
     public Organization dtoToOrganization(OrganizationDto organizationDto) {
-        return modelMapper.map(organizationDto, Organization.class);
+        return OrganizationMapper.toEntity(organizationDto);
     }
 
     // Entity to DTO conversion
     public OrganizationDto organizationToDto(Organization organization) {
-        return modelMapper.map(organization, OrganizationDto.class);
+        return OrganizationMapper.toDto(organization);
     }
 
 
@@ -0,0 +1,363 @@
+package zeroone.developers.employee.service.impl;
+
+import zeroone.developers.employee.payload.HighSalaryRow;
+import zeroone.developers.employee.payload.OrgAverageRow;
+import zeroone.developers.employee.payload.PaidEmployeeRow;
+import zeroone.developers.employee.payload.RegionSummaryRow;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Read-only, memory-mapped file holding the report aggregates of one closed month.
+ * <p>
+ * The file starts with a fixed header followed by three sections, one per report source:
+ * <pre>
+ * header   magic, version, year, month, body length, CRC32C of the body, offsets of the three sections
+ * regions  count, then per pinfl: pinfl, organization count, total amount
+ * averages count, then per organization ordered by ID: ID, name, average amount
+ * paid     count, then per distinct employee and amount: employee ID, first name, last name, pinfl, amount
+ * </pre>
+ * Strings are stored as a byte length followed by UTF-8, with length -1 for null. The body stays in the page
+ * cache outside the Java heap; a report decodes only its own section into result rows. A file whose magic,
+ * version or checksum does not match is rejected by {@link #open(Path)}.
+ */
+public final class PayrollAggregateFile {
+
+    static final int MAGIC = 0x50415947;
+    static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = 40;
+    private static final int NULL_STRING = -1;
+
+    private final YearMonth month;
+    private final MappedByteBuffer buffer;
+    private final int regionsOffset;
+    private final int averagesOffset;
+    private final int paidOffset;
+
+    private PayrollAggregateFile(YearMonth month, MappedByteBuffer buffer,
+                                 int regionsOffset, int averagesOffset, int paidOffset) {
+        this.month = month;
+        this.buffer = buffer;
+        this.regionsOffset = regionsOffset;
+        this.averagesOffset = averagesOffset;
+        this.paidOffset = paidOffset;
+    }
+
+
+    public YearMonth getMonth() {
+        return month;
+    }
+
+
+    /**
+     * @return the size of the mapped file in bytes
+     */
+    public int byteSize() {
+        return buffer.capacity();
+    }
+
+
+    /**
+     * Write the aggregates of a month to a new file.
+     * The file is written next to the target and moved into place, so readers never see a partial file.
+     *
+     * @param target the path of the file
+     * @param month the month the aggregates belong to
+     * @param regions the rows of the region report
+     * @param averages the rows of the average salary per organization report, ordered by organization ID
+     * @param paid the rows of the salaries and vacations report
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Path target, YearMonth month, List<RegionSummaryRow> regions,
+                             List<OrgAverageRow> averages, List<PaidEmployeeRow> paid) throws IOException {
+        Writer body = new Writer();
+        int regionsOffset = HEADER_SIZE + body.size();
+        body.putInt(regions.size());
+        for (RegionSummaryRow row : regions) {
+            body.putString(row.pinfl());
+            body.putLong(row.organizationCount());
+            body.putDouble(row.totalAmount());
+        }
+        int averagesOffset = HEADER_SIZE + body.size();
+        body.putInt(averages.size());
+        for (OrgAverageRow row : averages) {
+            body.putLong(row.organizationId());
+            body.putString(row.organizationName());
+            body.putDouble(row.averageAmount());
+        }
+        int paidOffset = HEADER_SIZE + body.size();
+        body.putInt(paid.size());
+        for (PaidEmployeeRow row : paid) {
+            body.putLong(row.employeeId());
+            body.putString(row.firstName());
+            body.putString(row.lastName());
+            body.putString(row.pinfl());
+            body.putDouble(row.amount());
+        }
+
+        ByteBuffer bodyBuffer = body.toBuffer();
+        CRC32C checksum = new CRC32C();
+        checksum.update(bodyBuffer.duplicate());
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC)
+                .putInt(VERSION)
+                .putInt(month.getYear())
+                .putInt(month.getMonthValue())
+                .putInt(bodyBuffer.remaining())
+                .putLong(checksum.getValue())
+                .putInt(regionsOffset)
+                .putInt(averagesOffset)
+                .putInt(paidOffset)
+                .flip();
+
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (header.hasRemaining() || bodyBuffer.hasRemaining()) {
+                channel.write(new ByteBuffer[]{header, bodyBuffer});
+            }
+            channel.force(true);
+        }
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+
+    /**
+     * Map an aggregate file and verify its header and checksum.
+     *
+     * @param file the path of the file
+     * @return the mapped file
+     * @throws IOException if the file cannot be read or is not a valid aggregate file of this version
+     */
+    public static PayrollAggregateFile open(Path file) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE || channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Invalid aggregate file size " + channel.size() + ": " + file);
+            }
+            // The mapping stays valid after the channel is closed
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not an aggregate file: " + file);
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("Unsupported aggregate file version " + buffer.getInt(4) + ": " + file);
+        }
+        int bodyLength = buffer.getInt(16);
+        if (bodyLength != buffer.capacity() - HEADER_SIZE) {
+            throw new IOException("Truncated aggregate file: " + file);
+        }
+        CRC32C checksum = new CRC32C();
+        checksum.update(buffer.slice(HEADER_SIZE, bodyLength));
+        if (checksum.getValue() != buffer.getLong(20)) {
+            throw new IOException("Checksum mismatch in aggregate file: " + file);
+        }
+        return new PayrollAggregateFile(YearMonth.of(buffer.getInt(8), buffer.getInt(12)), buffer,
+                buffer.getInt(28), buffer.getInt(32), buffer.getInt(36));
+    }
+
+
+    //reports
+
+    /**
+     * Same rows as MonthlyEmployeeTotalRepository.findEmployeesWithHigherSalary for this month.
+     */
+    public List<HighSalaryRow> findEmployeesWithHigherSalary(double threshold) {
+        Reader reader = new Reader(regionsOffset);
+        int count = reader.getInt();
+        List<HighSalaryRow> result = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String pinfl = reader.getString();
+            reader.skip(Long.BYTES);
+            double totalAmount = reader.getDouble();
+            if (totalAmount > threshold) {
+                result.add(new HighSalaryRow(pinfl, totalAmount));
+            }
+        }
+        return result;
+    }
+
+
+    /**
+     * Same rows as MonthlyEmployeeTotalRepository.findEmployeesByRegion for this month.
+     */
+    public List<RegionSummaryRow> findEmployeesByRegion() {
+        Reader reader = new Reader(regionsOffset);
+        int count = reader.getInt();
+        List<RegionSummaryRow> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(new RegionSummaryRow(reader.getString(), reader.getLong(), reader.getDouble()));
+        }
+        return result;
+    }
+
+
+    /**
+     * Same rows as CalculationTableRepository.findAverageSalaryByOrganization for this month.
+     */
+    public List<OrgAverageRow> findAverageSalaryByOrganization(long organizationId) {
+        Reader reader = new Reader(averagesOffset);
+        int count = reader.getInt();
+        for (int i = 0; i < count; i++) {
+            long id = reader.getLong();
+            if (id > organizationId) {
+                break;
+            }
+            if (id == organizationId) {
+                return List.of(new OrgAverageRow(id, reader.getString(), reader.getDouble()));
+            }
+            reader.skipString();
+            reader.skip(Double.BYTES);
+        }
+        return List.of();
+    }
+
+
+    /**
+     * Same rows as CalculationTableRepository.findAverageSalaryPerOrganization for this month, ordered by organization ID.
+     */
+    public List<OrgAverageRow> findAverageSalaryPerOrganization() {
+        Reader reader = new Reader(averagesOffset);
+        int count = reader.getInt();
+        List<OrgAverageRow> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(new OrgAverageRow(reader.getLong(), reader.getString(), reader.getDouble()));
+        }
+        return result;
+    }
+
+
+    /**
+     * Same rows as CalculationTableRepository.findEmployeesWithSalariesAndVacations for this month.
+     */
+    public List<PaidEmployeeRow> findEmployeesWithSalariesAndVacations() {
+        Reader reader = new Reader(paidOffset);
+        int count = reader.getInt();
+        List<PaidEmployeeRow> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(new PaidEmployeeRow(reader.getLong(), reader.getString(), reader.getString(),
+                    reader.getString(), reader.getDouble()));
+        }
+        return result;
+    }
+
+
+    /**
+     * Cursor over the mapped buffer using absolute reads only, so concurrent reports never share a position.
+     */
+    private final class Reader {
+
+        private int position;
+
+        Reader(int position) {
+            this.position = position;
+        }
+
+        int getInt() {
+            int value = buffer.getInt(position);
+            position += Integer.BYTES;
+            return value;
+        }
+
+        long getLong() {
+            long value = buffer.getLong(position);
+            position += Long.BYTES;
+            return value;
+        }
+
+        double getDouble() {
+            double value = buffer.getDouble(position);
+            position += Double.BYTES;
+            return value;
+        }
+
+        String getString() {
+            int length = getInt();
+            if (length == NULL_STRING) {
+                return null;
+            }
+            byte[] bytes = new byte[length];
+            buffer.get(position, bytes);
+            position += length;
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        void skipString() {
+            int length = getInt();
+            if (length != NULL_STRING) {
+                position += length;
+            }
+        }
+
+        void skip(int bytes) {
+            position += bytes;
+        }
+    }
+
+
+    /**
+     * Growable heap buffer the body is assembled in before it is written.
+     */
+    private static final class Writer {
+
+        private ByteBuffer buffer = ByteBuffer.allocate(8192);
+
+        int size() {
+            return buffer.position();
+        }
+
+        void putInt(int value) {
+            ensure(Integer.BYTES).putInt(value);
+        }
+
+        void putLong(long value) {
+            ensure(Long.BYTES).putLong(value);
+        }
+
+        void putDouble(double value) {
+            ensure(Double.BYTES).putDouble(value);
+        }
+
+        void putString(String value) {
+            if (value == null) {
+                putInt(NULL_STRING);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            putInt(bytes.length);
+            ensure(bytes.length).put(bytes);
+        }
+
+        ByteBuffer toBuffer() {
+            return buffer.duplicate().flip();
+        }
+
+        private ByteBuffer ensure(int bytes) {
+            if (buffer.remaining() < bytes) {
+                long capacity = Math.max((long) buffer.capacity() * 2, (long) buffer.position() + bytes);
+                if (capacity > Integer.MAX_VALUE - HEADER_SIZE) {
+                    throw new IllegalStateException("Aggregates exceed the maximum file size");
+                }
+                ByteBuffer grown = ByteBuffer.allocate((int) capacity);
+                grown.put(buffer.flip());
+                buffer = grown;
+            }
+            return buffer;
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package zeroone.developers.employee.service.impl;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import zeroone.developers.employee.payload.OrgAverageRow;
+import zeroone.developers.employee.payload.PaidEmployeeRow;
+import zeroone.developers.employee.payload.RegionSummaryRow;
+import zeroone.developers.employee.repository.CalculationTableRepository;
+import zeroone.developers.employee.repository.MonthlyEmployeeTotalRepository;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Optional store of memory-mapped aggregate files of closed months.
+ * <p>
+ * Once a day the report aggregates of the last {@code reports.aggregates.months} closed months are written
+ * to {@code reports.aggregates.directory}, one {@link PayrollAggregateFile} per month. On startup every valid
+ * file in the directory is mapped, so reports of those months are answered without a query right after a
+ * restart; files with a wrong version or checksum are deleted and written again by the next run.
+ * <p>
+ * A calculation written to a month after commit deletes that month's file, and changes to employees or
+ * organizations delete every file, because names and pinfl are stored in them. A file being written while
+ * such a change commits is discarded instead of published. Deleted files of closed months are written again
+ * {@code reports.aggregates.rewrite-delay} after the change, so changes arriving close together cause one rewrite.
+ */
+@Component
+public class PayrollAggregateStore implements InitializingBean, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(PayrollAggregateStore.class);
+
+    private static final String PREFIX = "payroll-";
+    private static final String SUFFIX = ".agg";
+
+    private final boolean enabled;
+    private final Path directory;
+    private final int closedMonths;
+    private final Duration rewriteDelay;
+    private final MonthlyEmployeeTotalRepository monthlyEmployeeTotalRepository;
+    private final CalculationTableRepository calculationTableRepository;
+    private final Map<YearMonth, PayrollAggregateFile> files = new ConcurrentHashMap<>();
+    private final Map<YearMonth, Long> monthChanges = new ConcurrentHashMap<>();
+    private final AtomicLong allChanges = new AtomicLong();
+    private final AtomicBoolean rewriteScheduled = new AtomicBoolean();
+    private final Object writeLock = new Object();
+    private final ScheduledExecutorService rewriter =
+            Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("payroll-aggregates").daemon().factory());
+
+    /**
+     * Constructor with dependency injection for the report repositories and the file settings.
+     *
+     * @param enabled whether reports are answered from aggregate files
+     * @param directory the directory the files are kept in
+     * @param closedMonths the number of closed months, counted back from the previous month, that get a file
+     * @param rewriteDelay the time between a change deleting files of closed months and writing them again
+     * @param monthlyEmployeeTotalRepository the repository of the per-employee reports
+     * @param calculationTableRepository the repository of the per-organization and paid employee reports
+     * @param meterRegistry the registry the number and size of the mapped files are published to
+     */
+    @Autowired
+    public PayrollAggregateStore(@Value("${reports.aggregates.enabled:false}") boolean enabled,
+                                 @Value("${reports.aggregates.directory:data/payroll-aggregates}") Path directory,
+                                 @Value("${reports.aggregates.months:12}") int closedMonths,
+                                 @Value("${reports.aggregates.rewrite-delay:PT1M}") Duration rewriteDelay,
+                                 MonthlyEmployeeTotalRepository monthlyEmployeeTotalRepository,
+                                 CalculationTableRepository calculationTableRepository,
+                                 MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.directory = directory;
+        this.closedMonths = closedMonths;
+        this.rewriteDelay = rewriteDelay;
+        this.monthlyEmployeeTotalRepository = monthlyEmployeeTotalRepository;
+        this.calculationTableRepository = calculationTableRepository;
+        Gauge.builder("payroll.aggregates.files", files, Map::size)
+                .description("Number of mapped monthly aggregate files")
+                .register(meterRegistry);
+        Gauge.builder("payroll.aggregates.mapped", files,
+                        mapped -> mapped.values().stream().mapToLong(PayrollAggregateFile::byteSize).sum())
+                .description("Bytes of monthly aggregate files mapped outside the heap")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+
+    /**
+     * Maps the files written before the last restart.
+     */
+    @Override
+    public void afterPropertiesSet() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        Files.createDirectories(directory);
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+            for (Path path : stream) {
+                try {
+                    PayrollAggregateFile file = PayrollAggregateFile.open(path);
+                    if (path.equals(path(file.getMonth()))) {
+                        files.put(file.getMonth(), file);
+                        continue;
+                    }
+                    log.warn("Deleting aggregate file {} holding month {}", path, file.getMonth());
+                } catch (IOException | DateTimeException e) {
+                    log.warn("Deleting unreadable aggregate file {}: {}", path, e.getMessage());
+                }
+                Files.deleteIfExists(path);
+            }
+        }
+        log.info("Mapped {} monthly aggregate files from {}", files.size(), directory);
+    }
+
+
+    @Override
+    public void destroy() {
+        rewriter.shutdownNow();
+    }
+
+
+    /**
+     * Return the aggregate file of a month.
+     *
+     * @param month the month
+     * @return the mapped file, or null if the month has none or aggregate files are disabled
+     */
+    public PayrollAggregateFile find(YearMonth month) {
+        return enabled ? files.get(month) : null;
+    }
+
+
+    /**
+     * Write the files of the closed months that do not have one yet.
+     */
+    @Scheduled(cron = "${reports.aggregates.cron:0 30 3 * * *}")
+    public void writeClosedMonths() {
+        if (!enabled) {
+            return;
+        }
+        // The scheduled run and a rewrite after a change never write the same file at once
+        synchronized (writeLock) {
+            YearMonth current = YearMonth.now();
+            for (int i = 1; i <= closedMonths; i++) {
+                YearMonth month = current.minusMonths(i);
+                if (!files.containsKey(month)) {
+                    try {
+                        write(month);
+                    } catch (IOException e) {
+                        log.warn("Could not write the aggregate file of {}", month, e);
+                    }
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Delete the file of the month of a written or removed calculation once the current transaction has committed.
+     *
+     * @param date the date of the calculation
+     */
+    public void recordChanged(Date date) {
+        if (enabled) {
+            invalidate(YearMonth.from(date.toLocalDate()));
+        }
+    }
+
+
+    /**
+     * Delete the file of one month once the current transaction has committed.
+     *
+     * @param month the month
+     */
+    public void invalidate(YearMonth month) {
+        if (!enabled) {
+            return;
+        }
+        TransactionHooks.afterCommit(() -> {
+            monthChanges.merge(month, 1L, Long::sum);
+            delete(month);
+            YearMonth current = YearMonth.now();
+            if (month.isBefore(current) && !month.isBefore(current.minusMonths(closedMonths))) {
+                scheduleRewrite();
+            }
+        });
+    }
+
+
+    /**
+     * Delete every file once the current transaction has committed.
+     * Used when employees or organizations stored in the files change.
+     */
+    public void invalidateAll() {
+        if (!enabled) {
+            return;
+        }
+        TransactionHooks.afterCommit(() -> {
+            allChanges.incrementAndGet();
+            files.keySet().forEach(this::delete);
+            scheduleRewrite();
+        });
+    }
+
+
+    /**
+     * Schedules a run of {@link #writeClosedMonths()} after the rewrite delay, unless one is already waiting.
+     * The flag is cleared before the run starts, so a change committing while it runs schedules another one.
+     */
+    private void scheduleRewrite() {
+        if (!rewriteScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        rewriter.schedule(() -> {
+            rewriteScheduled.set(false);
+            try {
+                writeClosedMonths();
+            } catch (RuntimeException e) {
+                log.warn("Could not rewrite the aggregate files of the closed months", e);
+            }
+        }, rewriteDelay.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+
+    /**
+     * Runs the report queries of a month and publishes their rows as a mapped file,
+     * unless a change to the month or to the employees and organizations committed while the queries ran.
+     */
+    private void write(YearMonth month) throws IOException {
+        long startAllChanges = allChanges.get();
+        long startMonthChanges = monthChanges.getOrDefault(month, 0L);
+        Date startDate = Date.valueOf(month.atDay(1));
+        Date endDate = Date.valueOf(month.plusMonths(1).atDay(1));
+        List<RegionSummaryRow> regions = monthlyEmployeeTotalRepository.findEmployeesByRegion(startDate);
+        List<OrgAverageRow> averages = calculationTableRepository.findAverageSalaryPerOrganization(startDate, endDate);
+        List<PaidEmployeeRow> paid = calculationTableRepository.findEmployeesWithSalariesAndVacations(startDate, endDate);
+
+        Path path = path(month);
+        PayrollAggregateFile.write(path, month, regions, averages, paid);
+        synchronized (this) {
+            if (allChanges.get() != startAllChanges || monthChanges.getOrDefault(month, 0L) != startMonthChanges) {
+                Files.deleteIfExists(path);
+                return;
+            }
+            files.put(month, PayrollAggregateFile.open(path));
+        }
+        log.info("Wrote aggregate file {} with {} employees", path, regions.size());
+    }
+
+
+    private synchronized void delete(YearMonth month) {
+        if (files.remove(month) == null) {
+            return;
+        }
+        try {
+            // A mapping still in use by a running report stays readable until it is released
+            Files.deleteIfExists(path(month));
+        } catch (IOException e) {
+            log.warn("Could not delete the aggregate file of {}", month, e);
+        }
+    }
+
+
+    private Path path(YearMonth month) {
+        return directory.resolve(PREFIX + month + SUFFIX);
+    }
+}
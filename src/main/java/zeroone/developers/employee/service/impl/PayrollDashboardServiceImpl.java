@@ -0,0 +1,143 @@
+package zeroone.developers.employee.service.impl;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import zeroone.developers.employee.exception.CalculationTableException;
+import zeroone.developers.employee.payload.HighSalaryRow;
+import zeroone.developers.employee.payload.OrgAverageRow;
+import zeroone.developers.employee.payload.PaidEmployeeRow;
+import zeroone.developers.employee.payload.PayrollDashboard;
+import zeroone.developers.employee.payload.RegionSummaryRow;
+import zeroone.developers.employee.service.CalculationTableService;
+import zeroone.developers.employee.service.PayrollDashboardService;
+
+import java.time.DateTimeException;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Implementation of the PayrollDashboardService interface.
+ * Runs the monthly report queries of CalculationTableService concurrently on a bounded executor.
+ * <p>
+ * Each report holds its own database connection while it runs, so the pool size is kept well below
+ * the connection pool. When the queue is full the request thread runs the report itself,
+ * which degrades to sequential execution instead of failing under load.
+ */
+@Service
+public class PayrollDashboardServiceImpl implements PayrollDashboardService, DisposableBean {
+
+    private final CalculationTableService calculationTableService;
+    private final ThreadPoolExecutor reportExecutor;
+
+    /**
+     * Constructor with dependency injection for CalculationTableService and the report executor settings.
+     *
+     * @param calculationTableService the service the reports are read from
+     * @param poolSize the maximum number of reports running concurrently
+     * @param queueCapacity the maximum number of reports waiting for a thread
+     * @param virtualThreads whether the report threads are virtual threads
+     */
+    public PayrollDashboardServiceImpl(CalculationTableService calculationTableService,
+                                       @Value("${reports.executor.pool-size:8}") int poolSize,
+                                       @Value("${reports.executor.queue-capacity:64}") int queueCapacity,
+                                       @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.calculationTableService = calculationTableService;
+        ThreadFactory threadFactory = virtualThreads
+                ? Thread.ofVirtual().name("report-", 0).factory()
+                : Thread.ofPlatform().name("report-", 0).daemon().factory();
+        this.reportExecutor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.CallerRunsPolicy());
+        this.reportExecutor.allowCoreThreadTimeOut(true);
+    }
+
+
+    /**
+     * Build the dashboard of a month from the four monthly reports, queried concurrently.
+     *
+     * @param year           the year of the reporting month
+     * @param month          the month of the year (1-12)
+     * @param threshold      the salary threshold of the high-salary report
+     * @param organizationId the organization of the average-salary report, or null for every organization
+     * @return the reports of the month
+     */
+    @Override
+    public PayrollDashboard getDashboard(int year, int month, double threshold, Long organizationId) {
+        validatePeriod(year, month);
+
+        CompletableFuture<List<HighSalaryRow>> highSalary =
+                submit(() -> calculationTableService.getEmployeesWithHigherSalary(year, month, threshold));
+        CompletableFuture<List<RegionSummaryRow>> regions =
+                submit(() -> calculationTableService.getEmployeesByRegion(year, month));
+        CompletableFuture<List<OrgAverageRow>> organizationAverages = submit(() -> organizationId == null
+                ? calculationTableService.getAverageSalaryPerOrganization(year, month)
+                : calculationTableService.getAverageSalaryByOrganization(year, month, organizationId));
+        CompletableFuture<List<PaidEmployeeRow>> salariesAndVacations =
+                submit(() -> calculationTableService.getEmployeesWithSalariesAndVacations(year, month));
+
+        awaitAll(highSalary, regions, organizationAverages, salariesAndVacations);
+        return new PayrollDashboard(year, month, highSalary.join(), regions.join(),
+                organizationAverages.join(), salariesAndVacations.join());
+    }
+
+
+    @Override
+    public void destroy() {
+        reportExecutor.shutdownNow();
+    }
+
+
+    /**
+     * Waits for all reports and fails as soon as one of them fails.
+     * Reports still waiting in the queue are then cancelled and never take a connection.
+     *
+     * @param reports the submitted reports
+     */
+    private static void awaitAll(CompletableFuture<?>... reports) {
+        CompletableFuture<Void> all = CompletableFuture.allOf(reports);
+        for (CompletableFuture<?> report : reports) {
+            report.whenComplete((result, failure) -> {
+                if (failure != null) {
+                    all.completeExceptionally(failure);
+                }
+            });
+        }
+        try {
+            all.join();
+        } catch (CompletionException e) {
+            for (CompletableFuture<?> report : reports) {
+                report.cancel(false);
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+
+    private <T> CompletableFuture<T> submit(Supplier<T> report) {
+        return CompletableFuture.supplyAsync(report, reportExecutor);
+    }
+
+
+    /**
+     * Rejects an invalid period before any report is submitted.
+     *
+     * @throws CalculationTableException if the year or month is out of range
+     */
+    private static void validatePeriod(int year, int month) {
+        try {
+            YearMonth.of(year, month);
+        } catch (DateTimeException e) {
+            throw new CalculationTableException("Invalid report period: " + year + "-" + month);
+        }
+    }
+}
@@ -0,0 +1,504 @@
+package zeroone.developers.employee.service.impl;
+
+import zeroone.developers.employee.payload.HighSalaryRow;
+import zeroone.developers.employee.payload.OrgAverageRow;
+import zeroone.developers.employee.payload.PaidEmployeeRow;
+import zeroone.developers.employee.payload.RegionSummaryRow;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Columnar in-memory copy of one month of calculation_table.
+ * <p>
+ * Each calculation is one position in parallel primitive arrays: ID, employee ID, organization ID,
+ * amount, rate, epoch day and a calculation type code from a small dictionary. Employees and organizations
+ * are dictionary-encoded as well, so the reports aggregate into double and long arrays indexed by those codes
+ * and no amount is boxed before the result rows are built.
+ * <p>
+ * Rows are appended and removed in place as calculations are written; a removed row is only marked
+ * in a bit set. Readers share a read lock, writers take the write lock.
+ */
+public class PayrollMonthSnapshot {
+
+    /**
+     * Stands for a missing organization ID; real IDs start at 1.
+     */
+    public static final long NO_ID = 0L;
+
+    private static final int NONE = -1;
+
+    private final YearMonth month;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // calculation columns
+    private long[] ids;
+    private long[] employeeIds;
+    private long[] organizationIds;
+    private double[] amounts;
+    private double[] rates;
+    private int[] epochDays;
+    private byte[] typeCodes;
+    private int[] employeeCodes;
+    private int[] organizationCodes;
+    private int size;
+    private boolean idsSorted = true;
+    private final BitSet removed = new BitSet();
+    private int removedCount;
+
+    // calculation type dictionary
+    private final List<String> types = new ArrayList<>();
+    private final Map<String, Byte> typeCodeByName = new HashMap<>();
+
+    // employee dimension, indexed by employee code
+    private final LongIndex employees;
+    private String[] firstNames;
+    private String[] lastNames;
+    private int[] pinflCodes;
+    private int[] employeeOrganizationCodes;
+
+    // pinfl dictionary
+    private final List<String> pinfls = new ArrayList<>();
+    private final Map<String, Integer> pinflCodeByValue = new HashMap<>();
+
+    // organization dimension, indexed by organization code
+    private final LongIndex organizations;
+    private String[] organizationNames;
+
+    /**
+     * @param month the month the snapshot holds
+     * @param expectedRows the number of calculations to reserve space for
+     * @param expectedEmployees the number of employees to reserve space for
+     */
+    public PayrollMonthSnapshot(YearMonth month, int expectedRows, int expectedEmployees) {
+        this.month = month;
+        int capacity = Math.max(16, expectedRows);
+        this.ids = new long[capacity];
+        this.employeeIds = new long[capacity];
+        this.organizationIds = new long[capacity];
+        this.amounts = new double[capacity];
+        this.rates = new double[capacity];
+        this.epochDays = new int[capacity];
+        this.typeCodes = new byte[capacity];
+        this.employeeCodes = new int[capacity];
+        this.organizationCodes = new int[capacity];
+
+        int employeeCapacity = Math.max(16, expectedEmployees);
+        this.employees = new LongIndex(employeeCapacity);
+        this.firstNames = new String[employeeCapacity];
+        this.lastNames = new String[employeeCapacity];
+        this.pinflCodes = new int[employeeCapacity];
+        this.employeeOrganizationCodes = new int[employeeCapacity];
+        this.organizations = new LongIndex(64);
+        this.organizationNames = new String[64];
+    }
+
+
+    public YearMonth getMonth() {
+        return month;
+    }
+
+
+    /**
+     * @return the number of live calculations
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size - removedCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+
+    //dimension maintenance
+
+    /**
+     * Add or replace an organization of the dimension.
+     */
+    public void putOrganization(long id, String name) {
+        lock.writeLock().lock();
+        try {
+            organizationCode(id, name);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+
+    /**
+     * Add or replace an employee of the dimension; their organization must already be known.
+     */
+    public void putEmployee(long id, String firstName, String lastName, String pinfl, long organizationId) {
+        lock.writeLock().lock();
+        try {
+            int code = employees.add(id);
+            if (code == firstNames.length) {
+                int capacity = code * 2;
+                firstNames = Arrays.copyOf(firstNames, capacity);
+                lastNames = Arrays.copyOf(lastNames, capacity);
+                pinflCodes = Arrays.copyOf(pinflCodes, capacity);
+                employeeOrganizationCodes = Arrays.copyOf(employeeOrganizationCodes, capacity);
+            }
+            firstNames[code] = firstName;
+            lastNames[code] = lastName;
+            pinflCodes[code] = pinflCodeByValue.computeIfAbsent(pinfl, value -> {
+                pinfls.add(value);
+                return pinfls.size() - 1;
+            });
+            employeeOrganizationCodes[code] = organizations.indexOf(organizationId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+
+    /**
+     * @return true if the employee is part of the dimension
+     */
+    public boolean hasEmployee(long id) {
+        lock.readLock().lock();
+        try {
+            return employees.indexOf(id) != NONE;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+
+    /**
+     * @return true if the organization is part of the dimension, or the ID is {@link #NO_ID}
+     */
+    public boolean hasOrganization(long id) {
+        lock.readLock().lock();
+        try {
+            return id == NO_ID || organizations.indexOf(id) != NONE;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+
+    //row maintenance
+
+    /**
+     * Append a calculation, replacing the row with the same ID if there is one.
+     * The employee and the organization must already be part of the dimensions.
+     *
+     * @param organizationId the organization of the calculation, or {@link #NO_ID}
+     * @throws IllegalArgumentException if the employee is unknown
+     */
+    public void put(long id, long employeeId, long organizationId, double amount, double rate,
+                    int epochDay, String calculationType) {
+        lock.writeLock().lock();
+        try {
+            int employeeCode = employees.indexOf(employeeId);
+            if (employeeCode == NONE) {
+                throw new IllegalArgumentException("Unknown employee " + employeeId);
+            }
+            removeRow(id);
+            if (size == ids.length) {
+                grow();
+            }
+            if (size > 0 && ids[size - 1] >= id) {
+                idsSorted = false;
+            }
+            ids[size] = id;
+            employeeIds[size] = employeeId;
+            organizationIds[size] = organizationId;
+            amounts[size] = amount;
+            rates[size] = rate;
+            epochDays[size] = epochDay;
+            typeCodes[size] = typeCode(calculationType);
+            employeeCodes[size] = employeeCode;
+            organizationCodes[size] = organizationId == NO_ID ? NONE : organizations.indexOf(organizationId);
+            size++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+
+    /**
+     * Remove a calculation.
+     *
+     * @return true if the calculation was part of the snapshot
+     */
+    public boolean remove(long id) {
+        lock.writeLock().lock();
+        try {
+            return removeRow(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+
+    /////
+
+    //reports
+
+    /**
+     * Same rows as MonthlyEmployeeTotalRepository.findEmployeesWithHigherSalary for this month.
+     */
+    public List<HighSalaryRow> findEmployeesWithHigherSalary(double threshold) {
+        lock.readLock().lock();
+        try {
+            double[] totals = new double[pinfls.size()];
+            boolean[] present = new boolean[pinfls.size()];
+            for (int row = 0; row < size; row++) {
+                if (removedCount > 0 && removed.get(row)) {
+                    continue;
+                }
+                int pinfl = pinflCodes[employeeCodes[row]];
+                totals[pinfl] += amounts[row];
+                present[pinfl] = true;
+            }
+            List<HighSalaryRow> result = new ArrayList<>();
+            for (int pinfl = 0; pinfl < totals.length; pinfl++) {
+                if (present[pinfl] && totals[pinfl] > threshold) {
+                    result.add(new HighSalaryRow(pinfls.get(pinfl), totals[pinfl]));
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+
+    /**
+     * Same rows as MonthlyEmployeeTotalRepository.findEmployeesByRegion for this month: per pinfl the total amount
+     * and the number of distinct organizations of the employee records calculated in the month.
+     */
+    public List<RegionSummaryRow> findEmployeesByRegion() {
+        lock.readLock().lock();
+        try {
+            double[] totals = new double[pinfls.size()];
+            long[] organizationCounts = new long[pinfls.size()];
+            boolean[] present = new boolean[pinfls.size()];
+            LongIndex pinflOrganizations = new LongIndex(employees.size() * 2);
+            for (int row = 0; row < size; row++) {
+                if (removedCount > 0 && removed.get(row)) {
+                    continue;
+                }
+                int employee = employeeCodes[row];
+                int pinfl = pinflCodes[employee];
+                totals[pinfl] += amounts[row];
+                present[pinfl] = true;
+                int organization = employeeOrganizationCodes[employee];
+                if (organization != NONE) {
+                    int before = pinflOrganizations.size();
+                    if (pinflOrganizations.add(((long) pinfl << 32) | organization) == before) {
+                        organizationCounts[pinfl]++;
+                    }
+                }
+            }
+            List<RegionSummaryRow> result = new ArrayList<>();
+            for (int pinfl = 0; pinfl < totals.length; pinfl++) {
+                if (present[pinfl]) {
+                    result.add(new RegionSummaryRow(pinfls.get(pinfl), organizationCounts[pinfl], totals[pinfl]));
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+
+    /**
+     * Same rows as CalculationTableRepository.findAverageSalaryByOrganization for this month:
+     * calculations of the employees belonging to the organization.
+     */
+    public List<OrgAverageRow> findAverageSalaryByOrganization(long organizationId) {
+        lock.readLock().lock();
+        try {
+            int organization = organizations.indexOf(organizationId);
+            if (organization == NONE) {
+                return List.of();
+            }
+            double sum = 0;
+            long count = 0;
+            for (int row = 0; row < size; row++) {
+                if (removedCount > 0 && removed.get(row)) {
+                    continue;
+                }
+                if (employeeOrganizationCodes[employeeCodes[row]] == organization) {
+                    sum += amounts[row];
+                    count++;
+                }
+            }
+            return count == 0 ? List.of()
+                    : List.of(new OrgAverageRow(organizationId, organizationNames[organization], sum / count));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+
+    /**
+     * Same rows as CalculationTableRepository.findAverageSalaryPerOrganization for this month, ordered by organization ID.
+     */
+    public List<OrgAverageRow> findAverageSalaryPerOrganization() {
+        lock.readLock().lock();
+        try {
+            double[] sums = new double[organizations.size()];
+            long[] counts = new long[organizations.size()];
+            for (int row = 0; row < size; row++) {
+                if (removedCount > 0 && removed.get(row)) {
+                    continue;
+                }
+                int organization = employeeOrganizationCodes[employeeCodes[row]];
+                if (organization != NONE) {
+                    sums[organization] += amounts[row];
+                    counts[organization]++;
+                }
+            }
+            long[] organizationIds = new long[organizations.size()];
+            int found = 0;
+            for (int organization = 0; organization < counts.length; organization++) {
+                if (counts[organization] > 0) {
+                    organizationIds[found++] = organizations.keyAt(organization);
+                }
+            }
+            Arrays.sort(organizationIds, 0, found);
+            List<OrgAverageRow> result = new ArrayList<>(found);
+            for (int i = 0; i < found; i++) {
+                int organization = organizations.indexOf(organizationIds[i]);
+                result.add(new OrgAverageRow(organizationIds[i], organizationNames[organization],
+                        sums[organization] / counts[organization]));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+
+    /**
+     * Same rows as CalculationTableRepository.findEmployeesWithSalariesAndVacations for this month:
+     * distinct employee and amount pairs of SALARY and VACATION calculations, in order of first occurrence.
+     */
+    public List<PaidEmployeeRow> findEmployeesWithSalariesAndVacations() {
+        lock.readLock().lock();
+        try {
+            Byte salary = typeCodeByName.get("SALARY");
+            Byte vacation = typeCodeByName.get("VACATION");
+            byte salaryCode = salary != null ? salary : -1;
+            byte vacationCode = vacation != null ? vacation : -1;
+
+            // Distinct amounts per employee as linked lists threaded through the result positions
+            int[] firstByEmployee = new int[employees.size()];
+            Arrays.fill(firstByEmployee, NONE);
+            int[] next = new int[16];
+            double[] distinctAmounts = new double[16];
+            int[] distinctEmployees = new int[16];
+            int distinct = 0;
+
+            for (int row = 0; row < size; row++) {
+                byte type = typeCodes[row];
+                if ((type != salaryCode && type != vacationCode) || (removedCount > 0 && removed.get(row))) {
+                    continue;
+                }
+                int employee = employeeCodes[row];
+                double amount = amounts[row];
+                int entry = firstByEmployee[employee];
+                while (entry != NONE && Double.doubleToLongBits(distinctAmounts[entry]) != Double.doubleToLongBits(amount)) {
+                    entry = next[entry];
+                }
+                if (entry != NONE) {
+                    continue;
+                }
+                if (distinct == next.length) {
+                    next = Arrays.copyOf(next, distinct * 2);
+                    distinctAmounts = Arrays.copyOf(distinctAmounts, distinct * 2);
+                    distinctEmployees = Arrays.copyOf(distinctEmployees, distinct * 2);
+                }
+                distinctAmounts[distinct] = amount;
+                distinctEmployees[distinct] = employee;
+                next[distinct] = firstByEmployee[employee];
+                firstByEmployee[employee] = distinct;
+                distinct++;
+            }
+
+            List<PaidEmployeeRow> result = new ArrayList<>(distinct);
+            for (int i = 0; i < distinct; i++) {
+                int employee = distinctEmployees[i];
+                result.add(new PaidEmployeeRow(employees.keyAt(employee), firstNames[employee], lastNames[employee],
+                        pinfls.get(pinflCodes[employee]), distinctAmounts[i]));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+
+    private int organizationCode(long id, String name) {
+        int code = organizations.add(id);
+        if (code == organizationNames.length) {
+            organizationNames = Arrays.copyOf(organizationNames, code * 2);
+        }
+        organizationNames[code] = name;
+        return code;
+    }
+
+
+    private byte typeCode(String calculationType) {
+        Byte code = typeCodeByName.get(calculationType);
+        if (code == null) {
+            if (types.size() == Byte.MAX_VALUE) {
+                throw new IllegalStateException("Too many calculation types");
+            }
+            types.add(calculationType);
+            code = (byte) (types.size() - 1);
+            typeCodeByName.put(calculationType, code);
+        }
+        return code;
+    }
+
+
+    private boolean removeRow(long id) {
+        int row = NONE;
+        if (idsSorted) {
+            int found = Arrays.binarySearch(ids, 0, size, id);
+            row = found >= 0 ? found : NONE;
+        } else {
+            for (int i = size - 1; i >= 0; i--) {
+                if (ids[i] == id) {
+                    row = i;
+                    break;
+                }
+            }
+        }
+        if (row == NONE || removed.get(row)) {
+            return false;
+        }
+        removed.set(row);
+        removedCount++;
+        return true;
+    }
+
+
+    private void grow() {
+        int capacity = ids.length + (ids.length >> 1) + 16;
+        ids = Arrays.copyOf(ids, capacity);
+        employeeIds = Arrays.copyOf(employeeIds, capacity);
+        organizationIds = Arrays.copyOf(organizationIds, capacity);
+        amounts = Arrays.copyOf(amounts, capacity);
+        rates = Arrays.copyOf(rates, capacity);
+        epochDays = Arrays.copyOf(epochDays, capacity);
+        typeCodes = Arrays.copyOf(typeCodes, capacity);
+        employeeCodes = Arrays.copyOf(employeeCodes, capacity);
+        organizationCodes = Arrays.copyOf(organizationCodes, capacity);
+    }
+}
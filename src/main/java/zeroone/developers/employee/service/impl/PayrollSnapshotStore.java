@@ -0,0 +1,220 @@
+package zeroone.developers.employee.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import zeroone.developers.employee.entity.CalculationTable;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Optional store of columnar month snapshots the report methods are answered from.
+ * <p>
+ * A month is loaded from the database on its first report request and kept until the total number of rows
+ * exceeds {@code reports.snapshot.max-rows}, then the least recently used month is dropped. Calculation writes
+ * are applied to a loaded month after their transaction commits. A write arriving while the month is being
+ * loaded waits for the load and is applied afterwards; applying is idempotent, so a write the load already
+ * saw is not counted twice. Changes to employees or organizations drop every month, because their names,
+ * pinfl and organization are copied into the snapshot.
+ */
+@Component
+public class PayrollSnapshotStore {
+
+    private final boolean enabled;
+    private final int fetchSize;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Cache<YearMonth, PayrollMonthSnapshot> months;
+
+    /**
+     * Constructor building the month cache and registering its metrics.
+     *
+     * @param enabled whether reports are answered from snapshots
+     * @param maxRows the maximum number of calculations kept over all months
+     * @param fetchSize the number of rows the driver fetches per round trip while loading a month
+     * @param jdbcTemplate the template months are loaded with
+     * @param transactionManager the transaction manager months are loaded in
+     * @param meterRegistry the registry the cache metrics are published to
+     */
+    @Autowired
+    public PayrollSnapshotStore(@Value("${reports.snapshot.enabled:false}") boolean enabled,
+                                @Value("${reports.snapshot.max-rows:20000000}") long maxRows,
+                                @Value("${export.calculations.fetch-size:5000}") int fetchSize,
+                                JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.fetchSize = fetchSize;
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.months = Caffeine.newBuilder()
+                .maximumWeight(maxRows)
+                .weigher((YearMonth month, PayrollMonthSnapshot snapshot) -> Math.max(1, snapshot.size()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, months, "payroll-snapshots");
+    }
+
+
+    /**
+     * Return the snapshot of a month, loading it on first use.
+     *
+     * @param month the month
+     * @return the snapshot, or null if snapshots are disabled
+     */
+    public PayrollMonthSnapshot find(YearMonth month) {
+        return enabled ? months.get(month, this::load) : null;
+    }
+
+
+    /**
+     * Apply a saved or updated calculation to its month once the current transaction has committed.
+     *
+     * @param calculation the calculation as stored
+     */
+    public void recordSaved(CalculationTable calculation) {
+        if (!enabled) {
+            return;
+        }
+        long id = calculation.getId();
+        long employeeId = calculation.getEmployee().getId();
+        long organizationId = calculation.getOrganization() != null
+                ? calculation.getOrganization().getId() : PayrollMonthSnapshot.NO_ID;
+        double amount = calculation.getAmount();
+        double rate = calculation.getRate();
+        LocalDate date = calculation.getDate().toLocalDate();
+        String calculationType = calculation.getCalculationType();
+        YearMonth period = YearMonth.from(date);
+        TransactionHooks.afterCommit(() -> {
+            // Dimension rows are read before entering the map so no query runs under its lock
+            PayrollMonthSnapshot loaded = months.getIfPresent(period);
+            if (loaded != null && (!loaded.hasEmployee(employeeId) || !loaded.hasOrganization(organizationId))) {
+                loadDimensions(loaded, "e.id = ?", "o.id in (?, (select organization_id from employee where id = ?))",
+                        new Object[]{employeeId}, new Object[]{organizationId, employeeId});
+            }
+            // compute, unlike computeIfPresent, waits for a load of the month that is still running
+            months.asMap().compute(period, (month, snapshot) -> {
+                if (snapshot == null) {
+                    return null;
+                }
+                if (!snapshot.hasEmployee(employeeId) || !snapshot.hasOrganization(organizationId)) {
+                    // Loaded concurrently without this employee; drop it to be reloaded on the next read
+                    return null;
+                }
+                snapshot.put(id, employeeId, organizationId, amount, rate, (int) date.toEpochDay(), calculationType);
+                return snapshot;
+            });
+        });
+    }
+
+
+    /**
+     * Remove a calculation from its month once the current transaction has committed.
+     *
+     * @param id the ID of the calculation
+     * @param date the date the calculation had
+     */
+    public void recordRemoved(Long id, Date date) {
+        if (!enabled) {
+            return;
+        }
+        YearMonth period = YearMonth.from(date.toLocalDate());
+        TransactionHooks.afterCommit(() -> months.asMap().compute(period, (month, snapshot) -> {
+            if (snapshot != null) {
+                snapshot.remove(id);
+            }
+            return snapshot;
+        }));
+    }
+
+
+    /**
+     * Drop one month once the current transaction has committed.
+     *
+     * @param month the month
+     */
+    public void invalidate(YearMonth month) {
+        TransactionHooks.afterCommit(() -> months.invalidate(month));
+    }
+
+
+    /**
+     * Drop every month once the current transaction has committed.
+     * Used when employees or organizations copied into the snapshots change.
+     */
+    public void invalidateAll() {
+        TransactionHooks.afterCommit(months::invalidateAll);
+    }
+
+
+    /**
+     * Loads the employees and organizations referenced by the month, then its calculations ordered by ID.
+     * The PostgreSQL driver only honours the fetch size inside a transaction, so the month is read in a
+     * read-only one; otherwise the whole month would be buffered while writers to it wait on the cache.
+     */
+    private PayrollMonthSnapshot load(YearMonth month) {
+        return readOnlyTransaction.execute(status -> loadInTransaction(month));
+    }
+
+
+    private PayrollMonthSnapshot loadInTransaction(YearMonth month) {
+        Date from = Date.valueOf(month.atDay(1));
+        Date to = Date.valueOf(month.plusMonths(1).atDay(1));
+        String inMonth = "select c.employee_id from calculation_table c where c.date >= ? and c.date < ?";
+
+        Integer rows = jdbcTemplate.queryForObject(
+                "select count(*) from calculation_table c where c.date >= ? and c.date < ?", Integer.class, from, to);
+        Integer employees = jdbcTemplate.queryForObject(
+                "select count(distinct c.employee_id) from calculation_table c where c.date >= ? and c.date < ?",
+                Integer.class, from, to);
+        PayrollMonthSnapshot snapshot = new PayrollMonthSnapshot(month, rows, employees);
+
+        loadDimensions(snapshot, "e.id in (" + inMonth + ")",
+                "o.id in (select c.organization_id from calculation_table c where c.date >= ? and c.date < ? " +
+                        "union select e.organization_id from employee e where e.id in (" + inMonth + "))",
+                new Object[]{from, to}, new Object[]{from, to, from, to});
+
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "select c.id, c.employee_id, c.organization_id, c.amount, c.rate, c.date, c.calculation_type " +
+                            "from calculation_table c where c.date >= ? and c.date < ? order by c.id");
+            statement.setFetchSize(fetchSize);
+            statement.setDate(1, from);
+            statement.setDate(2, to);
+            return statement;
+        }, resultSet -> {
+            long organizationId = resultSet.getLong(3);
+            snapshot.put(resultSet.getLong(1), resultSet.getLong(2),
+                    resultSet.wasNull() ? PayrollMonthSnapshot.NO_ID : organizationId,
+                    resultSet.getDouble(4), resultSet.getDouble(5),
+                    (int) resultSet.getDate(6).toLocalDate().toEpochDay(), resultSet.getString(7));
+        });
+        return snapshot;
+    }
+
+
+    private void loadDimensions(PayrollMonthSnapshot snapshot, String employeeFilter, String organizationFilter,
+                                Object[] employeeArgs, Object[] organizationArgs) {
+        jdbcTemplate.query("select o.id, o.name from organization o where " + organizationFilter,
+                resultSet -> {
+                    snapshot.putOrganization(resultSet.getLong(1), resultSet.getString(2));
+                }, organizationArgs);
+        jdbcTemplate.query("select e.id, e.first_name, e.last_name, e.pinfl, e.organization_id from employee e where " + employeeFilter,
+                resultSet -> {
+                    snapshot.putEmployee(resultSet.getLong(1), resultSet.getString(2), resultSet.getString(3),
+                            resultSet.getString(4), resultSet.getLong(5));
+                }, employeeArgs);
+    }
+}
@@ -0,0 +1,92 @@
+package zeroone.developers.employee.service.impl;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import zeroone.developers.employee.payload.HibernateStatisticsDto;
+import zeroone.developers.employee.payload.SlowQueryRow;
+import zeroone.developers.employee.service.QueryDiagnosticsService;
+
+import java.util.List;
+
+/**
+ * Implementation of the QueryDiagnosticsService interface.
+ * Reads the slow-query log and the statistics Hibernate collects with hibernate.generate_statistics.
+ */
+@Service
+public class QueryDiagnosticsServiceImpl implements QueryDiagnosticsService {
+
+    private final SlowQueryLog slowQueryLog;
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Constructor with dependency injection for the slow-query log and the EntityManagerFactory.
+     *
+     * @param slowQueryLog the log of slow statements
+     * @param entityManagerFactory the factory whose statistics are read
+     */
+    @Autowired
+    public QueryDiagnosticsServiceImpl(SlowQueryLog slowQueryLog, EntityManagerFactory entityManagerFactory) {
+        this.slowQueryLog = slowQueryLog;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+
+    @Override
+    public List<SlowQueryRow> findSlowQueries(int limit) {
+        return slowQueryLog.recent(Math.max(0, limit));
+    }
+
+
+    @Override
+    public void clearSlowQueries() {
+        slowQueryLog.clear();
+    }
+
+
+    /**
+     * Retrieve the counters of the Hibernate session factory.
+     *
+     * All counters stay at 0 while hibernate.generate_statistics is disabled.
+     *
+     * @return the statistics since start-up or the last reset
+     */
+    @Override
+    public HibernateStatisticsDto getHibernateStatistics() {
+        Statistics statistics = statistics();
+        return new HibernateStatisticsDto(
+                statistics.getStart(),
+                statistics.getPrepareStatementCount(),
+                statistics.getQueryExecutionCount(),
+                statistics.getQueryExecutionMaxTime(),
+                statistics.getQueryExecutionMaxTimeQueryString(),
+                statistics.getEntityLoadCount(),
+                statistics.getEntityFetchCount(),
+                statistics.getEntityInsertCount(),
+                statistics.getEntityUpdateCount(),
+                statistics.getEntityDeleteCount(),
+                statistics.getCollectionLoadCount(),
+                statistics.getCollectionFetchCount(),
+                statistics.getSecondLevelCacheHitCount(),
+                statistics.getSecondLevelCacheMissCount(),
+                statistics.getSecondLevelCachePutCount(),
+                statistics.getQueryCacheHitCount(),
+                statistics.getQueryCacheMissCount(),
+                statistics.getFlushCount(),
+                statistics.getSessionOpenCount(),
+                statistics.getTransactionCount());
+    }
+
+
+    @Override
+    public void resetHibernateStatistics() {
+        statistics().clear();
+    }
+
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
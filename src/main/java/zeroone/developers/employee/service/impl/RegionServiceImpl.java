@@ -1,17 +1,21 @@
 package zeroone.developers.employee.service.impl;
 
 import jakarta.validation.Valid;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import zeroone.developers.employee.entity.Region;
 import zeroone.developers.employee.exception.RegionException;
 import zeroone.developers.employee.exception.ResourceNotFoundException;
+import zeroone.developers.employee.mapper.RegionMapper;
+import zeroone.developers.employee.payload.CursorPage;
 import zeroone.developers.employee.payload.RegionDto;
 import zeroone.developers.employee.repository.RegionRepository;
 import zeroone.developers.employee.service.RegionService;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -22,20 +26,40 @@ import java.util.stream.Collectors;
 @Service
 public class RegionServiceImpl implements RegionService {
 
-
-    @Autowired
-    private ModelMapper modelMapper;
-
     private final RegionRepository regionRepository;
+    private final EmployeeDtoCache employeeDtoCache;
+    private final NameFilters nameFilters;
+    private final ResourceVersions resourceVersions;
 
     /**
      * Constructor with dependency injection for RegionRepository.
      *
      * @param regionRepository the repository for Region operations
+     * @param employeeDtoCache the employee cache whose DTOs embed regions
+     * @param nameFilters the filters that rule out existing names without a query
+     * @param resourceVersions the versions the ETags of regions are derived from
      */
     @Autowired
-    public RegionServiceImpl(RegionRepository regionRepository) {
+    public RegionServiceImpl(RegionRepository regionRepository, EmployeeDtoCache employeeDtoCache,
+                             NameFilters nameFilters, ResourceVersions resourceVersions) {
         this.regionRepository = regionRepository;
+        this.employeeDtoCache = employeeDtoCache;
+        this.nameFilters = nameFilters;
+        this.resourceVersions = resourceVersions;
+    }
+
+
+    /**
+     * Return the ETag of one page of the region list from the in-memory region version, without a query.
+     *
+     * @param after the cursor of the page, or null for the first page
+     * @param limit the maximum number of regions of the page
+     * @param direction the ID sort direction of the page
+     * @return the current strong ETag of the page
+     */
+    @Override
+    public String getRegionsETag(String after, int limit, Sort.Direction direction) {
+        return resourceVersions.regionsTag(after + ":" + limit + ":" + direction);
     }
 
 
@@ -48,6 +72,7 @@ public class RegionServiceImpl implements RegionService {
      * @return a list of RegionDto representing all regions
      */
     @Override
+    @Transactional(readOnly = true)
     public List<RegionDto> findAllRegions() {
         List<Region> regions = regionRepository.findAll();
 
@@ -58,6 +83,21 @@ public class RegionServiceImpl implements RegionService {
     }
 
 
+    /**
+     * Retrieve one page of region records as DTOs using keyset pagination.
+     *
+     * @param after the cursor returned with the previous page, or null for the first page
+     * @param limit the maximum number of regions to return
+     * @param direction the ID sort direction
+     * @return the page of RegionDto with the cursor of the next page
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<RegionDto> findRegionsPage(String after, int limit, Sort.Direction direction) {
+        return KeysetPagination.fetch(regionRepository, after, limit, direction, Region::getId, this::regionToDto);
+    }
+
+
     /**
      * Retrieve a region by ID.
      *
@@ -68,6 +108,7 @@ public class RegionServiceImpl implements RegionService {
      * @throws ResourceNotFoundException if the region is not found with the given ID
      */
     @Override
+    @Transactional(readOnly = true)
     public Optional<RegionDto> findRegionById(Long id) throws ResourceNotFoundException {
         Region region = regionRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Region not found with id " + id));
@@ -88,6 +129,7 @@ public class RegionServiceImpl implements RegionService {
      *                           or if a region with the same namealready exists
      */
     @Override
+    @Transactional
     public RegionDto saveRegion(@Valid RegionDto regionDto) throws RegionException {
         // 1. Convert DTO to entity
         Region region = dtoToRegion(regionDto);
@@ -97,14 +139,19 @@ public class RegionServiceImpl implements RegionService {
             throw new RegionException("Region name must not be null");
         }
 
-        // 3. Checking that the name column do not exist
-        boolean exists = regionRepository.existsByName(region.getName());
-        if (exists) {
-            throw new RegionException("Organization with this name already exists");
+        // 3. Checking that the name column do not exist; only names the filter might contain are queried
+        if (nameFilters.regions().mightContain(region.getName())) {
+            boolean exists = regionRepository.existsByName(region.getName());
+            if (exists) {
+                throw new RegionException("Organization with this name already exists");
+            }
+            nameFilters.regions().recordFalsePositive();
         }
 
         // 4. Save Region
         Region savedRegion = regionRepository.save(region);
+        nameFilters.regions().add(savedRegion.getName());
+        resourceVersions.regionsChanged();
 
         // 4. Convert the saved Region to DTO and return
         return regionToDto(savedRegion);
@@ -125,6 +172,7 @@ public class RegionServiceImpl implements RegionService {
      * @throws RegionException if the region data is invalid
      */
     @Override
+    @Transactional
     public RegionDto updateRegion(Long id, RegionDto regionDto) throws RegionException {
         Region existingRegion = regionRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Region not found with id " + id));
@@ -132,11 +180,21 @@ public class RegionServiceImpl implements RegionService {
         // Conversion DTO to entity
         Region regionDetails = dtoToRegion(regionDto);
 
+        boolean renamed = !Objects.equals(existingRegion.getName(), regionDetails.getName());
+
         // update region details
         existingRegion.setName(regionDetails.getName());
 
-        // Save updated region
+        // Save updated region; the old name stays in the filter until it is rebuilt
         Region updatedRegion = regionRepository.save(existingRegion);
+        if (renamed) {
+            nameFilters.regions().add(updatedRegion.getName());
+            nameFilters.regions().recordStale();
+        }
+
+        // Cached employees embed the region of their organization
+        employeeDtoCache.invalidateAll();
+        resourceVersions.regionsChanged();
 
         // Convert updated region entity to DTO and return
         return regionToDto(updatedRegion);
@@ -153,22 +211,25 @@ public class RegionServiceImpl implements RegionService {
      * @throws ResourceNotFoundException if the region is not found with the given ID
      */
     @Override
+    @Transactional
     public void deleteRegion(Long id) {
         Region region = regionRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Region not found with id " + id));
 
         regionRepository.delete(region);
+        nameFilters.regions().recordStale();
+        resourceVersions.regionsChanged();
     }
 
 
     // DTO to Entity conversion
     public Region dtoToRegion(RegionDto regionDto) {
-        return modelMapper.map(regionDto, Region.class);
+        return RegionMapper.toEntity(regionDto);
     }
 
     // Entity to DTO conversion
     public RegionDto regionToDto(Region region) {
-        return modelMapper.map(region, RegionDto.class);
+        return RegionMapper.toDto(region);
     }
 
 
@@ -0,0 +1,406 @@
+package zeroone.developers.employee.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import zeroone.developers.employee.entity.ReportJob;
+import zeroone.developers.employee.entity.ReportJobPage;
+import zeroone.developers.employee.exception.ReportJobException;
+import zeroone.developers.employee.exception.ResourceNotFoundException;
+import zeroone.developers.employee.payload.ReportJobDto;
+import zeroone.developers.employee.payload.ReportJobPageDto;
+import zeroone.developers.employee.payload.ReportJobRequest;
+import zeroone.developers.employee.payload.ReportJobStatus;
+import zeroone.developers.employee.payload.ReportType;
+import zeroone.developers.employee.repository.ReportJobPageRepository;
+import zeroone.developers.employee.repository.ReportJobRepository;
+import zeroone.developers.employee.service.CalculationTableService;
+import zeroone.developers.employee.service.ReportJobService;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Implementation of the ReportJobService interface.
+ * <p>
+ * Jobs run on a bounded worker pool with a bounded queue; a submission that does not fit is rejected
+ * instead of adding another full scan to the database. Submissions are deduplicated by their job key:
+ * while a job is queued or running its key maps to it in memory, and once completed its stored result
+ * is reused until it expires. Results are split into pages of gzip-compressed JSON.
+ */
+@Service
+public class ReportJobServiceImpl implements ReportJobService, InitializingBean, DisposableBean {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final ReportJobRepository reportJobRepository;
+    private final ReportJobPageRepository reportJobPageRepository;
+    private final CalculationTableService calculationTableService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor workers;
+    private final int pageSize;
+    private final Duration resultTtl;
+
+    /**
+     * Job key to ID of every job that is queued or running in this process.
+     */
+    private final Map<String, String> activeJobs = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor with dependency injection for the job repositories, the report service and the worker settings.
+     *
+     * @param reportJobRepository the repository for ReportJob operations
+     * @param reportJobPageRepository the repository the result pages are stored in
+     * @param calculationTableService the service the reports are run with
+     * @param objectMapper the mapper the result rows are written with
+     * @param transactionManager the transaction manager used to store a result atomically
+     * @param workerCount the number of reports running concurrently
+     * @param queueCapacity the number of jobs waiting for a worker before submissions are rejected
+     * @param pageSize the number of rows per result page
+     * @param resultTtl how long a finished job and its result are kept
+     */
+    public ReportJobServiceImpl(ReportJobRepository reportJobRepository,
+                                ReportJobPageRepository reportJobPageRepository,
+                                CalculationTableService calculationTableService,
+                                ObjectMapper objectMapper,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${reports.jobs.workers:2}") int workerCount,
+                                @Value("${reports.jobs.queue-capacity:20}") int queueCapacity,
+                                @Value("${reports.jobs.page-size:1000}") int pageSize,
+                                @Value("${reports.jobs.result-ttl:PT1H}") Duration resultTtl) {
+        this.reportJobRepository = reportJobRepository;
+        this.reportJobPageRepository = reportJobPageRepository;
+        this.calculationTableService = calculationTableService;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("report-job-", 0).daemon().factory());
+        this.workers.allowCoreThreadTimeOut(true);
+        this.pageSize = pageSize;
+        this.resultTtl = resultTtl;
+    }
+
+
+    /**
+     * Fails the jobs a previous run of the application left queued or running; their workers are gone.
+     */
+    @Override
+    public void afterPropertiesSet() {
+        Instant now = Instant.now();
+        transactionTemplate.executeWithoutResult(status -> reportJobRepository.failUnfinished(
+                List.of(ReportJobStatus.QUEUED, ReportJobStatus.RUNNING),
+                "Interrupted by an application restart", now, now.plus(resultTtl)));
+    }
+
+
+    @Override
+    public void destroy() {
+        workers.shutdownNow();
+    }
+
+
+    /**
+     * Submit a report job, or return the equal job that is already active or completed.
+     * <p>
+     * A new job is stored before its key is published in activeJobs, so a concurrent equal submission
+     * that finds the key can always read the job; the submission that loses the race deletes its own row.
+     *
+     * @param request the report and its parameters
+     * @return the job
+     */
+    @Override
+    public ReportJobDto submitJob(ReportJobRequest request) {
+        ReportJob template = validate(request);
+        String jobKey = template.getJobKey();
+
+        while (true) {
+            ReportJob completed = findCompleted(jobKey);
+            if (completed != null) {
+                return toDto(completed);
+            }
+
+            template.setId(UUID.randomUUID().toString());
+            template.setStatus(ReportJobStatus.QUEUED);
+            template.setCreatedAt(Instant.now());
+            String jobId = reportJobRepository.save(template).getId();
+
+            String activeId = activeJobs.putIfAbsent(jobKey, jobId);
+            if (activeId == null) {
+                return startJob(jobId, jobKey);
+            }
+            reportJobRepository.deleteById(jobId);
+            ReportJob active = reportJobRepository.findById(activeId).orElse(null);
+            if (active != null) {
+                return toDto(active);
+            }
+            // The active job was withdrawn in favour of a completed one; look again
+        }
+    }
+
+
+    /**
+     * Retrieve the status of a job.
+     *
+     * @param id the ID of the job
+     * @return the job
+     */
+    @Override
+    public ReportJobDto findJob(String id) {
+        return toDto(requireJob(id));
+    }
+
+
+    /**
+     * Retrieve one page of the result of a completed job, decompressed but not parsed.
+     *
+     * @param id the ID of the job
+     * @param page the page number, starting at 0
+     * @return the rows of the page
+     */
+    @Override
+    public ReportJobPageDto findResultPage(String id, int page) {
+        ReportJob job = requireJob(id);
+        if (job.getStatus() != ReportJobStatus.COMPLETED) {
+            throw new ReportJobException("Report job is " + job.getStatus() + ", its result is not available");
+        }
+        if (page < 0 || page >= job.getPageCount()) {
+            throw new ReportJobException("Page " + page + " is out of range, the result has "
+                    + job.getPageCount() + " pages");
+        }
+        ReportJobPage resultPage = reportJobPageRepository.findByJobIdAndPageNumber(id, page)
+                .orElseThrow(() -> new ResourceNotFoundException("Report job result not found"));
+        return new ReportJobPageDto(id, page, job.getPageCount(), job.getRowCount(),
+                new String(gunzip(resultPage.getData()), StandardCharsets.UTF_8));
+    }
+
+
+    /**
+     * Delete expired jobs and their result pages.
+     *
+     * @return the number of deleted jobs
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${reports.jobs.cleanup-interval:PT10M}")
+    public int deleteExpiredJobs() {
+        return transactionTemplate.execute(status -> {
+            List<String> expiredIds = reportJobRepository.findExpiredIds(Instant.now());
+            if (expiredIds.isEmpty()) {
+                return 0;
+            }
+            reportJobPageRepository.deleteByJobIds(expiredIds);
+            return reportJobRepository.deleteByIds(expiredIds);
+        });
+    }
+
+
+    /**
+     * Runs a job on a worker thread and stores its result pages and final status in one transaction.
+     *
+     * @param jobId the ID of the job
+     * @param jobKey the key the job is registered under in activeJobs
+     */
+    private void runJob(String jobId, String jobKey) {
+        try {
+            ReportJob job = transactionTemplate.execute(status ->
+                    reportJobRepository.markRunning(jobId, Instant.now()) == 0
+                            ? null : reportJobRepository.findById(jobId).orElse(null));
+            if (job == null) {
+                return;
+            }
+
+            List<?> rows = runReport(job);
+            List<ReportJobPage> pages = toPages(jobId, rows);
+
+            transactionTemplate.executeWithoutResult(status -> {
+                reportJobPageRepository.saveAll(pages);
+                Instant now = Instant.now();
+                job.setStatus(ReportJobStatus.COMPLETED);
+                job.setRowCount((long) rows.size());
+                job.setPageCount(pages.size());
+                job.setCompletedAt(now);
+                job.setExpiresAt(now.plus(resultTtl));
+                reportJobRepository.save(job);
+            });
+        } catch (RuntimeException e) {
+            failJob(jobId, e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage());
+        } finally {
+            activeJobs.remove(jobKey, jobId);
+        }
+    }
+
+
+    private List<?> runReport(ReportJob job) {
+        int year = job.getYear();
+        int month = job.getMonth();
+        return switch (job.getReportType()) {
+            case HIGH_SALARY -> calculationTableService.getEmployeesWithHigherSalary(year, month, job.getThreshold());
+            case REGION -> calculationTableService.getEmployeesByRegion(year, month);
+            case AVERAGE_SALARY -> calculationTableService.getAverageSalaryByOrganization(year, month, job.getOrganizationId());
+            case SALARIES_VACATIONS -> calculationTableService.getEmployeesWithSalariesAndVacations(year, month);
+            case ORGANIZATION_ROLLUP -> calculationTableService.getOrganizationRollup(year, month, job.getOrganizationId());
+        };
+    }
+
+
+    /**
+     * Splits the rows into pages of gzip-compressed JSON arrays. An empty result is stored as one empty page.
+     */
+    private List<ReportJobPage> toPages(String jobId, List<?> rows) {
+        List<ReportJobPage> pages = new ArrayList<>();
+        int pageNumber = 0;
+        do {
+            List<?> pageRows = rows.subList(pageNumber * pageSize, Math.min(rows.size(), (pageNumber + 1) * pageSize));
+            try {
+                pages.add(new ReportJobPage(jobId, pageNumber, pageRows.size(), gzip(objectMapper.writeValueAsBytes(pageRows))));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            pageNumber++;
+        } while (pageNumber * pageSize < rows.size());
+        return pages;
+    }
+
+
+    /**
+     * Queues a job whose key this submission has published, unless an equal job completed and left
+     * activeJobs between the first lookup and the key being published; that job is returned instead.
+     */
+    private ReportJobDto startJob(String jobId, String jobKey) {
+        ReportJob completed = findCompleted(jobKey);
+        if (completed != null) {
+            activeJobs.remove(jobKey, jobId);
+            reportJobRepository.deleteById(jobId);
+            return toDto(completed);
+        }
+        try {
+            workers.execute(() -> runJob(jobId, jobKey));
+        } catch (RejectedExecutionException e) {
+            activeJobs.remove(jobKey, jobId);
+            failJob(jobId, "Report job queue is full");
+            throw e;
+        }
+        return findJob(jobId);
+    }
+
+
+    private ReportJob findCompleted(String jobKey) {
+        return reportJobRepository
+                .findFirstByJobKeyAndStatusAndExpiresAtAfterOrderByCompletedAtDesc(jobKey, ReportJobStatus.COMPLETED, Instant.now())
+                .orElse(null);
+    }
+
+
+    private void failJob(String jobId, String message) {
+        Instant now = Instant.now();
+        transactionTemplate.executeWithoutResult(status -> reportJobRepository.findById(jobId).ifPresent(job -> {
+            job.setStatus(ReportJobStatus.FAILED);
+            job.setErrorMessage(message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+            job.setCompletedAt(now);
+            job.setExpiresAt(now.plus(resultTtl));
+        }));
+    }
+
+
+    private ReportJob requireJob(String id) {
+        ReportJob job = reportJobRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Report job not found"));
+        if (job.getExpiresAt() != null && !job.getExpiresAt().isAfter(Instant.now())) {
+            throw new ResourceNotFoundException("Report job not found");
+        }
+        return job;
+    }
+
+
+    /**
+     * Checks the parameters the report needs and drops the ones it ignores,
+     * so equal submissions always produce the same job key.
+     *
+     * @return a new job holding the normalized parameters and their key
+     * @throws ReportJobException if a parameter is missing or the period is invalid
+     */
+    private static ReportJob validate(ReportJobRequest request) {
+        try {
+            YearMonth.of(request.year(), request.month());
+        } catch (DateTimeException e) {
+            throw new ReportJobException("Invalid report period: " + request.year() + "-" + request.month());
+        }
+        ReportType reportType = request.reportType();
+        boolean needsThreshold = reportType == ReportType.HIGH_SALARY;
+        boolean needsOrganization = reportType == ReportType.AVERAGE_SALARY || reportType == ReportType.ORGANIZATION_ROLLUP;
+        if (needsThreshold && request.threshold() == null) {
+            throw new ReportJobException("threshold is required for " + reportType);
+        }
+        if (needsOrganization && request.organizationId() == null) {
+            throw new ReportJobException("organizationId is required for " + reportType);
+        }
+
+        ReportJob job = new ReportJob();
+        job.setReportType(reportType);
+        job.setYear(request.year());
+        job.setMonth(request.month());
+        job.setThreshold(needsThreshold ? request.threshold() : null);
+        job.setOrganizationId(needsOrganization ? request.organizationId() : null);
+
+        StringBuilder key = new StringBuilder()
+                .append(reportType).append(':').append(YearMonth.of(request.year(), request.month()));
+        if (job.getThreshold() != null) {
+            key.append(":threshold=").append(job.getThreshold());
+        }
+        if (job.getOrganizationId() != null) {
+            key.append(":organization=").append(job.getOrganizationId());
+        }
+        job.setJobKey(key.toString());
+        return job;
+    }
+
+
+    private static ReportJobDto toDto(ReportJob job) {
+        return new ReportJobDto(job.getId(), job.getReportType(), job.getYear(), job.getMonth(),
+                job.getThreshold(), job.getOrganizationId(), job.getStatus(), job.getRowCount(), job.getPageCount(),
+                job.getErrorMessage(), job.getCreatedAt(), job.getCompletedAt(), job.getExpiresAt());
+    }
+
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        }
+        return out.toByteArray();
+    }
+
+
+    private static byte[] gunzip(byte[] data) {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package zeroone.developers.employee.service.impl;
+
+import zeroone.developers.employee.exception.CalculationTableException;
+import zeroone.developers.employee.repository.CalculationTableRepository;
+
+import java.sql.Date;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * Shared resolution of the month ranges the read models are rebuilt and verified for.
+ */
+final class ReportPeriods {
+
+    private ReportPeriods() {
+    }
+
+
+    /**
+     * Resolve the [start, end) month range for the requested period.
+     *
+     * If year is null the range covers every month that has calculations,
+     * if month is null it covers the whole year.
+     *
+     * @param year  the year, or null for all data
+     * @param month the month, or null for the whole year
+     * @param calculationTableRepository the repository used to find the first and last calculation dates
+     * @return the first day of the range and the first day after it, or null if there is no data
+     * @throws CalculationTableException if the year or month is out of range
+     */
+    static LocalDate[] resolveRange(Integer year, Integer month, CalculationTableRepository calculationTableRepository) {
+        if (year == null) {
+            Date first = calculationTableRepository.findFirstCalculationDate();
+            Date last = calculationTableRepository.findLastCalculationDate();
+            if (first == null || last == null) {
+                return null;
+            }
+            return new LocalDate[]{
+                    first.toLocalDate().withDayOfMonth(1),
+                    last.toLocalDate().withDayOfMonth(1).plusMonths(1)};
+        }
+        try {
+            if (month == null) {
+                LocalDate start = LocalDate.of(year, 1, 1);
+                return new LocalDate[]{start, start.plusYears(1)};
+            }
+            LocalDate start = YearMonth.of(year, month).atDay(1);
+            return new LocalDate[]{start, start.plusMonths(1)};
+        } catch (DateTimeException e) {
+            throw new CalculationTableException("Invalid period: " + year + (month != null ? "-" + month : ""));
+        }
+    }
+}
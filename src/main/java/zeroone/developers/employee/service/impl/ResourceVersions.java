@@ -0,0 +1,110 @@
+package zeroone.developers.employee.service.impl;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory versions of regions, organizations and employees, used as strong ETags of their GET responses.
+ * <p>
+ * Every write bumps the versions of the data it changed once its transaction has committed, and the controllers
+ * read the version before the data, so a response is never tagged with a version newer than its content.
+ * Employees are versioned in a fixed number of stripes by ID: a write to one employee also changes the ETag of
+ * the others in its stripe, which costs those clients one full response but keeps the memory constant.
+ * ETags start with a random epoch, so tags of another instance or of an earlier run never match.
+ * <p>
+ * The versions assume a single application instance: a write served by another instance does not change them,
+ * so behind a load balancer a client could keep getting 304 for data changed elsewhere. Writes bypassing the
+ * services, e.g. manual SQL, are likewise not seen until the next restart. The employee import bumps the employee
+ * versions itself; archiving or dropping calculation partitions changes none of the tagged resources.
+ */
+@Component
+public class ResourceVersions {
+
+    private static final int EMPLOYEE_STRIPES = 4096;
+
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() >>> 1, 36);
+    private final AtomicLong regions = new AtomicLong();
+    private final AtomicLong organizations = new AtomicLong();
+    private final AtomicLong employees = new AtomicLong();
+    private final AtomicLongArray employeeStripes = new AtomicLongArray(EMPLOYEE_STRIPES);
+
+
+    /**
+     * @param page the parameters identifying the requested page, such as its cursor, size and direction
+     * @return the ETag of one page of the region list
+     */
+    public String regionsTag(String page) {
+        return tag(regions.get() + "." + pageKey(page));
+    }
+
+
+    /**
+     * @param page the parameters identifying the requested page, such as its cursor, size and direction
+     * @return the ETag of one page of the organization list, whose entries embed their region and parent chain
+     */
+    public String organizationsTag(String page) {
+        return tag(organizations.get() + "." + regions.get() + "." + pageKey(page));
+    }
+
+
+    /**
+     * @return the ETag of one employee, who embeds their organization
+     */
+    public String employeeTag(long id) {
+        return tag(employeeStripes.get(stripe(id)) + "." + employees.get()
+                + "." + organizations.get() + "." + regions.get());
+    }
+
+
+    /**
+     * Change the region version once the current transaction has committed.
+     */
+    public void regionsChanged() {
+        TransactionHooks.afterCommit(regions::incrementAndGet);
+    }
+
+
+    /**
+     * Change the organization version once the current transaction has committed.
+     */
+    public void organizationsChanged() {
+        TransactionHooks.afterCommit(organizations::incrementAndGet);
+    }
+
+
+    /**
+     * Change the version of one employee once the current transaction has committed.
+     *
+     * @param id the ID of the employee
+     */
+    public void employeeChanged(long id) {
+        TransactionHooks.afterCommit(() -> employeeStripes.incrementAndGet(stripe(id)));
+    }
+
+
+    /**
+     * Change the version of every employee once the current transaction has committed.
+     * Used by bulk writes that do not track the IDs they touched.
+     */
+    public void employeesChanged() {
+        TransactionHooks.afterCommit(employees::incrementAndGet);
+    }
+
+
+    private String tag(Object version) {
+        return "\"" + epoch + "-" + version + "\"";
+    }
+
+
+    private static String pageKey(String page) {
+        return Integer.toHexString(page.hashCode());
+    }
+
+
+    private static int stripe(long id) {
+        return (int) (Long.hashCode(id * 0x9e3779b97f4a7c15L) & (EMPLOYEE_STRIPES - 1));
+    }
+}
@@ -0,0 +1,88 @@
+package zeroone.developers.employee.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import zeroone.developers.employee.payload.SlowQueryRow;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Ring buffer of the most recent statements slower than the threshold.
+ * <p>
+ * Statements are reported by the connection wrapper of {@code SlowQueryConfig}; once the buffer is full
+ * each new statement replaces the oldest one. Recording is lock-free, so concurrent slow statements never
+ * wait for each other.
+ */
+@Component
+public class SlowQueryLog {
+
+    private final long thresholdNanos;
+    private final AtomicReferenceArray<SlowQueryRow> entries;
+    private final AtomicLong next = new AtomicLong();
+    private final Counter slowCounter;
+
+    /**
+     * Constructor with the threshold and the size of the buffer.
+     *
+     * @param threshold the execution time from which a statement is recorded
+     * @param capacity the number of statements kept
+     * @param meterRegistry the registry the number of slow statements is published to
+     */
+    @Autowired
+    public SlowQueryLog(@Value("${queries.slow.threshold:PT0.5S}") Duration threshold,
+                        @Value("${queries.slow.capacity:200}") int capacity,
+                        MeterRegistry meterRegistry) {
+        this.thresholdNanos = threshold.toNanos();
+        this.entries = new AtomicReferenceArray<>(Math.max(1, capacity));
+        this.slowCounter = Counter.builder("jdbc.statements.slow")
+                .description("Statements slower than the slow-query threshold")
+                .register(meterRegistry);
+    }
+
+
+    /**
+     * @return true if a statement that took the given time is recorded
+     */
+    public boolean isSlow(long nanos) {
+        return nanos >= thresholdNanos;
+    }
+
+
+    public void record(SlowQueryRow row) {
+        long index = next.getAndIncrement();
+        entries.set((int) (index % entries.length()), row);
+        slowCounter.increment();
+    }
+
+
+    /**
+     * @param limit the maximum number of statements to return
+     * @return the recorded statements, most recent first
+     */
+    public List<SlowQueryRow> recent(int limit) {
+        int capacity = entries.length();
+        long last = next.get();
+        List<SlowQueryRow> rows = new ArrayList<>(Math.min(limit, capacity));
+        for (long index = last - 1; index >= Math.max(0, last - capacity) && rows.size() < limit; index--) {
+            SlowQueryRow row = entries.get((int) (index % capacity));
+            if (row != null) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+
+    public void clear() {
+        for (int i = 0; i < entries.length(); i++) {
+            entries.set(i, null);
+        }
+    }
+}
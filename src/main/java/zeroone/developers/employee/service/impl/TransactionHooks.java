@@ -0,0 +1,34 @@
+package zeroone.developers.employee.service.impl;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers in-memory side effects of a write, such as cache invalidations and version bumps, until its
+ * transaction has committed, so concurrent readers never see them before the data and a rollback leaves
+ * them undone.
+ */
+final class TransactionHooks {
+
+    private TransactionHooks() {
+    }
+
+
+    /**
+     * Run the action after the current transaction commits, or right away if there is no transaction.
+     *
+     * @param action the action to run
+     */
+    static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,54 @@
+package zeroone.developers.employee.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import zeroone.developers.employee.mapper.CalculationTableMapper;
+import zeroone.developers.employee.mapper.EmployeeMapper;
+import zeroone.developers.employee.payload.CalculationTableDto;
+import zeroone.developers.employee.payload.CustomApiResponse;
+import zeroone.developers.employee.payload.EmployeeDto;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures JSON serialization of CustomApiResponse wrappers around large lists,
+ * as written by the list endpoints, with an ObjectMapper configured like Spring Boot's.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ApiResponseSerializationBenchmark {
+
+    @Param({"100", "10000"})
+    private int rows;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private CustomApiResponse<List<EmployeeDto>> employeeResponse;
+    private CustomApiResponse<List<CalculationTableDto>> calculationResponse;
+
+    @Setup
+    public void setup() {
+        BenchmarkDataset dataset = BenchmarkDataset.generate(rows, 1, BenchmarkDataset.DEFAULT_SEED);
+        employeeResponse = new CustomApiResponse<>("Successfully retrieved the list of employees.", true,
+                dataset.employees().stream().map(EmployeeMapper::toDto).toList(), "aWQ6MTAw");
+        calculationResponse = new CustomApiResponse<>("Successfully retrieved the list of calculations.", true,
+                dataset.calculations().stream().map(CalculationTableMapper::toDto).toList(), "aWQ6MTAw");
+    }
+
+    @Benchmark
+    public byte[] serializeEmployees() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(employeeResponse);
+    }
+
+    @Benchmark
+    public byte[] serializeCalculations() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(calculationResponse);
+    }
+}
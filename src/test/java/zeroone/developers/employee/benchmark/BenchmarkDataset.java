@@ -0,0 +1,97 @@
+package zeroone.developers.employee.benchmark;
+
+import zeroone.developers.employee.entity.CalculationTable;
+import zeroone.developers.employee.entity.Employee;
+import zeroone.developers.employee.entity.Organization;
+import zeroone.developers.employee.entity.Region;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * In-process dataset generator for the benchmarks.
+ * <p>
+ * Builds a fixed seed hierarchy of regions and organizations (three levels deep),
+ * employees spread over the organizations and one month of calculations per employee,
+ * so every run of every benchmark sees the same data without a database.
+ */
+public final class BenchmarkDataset {
+
+    public static final long DEFAULT_SEED = 20240915L;
+
+    private static final String[] CALCULATION_TYPES = {"SALARY", "VACATION", "AWARD", "PENSION"};
+
+    private final List<Region> regions = new ArrayList<>();
+    private final List<Organization> organizations = new ArrayList<>();
+    private final List<Employee> employees = new ArrayList<>();
+    private final List<CalculationTable> calculations = new ArrayList<>();
+
+    private BenchmarkDataset() {
+    }
+
+
+    /**
+     * Generate a dataset.
+     *
+     * @param employeeCount the number of employees
+     * @param calculationsPerEmployee the number of calculations of every employee in September 2024
+     * @param seed the random seed; the same seed always yields the same dataset
+     * @return the generated dataset
+     */
+    public static BenchmarkDataset generate(int employeeCount, int calculationsPerEmployee, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        BenchmarkDataset dataset = new BenchmarkDataset();
+
+        for (long r = 1; r <= 12; r++) {
+            dataset.regions.add(new Region(r, "Region " + r));
+        }
+        long organizationId = 1;
+        for (Region region : dataset.regions) {
+            Organization holding = new Organization(organizationId++, "Holding " + region.getId(), region, null);
+            dataset.organizations.add(holding);
+            for (int c = 0; c < 4; c++) {
+                Organization company = new Organization(organizationId++, "Company " + organizationId, region, holding);
+                dataset.organizations.add(company);
+                for (int b = 0; b < 3; b++) {
+                    dataset.organizations.add(new Organization(organizationId++, "Branch " + organizationId, region, company));
+                }
+            }
+        }
+
+        Date hireDate = Date.valueOf("2022-01-01");
+        long calculationId = 1;
+        for (long e = 1; e <= employeeCount; e++) {
+            Organization organization = dataset.organizations.get(random.nextInt(dataset.organizations.size()));
+            Employee employee = new Employee(e, "First" + e, "Last" + e, String.format("%014d", e), hireDate, organization);
+            dataset.employees.add(employee);
+            for (int c = 0; c < calculationsPerEmployee; c++) {
+                dataset.calculations.add(new CalculationTable(calculationId++, employee,
+                        1000.0 + random.nextInt(9000), 1.0,
+                        Date.valueOf("2024-09-" + String.format("%02d", 1 + random.nextInt(30))),
+                        random.nextInt(10) == 0
+                                ? dataset.organizations.get(random.nextInt(dataset.organizations.size()))
+                                : organization,
+                        CALCULATION_TYPES[random.nextInt(CALCULATION_TYPES.length)]));
+            }
+        }
+        return dataset;
+    }
+
+    public List<Region> regions() {
+        return regions;
+    }
+
+    public List<Organization> organizations() {
+        return organizations;
+    }
+
+    public List<Employee> employees() {
+        return employees;
+    }
+
+    public List<CalculationTable> calculations() {
+        return calculations;
+    }
+}
@@ -0,0 +1,132 @@
+package zeroone.developers.employee.benchmark;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import zeroone.developers.employee.entity.Employee;
+import zeroone.developers.employee.entity.Organization;
+import zeroone.developers.employee.entity.Region;
+import zeroone.developers.employee.payload.BatchResult;
+import zeroone.developers.employee.payload.CalculationTableDto;
+import zeroone.developers.employee.payload.EmployeeDto;
+import zeroone.developers.employee.payload.OrganizationDto;
+import zeroone.developers.employee.repository.EmployeeRepository;
+import zeroone.developers.employee.repository.OrganizationRepository;
+import zeroone.developers.employee.repository.RegionRepository;
+import zeroone.developers.employee.service.CalculationTableService;
+import zeroone.developers.employee.service.MonthlyEmployeeTotalService;
+import zeroone.developers.employee.service.OrganizationRollupService;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares rows/sec of the single-row calculation path with the batch path against a real database.
+ * <p>
+ * Run with {@code mvn test -Dtest=CalculationIngestBenchmark -Dbenchmark.db=true}
+ * against the PostgreSQL instance configured in application.properties.
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark.db", matches = "true")
+public class CalculationIngestBenchmark {
+
+    private static final int SINGLE_ROWS = 500;
+    private static final int BATCH_ROWS = 10_000;
+    private static final int YEAR = 2024;
+    private static final int MONTHS = 9;
+
+    @Autowired
+    private CalculationTableService calculationTableService;
+
+    @Autowired
+    private RegionRepository regionRepository;
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private MonthlyEmployeeTotalService monthlyEmployeeTotalService;
+
+    @Autowired
+    private OrganizationRollupService organizationRollupService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Region region;
+    private Organization organization;
+    private Employee employee;
+
+    @BeforeEach
+    public void setup() {
+        long suffix = System.nanoTime();
+        region = regionRepository.save(new Region(null, "Bench " + suffix % 100000));
+        organization = organizationRepository.save(new Organization(null, "Bench org " + suffix, region, null));
+        employee = employeeRepository.save(new Employee(null, "Bench", "Employee " + suffix,
+                Long.toString(suffix), Date.valueOf("2024-01-01"), organization));
+    }
+
+    @AfterEach
+    public void cleanup() {
+        // Remove the calculations, then bring the totals and rollups of the months they were spread over back in line
+        jdbcTemplate.update("delete from calculation_table where employee_id = ?", employee.getId());
+        for (int month = 1; month <= MONTHS; month++) {
+            monthlyEmployeeTotalService.rebuildTotals(YEAR, month);
+            organizationRollupService.rebuildRollups(YEAR, month);
+        }
+        employeeRepository.delete(employee);
+        organizationRepository.delete(organization);
+        regionRepository.delete(region);
+    }
+
+    @Test
+    public void compareSingleRowAndBatchThroughput() {
+        // Warm up both paths; the batch also seeds the employee's first calculation
+        calculationTableService.saveCalculationsBatch(rows(employee.getId(), organization.getId(), 100));
+        for (int i = 0; i < 50; i++) {
+            calculationTableService.saveCalculation(row(employee.getId(), organization.getId(), i));
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < SINGLE_ROWS; i++) {
+            calculationTableService.saveCalculation(row(employee.getId(), organization.getId(), i));
+        }
+        double singleRowsPerSecond = SINGLE_ROWS / ((System.nanoTime() - start) / 1e9);
+
+        List<CalculationTableDto> batch = rows(employee.getId(), organization.getId(), BATCH_ROWS);
+        start = System.nanoTime();
+        BatchResult result = calculationTableService.saveCalculationsBatch(batch);
+        double batchRowsPerSecond = BATCH_ROWS / ((System.nanoTime() - start) / 1e9);
+
+        assertEquals(BATCH_ROWS, result.stored());
+        System.out.printf("single-row: %.0f rows/s, batch: %.0f rows/s, speed-up: %.1fx%n",
+                singleRowsPerSecond, batchRowsPerSecond, batchRowsPerSecond / singleRowsPerSecond);
+    }
+
+    private static List<CalculationTableDto> rows(Long employeeId, Long organizationId, int count) {
+        List<CalculationTableDto> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(row(employeeId, organizationId, i));
+        }
+        return rows;
+    }
+
+    private static CalculationTableDto row(Long employeeId, Long organizationId, int i) {
+        EmployeeDto employee = new EmployeeDto();
+        employee.setId(employeeId);
+        OrganizationDto organization = new OrganizationDto();
+        organization.setId(organizationId);
+        return new CalculationTableDto(null, employee, 1000.0 + i, 1.0,
+                Date.valueOf(YEAR + "-0" + (1 + i % MONTHS) + "-15"), organization, "SALARY");
+    }
+}
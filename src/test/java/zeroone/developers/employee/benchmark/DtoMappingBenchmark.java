@@ -0,0 +1,129 @@
+package zeroone.developers.employee.benchmark;
+
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import zeroone.developers.employee.entity.CalculationTable;
+import zeroone.developers.employee.entity.Employee;
+import zeroone.developers.employee.entity.Organization;
+import zeroone.developers.employee.entity.Region;
+import zeroone.developers.employee.mapper.CalculationTableMapper;
+import zeroone.developers.employee.mapper.EmployeeMapper;
+import zeroone.developers.employee.mapper.OrganizationMapper;
+import zeroone.developers.employee.mapper.RegionMapper;
+import zeroone.developers.employee.payload.CalculationTableDto;
+import zeroone.developers.employee.payload.EmployeeDto;
+import zeroone.developers.employee.payload.OrganizationDto;
+import zeroone.developers.employee.payload.RegionDto;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Compares the reflective ModelMapper with the hand-written mappers for entity to DTO conversion
+ * of the four entity/DTO pairs, for one object and for a list of 10k objects.
+ * <p>
+ * Run {@link #main(String[])} to get ns/op and the allocated bytes per operation (gc.alloc.rate.norm).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DtoMappingBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    @Param({"region", "organization", "employee", "calculation"})
+    private String pair;
+
+    private final ModelMapper modelMapper = new ModelMapper();
+
+    private Object single;
+    private List<Object> list;
+    private Function<Object, Object> reflective;
+    private Function<Object, Object> handWritten;
+
+    @Setup
+    public void setup() {
+        Region region = new Region(1L, "Tashkent");
+        Organization root = new Organization(1L, "Zero:One Group", region, null);
+        Organization organization = new Organization(2L, "Zero:One Academy", region, root);
+
+        list = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            Employee employee = new Employee((long) i, "First" + i, "Last" + i,
+                    String.format("%014d", i), Date.valueOf("2022-01-01"), organization);
+            list.add(switch (pair) {
+                case "region" -> new Region((long) i, "Region" + i);
+                case "organization" -> new Organization((long) i, "Organization" + i, region, root);
+                case "employee" -> employee;
+                default -> new CalculationTable((long) i, employee, 5000.0 + i, 1.0,
+                        Date.valueOf("2024-09-15"), organization, "SALARY");
+            });
+        }
+        single = list.get(0);
+
+        switch (pair) {
+            case "region" -> {
+                reflective = source -> modelMapper.map(source, RegionDto.class);
+                handWritten = source -> RegionMapper.toDto((Region) source);
+            }
+            case "organization" -> {
+                reflective = source -> modelMapper.map(source, OrganizationDto.class);
+                handWritten = source -> OrganizationMapper.toDto((Organization) source);
+            }
+            case "employee" -> {
+                reflective = source -> modelMapper.map(source, EmployeeDto.class);
+                handWritten = source -> EmployeeMapper.toDto((Employee) source);
+            }
+            default -> {
+                reflective = source -> modelMapper.map(source, CalculationTableDto.class);
+                handWritten = source -> CalculationTableMapper.toDto((CalculationTable) source);
+            }
+        }
+    }
+
+    @Benchmark
+    public Object modelMapperSingle() {
+        return reflective.apply(single);
+    }
+
+    @Benchmark
+    public Object mapperSingle() {
+        return handWritten.apply(single);
+    }
+
+    @Benchmark
+    public List<Object> modelMapperList() {
+        return mapAll(reflective);
+    }
+
+    @Benchmark
+    public List<Object> mapperList() {
+        return mapAll(handWritten);
+    }
+
+    private List<Object> mapAll(Function<Object, Object> mapper) {
+        List<Object> dtos = new ArrayList<>(list.size());
+        for (Object source : list) {
+            dtos.add(mapper.apply(source));
+        }
+        return dtos;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .include(DtoMappingBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,135 @@
+package zeroone.developers.employee.benchmark;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import zeroone.developers.employee.entity.Organization;
+import zeroone.developers.employee.entity.Region;
+import zeroone.developers.employee.payload.EmployeeDto;
+import zeroone.developers.employee.payload.EmployeeImportRejection;
+import zeroone.developers.employee.payload.EmployeeImportResult;
+import zeroone.developers.employee.payload.OrganizationDto;
+import zeroone.developers.employee.repository.OrganizationRepository;
+import zeroone.developers.employee.repository.RegionRepository;
+import zeroone.developers.employee.service.EmployeeImportService;
+import zeroone.developers.employee.service.EmployeeService;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks the CSV import against a real database and compares its rows/sec with creating employees one by one.
+ * <p>
+ * Run with {@code mvn test -Dtest=EmployeeImportBenchmark -Dbenchmark.db=true}
+ * against the PostgreSQL instance configured in application.properties.
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark.db", matches = "true")
+public class EmployeeImportBenchmark {
+
+    private static final int SINGLE_ROWS = 1_000;
+    private static final int IMPORT_ROWS = 50_000;
+
+    @Autowired
+    private EmployeeImportService employeeImportService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private RegionRepository regionRepository;
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String prefix;
+    private Organization organization;
+
+    @BeforeEach
+    public void setup() {
+        prefix = "Imp" + System.nanoTime();
+        Region region = regionRepository.save(new Region(null, "Import " + prefix.substring(prefix.length() - 6)));
+        organization = organizationRepository.save(new Organization(null, "Import org " + prefix, region, null));
+    }
+
+    @AfterEach
+    public void cleanup() {
+        jdbcTemplate.update("delete from employee where organization_id = ?", organization.getId());
+    }
+
+    @Test
+    public void rejectsInvalidAndRepeatedRows() throws Exception {
+        String csv = "firstName,lastName,pinfl,hireDate,organization\n" +
+                prefix + "A,Valid," + prefix + "1,2024-05-10," + organization.getId() + "\n" +
+                prefix + "B,ByName," + prefix + "2,2024-05-10,\"" + organization.getName() + "\"\n" +
+                prefix + "A,Valid," + prefix + "3,2024-05-10," + organization.getId() + "\n" +
+                prefix + "C,Other," + prefix + "1,2024-05-10," + organization.getId() + "\n" +
+                prefix + "D,BadDate," + prefix + "4,2024-02-30," + organization.getId() + "\n" +
+                prefix + "E,NoOrg," + prefix + "5,2024-05-10,-1\n" +
+                ",Blank," + prefix + "6,2024-05-10," + organization.getId() + "\n";
+
+        EmployeeImportResult result = employeeImportService.importEmployees(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), true);
+
+        assertEquals(7, result.received());
+        assertEquals(2, result.imported());
+        assertEquals(List.of(3L, 4L, 5L, 6L, 7L),
+                result.rejections().stream().map(EmployeeImportRejection::row).toList());
+        assertEquals("Repeats the first name and last name of row 1", result.rejections().get(0).reason());
+        assertEquals("Repeats the pinfl of row 1", result.rejections().get(1).reason());
+        assertEquals("Hire date must be a date in YYYY-MM-DD format", result.rejections().get(2).reason());
+        assertEquals("Organization not found", result.rejections().get(3).reason());
+        assertEquals("First name is required", result.rejections().get(4).reason());
+
+        // Importing the same file again rejects every row as already existing
+        EmployeeImportResult again = employeeImportService.importEmployees(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), true);
+        assertEquals(0, again.imported());
+    }
+
+    @Test
+    public void compareSingleRowAndImportThroughput() throws Exception {
+        long start = System.nanoTime();
+        for (int i = 0; i < SINGLE_ROWS; i++) {
+            employeeService.saveEmployee(employee(i));
+        }
+        double singleRowsPerSecond = SINGLE_ROWS / ((System.nanoTime() - start) / 1e9);
+
+        StringBuilder csv = new StringBuilder("firstName,lastName,pinfl,hireDate,organization\n");
+        for (int i = SINGLE_ROWS; i < SINGLE_ROWS + IMPORT_ROWS; i++) {
+            csv.append(prefix).append(',').append("Employee ").append(i).append(',')
+                    .append(prefix).append('-').append(i).append(",2024-01-01,").append(organization.getId()).append('\n');
+        }
+        byte[] body = csv.toString().getBytes(StandardCharsets.UTF_8);
+        start = System.nanoTime();
+        EmployeeImportResult result = employeeImportService.importEmployees(new ByteArrayInputStream(body), true);
+        double importRowsPerSecond = IMPORT_ROWS / ((System.nanoTime() - start) / 1e9);
+
+        assertEquals(IMPORT_ROWS, result.imported());
+        System.out.printf("single-row: %.0f rows/s, import: %.0f rows/s, speed-up: %.1fx%n",
+                singleRowsPerSecond, importRowsPerSecond, importRowsPerSecond / singleRowsPerSecond);
+    }
+
+    private EmployeeDto employee(int i) {
+        EmployeeDto employee = new EmployeeDto();
+        employee.setFirstName(prefix);
+        employee.setLastName("Employee " + i);
+        employee.setPinfl(prefix + "-" + i);
+        employee.setHireDate(Date.valueOf("2024-01-01"));
+        OrganizationDto organizationDto = new OrganizationDto();
+        organizationDto.setId(organization.getId());
+        employee.setOrganization(organizationDto);
+        return employee;
+    }
+}
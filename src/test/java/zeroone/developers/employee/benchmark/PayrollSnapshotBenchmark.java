@@ -0,0 +1,113 @@
+package zeroone.developers.employee.benchmark;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import zeroone.developers.employee.repository.CalculationTableRepository;
+import zeroone.developers.employee.repository.MonthlyEmployeeTotalRepository;
+import zeroone.developers.employee.service.MonthlyEmployeeTotalService;
+import zeroone.developers.employee.service.impl.PayrollMonthSnapshot;
+import zeroone.developers.employee.service.impl.PayrollSnapshotStore;
+
+import java.sql.Date;
+import java.time.YearMonth;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the monthly reports answered by SQL with the same reports answered from the in-memory snapshot.
+ * <p>
+ * A far-future month is filled with {@link #ROWS} calculations spread over the existing employees, so the
+ * database needs at least one employee. Run with {@code mvn test -Dtest=PayrollSnapshotBenchmark -Dbenchmark.db=true}
+ * against the PostgreSQL instance configured in application.properties.
+ */
+@SpringBootTest(properties = "reports.snapshot.enabled=true")
+@EnabledIfSystemProperty(named = "benchmark.db", matches = "true")
+public class PayrollSnapshotBenchmark {
+
+    private static final YearMonth MONTH = YearMonth.of(2199, 1);
+    private static final int ROWS = Integer.getInteger("benchmark.snapshot.rows", 10_000_000);
+    private static final int ITERATIONS = 10;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MonthlyEmployeeTotalService monthlyEmployeeTotalService;
+
+    @Autowired
+    private MonthlyEmployeeTotalRepository monthlyEmployeeTotalRepository;
+
+    @Autowired
+    private CalculationTableRepository calculationTableRepository;
+
+    @Autowired
+    private PayrollSnapshotStore payrollSnapshotStore;
+
+    @BeforeEach
+    public void fillMonth() {
+        // Negative IDs keep the generated rows clear of the sequence the application draws from
+        jdbcTemplate.update("insert into calculation_table (id, employee_id, amount, rate, date, organization_id, calculation_type) " +
+                "select -g, e.id, 1000 + g % 9000, 1.0, ? + (g % 28), " +
+                "case when g % 4 = 0 then null else e.organization_id end, " +
+                "case when g % 3 = 0 then 'VACATION' when g % 5 = 0 then 'SICK_LEAVE' else 'SALARY' end " +
+                "from generate_series(1, ?) g " +
+                "join (select id, organization_id, row_number() over (order by id) - 1 as n, count(*) over () as total " +
+                "from employee) e on e.n = g % e.total",
+                Date.valueOf(MONTH.atDay(1)), ROWS);
+        monthlyEmployeeTotalService.rebuildTotals(MONTH.getYear(), MONTH.getMonthValue());
+    }
+
+    @AfterEach
+    public void clearMonth() {
+        jdbcTemplate.update("delete from calculation_table where date >= ? and date < ?",
+                Date.valueOf(MONTH.atDay(1)), Date.valueOf(MONTH.plusMonths(1).atDay(1)));
+        monthlyEmployeeTotalService.rebuildTotals(MONTH.getYear(), MONTH.getMonthValue());
+        payrollSnapshotStore.invalidateAll();
+    }
+
+    @Test
+    public void compareSqlAndSnapshotReports() {
+        Date startDate = Date.valueOf(MONTH.atDay(1));
+        Date endDate = Date.valueOf(MONTH.plusMonths(1).atDay(1));
+
+        long start = System.nanoTime();
+        PayrollMonthSnapshot snapshot = payrollSnapshotStore.find(MONTH);
+        System.out.printf("snapshot load: %d rows in %d ms%n", snapshot.size(), (System.nanoTime() - start) / 1_000_000);
+        assertEquals(ROWS, snapshot.size());
+
+        compare("high salary",
+                () -> monthlyEmployeeTotalRepository.findEmployeesWithHigherSalary(startDate, 10000).size(),
+                () -> snapshot.findEmployeesWithHigherSalary(10000).size());
+        compare("region",
+                () -> monthlyEmployeeTotalRepository.findEmployeesByRegion(startDate).size(),
+                () -> snapshot.findEmployeesByRegion().size());
+        compare("average per organization",
+                () -> calculationTableRepository.findAverageSalaryPerOrganization(startDate, endDate).size(),
+                () -> snapshot.findAverageSalaryPerOrganization().size());
+        compare("salaries and vacations",
+                () -> calculationTableRepository.findEmployeesWithSalariesAndVacations(startDate, endDate).size(),
+                () -> snapshot.findEmployeesWithSalariesAndVacations().size());
+    }
+
+    private static void compare(String report, Supplier<Integer> sql, Supplier<Integer> snapshot) {
+        assertEquals(sql.get(), snapshot.get(), report + " row count");
+        double sqlMillis = time(sql);
+        double snapshotMillis = time(snapshot);
+        System.out.printf("%s: sql %.1f ms, snapshot %.1f ms, speed-up %.1fx%n",
+                report, sqlMillis, snapshotMillis, sqlMillis / snapshotMillis);
+    }
+
+    private static double time(Supplier<Integer> report) {
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            report.get();
+        }
+        return (System.nanoTime() - start) / 1e6 / ITERATIONS;
+    }
+}
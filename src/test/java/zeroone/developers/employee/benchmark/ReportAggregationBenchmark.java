@@ -0,0 +1,70 @@
+package zeroone.developers.employee.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import zeroone.developers.employee.entity.CalculationTable;
+import zeroone.developers.employee.payload.HighSalaryRow;
+import zeroone.developers.employee.payload.RegionSummaryRow;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures aggregating one month of calculations into the high-salary and region report rows in memory,
+ * the work the monthly totals read model does in the database.
+ * It is the baseline for in-JVM report paths.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReportAggregationBenchmark {
+
+    private static final double THRESHOLD = 40_000.0;
+
+    @Param({"10000", "100000"})
+    private int employees;
+
+    private List<CalculationTable> calculations;
+
+    @Setup
+    public void setup() {
+        calculations = BenchmarkDataset.generate(employees, 8, BenchmarkDataset.DEFAULT_SEED).calculations();
+    }
+
+    @Benchmark
+    public List<HighSalaryRow> highSalary() {
+        Map<String, Double> totals = new HashMap<>();
+        for (CalculationTable calculation : calculations) {
+            totals.merge(calculation.getEmployee().getPinfl(), calculation.getAmount(), Double::sum);
+        }
+        List<HighSalaryRow> rows = new ArrayList<>();
+        totals.forEach((pinfl, total) -> {
+            if (total > THRESHOLD) {
+                rows.add(new HighSalaryRow(pinfl, total));
+            }
+        });
+        return rows;
+    }
+
+    @Benchmark
+    public List<RegionSummaryRow> regionSummary() {
+        Map<String, Double> totals = new HashMap<>();
+        Map<String, Set<Long>> organizations = new HashMap<>();
+        for (CalculationTable calculation : calculations) {
+            String pinfl = calculation.getEmployee().getPinfl();
+            totals.merge(pinfl, calculation.getAmount(), Double::sum);
+            organizations.computeIfAbsent(pinfl, key -> new HashSet<>()).add(calculation.getEmployee().getOrganization().getId());
+        }
+        List<RegionSummaryRow> rows = new ArrayList<>(totals.size());
+        totals.forEach((pinfl, total) ->
+                rows.add(new RegionSummaryRow(pinfl, (long) organizations.get(pinfl).size(), total)));
+        return rows;
+    }
+}
@@ -0,0 +1,136 @@
+package zeroone.developers.employee.benchmark;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import zeroone.developers.employee.EmployeeApplication;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the region report under concurrent load with platform request threads and with virtual threads.
+ * <p>
+ * Each mode starts the application on a random port and runs {@link #CLIENTS} closed-loop clients for
+ * {@link #DURATION}; throughput, latency percentiles and failed requests are printed per mode.
+ * Run with {@code mvn test -Dtest=ReportLoadTest -Dbenchmark.db=true}
+ * against the PostgreSQL instance configured in application.properties.
+ */
+@EnabledIfSystemProperty(named = "benchmark.db", matches = "true")
+public class ReportLoadTest {
+
+    private static final int CLIENTS = 400;
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+    private static final Duration DURATION = Duration.ofSeconds(20);
+
+    @Test
+    public void compareVirtualAndPlatformThreads() throws Exception {
+        LoadResult platform = run(false);
+        LoadResult virtual = run(true);
+
+        System.out.println("platform: " + platform);
+        System.out.println("virtual:  " + virtual);
+        assertTrue(platform.requests() > 0 && virtual.requests() > 0);
+    }
+
+    private static LoadResult run(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(EmployeeApplication.class)
+                .properties("server.port=0", "spring.threads.virtual.enabled=" + virtualThreads)
+                .run()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            LocalDate month = LocalDate.now().minusMonths(1);
+            URI uri = URI.create("http://localhost:" + port + "/api/calculations/reports/region?year="
+                    + month.getYear() + "&month=" + month.getMonthValue());
+
+            load(uri, WARMUP);
+            return load(uri, DURATION);
+        }
+    }
+
+    private static LoadResult load(URI uri, Duration duration) throws Exception {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET().build();
+        AtomicLong errors = new AtomicLong();
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        List<Future<long[]>> futures = new ArrayList<>();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CLIENTS; i++) {
+                futures.add(clients.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                                continue;
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = System.nanoTime() - start;
+                    }
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+        }
+
+        long[] all = futures.stream()
+                .map(ReportLoadTest::join)
+                .flatMapToLong(Arrays::stream)
+                .sorted()
+                .toArray();
+        return new LoadResult(all, errors.get(), duration);
+    }
+
+    private static long[] join(Future<long[]> future) {
+        try {
+            return future.get();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record LoadResult(long[] latencies, long errors, Duration duration) {
+
+        long requests() {
+            return latencies.length;
+        }
+
+        double percentileMillis(double percentile) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.min(latencies.length - 1, Math.ceil(percentile * latencies.length) - 1);
+            return latencies[Math.max(index, 0)] / 1e6;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%.0f req/s, p50 %.1f ms, p99 %.1f ms, max %.1f ms, errors %d",
+                    requests() / (double) duration.toSeconds(),
+                    percentileMillis(0.50), percentileMillis(0.99), percentileMillis(1.0), errors);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package zeroone.developers.employee.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import zeroone.developers.employee.payload.PaidEmployeeRow;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the old salaries-and-vacations report rows ({@code distinct e.*, c.amount} as Object arrays)
+ * with the typed PaidEmployeeRow projection for 10k rows.
+ * <p>
+ * Run {@link #main(String[])} to print the JSON payload size of both shapes and
+ * the allocated bytes per operation (gc.alloc.rate.norm) of building and serializing them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReportRowBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private List<Object[]> wideRows;
+    private List<PaidEmployeeRow> typedRows;
+
+    @Setup
+    public void setup() {
+        wideRows = buildWideRows();
+        typedRows = buildTypedRows();
+    }
+
+    @Benchmark
+    public List<Object[]> buildWide() {
+        return buildWideRows();
+    }
+
+    @Benchmark
+    public List<PaidEmployeeRow> buildTyped() {
+        return buildTypedRows();
+    }
+
+    @Benchmark
+    public byte[] serializeWide() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(wideRows);
+    }
+
+    @Benchmark
+    public byte[] serializeTyped() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(typedRows);
+    }
+
+    // Columns of employee plus the amount, as returned by the former native query
+    private static List<Object[]> buildWideRows() {
+        List<Object[]> rows = new ArrayList<>(ROWS);
+        Date hireDate = Date.valueOf("2022-01-01");
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(new Object[]{(long) i, "First" + i, "Last" + i, pinfl(i), hireDate, (long) (i % 50), 5000.0 + i});
+        }
+        return rows;
+    }
+
+    private static List<PaidEmployeeRow> buildTypedRows() {
+        List<PaidEmployeeRow> rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(new PaidEmployeeRow((long) i, "First" + i, "Last" + i, pinfl(i), 5000.0 + i));
+        }
+        return rows;
+    }
+
+    private static String pinfl(int i) {
+        return String.format("%014d", i);
+    }
+
+    public static void main(String[] args) throws Exception {
+        ReportRowBenchmark benchmark = new ReportRowBenchmark();
+        benchmark.setup();
+        System.out.printf("JSON bytes per %d rows: wide=%d typed=%d%n", ROWS,
+                benchmark.serializeWide().length, benchmark.serializeTyped().length);
+
+        Options options = new OptionsBuilder()
+                .include(ReportRowBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
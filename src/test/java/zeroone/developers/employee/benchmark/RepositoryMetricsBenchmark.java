@@ -0,0 +1,66 @@
+package zeroone.developers.employee.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.data.domain.Limit;
+import zeroone.developers.employee.config.RepositoryMetricsInterceptor;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Measures the overhead RepositoryMetricsInterceptor adds to a repository call.
+ * <p>
+ * Both variants call the same in-memory page through a JDK proxy, so the difference is the interceptor:
+ * the shape bucket, two clock reads and the timer and row summary updates.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RepositoryMetricsBenchmark {
+
+    public interface PageLookup {
+        List<Long> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+    }
+
+    private static final List<Long> PAGE = LongStream.range(0, 100).boxed().toList();
+    private static final Limit LIMIT = Limit.of(100);
+
+    @Param({"false", "true"})
+    public boolean percentileHistogram;
+
+    private PageLookup plain;
+    private PageLookup instrumented;
+
+    @Setup
+    public void setup() {
+        PageLookup target = (id, limit) -> PAGE;
+        plain = proxy(target, null);
+        instrumented = proxy(target, new RepositoryMetricsInterceptor(PageLookup.class, Long.class,
+                new SimpleMeterRegistry(), new double[]{0.5, 0.95, 0.99}, percentileHistogram));
+    }
+
+    @Benchmark
+    public List<Long> plain() {
+        return plain.findByIdGreaterThanOrderByIdAsc(1L, LIMIT);
+    }
+
+    @Benchmark
+    public List<Long> instrumented() {
+        return instrumented.findByIdGreaterThanOrderByIdAsc(1L, LIMIT);
+    }
+
+    private static PageLookup proxy(PageLookup target, RepositoryMetricsInterceptor interceptor) {
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.setInterfaces(PageLookup.class);
+        if (interceptor != null) {
+            proxyFactory.addAdvice(interceptor);
+        }
+        return (PageLookup) proxyFactory.getProxy();
+    }
+}
@@ -0,0 +1,57 @@
+package zeroone.developers.employee.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import zeroone.developers.employee.entity.Employee;
+import zeroone.developers.employee.entity.Organization;
+import zeroone.developers.employee.mapper.CalculationTableMapper;
+import zeroone.developers.employee.payload.CalculationTableDto;
+import zeroone.developers.employee.service.impl.CalculationTableValidator;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures validating a full batch of calculations with the in-memory reference checks
+ * the batch endpoint uses after its two ID lookups.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidationBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    // Only findError is measured, which does not touch the repositories
+    private final CalculationTableValidator validator = new CalculationTableValidator(null, null);
+
+    private List<CalculationTableDto> batch;
+    private Set<Long> employeeIds;
+    private Set<Long> organizationIds;
+
+    @Setup
+    public void setup() {
+        BenchmarkDataset dataset = BenchmarkDataset.generate(ROWS, 1, BenchmarkDataset.DEFAULT_SEED);
+        batch = dataset.calculations().stream().map(CalculationTableMapper::toDto).toList();
+        // Every 20th row fails a check, so both the valid and the rejecting paths are exercised
+        for (int i = 0; i < batch.size(); i += 20) {
+            batch.get(i).setAmount(-1.0);
+        }
+        employeeIds = new HashSet<>();
+        dataset.employees().stream().map(Employee::getId).forEach(employeeIds::add);
+        organizationIds = new HashSet<>();
+        dataset.organizations().stream().map(Organization::getId).forEach(organizationIds::add);
+    }
+
+    @Benchmark
+    public void validateBatch(Blackhole blackhole) {
+        for (CalculationTableDto dto : batch) {
+            blackhole.consume(validator.findError(dto, employeeIds::contains, organizationIds::contains));
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package zeroone.developers.employee.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.data.domain.Limit;
+import zeroone.developers.employee.entity.Region;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class RepositoryMetricsInterceptorTest {
+
+    public interface Lookup {
+        List<Long> findExistingIds(Collection<Long> ids);
+
+        List<Region> findAllByOrderByIdAsc(Limit limit);
+
+        Optional<Region> findById(Long id);
+
+        Region findByName(String name);
+
+        long count();
+    }
+
+    private SimpleMeterRegistry meterRegistry;
+    private Lookup lookup;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        Lookup target = new Lookup() {
+            @Override
+            public List<Long> findExistingIds(Collection<Long> ids) {
+                return List.copyOf(ids);
+            }
+
+            @Override
+            public List<Region> findAllByOrderByIdAsc(Limit limit) {
+                throw new IllegalStateException("closed");
+            }
+
+            @Override
+            public Optional<Region> findById(Long id) {
+                return Optional.of(new Region(id, "Toshkent"));
+            }
+
+            @Override
+            public Region findByName(String name) {
+                return null;
+            }
+
+            @Override
+            public long count() {
+                return 42;
+            }
+        };
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.setInterfaces(Lookup.class);
+        proxyFactory.addAdvice(new RepositoryMetricsInterceptor(Lookup.class, Region.class, meterRegistry,
+                new double[]{0.5, 0.99}, false));
+        lookup = (Lookup) proxyFactory.getProxy();
+    }
+
+    @Test
+    public void tagsCallsByShape() {
+        lookup.findExistingIds(List.of(1L, 2L, 3L));
+        lookup.findExistingIds(List.of(4L, 5L));
+        lookup.findExistingIds(List.of());
+
+        assertEquals(2, timer("findExistingIds", "1-10", "success").count());
+        assertEquals(1, timer("findExistingIds", "0", "success").count());
+        DistributionSummary rows = meterRegistry.get(RepositoryMetricsInterceptor.ROWS)
+                .tags("method", "findExistingIds", "shape", "1-10").summary();
+        assertEquals(5, rows.totalAmount());
+    }
+
+    @Test
+    public void countsSingleResultsAsRows() {
+        lookup.findById(1L);
+        lookup.findByName("Samarqand");
+        lookup.count();
+
+        assertEquals(1, rows("findById").totalAmount());
+        assertEquals(1, rows("findByName").count());
+        assertEquals(0, rows("findByName").totalAmount());
+        assertEquals(1, timer("count", "none", "success").count());
+        assertNull(meterRegistry.find(RepositoryMetricsInterceptor.ROWS).tags("method", "count").summary());
+    }
+
+    @Test
+    public void recordsErrors() {
+        assertThrows(IllegalStateException.class, () -> lookup.findAllByOrderByIdAsc(Limit.of(500)));
+
+        assertEquals(1, timer("findAllByOrderByIdAsc", "101-1000", "error").count());
+        assertEquals(1, meterRegistry.get(RepositoryMetricsInterceptor.ERRORS)
+                .tags("repository", "Lookup", "exception", "IllegalStateException").counter().count());
+    }
+
+    private Timer timer(String method, String shape, String outcome) {
+        return meterRegistry.get(RepositoryMetricsInterceptor.INVOCATIONS)
+                .tags("repository", "Lookup", "method", method, "shape", shape, "outcome", outcome).timer();
+    }
+
+    private DistributionSummary rows(String method) {
+        return meterRegistry.get(RepositoryMetricsInterceptor.ROWS).tags("method", method).summary();
+    }
+}
@@ -0,0 +1,60 @@
+package zeroone.developers.employee.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import zeroone.developers.employee.payload.SlowQueryRow;
+import zeroone.developers.employee.service.impl.SlowQueryLog;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SlowQueryDataSourceTest {
+
+    private SlowQueryLog slowQueryLog;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setup() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:slow_query_" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        // A zero threshold records every statement
+        slowQueryLog = new SlowQueryLog(Duration.ZERO, 10, new SimpleMeterRegistry());
+        jdbcTemplate = new JdbcTemplate(new SlowQueryDataSource(h2, slowQueryLog));
+        jdbcTemplate.execute("create table region (id bigint primary key, name varchar(20))");
+        slowQueryLog.clear();
+    }
+
+    @Test
+    public void recordsParameterTypesAndRows() {
+        jdbcTemplate.update("insert into region values (?, ?)", 1L, "Toshkent");
+        jdbcTemplate.update("insert into region values (?, ?)", 2L, "Samarqand");
+        List<String> names = jdbcTemplate.queryForList(
+                "select name from region where id in (?, ?, ?) or name = ?", String.class, 1L, 2L, 3L, "Buxoro");
+
+        assertEquals(2, names.size());
+        SlowQueryRow query = slowQueryLog.recent(1).get(0);
+        assertEquals("select name from region where id in (?, ?, ?) or name = ?", query.sql());
+        assertEquals("(Long x 3, String)", query.parameters());
+        assertEquals(2, query.rows());
+        assertEquals("SlowQueryDataSourceTest.recordsParameterTypesAndRows", query.caller());
+
+        SlowQueryRow insert = slowQueryLog.recent(2).get(1);
+        assertEquals("(Long, String)", insert.parameters());
+        assertEquals(1, insert.rows());
+    }
+
+    @Test
+    public void recordsBatches() {
+        jdbcTemplate.batchUpdate("insert into region values (?, ?)",
+                List.of(new Object[]{1L, "Toshkent"}, new Object[]{2L, "Samarqand"}, new Object[]{3L, null}));
+
+        SlowQueryRow batch = slowQueryLog.recent(1).get(0);
+        assertEquals("(Long, null) x 3 batches", batch.parameters());
+        assertEquals(3, batch.rows());
+    }
+}
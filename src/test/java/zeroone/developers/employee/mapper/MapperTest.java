@@ -0,0 +1,60 @@
+package zeroone.developers.employee.mapper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+import zeroone.developers.employee.entity.CalculationTable;
+import zeroone.developers.employee.entity.Employee;
+import zeroone.developers.employee.entity.Organization;
+import zeroone.developers.employee.entity.Region;
+import zeroone.developers.employee.payload.CalculationTableDto;
+
+import java.sql.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Checks that the hand-written mappers produce the same DTOs and entities as the ModelMapper they replaced.
+ */
+public class MapperTest {
+
+    private final ModelMapper modelMapper = new ModelMapper();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void calculationToDtoMatchesModelMapper() throws Exception {
+        CalculationTable calculation = calculation();
+
+        assertEquals(objectMapper.writeValueAsString(modelMapper.map(calculation, CalculationTableDto.class)),
+                objectMapper.writeValueAsString(CalculationTableMapper.toDto(calculation)));
+    }
+
+    @Test
+    public void dtoToCalculationMatchesModelMapper() throws Exception {
+        CalculationTableDto calculationTableDto = CalculationTableMapper.toDto(calculation());
+
+        assertEquals(objectMapper.writeValueAsString(CalculationTableMapper.toDto(
+                        modelMapper.map(calculationTableDto, CalculationTable.class))),
+                objectMapper.writeValueAsString(CalculationTableMapper.toDto(
+                        CalculationTableMapper.toEntity(calculationTableDto))));
+    }
+
+    @Test
+    public void missingReferencesStayNull() {
+        Employee employee = new Employee(1L, "Nizomiddin", "Mirzanazarov", "1234567890", null, null);
+
+        assertNull(EmployeeMapper.toDto(employee).getOrganization());
+        assertNull(OrganizationMapper.toDto(new Organization(1L, "Zero:One Group", null, null)).getParent());
+        assertNull(RegionMapper.toDto(null));
+    }
+
+    private static CalculationTable calculation() {
+        Region region = new Region(1L, "Tashkent");
+        Organization root = new Organization(1L, "Zero:One Group", region, null);
+        Organization organization = new Organization(2L, "Zero:One Academy", region, root);
+        Employee employee = new Employee(3L, "Nizomiddin", "Mirzanazarov", "1234567890",
+                Date.valueOf("2022-01-01"), organization);
+        return new CalculationTable(4L, employee, 5000.0, 1.0, Date.valueOf("2024-09-15"), organization, "SALARY");
+    }
+}
@@ -1,4 +1,79 @@
 package zeroone.developers.employee.repository;
 
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import zeroone.developers.employee.entity.CalculationTable;
+import zeroone.developers.employee.entity.Employee;
+import zeroone.developers.employee.entity.Organization;
+import zeroone.developers.employee.entity.Region;
+
+import java.sql.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 public class CalculationTableRepositoryTest {
+
+    private static final int CALCULATIONS = 40;
+
+    @Autowired
+    private CalculationTableRepository calculationTableRepository;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    public void setup() {
+        // Three-level organization hierarchy with employees spread over all levels
+        Region region = testEntityManager.persist(new Region(null, "Tashkent"));
+        Organization root = testEntityManager.persist(new Organization(null, "Zero:One Group", region, null));
+        Organization middle = testEntityManager.persist(new Organization(null, "Zero:One Education", region, root));
+        Organization leaf = testEntityManager.persist(new Organization(null, "Zero:One Academy", region, middle));
+        Organization[] organizations = {root, middle, leaf};
+
+        for (int i = 0; i < CALCULATIONS; i++) {
+            Organization organization = organizations[i % organizations.length];
+            Employee employee = testEntityManager.persist(new Employee(null, "First" + i, "Last" + i,
+                    "pinfl" + i, Date.valueOf("2024-01-01"), organization));
+            testEntityManager.persist(new CalculationTable(null, employee, 1000.0 + i, 1.0,
+                    Date.valueOf("2024-09-15"), organization, "SALARY"));
+        }
+        testEntityManager.flush();
+        testEntityManager.clear();
+    }
+
+    @Test
+    public void listingCalculationsRunsBoundedNumberOfStatements() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<CalculationTable> calculations = calculationTableRepository.findAllByOrderByIdAsc(Limit.of(CALCULATIONS));
+
+        // Touch every association a DTO mapping walks through, including the parent chain
+        for (CalculationTable calculation : calculations) {
+            calculation.getEmployee().getOrganization().getRegion().getName();
+            Organization organization = calculation.getOrganization();
+            while (organization != null) {
+                organization.getRegion().getName();
+                organization = organization.getParent();
+            }
+        }
+
+        assertEquals(CALCULATIONS, calculations.size());
+        // 1 list query with the list graph, then batched loads of regions and each parent level
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(statements <= 5, "Expected at most 5 statements but was " + statements);
+    }
 }
@@ -0,0 +1,107 @@
+package zeroone.developers.employee.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import zeroone.developers.employee.entity.Organization;
+import zeroone.developers.employee.entity.Region;
+import zeroone.developers.employee.payload.OrganizationNodeRow;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+public class OrganizationClosureRepositoryTest {
+
+    @Autowired
+    private OrganizationClosureRepository organizationClosureRepository;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    private Region region;
+    private Organization group;
+    private Organization education;
+    private Organization academy;
+    private Organization campus;
+
+    @BeforeEach
+    public void setup() {
+        // Four-level chain: group > education > academy > campus
+        region = testEntityManager.persist(new Region(null, "Bukhara"));
+        group = insert("Zero:One Group", null);
+        education = insert("Zero:One Education", group);
+        academy = insert("Zero:One Academy", education);
+        campus = insert("Zero:One Campus", academy);
+    }
+
+    @Test
+    public void rootOrganizationOnlyGetsItsOwnRow() {
+        Organization root = testEntityManager.persistAndFlush(new Organization(null, "Fido Biznes", region, null));
+
+        // The null parent bind must select no ancestors instead of failing
+        assertEquals(1, organizationClosureRepository.insertNode(root.getId(), null));
+        assertEquals(List.of(new OrganizationNodeRow(root.getId(), "Fido Biznes", null, 0)),
+                organizationClosureRepository.findDescendants(root.getId(), 0, Integer.MAX_VALUE));
+        assertTrue(organizationClosureRepository.findAncestors(root.getId()).isEmpty());
+    }
+
+    @Test
+    public void chainIsLinkedAtEveryDepth() {
+        assertEquals(List.of(
+                        new OrganizationNodeRow(education.getId(), "Zero:One Education", group.getId(), 1),
+                        new OrganizationNodeRow(academy.getId(), "Zero:One Academy", education.getId(), 2),
+                        new OrganizationNodeRow(campus.getId(), "Zero:One Campus", academy.getId(), 3)),
+                organizationClosureRepository.findDescendants(group.getId(), 1, Integer.MAX_VALUE));
+        assertEquals(List.of(
+                        new OrganizationNodeRow(academy.getId(), "Zero:One Academy", education.getId(), 1),
+                        new OrganizationNodeRow(education.getId(), "Zero:One Education", group.getId(), 2),
+                        new OrganizationNodeRow(group.getId(), "Zero:One Group", null, 3)),
+                organizationClosureRepository.findAncestors(campus.getId()));
+        assertEquals(2, organizationClosureRepository.findDescendants(group.getId(), 1, 2).size());
+    }
+
+    @Test
+    public void reparentingMovesTheWholeSubtree() {
+        Organization holding = insert("Fido Holding", null);
+
+        // Move academy and campus from education to holding, as updateOrganization does
+        academy.setParent(holding);
+        testEntityManager.persistAndFlush(academy);
+        organizationClosureRepository.detachSubtree(academy.getId());
+        organizationClosureRepository.attachSubtree(academy.getId(), holding.getId());
+        testEntityManager.clear();
+
+        assertEquals(List.of(new OrganizationNodeRow(education.getId(), "Zero:One Education", group.getId(), 1)),
+                organizationClosureRepository.findDescendants(group.getId(), 1, Integer.MAX_VALUE));
+        assertEquals(List.of(
+                        new OrganizationNodeRow(academy.getId(), "Zero:One Academy", holding.getId(), 1),
+                        new OrganizationNodeRow(campus.getId(), "Zero:One Campus", academy.getId(), 2)),
+                organizationClosureRepository.findDescendants(holding.getId(), 1, Integer.MAX_VALUE));
+        assertEquals(List.of(
+                        new OrganizationNodeRow(academy.getId(), "Zero:One Academy", holding.getId(), 1),
+                        new OrganizationNodeRow(holding.getId(), "Fido Holding", null, 2)),
+                organizationClosureRepository.findAncestors(campus.getId()));
+        assertEquals(1, organizationClosureRepository.findDescendants(academy.getId(), 1, Integer.MAX_VALUE).size());
+    }
+
+    @Test
+    public void subtreeCheckFindsDescendantsOnly() {
+        // The check updateOrganization runs before accepting a new parent
+        assertTrue(organizationClosureRepository.isInSubtree(education.getId(), education.getId()));
+        assertTrue(organizationClosureRepository.isInSubtree(education.getId(), campus.getId()));
+        assertFalse(organizationClosureRepository.isInSubtree(academy.getId(), education.getId()));
+        assertFalse(organizationClosureRepository.isInSubtree(campus.getId(), group.getId()));
+    }
+
+    private Organization insert(String name, Organization parent) {
+        Organization organization = testEntityManager.persistAndFlush(new Organization(null, name, region, parent));
+        organizationClosureRepository.insertNode(organization.getId(), parent != null ? parent.getId() : null);
+        return organization;
+    }
+}
@@ -1,4 +1,80 @@
 package zeroone.developers.employee.repository;
 
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import zeroone.developers.employee.entity.Organization;
+import zeroone.developers.employee.entity.Region;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Not transactional: Hibernate does not cache entities read in the transaction that inserted them
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
 public class OrganizationRepositoryTest {
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    @Autowired
+    private RegionRepository regionRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Region region;
+    private Organization root;
+    private Organization organization;
+
+    @BeforeEach
+    public void setup() {
+        region = regionRepository.save(new Region(null, "Samarkand"));
+        root = organizationRepository.save(new Organization(null, "Cached Group", region, null));
+        organization = organizationRepository.save(new Organization(null, "Cached Academy", region, root));
+    }
+
+    @AfterEach
+    public void cleanup() {
+        organizationRepository.delete(organization);
+        organizationRepository.delete(root);
+        regionRepository.delete(region);
+    }
+
+    @Test
+    public void referenceDataIsServedFromSecondLevelCache() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // First read loads the organization, its region and its parent from the database
+        readWithReferences();
+        statistics.clear();
+
+        // Second read in a fresh persistence context must not touch the database
+        readWithReferences();
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getSecondLevelCacheHitCount() >= 3,
+                "Expected organization, region and parent from the cache but got "
+                        + statistics.getSecondLevelCacheHitCount() + " hits");
+    }
+
+    private void readWithReferences() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Organization loaded = organizationRepository.findById(organization.getId()).orElseThrow();
+            loaded.getRegion().getName();
+            loaded.getParent().getName();
+        });
+    }
 }
@@ -1,4 +1,45 @@
 package zeroone.developers.employee.repository;
 
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import zeroone.developers.employee.entity.Region;
+import zeroone.developers.employee.payload.CursorPage;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
 public class RegionRepositoryTest {
+
+    private static final String[] NAMES = {"Tashkent", "Samarkand", "Bukhara", "Khorezm", "Fergana"};
+
+    @Autowired
+    private RegionRepository regionRepository;
+
+    private final List<Long> ids = new ArrayList<>();
+
+    @BeforeEach
+    public void setup() {
+        for (String name : NAMES) {
+            ids.add(regionRepository.save(new Region(null, name)).getId());
+        }
+    }
+
+    @Test
+    public void descendingPagesContinueAfterTheCursorWithoutOverlap() {
+        List<Region> first = regionRepository.findAllByOrderByIdDesc(Limit.of(2));
+        String cursor = CursorPage.encodeCursor(first.get(first.size() - 1).getId());
+
+        List<Region> second = regionRepository.findByIdLessThanOrderByIdDesc(CursorPage.decodeCursor(cursor), Limit.of(2));
+
+        assertEquals(List.of(ids.get(4), ids.get(3)), first.stream().map(Region::getId).toList());
+        assertEquals(List.of(ids.get(2), ids.get(1)), second.stream().map(Region::getId).toList());
+        assertTrue(first.get(1).getId() > second.get(0).getId());
+    }
 }
@@ -0,0 +1,63 @@
+package zeroone.developers.employee.service;
+
+import org.junit.jupiter.api.Test;
+import zeroone.developers.employee.service.impl.BloomFilter;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BloomFilterTest {
+
+    private static final int ENTRIES = 100_000;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    @Test
+    public void neverMissesAddedKeys() {
+        BloomFilter filter = BloomFilter.create(ENTRIES, FALSE_POSITIVE_RATE);
+        for (int i = 0; i < ENTRIES; i++) {
+            filter.put("Region " + i);
+        }
+        for (int i = 0; i < ENTRIES; i++) {
+            assertTrue(filter.mightContain("Region " + i));
+        }
+    }
+
+    @Test
+    public void keepsFalsePositiveRateNearTarget() {
+        BloomFilter filter = BloomFilter.create(ENTRIES, FALSE_POSITIVE_RATE);
+        for (int i = 0; i < ENTRIES; i++) {
+            filter.put("Employee\u0000" + i);
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < ENTRIES; i++) {
+            if (filter.mightContain("Unknown\u0000" + i)) {
+                falsePositives++;
+            }
+        }
+        double rate = (double) falsePositives / ENTRIES;
+        assertTrue(rate < 2 * FALSE_POSITIVE_RATE, "false-positive rate " + rate);
+        assertTrue(filter.expectedFalsePositiveRate() < 2 * FALSE_POSITIVE_RATE);
+    }
+
+    @Test
+    public void expectedRateGrowsPastCapacity() {
+        BloomFilter filter = BloomFilter.create(1_000, FALSE_POSITIVE_RATE);
+        assertFalse(filter.mightContain("anything"));
+        for (int i = 0; i < 1_000; i++) {
+            filter.put("Organization " + i);
+        }
+        double planned = filter.expectedFalsePositiveRate();
+        for (int i = 1_000; i < 5_000; i++) {
+            filter.put("Organization " + i);
+        }
+        assertTrue(filter.expectedFalsePositiveRate() > 2 * planned);
+        assertFalse(filter.put("Organization 1"));
+    }
+
+    @Test
+    public void rejectsInvalidRate() {
+        assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(10, 0));
+        assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(10, 1));
+    }
+}
@@ -0,0 +1,129 @@
+package zeroone.developers.employee.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import zeroone.developers.employee.exception.CalculationTableException;
+import zeroone.developers.employee.payload.CalculationTableDto;
+import zeroone.developers.employee.payload.EmployeeDto;
+import zeroone.developers.employee.payload.OrganizationDto;
+import zeroone.developers.employee.repository.EmployeeRepository;
+import zeroone.developers.employee.repository.OrganizationRepository;
+import zeroone.developers.employee.service.impl.CalculationTableValidator;
+
+import java.sql.Date;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CalculationTableValidatorTest {
+
+    private static final long EMPLOYEE_ID = 1L;
+    private static final long ORGANIZATION_ID = 2L;
+    private static final long MISSING_ID = 99L;
+
+    // The ID sets the batch path looks up for the whole batch at once
+    private static final Set<Long> EXISTING_EMPLOYEES = Set.of(EMPLOYEE_ID);
+    private static final Set<Long> EXISTING_ORGANIZATIONS = Set.of(ORGANIZATION_ID);
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private OrganizationRepository organizationRepository;
+
+    @InjectMocks
+    private CalculationTableValidator calculationTableValidator;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+        when(employeeRepository.existsById(EMPLOYEE_ID)).thenReturn(true);
+        when(organizationRepository.existsById(ORGANIZATION_ID)).thenReturn(true);
+    }
+
+    @Test
+    public void validCalculationIsAccepted() {
+        assertDoesNotThrow(() -> calculationTableValidator.validate(calculation()));
+        assertNull(findBatchError(calculation()));
+
+        CalculationTableDto withoutOrganization = calculation();
+        withoutOrganization.setOrganization(null);
+        assertDoesNotThrow(() -> calculationTableValidator.validate(withoutOrganization));
+        assertNull(findBatchError(withoutOrganization));
+    }
+
+    @Test
+    public void nonPositiveAmountIsRejected() {
+        for (Double amount : new Double[]{null, 0.0, -100.0, Double.NaN}) {
+            CalculationTableDto dto = calculation();
+            dto.setAmount(amount);
+            assertRejected(dto, "Calculation amount must be positive");
+        }
+    }
+
+    @Test
+    public void disallowedTypeIsRejected() {
+        for (String type : new String[]{null, "BONUS", "salary"}) {
+            CalculationTableDto dto = calculation();
+            dto.setCalculationType(type);
+            assertRejected(dto, "Calculation type must be one of SALARY, PENSION, AWARD, VACATION");
+        }
+    }
+
+    @Test
+    public void missingEmployeeIsRejected() {
+        CalculationTableDto dto = calculation();
+        dto.getEmployee().setId(MISSING_ID);
+        assertRejected(dto, "Employee not found with id " + MISSING_ID);
+
+        dto.setEmployee(null);
+        assertRejected(dto, "Employee must be provided for the calculation");
+    }
+
+    @Test
+    public void missingOrganizationIsRejected() {
+        CalculationTableDto dto = calculation();
+        dto.getOrganization().setId(MISSING_ID);
+        assertRejected(dto, "Organization not found with id " + MISSING_ID);
+    }
+
+    @Test
+    public void organizationWithoutIdIsRejectedBeforeTheLookup() {
+        CalculationTableDto dto = calculation();
+        dto.getOrganization().setId(null);
+        assertRejected(dto, "Organization ID must be provided when the calculation has an organization");
+        verify(organizationRepository, never()).existsById(any());
+    }
+
+    /**
+     * Asserts the same rejection from the single-row path backed by existsById and from the batch path.
+     */
+    private void assertRejected(CalculationTableDto dto, String message) {
+        CalculationTableException exception = assertThrows(CalculationTableException.class,
+                () -> calculationTableValidator.validate(dto));
+        assertEquals(message, exception.getMessage());
+        assertEquals(message, findBatchError(dto));
+    }
+
+    private String findBatchError(CalculationTableDto dto) {
+        return calculationTableValidator.findError(dto, EXISTING_EMPLOYEES::contains, EXISTING_ORGANIZATIONS::contains);
+    }
+
+    private static CalculationTableDto calculation() {
+        EmployeeDto employee = new EmployeeDto();
+        employee.setId(EMPLOYEE_ID);
+        OrganizationDto organization = new OrganizationDto();
+        organization.setId(ORGANIZATION_ID);
+        return new CalculationTableDto(null, employee, 5000.0, 1.0, Date.valueOf("2024-09-15"), organization, "SALARY");
+    }
+}
@@ -0,0 +1,62 @@
+package zeroone.developers.employee.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import zeroone.developers.employee.exception.InvalidCursorException;
+import zeroone.developers.employee.payload.CursorPage;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CursorPageTest {
+
+    @Test
+    public void cursorRoundTripsTheId() {
+        for (long id : new long[]{0, 1, 42, Long.MAX_VALUE}) {
+            String cursor = CursorPage.encodeCursor(id);
+            assertEquals(id, CursorPage.decodeCursor(cursor));
+        }
+    }
+
+    @Test
+    public void missingCursorStartsAtTheFirstPage() {
+        assertNull(CursorPage.decodeCursor(null));
+        assertNull(CursorPage.decodeCursor(""));
+        assertNull(CursorPage.decodeCursor("  "));
+    }
+
+    @Test
+    public void malformedCursorIsRejected() {
+        // Not base64, base64 without the prefix, and a prefix without a number
+        for (String cursor : new String[]{"not a cursor!", encode("42"), encode("name:42"), encode("id:abc"), encode("id:")}) {
+            assertThrows(InvalidCursorException.class, () -> CursorPage.decodeCursor(cursor), cursor);
+        }
+    }
+
+    @Test
+    public void malformedCursorIsABadRequest() {
+        ResponseStatus status = AnnotationUtils.findAnnotation(InvalidCursorException.class, ResponseStatus.class);
+        assertEquals(HttpStatus.BAD_REQUEST, status.value());
+    }
+
+    @Test
+    public void limitIsClampedToTheAllowedRange() {
+        assertEquals(1, CursorPage.clampLimit(-5));
+        assertEquals(1, CursorPage.clampLimit(0));
+        assertEquals(1, CursorPage.clampLimit(1));
+        assertEquals(CursorPage.DEFAULT_LIMIT, CursorPage.clampLimit(CursorPage.DEFAULT_LIMIT));
+        assertEquals(CursorPage.MAX_LIMIT, CursorPage.clampLimit(CursorPage.MAX_LIMIT));
+        assertEquals(CursorPage.MAX_LIMIT, CursorPage.clampLimit(CursorPage.MAX_LIMIT + 1));
+        assertEquals(CursorPage.MAX_LIMIT, CursorPage.clampLimit(Integer.MAX_VALUE));
+    }
+
+    private static String encode(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,98 @@
+package zeroone.developers.employee.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import zeroone.developers.employee.payload.EmployeeDto;
+import zeroone.developers.employee.service.impl.EmployeeDtoCache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class EmployeeDtoCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private EmployeeDtoCache employeeDtoCache;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        employeeDtoCache = new EmployeeDtoCache(100, Duration.ofMinutes(1), meterRegistry);
+    }
+
+    @Test
+    public void concurrentMissesForOneIdLoadOnce() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<EmployeeDto>> results = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return employeeDtoCache.get(1L, id -> {
+                        loads.incrementAndGet();
+                        sleep(50);
+                        return employee(id);
+                    });
+                }));
+            }
+            start.countDown();
+
+            EmployeeDto first = results.get(0).get();
+            for (Future<EmployeeDto> result : results) {
+                assertSame(first, result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void invalidateForcesReload() {
+        AtomicInteger loads = new AtomicInteger();
+        employeeDtoCache.get(1L, id -> { loads.incrementAndGet(); return employee(id); });
+        employeeDtoCache.get(1L, id -> { loads.incrementAndGet(); return employee(id); });
+        employeeDtoCache.invalidate(1L);
+        employeeDtoCache.get(1L, id -> { loads.incrementAndGet(); return employee(id); });
+
+        assertEquals(2, loads.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "employees").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    public void missingEmployeeIsNotCached() {
+        AtomicInteger loads = new AtomicInteger();
+        assertNull(employeeDtoCache.get(2L, id -> { loads.incrementAndGet(); return null; }));
+        assertNull(employeeDtoCache.get(2L, id -> { loads.incrementAndGet(); return null; }));
+
+        assertEquals(2, loads.get());
+    }
+
+    private static EmployeeDto employee(Long id) {
+        EmployeeDto employeeDto = new EmployeeDto();
+        employeeDto.setId(id);
+        employeeDto.setFirstName("Nizomiddin");
+        return employeeDto;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,4 +1,118 @@
 package zeroone.developers.employee.service;
 
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import zeroone.developers.employee.entity.Organization;
+import zeroone.developers.employee.entity.Region;
+import zeroone.developers.employee.exception.OrganizationException;
+import zeroone.developers.employee.mapper.OrganizationMapper;
+import zeroone.developers.employee.payload.OrganizationDto;
+import zeroone.developers.employee.repository.OrganizationClosureRepository;
+import zeroone.developers.employee.repository.OrganizationRepository;
+import zeroone.developers.employee.service.impl.EmployeeDtoCache;
+import zeroone.developers.employee.service.impl.NameFilters;
+import zeroone.developers.employee.service.impl.OrganizationServiceImpl;
+import zeroone.developers.employee.service.impl.PayrollAggregateStore;
+import zeroone.developers.employee.service.impl.PayrollSnapshotStore;
+import zeroone.developers.employee.service.impl.ResourceVersions;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
 public class OrganizationServiceImplTest {
+
+    @Mock
+    private OrganizationRepository organizationRepository;
+
+    @Mock
+    private OrganizationClosureRepository organizationClosureRepository;
+
+    @Mock
+    private OrganizationRollupService organizationRollupService;
+
+    @Mock
+    private EmployeeDtoCache employeeDtoCache;
+
+    @Mock
+    private PayrollSnapshotStore payrollSnapshotStore;
+
+    @Mock
+    private PayrollAggregateStore payrollAggregateStore;
+
+    @Mock
+    private NameFilters nameFilters;
+
+    @Mock
+    private ResourceVersions resourceVersions;
+
+    @InjectMocks
+    private OrganizationServiceImpl organizationService;
+
+    private Organization group;
+    private Organization education;
+    private Organization academy;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+
+        // group > education > academy
+        Region region = new Region(1L, "Tashkent");
+        group = new Organization(1L, "Zero:One Group", region, null);
+        education = new Organization(2L, "Zero:One Education", region, group);
+        academy = new Organization(3L, "Zero:One Academy", region, education);
+        when(organizationRepository.findById(2L)).thenReturn(Optional.of(education));
+    }
+
+    @Test
+    public void movingBelowOwnDescendantIsRejected() {
+        when(organizationClosureRepository.isInSubtree(2L, 3L)).thenReturn(true);
+        OrganizationDto update = OrganizationMapper.toDto(education);
+        update.setParent(OrganizationMapper.toDto(academy));
+
+        OrganizationException exception = assertThrows(OrganizationException.class,
+                () -> organizationService.updateOrganization(2L, update));
+
+        assertEquals("Organization cannot be moved below itself or one of its subsidiaries", exception.getMessage());
+        verify(organizationRepository, never()).saveAndFlush(any());
+        verify(organizationClosureRepository, never()).detachSubtree(anyLong());
+    }
+
+    @Test
+    public void movingBelowItselfIsRejected() {
+        when(organizationClosureRepository.isInSubtree(2L, 2L)).thenReturn(true);
+        OrganizationDto update = OrganizationMapper.toDto(education);
+        update.setParent(OrganizationMapper.toDto(new Organization(2L, "Zero:One Education", null, null)));
+
+        assertThrows(OrganizationException.class, () -> organizationService.updateOrganization(2L, update));
+        verify(organizationRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    public void movingToAnotherBranchReattachesTheSubtree() {
+        Organization holding = new Organization(4L, "Fido Holding", group.getRegion(), null);
+        when(organizationClosureRepository.isInSubtree(2L, 4L)).thenReturn(false);
+        when(organizationRepository.saveAndFlush(education)).thenReturn(education);
+        OrganizationDto update = OrganizationMapper.toDto(education);
+        update.setParent(OrganizationMapper.toDto(holding));
+
+        OrganizationDto updated = organizationService.updateOrganization(2L, update);
+
+        assertEquals(4L, updated.getParent().getId());
+        verify(organizationClosureRepository).detachSubtree(2L);
+        verify(organizationClosureRepository).attachSubtree(2L, 4L);
+        verify(organizationRollupService).attachSubtree(2L);
+        // Only the parent changed, which the payroll snapshots do not store
+        verify(payrollSnapshotStore, never()).invalidateAll();
+    }
 }
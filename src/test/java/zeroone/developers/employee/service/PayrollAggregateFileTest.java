@@ -0,0 +1,79 @@
+package zeroone.developers.employee.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import zeroone.developers.employee.payload.HighSalaryRow;
+import zeroone.developers.employee.payload.OrgAverageRow;
+import zeroone.developers.employee.payload.PaidEmployeeRow;
+import zeroone.developers.employee.payload.RegionSummaryRow;
+import zeroone.developers.employee.service.impl.PayrollAggregateFile;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PayrollAggregateFileTest {
+
+    private static final YearMonth MONTH = YearMonth.of(2024, 5);
+
+    private static final List<RegionSummaryRow> REGIONS = List.of(
+            new RegionSummaryRow("12345678901234", 2L, 11000.0),
+            new RegionSummaryRow("12345678900000", 1L, 6000.0));
+    private static final List<OrgAverageRow> AVERAGES = List.of(
+            new OrgAverageRow(10L, "Zero:One Group", 6000.0),
+            new OrgAverageRow(20L, null, 3500.0));
+    private static final List<PaidEmployeeRow> PAID = List.of(
+            new PaidEmployeeRow(1L, "Nizomiddin", "Mirzanazarov", "12345678901234", 6000.0),
+            new PaidEmployeeRow(3L, "Dilmurod", null, "12345678900000", 3000.0));
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    public void reportsReadBackWhatWasWritten() throws IOException {
+        Path path = directory.resolve("payroll-2024-05.agg");
+        PayrollAggregateFile.write(path, MONTH, REGIONS, AVERAGES, PAID);
+
+        PayrollAggregateFile file = PayrollAggregateFile.open(path);
+
+        assertEquals(MONTH, file.getMonth());
+        assertEquals(REGIONS, file.findEmployeesByRegion());
+        assertEquals(List.of(new HighSalaryRow("12345678901234", 11000.0)), file.findEmployeesWithHigherSalary(10000));
+        assertEquals(AVERAGES, file.findAverageSalaryPerOrganization());
+        assertEquals(List.of(AVERAGES.get(1)), file.findAverageSalaryByOrganization(20));
+        assertTrue(file.findAverageSalaryByOrganization(15).isEmpty());
+        assertEquals(PAID, file.findEmployeesWithSalariesAndVacations());
+    }
+
+    @Test
+    public void corruptedBodyIsRejected() throws IOException {
+        Path path = directory.resolve("payroll-2024-05.agg");
+        PayrollAggregateFile.write(path, MONTH, REGIONS, AVERAGES, PAID);
+        try (RandomAccessFile raf = new RandomAccessFile(path.toFile(), "rw")) {
+            raf.seek(raf.length() - 1);
+            int last = raf.read();
+            raf.seek(raf.length() - 1);
+            raf.write(last ^ 0xFF);
+        }
+
+        IOException error = assertThrows(IOException.class, () -> PayrollAggregateFile.open(path));
+        assertTrue(error.getMessage().startsWith("Checksum mismatch"));
+    }
+
+    @Test
+    public void truncatedFileIsRejected() throws IOException {
+        Path path = directory.resolve("payroll-2024-05.agg");
+        PayrollAggregateFile.write(path, MONTH, REGIONS, AVERAGES, PAID);
+        try (RandomAccessFile raf = new RandomAccessFile(path.toFile(), "rw")) {
+            raf.setLength(raf.length() - 8);
+        }
+
+        assertThrows(IOException.class, () -> PayrollAggregateFile.open(path));
+    }
+}
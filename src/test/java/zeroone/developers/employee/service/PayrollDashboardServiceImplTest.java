@@ -0,0 +1,85 @@
+package zeroone.developers.employee.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import zeroone.developers.employee.exception.CalculationTableException;
+import zeroone.developers.employee.payload.HighSalaryRow;
+import zeroone.developers.employee.payload.OrgAverageRow;
+import zeroone.developers.employee.payload.PaidEmployeeRow;
+import zeroone.developers.employee.payload.PayrollDashboard;
+import zeroone.developers.employee.payload.RegionSummaryRow;
+import zeroone.developers.employee.service.impl.PayrollDashboardServiceImpl;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class PayrollDashboardServiceImplTest {
+
+    private static final long QUERY_MILLIS = 300;
+
+    private CalculationTableService calculationTableService;
+    private PayrollDashboardServiceImpl payrollDashboardService;
+
+    @BeforeEach
+    public void setup() {
+        calculationTableService = mock(CalculationTableService.class);
+        payrollDashboardService = new PayrollDashboardServiceImpl(calculationTableService, 4, 16, false);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        payrollDashboardService.destroy();
+    }
+
+    @Test
+    public void reportsRunConcurrently() {
+        HighSalaryRow highSalary = new HighSalaryRow("12345678901234", 50_000.0);
+        when(calculationTableService.getEmployeesWithHigherSalary(2024, 5, 40_000.0))
+                .thenAnswer(invocation -> slow(List.of(highSalary)));
+        when(calculationTableService.getEmployeesByRegion(2024, 5))
+                .thenAnswer(invocation -> slow(List.<RegionSummaryRow>of()));
+        when(calculationTableService.getAverageSalaryPerOrganization(2024, 5))
+                .thenAnswer(invocation -> slow(List.<OrgAverageRow>of()));
+        when(calculationTableService.getEmployeesWithSalariesAndVacations(2024, 5))
+                .thenAnswer(invocation -> slow(List.<PaidEmployeeRow>of()));
+
+        long start = System.nanoTime();
+        PayrollDashboard dashboard = payrollDashboardService.getDashboard(2024, 5, 40_000.0, null);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(List.of(highSalary), dashboard.highSalary());
+        assertTrue(elapsedMillis < 3 * QUERY_MILLIS,
+                "Expected the reports to overlap but the dashboard took " + elapsedMillis + " ms");
+    }
+
+    @Test
+    public void failingReportFailsTheDashboard() {
+        when(calculationTableService.getEmployeesByRegion(2024, 5))
+                .thenThrow(new CalculationTableException("report failed"));
+
+        CalculationTableException exception = assertThrows(CalculationTableException.class,
+                () -> payrollDashboardService.getDashboard(2024, 5, 40_000.0, null));
+        assertEquals("report failed", exception.getMessage());
+    }
+
+    @Test
+    public void invalidPeriodIsRejectedBeforeQuerying() {
+        assertThrows(CalculationTableException.class,
+                () -> payrollDashboardService.getDashboard(2024, 13, 40_000.0, null));
+        verify(calculationTableService, never()).getEmployeesByRegion(anyInt(), anyInt());
+    }
+
+    private static <T> T slow(T result) throws InterruptedException {
+        Thread.sleep(QUERY_MILLIS);
+        return result;
+    }
+}
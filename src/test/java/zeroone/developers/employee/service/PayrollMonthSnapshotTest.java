@@ -0,0 +1,95 @@
+package zeroone.developers.employee.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import zeroone.developers.employee.payload.HighSalaryRow;
+import zeroone.developers.employee.payload.OrgAverageRow;
+import zeroone.developers.employee.payload.PaidEmployeeRow;
+import zeroone.developers.employee.payload.RegionSummaryRow;
+import zeroone.developers.employee.service.impl.PayrollMonthSnapshot;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PayrollMonthSnapshotTest {
+
+    private static final int DAY = (int) LocalDate.of(2024, 5, 15).toEpochDay();
+
+    private PayrollMonthSnapshot snapshot;
+
+    @BeforeEach
+    public void setup() {
+        snapshot = new PayrollMonthSnapshot(YearMonth.of(2024, 5), 4, 2);
+        snapshot.putOrganization(10, "Zero:One Group");
+        snapshot.putOrganization(20, "Fido Biznes");
+        // Two employee records share one pinfl, as the monthly totals group by pinfl
+        snapshot.putEmployee(1, "Nizomiddin", "Mirzanazarov", "12345678901234", 10);
+        snapshot.putEmployee(2, "Nizomiddin", "Mirzanazarov", "12345678901234", 20);
+        snapshot.putEmployee(3, "Dilmurod", "Rustamov", "12345678900000", 20);
+
+        snapshot.put(100, 1, 10, 6000, 1, DAY, "SALARY");
+        snapshot.put(101, 2, PayrollMonthSnapshot.NO_ID, 5000, 1, DAY, "VACATION");
+        snapshot.put(102, 3, 20, 3000, 1, DAY, "SALARY");
+        snapshot.put(103, 3, 20, 3000, 1, DAY, "SICK_LEAVE");
+    }
+
+    @Test
+    public void highSalaryTotalsArePerPinfl() {
+        List<HighSalaryRow> rows = snapshot.findEmployeesWithHigherSalary(10000);
+
+        assertEquals(List.of(new HighSalaryRow("12345678901234", 11000.0)), rows);
+    }
+
+    @Test
+    public void regionReportCountsTheOrganizationsOfTheEmployeeRecords() {
+        // Calculated in another organization, but the employee record still belongs to one
+        snapshot.put(104, 3, 10, 1000, 1, DAY, "AWARD");
+
+        List<RegionSummaryRow> rows = snapshot.findEmployeesByRegion();
+
+        assertEquals(List.of(
+                new RegionSummaryRow("12345678901234", 2L, 11000.0),
+                new RegionSummaryRow("12345678900000", 1L, 7000.0)), rows);
+    }
+
+    @Test
+    public void averagesUseTheEmployeeOrganization() {
+        assertEquals(List.of(new OrgAverageRow(20L, "Fido Biznes", 11000.0 / 3)),
+                snapshot.findAverageSalaryByOrganization(20));
+        assertEquals(List.of(
+                new OrgAverageRow(10L, "Zero:One Group", 6000.0),
+                new OrgAverageRow(20L, "Fido Biznes", 11000.0 / 3)), snapshot.findAverageSalaryPerOrganization());
+    }
+
+    @Test
+    public void salariesAndVacationsAreDistinctPerEmployeeAndAmount() {
+        snapshot.put(104, 3, 20, 3000, 1, DAY, "SALARY");
+
+        List<PaidEmployeeRow> rows = snapshot.findEmployeesWithSalariesAndVacations();
+
+        assertEquals(3, rows.size());
+        assertEquals(1, rows.stream().filter(row -> row.employeeId() == 3L).count());
+    }
+
+    @Test
+    public void putReplacesAndRemoveDeletes() {
+        snapshot.put(100, 1, 10, 1000, 1, DAY, "SALARY");
+        assertTrue(snapshot.remove(101));
+        assertFalse(snapshot.remove(101));
+
+        assertEquals(3, snapshot.size());
+        assertEquals(List.of(new HighSalaryRow("12345678901234", 1000.0)), snapshot.findEmployeesWithHigherSalary(500)
+                .stream().filter(row -> row.pinfl().equals("12345678901234")).toList());
+    }
+
+    @Test
+    public void unknownEmployeeIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> snapshot.put(200, 99, 10, 1000, 1, DAY, "SALARY"));
+    }
+}
@@ -1,4 +1,76 @@
 package zeroone.developers.employee.service;
 
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import zeroone.developers.employee.entity.Region;
+import zeroone.developers.employee.exception.InvalidCursorException;
+import zeroone.developers.employee.payload.CursorPage;
+import zeroone.developers.employee.payload.RegionDto;
+import zeroone.developers.employee.repository.RegionRepository;
+import zeroone.developers.employee.service.impl.RegionServiceImpl;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
 public class RegionServiceImplTest {
+
+    @Mock
+    private RegionRepository regionRepository;
+
+    @InjectMocks
+    private RegionServiceImpl regionService;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    public void pageFetchesOneExtraRowForTheNextCursor() {
+        when(regionRepository.findAllByOrderByIdAsc(Limit.of(3))).thenReturn(List.of(
+                new Region(1L, "Tashkent"), new Region(2L, "Samarkand"), new Region(3L, "Bukhara")));
+
+        CursorPage<RegionDto> page = regionService.findRegionsPage(null, 2, Sort.Direction.ASC);
+
+        assertEquals(List.of(1L, 2L), page.items().stream().map(RegionDto::getId).toList());
+        assertEquals(CursorPage.encodeCursor(2L), page.nextCursor());
+    }
+
+    @Test
+    public void lastPageHasNoCursor() {
+        when(regionRepository.findByIdLessThanOrderByIdDesc(3L, Limit.of(3))).thenReturn(List.of(
+                new Region(2L, "Samarkand"), new Region(1L, "Tashkent")));
+
+        CursorPage<RegionDto> page = regionService.findRegionsPage(CursorPage.encodeCursor(3L), 2, Sort.Direction.DESC);
+
+        assertEquals(List.of(2L, 1L), page.items().stream().map(RegionDto::getId).toList());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    public void limitIsClampedBeforeQuerying() {
+        regionService.findRegionsPage(null, 500, Sort.Direction.ASC);
+        regionService.findRegionsPage(null, 0, Sort.Direction.DESC);
+
+        verify(regionRepository).findAllByOrderByIdAsc(Limit.of(CursorPage.MAX_LIMIT + 1));
+        verify(regionRepository).findAllByOrderByIdDesc(Limit.of(2));
+    }
+
+    @Test
+    public void malformedCursorIsRejectedWithoutQuerying() {
+        assertThrows(InvalidCursorException.class,
+                () -> regionService.findRegionsPage("garbage!", 20, Sort.Direction.ASC));
+        verifyNoInteractions(regionRepository);
+    }
 }
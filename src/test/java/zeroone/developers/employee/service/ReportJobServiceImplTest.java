@@ -0,0 +1,173 @@
+package zeroone.developers.employee.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import zeroone.developers.employee.entity.ReportJob;
+import zeroone.developers.employee.entity.ReportJobPage;
+import zeroone.developers.employee.exception.ReportJobException;
+import zeroone.developers.employee.payload.RegionSummaryRow;
+import zeroone.developers.employee.payload.ReportJobDto;
+import zeroone.developers.employee.payload.ReportJobPageDto;
+import zeroone.developers.employee.payload.ReportJobRequest;
+import zeroone.developers.employee.payload.ReportJobStatus;
+import zeroone.developers.employee.payload.ReportType;
+import zeroone.developers.employee.repository.ReportJobPageRepository;
+import zeroone.developers.employee.repository.ReportJobRepository;
+import zeroone.developers.employee.service.impl.ReportJobServiceImpl;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ReportJobServiceImplTest {
+
+    private final Map<String, ReportJob> jobs = new ConcurrentHashMap<>();
+    private final Map<String, ReportJobPage> pages = new ConcurrentHashMap<>();
+
+    private ReportJobRepository reportJobRepository;
+    private CalculationTableService calculationTableService;
+    private ReportJobServiceImpl reportJobService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        reportJobRepository = mock(ReportJobRepository.class);
+        ReportJobPageRepository reportJobPageRepository = mock(ReportJobPageRepository.class);
+        calculationTableService = mock(CalculationTableService.class);
+
+        when(reportJobRepository.save(any(ReportJob.class))).thenAnswer(invocation -> {
+            ReportJob job = invocation.getArgument(0);
+            jobs.put(job.getId(), job);
+            return job;
+        });
+        doAnswer(invocation -> jobs.remove(invocation.<String>getArgument(0)))
+                .when(reportJobRepository).deleteById(anyString());
+        when(reportJobRepository.findById(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(jobs.get(invocation.<String>getArgument(0))));
+        when(reportJobRepository.markRunning(anyString(), any())).thenAnswer(invocation -> {
+            jobs.get(invocation.<String>getArgument(0)).setStatus(ReportJobStatus.RUNNING);
+            return 1;
+        });
+        when(reportJobRepository.findFirstByJobKeyAndStatusAndExpiresAtAfterOrderByCompletedAtDesc(anyString(), any(), any()))
+                .thenAnswer(invocation -> jobs.values().stream()
+                        .filter(job -> job.getJobKey().equals(invocation.getArgument(0))
+                                && job.getStatus() == ReportJobStatus.COMPLETED)
+                        .findFirst());
+        when(reportJobPageRepository.saveAll(any(Iterable.class))).thenAnswer(invocation -> {
+            for (ReportJobPage page : invocation.<Iterable<ReportJobPage>>getArgument(0)) {
+                pages.put(page.getJobId() + "/" + page.getPageNumber(), page);
+            }
+            return List.of();
+        });
+        when(reportJobPageRepository.findByJobIdAndPageNumber(anyString(), anyInt()))
+                .thenAnswer(invocation -> Optional.ofNullable(
+                        pages.get(invocation.getArgument(0) + "/" + invocation.getArgument(1))));
+
+        reportJobService = new ReportJobServiceImpl(reportJobRepository, reportJobPageRepository,
+                calculationTableService, new ObjectMapper(), mock(PlatformTransactionManager.class),
+                1, 4, 2, Duration.ofMinutes(5));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        reportJobService.destroy();
+    }
+
+    @Test
+    public void equalSubmissionsShareOneJob() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(calculationTableService.getEmployeesByRegion(2024, 5)).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return regionRows(5);
+        });
+        ReportJobRequest request = new ReportJobRequest(ReportType.REGION, 2024, 5, 100.0, null);
+
+        ReportJobDto first = reportJobService.submitJob(request);
+        ReportJobDto second = reportJobService.submitJob(request);
+        release.countDown();
+        ReportJobDto completed = awaitCompletion(first.id());
+        ReportJobDto third = reportJobService.submitJob(request);
+
+        assertEquals(first.id(), second.id());
+        assertEquals(first.id(), third.id());
+        assertEquals(ReportJobStatus.COMPLETED, completed.status());
+        verify(calculationTableService, times(1)).getEmployeesByRegion(2024, 5);
+    }
+
+    @Test
+    public void jobCompletedBeforeTheKeyIsPublishedIsReused() {
+        ReportJob completed = new ReportJob();
+        completed.setId("completed");
+        completed.setJobKey("REGION:2024-07");
+        completed.setStatus(ReportJobStatus.COMPLETED);
+        // The equal job completes between the first lookup and the key being published
+        when(reportJobRepository.findFirstByJobKeyAndStatusAndExpiresAtAfterOrderByCompletedAtDesc(anyString(), any(), any()))
+                .thenReturn(Optional.empty(), Optional.of(completed));
+
+        ReportJobDto job = reportJobService.submitJob(new ReportJobRequest(ReportType.REGION, 2024, 7, null, null));
+
+        assertEquals("completed", job.id());
+        assertTrue(jobs.isEmpty(), "The reserved job should have been deleted");
+        verify(calculationTableService, never()).getEmployeesByRegion(anyInt(), anyInt());
+    }
+
+    @Test
+    public void resultIsReadPageByPage() throws Exception {
+        when(calculationTableService.getEmployeesByRegion(2024, 6)).thenReturn(regionRows(5));
+
+        ReportJobDto job = awaitCompletion(reportJobService.submitJob(
+                new ReportJobRequest(ReportType.REGION, 2024, 6, null, null)).id());
+        ReportJobPageDto lastPage = reportJobService.findResultPage(job.id(), 2);
+
+        assertEquals(5L, job.rowCount());
+        assertEquals(3, job.pageCount());
+        assertTrue(lastPage.rows().contains("\"pinfl\":\"00000000000004\""), lastPage.rows());
+        assertThrows(ReportJobException.class, () -> reportJobService.findResultPage(job.id(), 3));
+    }
+
+    @Test
+    public void missingParameterIsRejected() {
+        assertThrows(ReportJobException.class, () -> reportJobService.submitJob(
+                new ReportJobRequest(ReportType.AVERAGE_SALARY, 2024, 5, null, null)));
+    }
+
+    private ReportJobDto awaitCompletion(String id) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            ReportJobDto job = reportJobService.findJob(id);
+            if (job.status() == ReportJobStatus.COMPLETED || job.status() == ReportJobStatus.FAILED) {
+                return job;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Report job " + id + " did not finish");
+    }
+
+    private static List<RegionSummaryRow> regionRows(int count) {
+        List<RegionSummaryRow> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            rows.add(new RegionSummaryRow(String.format("%014d", i), 2L, 1000.0 * i));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,71 @@
+package zeroone.developers.employee.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import zeroone.developers.employee.service.impl.ResourceVersions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ResourceVersionsTest {
+
+    private static final String PAGE = "null:20:ASC";
+
+    private final ResourceVersions resourceVersions = new ResourceVersions();
+
+    @Test
+    public void regionChangeReachesEmbeddingResources() {
+        String regions = resourceVersions.regionsTag(PAGE);
+        String organizations = resourceVersions.organizationsTag(PAGE);
+        String employee = resourceVersions.employeeTag(7);
+
+        resourceVersions.regionsChanged();
+
+        assertNotEquals(regions, resourceVersions.regionsTag(PAGE));
+        assertNotEquals(organizations, resourceVersions.organizationsTag(PAGE));
+        assertNotEquals(employee, resourceVersions.employeeTag(7));
+    }
+
+    @Test
+    public void employeeChangeKeepsListTags() {
+        String organizations = resourceVersions.organizationsTag(PAGE);
+        String employee = resourceVersions.employeeTag(7);
+
+        resourceVersions.employeeChanged(7);
+
+        assertNotEquals(employee, resourceVersions.employeeTag(7));
+        assertEquals(organizations, resourceVersions.organizationsTag(PAGE));
+    }
+
+    @Test
+    public void changesApplyAfterCommit() {
+        String employee = resourceVersions.employeeTag(7);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            resourceVersions.employeeChanged(7);
+            assertEquals(employee, resourceVersions.employeeTag(7));
+
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCommit();
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertNotEquals(employee, resourceVersions.employeeTag(7));
+    }
+
+    @Test
+    public void tagsAreStrongAndPerInstance() {
+        String tag = resourceVersions.regionsTag(PAGE);
+        assertTrue(tag.startsWith("\"") && tag.endsWith("\""));
+        assertNotEquals(tag, new ResourceVersions().regionsTag(PAGE));
+    }
+
+    @Test
+    public void pagesHaveTheirOwnTags() {
+        assertNotEquals(resourceVersions.regionsTag(PAGE), resourceVersions.regionsTag("20:20:ASC"));
+        assertNotEquals(resourceVersions.organizationsTag(PAGE), resourceVersions.organizationsTag("null:50:ASC"));
+    }
+}
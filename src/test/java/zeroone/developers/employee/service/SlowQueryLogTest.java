@@ -0,0 +1,52 @@
+package zeroone.developers.employee.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import zeroone.developers.employee.payload.SlowQueryRow;
+import zeroone.developers.employee.service.impl.SlowQueryLog;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SlowQueryLogTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SlowQueryLog slowQueryLog = new SlowQueryLog(Duration.ofMillis(100), 3, meterRegistry);
+
+    @Test
+    public void appliesThreshold() {
+        assertFalse(slowQueryLog.isSlow(Duration.ofMillis(99).toNanos()));
+        assertTrue(slowQueryLog.isSlow(Duration.ofMillis(100).toNanos()));
+    }
+
+    @Test
+    public void keepsMostRecentFirst() {
+        for (int i = 1; i <= 5; i++) {
+            slowQueryLog.record(row("select " + i));
+        }
+
+        assertEquals(List.of("select 5", "select 4", "select 3"),
+                slowQueryLog.recent(10).stream().map(SlowQueryRow::sql).toList());
+        assertEquals(List.of("select 5"), slowQueryLog.recent(1).stream().map(SlowQueryRow::sql).toList());
+        assertEquals(5, meterRegistry.get("jdbc.statements.slow").counter().count());
+    }
+
+    @Test
+    public void clearsEntries() {
+        slowQueryLog.record(row("select 1"));
+        slowQueryLog.clear();
+        assertTrue(slowQueryLog.recent(10).isEmpty());
+
+        slowQueryLog.record(row("select 2"));
+        assertEquals(1, slowQueryLog.recent(10).size());
+    }
+
+    private static SlowQueryRow row(String sql) {
+        return new SlowQueryRow(Instant.now(), sql, "()", 150, 1, "RegionServiceImpl.findAllRegions");
+    }
+}